@@ -418,6 +418,18 @@ describe('MapboxStyleSheet', () => {
       },
     });
   });
+
+  it('should register stylesheet by id', () => {
+    expect(MapboxGL.StyleSheet.register('water', {fillOpacity: 0.84})).toBe(
+      'water',
+    );
+    expect(MapboxGL.StyleSheet.getRegistered('water')).toEqual(
+      MapboxGL.StyleSheet.create({fillOpacity: 0.84}),
+    );
+
+    MapboxGL.StyleSheet.unregister('water');
+    expect(MapboxGL.StyleSheet.getRegistered('water')).toBeUndefined();
+  });
 });
 
 function verifyStyleSheetsMatch(styles, expectedStyleSheet) {
@@ -34,6 +34,33 @@ describe('filterUtils', () => {
     ]);
   });
 
+  it('should keep nested compound filters nested', () => {
+    const filter = [
+      'all',
+      ['==', 'class', 'street'],
+      ['any', ['<', 'rank', 3], ['in', 'kind', 'a', 'b']],
+    ];
+    expect(getFilter(filter)).toEqual([
+      {type: 'string', value: 'all'},
+      {type: 'string', value: '=='},
+      {type: 'string', value: 'class'},
+      {type: 'string', value: 'street'},
+      {
+        type: 'array',
+        value: [
+          {type: 'string', value: 'any'},
+          {type: 'string', value: '<'},
+          {type: 'string', value: 'rank'},
+          {type: 'number', value: 3},
+          {type: 'string', value: 'in'},
+          {type: 'string', value: 'kind'},
+          {type: 'string', value: 'a'},
+          {type: 'string', value: 'b'},
+        ],
+      },
+    ]);
+  });
+
   it('should return empty array if filter type passed in is not an array', () => {
     expect(getFilter()).toEqual([]);
     expect(getFilter(null)).toEqual([]);
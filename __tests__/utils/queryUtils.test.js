@@ -0,0 +1,73 @@
+import {
+  applyQueryOptions,
+  getQueryOptions,
+  getQueryResult,
+} from '../../javascript/utils/queryUtils';
+
+const featureCollection = {
+  type: 'FeatureCollection',
+  features: [
+    {
+      type: 'Feature',
+      id: 'a',
+      geometry: {type: 'Point', coordinates: [1, 2]},
+      properties: {name: 'A', rank: 1, kind: 'road'},
+    },
+    {
+      type: 'Feature',
+      geometry: {type: 'Point', coordinates: [3, 4]},
+      properties: {name: 'B', rank: 2},
+    },
+  ],
+};
+
+describe('queryUtils', () => {
+  it('should normalize options for native', () => {
+    expect(getQueryOptions()).toEqual({
+      properties: null,
+      idsOnly: false,
+      countOnly: false,
+      omitGeometry: false,
+    });
+    expect(getQueryOptions({properties: ['name'], countOnly: true})).toEqual({
+      properties: ['name'],
+      idsOnly: false,
+      countOnly: true,
+      omitGeometry: false,
+    });
+  });
+
+  it('should pick the native result for the options', () => {
+    const res = {count: 2, ids: ['a', null], data: featureCollection};
+    expect(getQueryResult(res, {countOnly: true})).toEqual(2);
+    expect(getQueryResult(res, {idsOnly: true})).toEqual(['a', null]);
+    expect(getQueryResult(res)).toBe(featureCollection);
+  });
+
+  it('should return count and ids', () => {
+    expect(applyQueryOptions(featureCollection, {countOnly: true})).toEqual(2);
+    expect(applyQueryOptions(featureCollection, {idsOnly: true})).toEqual([
+      'a',
+      null,
+    ]);
+  });
+
+  it('should leave the features alone without options', () => {
+    expect(applyQueryOptions(featureCollection)).toBe(featureCollection);
+  });
+
+  it('should project properties and omit geometry', () => {
+    const result = applyQueryOptions(featureCollection, {
+      properties: ['name', 'kind'],
+      omitGeometry: true,
+    });
+
+    expect(result.features[0]).toEqual({
+      type: 'Feature',
+      id: 'a',
+      geometry: null,
+      properties: {name: 'A', kind: 'road'},
+    });
+    expect(result.features[1].properties).toEqual({name: 'B'});
+  });
+});
@@ -0,0 +1,116 @@
+import {
+  encodeShapeBuffer,
+  encodeShapeBufferBase64,
+  toBase64,
+  ColumnType,
+  GeometryType,
+} from '../../javascript/utils/shapeBuffer';
+
+function readHeader(bytes) {
+  const view = new DataView(bytes.buffer);
+  return {
+    magic: String.fromCharCode(bytes[0], bytes[1], bytes[2], bytes[3]),
+    version: bytes[4],
+    flags: bytes[5],
+    columnCount: view.getUint16(6, true),
+    featureCount: view.getUint32(8, true),
+    partCount: view.getUint32(12, true),
+    ringCount: view.getUint32(16, true),
+    coordinateCount: view.getUint32(20, true),
+  };
+}
+
+describe('shapeBuffer', () => {
+  it('should encode a point geometry', () => {
+    const bytes = encodeShapeBuffer({type: 'Point', coordinates: [1, 2]});
+    const view = new DataView(bytes.buffer);
+
+    expect(readHeader(bytes)).toEqual({
+      magic: 'RMGB',
+      version: 1,
+      flags: 0,
+      columnCount: 0,
+      featureCount: 1,
+      partCount: 1,
+      ringCount: 1,
+      coordinateCount: 1,
+    });
+
+    expect(bytes[24]).toEqual(GeometryType.Point);
+
+    // types + 3 offset tables of two u32 each
+    const coordinateOffset = 24 + 1 + 3 * 2 * 4;
+    expect(view.getFloat64(coordinateOffset, true)).toEqual(1);
+    expect(view.getFloat64(coordinateOffset + 8, true)).toEqual(2);
+    expect(bytes.length).toEqual(coordinateOffset + 16);
+  });
+
+  it('should encode polygons with ids and property columns', () => {
+    const bytes = encodeShapeBuffer(
+      {
+        type: 'FeatureCollection',
+        features: [
+          {
+            type: 'Feature',
+            id: 'a',
+            properties: {rank: 1, name: 'é', visible: true},
+            geometry: {
+              type: 'Polygon',
+              coordinates: [[[0, 0], [1, 0], [1, 1], [0, 0]]],
+            },
+          },
+          {
+            type: 'Feature',
+            id: 'b',
+            properties: {rank: '2'},
+            geometry: {
+              type: 'MultiLineString',
+              coordinates: [[[0, 0], [1, 1]], [[2, 2], [3, 3]]],
+            },
+          },
+        ],
+      },
+      {float32: true},
+    );
+
+    expect(readHeader(bytes)).toEqual({
+      magic: 'RMGB',
+      version: 1,
+      flags: 3,
+      columnCount: 3,
+      featureCount: 2,
+      partCount: 2,
+      ringCount: 3,
+      coordinateCount: 8,
+    });
+    expect(bytes[24]).toEqual(GeometryType.Polygon);
+    expect(bytes[25]).toEqual(GeometryType.MultiLineString);
+  });
+
+  it('should fall back to json columns for mixed values', () => {
+    const shape = {
+      type: 'FeatureCollection',
+      features: [
+        {type: 'Feature', properties: {v: 1}, geometry: null},
+        {type: 'Feature', properties: {v: 'x'}, geometry: null},
+      ],
+    };
+    shape.features.forEach(f => {
+      f.geometry = {type: 'Point', coordinates: [0, 0]};
+    });
+
+    const bytes = encodeShapeBuffer(shape);
+    // header, 2 types, 3 offset tables of 3 u32, 2 f64 coordinate pairs, name string
+    const columnTypeOffset = 24 + 2 + 3 * 3 * 4 + 2 * 16 + 4 + 1;
+    expect(bytes[columnTypeOffset]).toEqual(ColumnType.JSON);
+  });
+
+  it('should base64 encode', () => {
+    expect(toBase64([77, 97, 110])).toEqual('TWFu');
+    expect(toBase64([77, 97])).toEqual('TWE=');
+    expect(toBase64([77])).toEqual('TQ==');
+    expect(
+      encodeShapeBufferBase64({type: 'Point', coordinates: [0, 0]}).slice(0, 8),
+    ).toEqual('Uk1HQgEA');
+  });
+});
@@ -177,7 +177,8 @@ public class RCTMGLPointAnnotation extends AbstractMapFeature {
 
     public void makeMarker() {
         mAnnotation = mMap.addMarker(buildOptions());
-        
+        mMapView.onPointAnnotationMarkerAdded(this);
+
         if (mAnchor != null && mAnchor.size() == 2) {
             mAnnotation.setAnchor(mAnchor.get(0), mAnchor.get(1));
         }
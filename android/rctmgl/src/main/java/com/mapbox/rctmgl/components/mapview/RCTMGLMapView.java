@@ -10,6 +10,7 @@ import android.support.annotation.NonNull;
 import android.util.DisplayMetrics;
 import android.util.Log;
 import android.view.View;
+import android.view.ViewConfiguration;
 import android.view.ViewGroup;
 import android.view.MotionEvent;
 
@@ -40,6 +41,7 @@ import com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerPlugin;
 import com.mapbox.mapboxsdk.style.layers.Layer;
 import com.mapbox.mapboxsdk.style.layers.Property;
 import com.mapbox.mapboxsdk.style.layers.PropertyFactory;
+import com.mapbox.mapboxsdk.style.sources.Source;
 import com.mapbox.rctmgl.components.AbstractMapFeature;
 import com.mapbox.rctmgl.components.annotation.RCTMGLCallout;
 import com.mapbox.rctmgl.components.annotation.RCTMGLCalloutAdapter;
@@ -48,6 +50,7 @@ import com.mapbox.rctmgl.components.annotation.RCTMGLPointAnnotationAdapter;
 import com.mapbox.rctmgl.components.camera.CameraStop;
 import com.mapbox.rctmgl.components.camera.CameraUpdateQueue;
 import com.mapbox.rctmgl.components.mapview.helpers.CameraChangeTracker;
+import com.mapbox.rctmgl.components.styles.layers.RCTLayer;
 import com.mapbox.rctmgl.components.styles.light.RCTMGLLight;
 import com.mapbox.rctmgl.components.styles.sources.RCTSource;
 import com.mapbox.rctmgl.events.AndroidCallbackEvent;
@@ -64,22 +67,30 @@ import com.mapbox.rctmgl.location.UserLocationVerticalAlignment;
 import com.mapbox.rctmgl.location.UserTrackingMode;
 import com.mapbox.rctmgl.location.UserTrackingState;
 import com.mapbox.rctmgl.utils.BitmapUtils;
+import com.mapbox.rctmgl.utils.FeatureHitTester;
+import com.mapbox.rctmgl.utils.FeatureQueryOptions;
 import com.mapbox.rctmgl.utils.FilterParser;
 import com.mapbox.rctmgl.utils.GeoJSONUtils;
 import com.mapbox.rctmgl.utils.GeoViewport;
+import com.mapbox.rctmgl.utils.LongObjectMap;
+import com.mapbox.rctmgl.utils.MapImageResolver;
 import com.mapbox.rctmgl.utils.SimpleEventCallback;
 import com.mapbox.services.android.telemetry.permissions.PermissionsManager;
 import com.mapbox.services.commons.geojson.Feature;
-import com.mapbox.services.commons.geojson.FeatureCollection;
 import com.mapbox.services.commons.geojson.Point;
 import com.mapbox.services.commons.models.Position;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.Nullable;
 
@@ -105,13 +116,38 @@ public class RCTMGLMapView extends MapView implements
     private List<AbstractMapFeature> mFeatures;
     private List<AbstractMapFeature> mQueuedFeatures;
     private Map<String, RCTMGLPointAnnotation> mPointAnnotations;
+
+    // annotations by the id of their marker, added once the marker is created
+    private LongObjectMap<RCTMGLPointAnnotation> mPointAnnotationsByMarkerID;
     private Map<String, RCTSource> mSources;
 
+    // features added while a style transaction is open, they're added to the style together on commit
+    private int mStyleTransactionDepth;
+    private List<AbstractMapFeature> mTransactionFeatures = new ArrayList<>();
+
+    // while features are added to the style in a batch: ids in the style, so features don't probe it one by one,
+    // and layers waiting for the layer they're placed against
+    private Set<String> mStyleLayerIDs;
+    private Set<String> mStyleSourceIDs;
+    private Map<RCTLayer, String> mDeferredLayers;
+
+    // style layer id -> position from the bottom of the style, rebuilt on the next press after the order changed
+    private Map<String, Integer> mLayerZIndexes;
+
+    // layers that are only created in the style when the camera gets close to their zoom range
+    private List<RCTLayer> mLazyLayers = new ArrayList<>();
+
+    // layers in the order they were added to the map, a lazy layer without a placement is created
+    // below the first layer mounted after it, where adding it right away would have put it
+    private List<RCTLayer> mMountedLayers = new ArrayList<>();
+    private double mLazyLayersZoom = Double.NaN;
+
     private CameraUpdateQueue mCameraUpdateQueue;
     private CameraChangeTracker mCameraChangeTracker = new CameraChangeTracker();
     private Map<Integer, ReadableArray> mPreRenderMethodMap = new HashMap<>();
 
     private MapboxMap mMap;
+    private MapImageResolver mImageResolver;
     private LocationManager mLocationManger;
     private UserLocation mUserLocation;
 
@@ -186,6 +222,7 @@ public class RCTMGLMapView extends MapView implements
 
         mSources = new HashMap<>();
         mPointAnnotations = new HashMap<>();
+        mPointAnnotationsByMarkerID = new LongObjectMap<>();
         mQueuedFeatures = new ArrayList<>();
         mFeatures = new ArrayList<>();
 
@@ -254,11 +291,13 @@ public class RCTMGLMapView extends MapView implements
         }
 
         if (feature != null) {
-            if (mMap != null) {
-                feature.addToMap(this);
+            if (mMap == null) {
+                mQueuedFeatures.add(childPosition, feature);
+            } else if (addToStyleTransaction(feature)) {
                 mFeatures.add(childPosition, feature);
             } else {
-                mQueuedFeatures.add(childPosition, feature);
+                feature.addToMap(this);
+                mFeatures.add(childPosition, feature);
             }
         }
     }
@@ -281,9 +320,12 @@ public class RCTMGLMapView extends MapView implements
             }
 
             mPointAnnotations.remove(annotation.getID());
+            mPointAnnotationsByMarkerID.remove(annotation.getMapboxID());
         }
 
-        feature.removeFromMap(this);
+        if (!removeFromStyleTransaction(feature)) {
+            feature.removeFromMap(this);
+        }
         mFeatures.remove(feature);
     }
 
@@ -309,6 +351,10 @@ public class RCTMGLMapView extends MapView implements
 
         mLocationManger.dispose();
 
+        if (mImageResolver != null) {
+            mImageResolver.dispose();
+        }
+
         if (!mPaused) {
             onPause();
         }
@@ -321,39 +367,210 @@ public class RCTMGLMapView extends MapView implements
         if (annotationID == null) {
             return null;
         }
+        return mPointAnnotations.get(annotationID);
+    }
+
+    public RCTMGLPointAnnotation getPointAnnotationByMarkerID(long markerID) {
+        if (markerID == -1) {
+            return null;
+        }
+        return mPointAnnotationsByMarkerID.get(markerID);
+    }
 
-        for (String key : mPointAnnotations.keySet()) {
-            RCTMGLPointAnnotation annotation = mPointAnnotations.get(key);
+    /**
+     * Called by an annotation once its marker was added to the map and it has its marker id.
+     */
+    public void onPointAnnotationMarkerAdded(RCTMGLPointAnnotation annotation) {
+        mPointAnnotationsByMarkerID.put(annotation.getMapboxID(), annotation);
+    }
 
-            if (annotation != null && annotationID.equals(annotation.getID())) {
-                return annotation;
-            }
+    public MapboxMap getMapboxMap() {
+        return mMap;
+    }
+
+    public MapImageResolver getImageResolver() {
+        return mImageResolver;
+    }
+
+    //region Style transactions
+
+    /**
+     * Sources, layers and other features added until the matching commitStyleTransaction are collected
+     * and added to the style in one ordered batch. Transactions can be nested.
+     */
+    public void beginStyleTransaction() {
+        mStyleTransactionDepth++;
+    }
+
+    public void commitStyleTransaction(String callbackID) {
+        if (mStyleTransactionDepth > 0) {
+            mStyleTransactionDepth--;
         }
 
-        return null;
+        List<AbstractMapFeature> features = new ArrayList<>();
+        if (mStyleTransactionDepth == 0 && mMap != null) {
+            features = mTransactionFeatures;
+            mTransactionFeatures = new ArrayList<>();
+        }
+
+        double applyTime = addFeaturesToStyle(features);
+
+        if (callbackID != null) {
+            AndroidCallbackEvent event = new AndroidCallbackEvent(this, callbackID, EventKeys.MAP_ANDROID_CALLBACK);
+            WritableMap payload = new WritableNativeMap();
+            payload.putInt("featureCount", features.size());
+            payload.putDouble("applyTime", applyTime);
+            event.setPayload(payload);
+            mManager.handleEvent(event);
+        }
     }
 
-    public RCTMGLPointAnnotation getPointAnnotationByMarkerID(long markerID) {
-        for (String key : mPointAnnotations.keySet()) {
-            RCTMGLPointAnnotation annotation = mPointAnnotations.get(key);
+    /**
+     * @return true when the feature will be added to the style with the open transaction
+     */
+    public boolean addToStyleTransaction(AbstractMapFeature feature) {
+        if (mStyleTransactionDepth == 0) {
+            return false;
+        }
+        mTransactionFeatures.add(feature);
+        return true;
+    }
 
-            if (annotation != null && markerID == annotation.getMapboxID()) {
-                return annotation;
-            }
+    /**
+     * @return true when the feature was waiting for a transaction, so it isn't in the style
+     */
+    public boolean removeFromStyleTransaction(AbstractMapFeature feature) {
+        return mTransactionFeatures.remove(feature);
+    }
+
+    public boolean hasStyleLayer(String layerID) {
+        if (mStyleLayerIDs != null) {
+            return mStyleLayerIDs.contains(layerID);
         }
+        return mMap.getLayer(layerID) != null;
+    }
 
-        return null;
+    public <T extends Layer> T getStyleLayerAs(String layerID) {
+        if (mStyleLayerIDs != null && !mStyleLayerIDs.contains(layerID)) {
+            return null;
+        }
+        return mMap.<T>getLayerAs(layerID);
     }
 
-    public MapboxMap getMapboxMap() {
-        return mMap;
+    public <T extends Source> T getStyleSourceAs(String sourceID) {
+        if (mStyleSourceIDs != null && !mStyleSourceIDs.contains(sourceID)) {
+            return null;
+        }
+        return mMap.<T>getSourceAs(sourceID);
+    }
+
+    public void onStyleLayerAdded(String layerID) {
+        if (mStyleLayerIDs != null) {
+            mStyleLayerIDs.add(layerID);
+        }
+        invalidateLayerOrder();
+    }
+
+    /**
+     * Layers were added, removed or moved, the z-order index used for hit testing is rebuilt when next needed.
+     */
+    public void invalidateLayerOrder() {
+        mLayerZIndexes = null;
+    }
+
+    public void onStyleSourceAdded(String sourceID) {
+        if (mStyleSourceIDs != null) {
+            mStyleSourceIDs.add(sourceID);
+        }
+    }
+
+    /**
+     * While a batch is added, a layer placed against one that isn't in the style yet waits for it.
+     *
+     * @return true when the layer was deferred and is inserted later in the batch
+     */
+    public boolean deferLayer(RCTLayer layer, String anchorLayerID) {
+        if (mDeferredLayers == null || mStyleLayerIDs.contains(anchorLayerID)) {
+            return false;
+        }
+        mDeferredLayers.put(layer, anchorLayerID);
+        return true;
+    }
+
+    /**
+     * Adds features to the style in one batch, sources and their layers first, then the rest.
+     *
+     * @return time it took in milliseconds
+     */
+    private double addFeaturesToStyle(List<AbstractMapFeature> features) {
+        if (features.isEmpty()) {
+            return 0;
+        }
+
+        long startTime = System.nanoTime();
+
+        mStyleLayerIDs = new HashSet<>();
+        for (Layer layer : mMap.getLayers()) {
+            mStyleLayerIDs.add(layer.getId());
+        }
+
+        mStyleSourceIDs = new HashSet<>();
+        for (Source source : mMap.getSources()) {
+            mStyleSourceIDs.add(source.getId());
+        }
+
+        mDeferredLayers = new LinkedHashMap<>();
+
+        for (AbstractMapFeature feature : features) {
+            if (feature instanceof RCTSource) {
+                feature.addToMap(this);
+            }
+        }
+
+        for (AbstractMapFeature feature : features) {
+            if (!(feature instanceof RCTSource)) {
+                feature.addToMap(this);
+            }
+        }
+
+        // place deferred layers once the layers they're positioned against are in, until nothing moves anymore
+        boolean hasPlacedLayer = true;
+        while (hasPlacedLayer && !mDeferredLayers.isEmpty()) {
+            hasPlacedLayer = false;
+
+            Iterator<Map.Entry<RCTLayer, String>> iterator = mDeferredLayers.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<RCTLayer, String> entry = iterator.next();
+
+                if (mStyleLayerIDs.contains(entry.getValue())) {
+                    iterator.remove();
+                    entry.getKey().insertLayer();
+                    hasPlacedLayer = true;
+                }
+            }
+        }
+
+        List<RCTLayer> unplacedLayers = new ArrayList<>(mDeferredLayers.keySet());
+        mStyleLayerIDs = null;
+        mStyleSourceIDs = null;
+        mDeferredLayers = null;
+
+        // placed against layers that aren't in the style at all, same as without a batch
+        for (RCTLayer layer : unplacedLayers) {
+            layer.insertLayer();
+        }
+
+        return (System.nanoTime() - startTime) / 1000000.0;
     }
 
+    //endregion
+
     //region Map Callbacks
 
     @Override
     public void onMapReady(final MapboxMap mapboxMap) {
         mMap = mapboxMap;
+        mImageResolver = new MapImageResolver(mContext, mMap);
 
         reflow(); // the internal widgets(compass, attribution, etc) need this to position themselves correctly
 
@@ -396,11 +613,8 @@ public class RCTMGLMapView extends MapView implements
         }
 
         if (mQueuedFeatures.size() > 0) {
-            for (int i = 0; i < mQueuedFeatures.size(); i++) {
-                AbstractMapFeature feature = mQueuedFeatures.get(i);
-                feature.addToMap(this);
-                mFeatures.add(feature);
-            }
+            addFeaturesToStyle(mQueuedFeatures);
+            mFeatures.addAll(mQueuedFeatures);
             mQueuedFeatures = null;
         }
 
@@ -411,6 +625,8 @@ public class RCTMGLMapView extends MapView implements
         mMap.addOnCameraIdleListener(new MapboxMap.OnCameraIdleListener() {
             @Override
             public void onCameraIdle() {
+                updateLazyLayers(); // camera moves without animation only end up here
+
                 if (mPointAnnotations.size() > 0) {
                     markerViewManager.invalidateViewMarkersInVisibleRegion();
                 }
@@ -483,6 +699,7 @@ public class RCTMGLMapView extends MapView implements
             @Override
             public void onCameraMove() {
                 handleMapChangedEvent(EventTypes.REGION_IS_CHANGING);
+                updateLazyLayers();
 
                 int userTrackingMode = mUserLocation.getTrackingMode();
                 boolean isFollowWithCourseOrHeading = userTrackingMode == UserTrackingMode.FollowWithCourse || userTrackingMode == UserTrackingMode.FollowWithHeading;
@@ -546,14 +763,9 @@ public class RCTMGLMapView extends MapView implements
     public void onMapClick(@NonNull LatLng point) {
         boolean isEventCaptured = false;
 
-        if (mActiveMarkerID != -1) {
-            for (String key : mPointAnnotations.keySet()) {
-                RCTMGLPointAnnotation annotation = mPointAnnotations.get(key);
-
-                if (mActiveMarkerID == annotation.getMapboxID()) {
-                    isEventCaptured = deselectAnnotation(annotation);
-                }
-            }
+        RCTMGLPointAnnotation activeAnnotation = getPointAnnotationByMarkerID(mActiveMarkerID);
+        if (activeAnnotation != null) {
+            isEventCaptured = deselectAnnotation(activeAnnotation);
         }
 
         if (isEventCaptured) {
@@ -561,39 +773,11 @@ public class RCTMGLMapView extends MapView implements
         }
 
         PointF screenPoint = mMap.getProjection().toScreenLocation(point);
-        List<RCTSource> touchableSources = getAllTouchableSources();
-
-        Map<String, Feature> hits = new HashMap<>();
-        List<RCTSource> hitTouchableSources = new ArrayList<>();
-        for (RCTSource touchableSource : touchableSources) {
-            Map<String, Double> hitbox = touchableSource.getTouchHitbox();
-            if (hitbox == null) {
-                continue;
-            }
-
-            float halfWidth = hitbox.get("width").floatValue() / 2.0f;
-            float halfHeight = hitbox.get("height").floatValue() / 2.0f;
-
-            RectF hitboxF = new RectF();
-            hitboxF.set(
-                    screenPoint.x - halfWidth,
-                    screenPoint.y - halfHeight,
-                    screenPoint.x + halfWidth,
-                    screenPoint.y + halfHeight);
-
-            List<Feature> features = mMap.queryRenderedFeatures(hitboxF, touchableSource.getLayerIDs());
-            if (features.size() > 0) {
-                hits.put(touchableSource.getID(), features.get(0));
-                hitTouchableSources.add(touchableSource);
-            }
-        }
+        TouchHit hit = queryTouchableSources(screenPoint);
 
-        if (hits.size() > 0) {
-            RCTSource source = getTouchableSourceWithHighestZIndex(hitTouchableSources);
-            if (source != null && source.hasPressListener()) {
-                source.onPress(hits.get(source.getID()));
-                return;
-            }
+        if (hit != null) {
+            hit.source.onPress(hit.hits);
+            return;
         }
 
         MapClickEvent event = new MapClickEvent(this, point, screenPoint);
@@ -612,17 +796,10 @@ public class RCTMGLMapView extends MapView implements
         final long selectedMarkerID = marker.getId();
 
         RCTMGLPointAnnotation activeAnnotation = null;
-        RCTMGLPointAnnotation nextActiveAnnotation = null;
+        RCTMGLPointAnnotation nextActiveAnnotation = getPointAnnotationByMarkerID(selectedMarkerID);
 
-        for (String key : mPointAnnotations.keySet()) {
-            RCTMGLPointAnnotation annotation = mPointAnnotations.get(key);
-            final long curMarkerID = annotation.getMapboxID();
-
-            if (selectedMarkerID == curMarkerID) {
-                nextActiveAnnotation = annotation;
-            } else if (mActiveMarkerID == curMarkerID) {
-                activeAnnotation = annotation;
-            }
+        if (mActiveMarkerID != selectedMarkerID) {
+            activeAnnotation = getPointAnnotationByMarkerID(mActiveMarkerID);
         }
 
         if (activeAnnotation != null) {
@@ -734,6 +911,8 @@ public class RCTMGLMapView extends MapView implements
 
         if (mMap != null) {
             removeAllSourcesFromMap();
+            mImageResolver.onStyleChanged();
+            invalidateLayerOrder();
 
             mMap.setStyle(styleURL, new MapboxMap.OnStyleLoadedListener() {
                 @Override
@@ -935,12 +1114,12 @@ public class RCTMGLMapView extends MapView implements
         }
     }
 
-    public void queryRenderedFeaturesAtPoint(String callbackID, PointF point, FilterParser.FilterList filter, List<String> layerIDs) {
+    public void queryRenderedFeaturesAtPoint(String callbackID, PointF point, FilterParser.FilterList filter, List<String> layerIDs, FeatureQueryOptions options) {
         AndroidCallbackEvent event = new AndroidCallbackEvent(this, callbackID, EventKeys.MAP_ANDROID_CALLBACK);
         List<Feature> features = mMap.queryRenderedFeatures(point, FilterParser.parse(filter), layerIDs.toArray(new String[layerIDs.size()]));
 
         WritableMap payload = new WritableNativeMap();
-        payload.putString("data", FeatureCollection.fromFeatures(features).toJson());
+        options.putResult(payload, features);
         event.setPayload(payload);
 
         mManager.handleEvent(event);
@@ -957,12 +1136,12 @@ public class RCTMGLMapView extends MapView implements
         mManager.handleEvent(event);
     }
 
-    public void queryRenderedFeaturesInRect(String callbackID, RectF rect, FilterParser.FilterList filter, List<String> layerIDs) {
+    public void queryRenderedFeaturesInRect(String callbackID, RectF rect, FilterParser.FilterList filter, List<String> layerIDs, FeatureQueryOptions options) {
         AndroidCallbackEvent event = new AndroidCallbackEvent(this, callbackID, EventKeys.MAP_ANDROID_CALLBACK);
         List<Feature> features = mMap.queryRenderedFeatures(rect, FilterParser.parse(filter), layerIDs.toArray(new String[layerIDs.size()]));
 
         WritableMap payload = new WritableNativeMap();
-        payload.putString("data", FeatureCollection.fromFeatures(features).toJson());
+        options.putResult(payload, features);
         event.setPayload(payload);
 
         mManager.handleEvent(event);
@@ -1042,6 +1221,175 @@ public class RCTMGLMapView extends MapView implements
         mManager.handleEvent(event);
     }
 
+    //region Lazy layers
+
+    /**
+     * Registers a lazy layer, or updates it after its zoom range changed, and creates or drops it for the current zoom.
+     */
+    public void addLazyLayer(RCTLayer layer) {
+        if (!mLazyLayers.contains(layer)) {
+            mLazyLayers.add(layer);
+        }
+        layer.updateMaterialization(mMap.getCameraPosition().zoom);
+    }
+
+    public void removeLazyLayer(RCTLayer layer) {
+        mLazyLayers.remove(layer);
+    }
+
+    public void onLayerMounted(RCTLayer layer) {
+        if (!mMountedLayers.contains(layer)) {
+            mMountedLayers.add(layer);
+        }
+    }
+
+    public void onLayerUnmounted(RCTLayer layer) {
+        mMountedLayers.remove(layer);
+    }
+
+    /**
+     * @return id of the first layer mounted after the given one that was added on top of the style and is in it,
+     * or null when there's none
+     */
+    public String getLayerMountedAbove(RCTLayer layer) {
+        for (int i = mMountedLayers.indexOf(layer) + 1; i > 0 && i < mMountedLayers.size(); i++) {
+            RCTLayer mountedLayer = mMountedLayers.get(i);
+
+            if (!mountedLayer.hasPlacement() && hasStyleLayer(mountedLayer.getID())) {
+                return mountedLayer.getID();
+            }
+        }
+        return null;
+    }
+
+    private void updateLazyLayers() {
+        if (mLazyLayers.isEmpty()) {
+            return;
+        }
+
+        double zoom = mMap.getCameraPosition().zoom;
+        if (zoom == mLazyLayersZoom) {
+            return;
+        }
+        mLazyLayersZoom = zoom;
+
+        for (RCTLayer layer : new ArrayList<>(mLazyLayers)) {
+            layer.updateMaterialization(zoom);
+        }
+    }
+
+    //endregion
+
+    /**
+     * Puts the layers in the given order, bottom to top, in one pass. Only the layers that are out of place
+     * relative to the others are moved, the longest run that is already in order stays where it is.
+     * Layers that aren't listed keep their place.
+     */
+    public void reorderLayers(String callbackID, List<String> layerIDs) {
+        AndroidCallbackEvent event = new AndroidCallbackEvent(this, callbackID, EventKeys.MAP_ANDROID_CALLBACK);
+
+        Map<String, Integer> styleIndices = new HashMap<>();
+        List<Layer> mapboxLayers = mMap.getLayers();
+        for (int i = 0; i < mapboxLayers.size(); i++) {
+            styleIndices.put(mapboxLayers.get(i).getId(), i);
+        }
+
+        List<String> orderedIDs = new ArrayList<>(layerIDs.size());
+        Set<String> seenIDs = new HashSet<>();
+        for (String layerID : layerIDs) {
+            if (styleIndices.containsKey(layerID) && seenIDs.add(layerID)) {
+                orderedIDs.add(layerID);
+            }
+        }
+
+        int[] currentIndices = new int[orderedIDs.size()];
+        for (int i = 0; i < currentIndices.length; i++) {
+            currentIndices[i] = styleIndices.get(orderedIDs.get(i));
+        }
+
+        boolean[] isInPlace = getLongestIncreasingRun(currentIndices);
+        int anchor = 0;
+        while (anchor < isInPlace.length && !isInPlace[anchor]) {
+            anchor++;
+        }
+
+        int movedCount = 0;
+
+        // the layers above the first one that stays are moved on top of their predecessor, the ones below it under their successor
+        for (int i = anchor + 1; i < orderedIDs.size(); i++) {
+            if (!isInPlace[i]) {
+                Layer layer = mMap.removeLayer(orderedIDs.get(i));
+                mMap.addLayerAbove(layer, orderedIDs.get(i - 1));
+                onLayerMoved(orderedIDs.get(i), orderedIDs.get(i - 1), null);
+                movedCount++;
+            }
+        }
+
+        for (int i = anchor - 1; i >= 0; i--) {
+            Layer layer = mMap.removeLayer(orderedIDs.get(i));
+            mMap.addLayerBelow(layer, orderedIDs.get(i + 1));
+            onLayerMoved(orderedIDs.get(i), null, orderedIDs.get(i + 1));
+            movedCount++;
+        }
+
+        if (movedCount > 0) {
+            invalidateLayerOrder();
+        }
+
+        WritableMap payload = new WritableNativeMap();
+        payload.putInt("movedCount", movedCount);
+        event.setPayload(payload);
+
+        mManager.handleEvent(event);
+    }
+
+    /**
+     * Lets the layer component know where it was moved, so it goes back there when it is added again.
+     */
+    private void onLayerMoved(String layerID, String aboveLayerID, String belowLayerID) {
+        for (RCTLayer layer : mMountedLayers) {
+            if (layerID.equals(layer.getID())) {
+                layer.setPlacement(aboveLayerID, belowLayerID);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return which values belong to a longest strictly increasing subsequence
+     */
+    private static boolean[] getLongestIncreasingRun(int[] values) {
+        int[] tailIndices = new int[values.length];
+        int[] previous = new int[values.length];
+        int length = 0;
+
+        for (int i = 0; i < values.length; i++) {
+            int low = 0;
+            int high = length;
+
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[tailIndices[mid]] < values[i]) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            previous[i] = low > 0 ? tailIndices[low - 1] : -1;
+            tailIndices[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        boolean[] isInRun = new boolean[values.length];
+        for (int i = length > 0 ? tailIndices[length - 1] : -1; i != -1; i = previous[i]) {
+            isInRun[i] = true;
+        }
+        return isInRun;
+    }
+
     public void showAttribution() {
         View attributionView = findViewById(com.mapbox.mapboxsdk.R.id.attributionView);
         attributionView.callOnClick();
@@ -1285,58 +1633,135 @@ public class RCTMGLMapView extends MapView implements
         if (mSources.size() == 0) {
             return;
         }
-        for (String key : mSources.keySet()) {
-            RCTSource source = mSources.get(key);
-            source.addToMap(this);
+        addFeaturesToStyle(new ArrayList<AbstractMapFeature>(mSources.values()));
+    }
+
+    //region Hit testing
+
+    /**
+     * Finds the touchable source on top at a press and its features there, closest to the press first.
+     * Queried features don't tell which layer they're from, so one query over the layers of every touchable
+     * source with the largest hitbox rules out misses, and only on a hit are the layers of each source queried
+     * with its own hitbox from the top down, until one of them has a feature there.
+     */
+    private TouchHit queryTouchableSources(PointF screenPoint) {
+        List<RCTSource> sources = getTouchableSourcesByZIndex();
+        if (sources.isEmpty()) {
+            return null;
+        }
+
+        if (sources.size() > 1) {
+            float maxWidth = 0.0f;
+            float maxHeight = 0.0f;
+            List<String> layerIDs = new ArrayList<>();
+
+            for (RCTSource source : sources) {
+                Map<String, Double> hitbox = source.getTouchHitbox();
+                maxWidth = Math.max(maxWidth, hitbox.get("width").floatValue());
+                maxHeight = Math.max(maxHeight, hitbox.get("height").floatValue());
+                Collections.addAll(layerIDs, source.getLayerIDs());
+            }
+
+            RectF hitbox = makeHitbox(screenPoint, maxWidth, maxHeight);
+            if (mMap.queryRenderedFeatures(hitbox, layerIDs.toArray(new String[layerIDs.size()])).isEmpty()) {
+                return null;
+            }
+        }
+
+        for (RCTSource source : sources) {
+            Map<String, Double> hitbox = source.getTouchHitbox();
+            RectF sourceHitbox = makeHitbox(screenPoint, hitbox.get("width").floatValue(), hitbox.get("height").floatValue());
+
+            // one query over all of the source's layers, the engine returns them top most layer first
+            List<Feature> features = mMap.queryRenderedFeatures(sourceHitbox, source.getLayerIDs());
+            if (features.isEmpty()) {
+                continue;
+            }
+
+            // the hitbox catches whatever is near, dense lines need the feature actually closest to the finger
+            int touchSlop = ViewConfiguration.get(mContext).getScaledTouchSlop();
+            FeatureHitTester hitTester = new FeatureHitTester(mMap.getProjection(), screenPoint, touchSlop);
+            hitTester.addFeatures(features);
+            return new TouchHit(source, hitTester.rank(source.getMaxPressResults()));
         }
+
+        return null;
     }
 
-    private List<RCTSource> getAllTouchableSources() {
+    /**
+     * @return sources with a press listener and layers in the style, the one with the top most layer first
+     */
+    private List<RCTSource> getTouchableSourcesByZIndex() {
+        final Map<RCTSource, Integer> zIndexes = new HashMap<>();
         List<RCTSource> sources = new ArrayList<>();
 
-        for (String key : mSources.keySet()) {
-            RCTSource source = mSources.get(key);
+        for (RCTSource source : mSources.values()) {
+            if (!source.hasPressListener()) {
+                continue;
+            }
+
+            int zIndex = -1;
+            for (String layerID : source.getLayerIDs()) {
+                zIndex = Math.max(zIndex, getLayerZIndex(layerID));
+            }
 
-            if (source.hasPressListener()) {
+            if (zIndex != -1) {
+                zIndexes.put(source, zIndex);
                 sources.add(source);
             }
         }
 
+        Collections.sort(sources, new Comparator<RCTSource>() {
+            @Override
+            public int compare(RCTSource a, RCTSource b) {
+                return zIndexes.get(b) - zIndexes.get(a);
+            }
+        });
+
         return sources;
     }
 
-    private RCTSource getTouchableSourceWithHighestZIndex(List<RCTSource> sources) {
-        if (sources == null || sources.size() == 0) {
-            return null;
+    /**
+     * @return position of the layer from the bottom of the style, -1 when it isn't in the style
+     */
+    private int getLayerZIndex(String layerID) {
+        if (mLayerZIndexes == null) {
+            // getLayers returns the bottom most layer first
+            List<Layer> layers = mMap.getLayers();
+            mLayerZIndexes = new HashMap<>(layers.size() * 2);
+
+            for (int i = 0; i < layers.size(); i++) {
+                mLayerZIndexes.put(layers.get(i).getId(), i);
+            }
         }
 
-        if (sources.size() == 1) {
-            return sources.get(0);
-        }
+        Integer zIndex = mLayerZIndexes.get(layerID);
+        return zIndex != null ? zIndex : -1;
+    }
 
-        Map<String, RCTSource> layerToSourceMap = new HashMap<>();
-        for (RCTSource source : sources) {
-            String[] layerIDs = source.getLayerIDs();
+    private static RectF makeHitbox(PointF screenPoint, float width, float height) {
+        float halfWidth = width / 2.0f;
+        float halfHeight = height / 2.0f;
 
-            for (String layerID : layerIDs) {
-                layerToSourceMap.put(layerID, source);
-            }
-        }
+        return new RectF(
+                screenPoint.x - halfWidth,
+                screenPoint.y - halfHeight,
+                screenPoint.x + halfWidth,
+                screenPoint.y + halfHeight);
+    }
 
-        // getLayers returns from back(N - 1) to front(0)
-        List<Layer> mapboxLayers = mMap.getLayers();
-        for (int i = mapboxLayers.size() - 1; i >= 0; i--) {
-            Layer mapboxLayer = mapboxLayers.get(i);
+    private static class TouchHit {
+        final RCTSource source;
+        final List<FeatureHitTester.Hit> hits;
 
-            String layerID = mapboxLayer.getId();
-            if (layerToSourceMap.containsKey(layerID)) {
-                return layerToSourceMap.get(layerID);
-            }
+        TouchHit(RCTSource source, List<FeatureHitTester.Hit> hits) {
+            this.source = source;
+            this.hits = hits;
         }
-
-        return null;
     }
 
+    //endregion
+
     private void updateUserTrackingMode(int userTrackingMode) {
         mUserLocation.setTrackingMode(userTrackingMode);
         IEvent event = new MapUserTrackingModeEvent(this, userTrackingMode);
@@ -14,6 +14,7 @@ import com.mapbox.mapboxsdk.maps.MapboxMap;
 import com.mapbox.rctmgl.components.AbstractEventEmitter;
 import com.mapbox.rctmgl.events.constants.EventKeys;
 import com.mapbox.rctmgl.utils.ConvertUtils;
+import com.mapbox.rctmgl.utils.FeatureQueryOptions;
 import com.mapbox.rctmgl.utils.FilterParser;
 import com.mapbox.rctmgl.utils.GeoJSONUtils;
 import com.mapbox.services.commons.geojson.FeatureCollection;
@@ -255,6 +256,9 @@ public class RCTMGLMapViewManager extends AbstractEventEmitter<RCTMGLMapView> {
     public static final int METHOD_GET_CENTER = 9;
     public static final int METHOD_SET_HANDLED_MAP_EVENTS = 10;
     public static final int METHOD_SHOW_ATTRIBUTION = 11;
+    public static final int METHOD_REORDER_LAYERS = 12;
+    public static final int METHOD_BEGIN_STYLE_TRANSACTION = 13;
+    public static final int METHOD_COMMIT_STYLE_TRANSACTION = 14;
 
     @Nullable
     @Override
@@ -271,11 +275,24 @@ public class RCTMGLMapViewManager extends AbstractEventEmitter<RCTMGLMapView> {
                 .put("getCenter", METHOD_GET_CENTER)
                 .put( "setHandledMapChangedEvents", METHOD_SET_HANDLED_MAP_EVENTS)
                 .put("showAttribution", METHOD_SHOW_ATTRIBUTION)
+                .put("reorderLayers", METHOD_REORDER_LAYERS)
+                .put("beginStyleTransaction", METHOD_BEGIN_STYLE_TRANSACTION)
+                .put("commitStyleTransaction", METHOD_COMMIT_STYLE_TRANSACTION)
                 .build();
     }
 
     @Override
     public void receiveCommand(RCTMGLMapView mapView, int commandID, @Nullable ReadableArray args) {
+        // transactions bracket the child views added with them, so they can't wait for the map to render
+        switch (commandID) {
+            case METHOD_BEGIN_STYLE_TRANSACTION:
+                mapView.beginStyleTransaction();
+                return;
+            case METHOD_COMMIT_STYLE_TRANSACTION:
+                mapView.commitStyleTransaction(args.getString(0));
+                return;
+        }
+
         // allows method calls to work with componentDidMount
         MapboxMap mapboxMap = mapView.getMapboxMap();
         if (mapboxMap == null) {
@@ -292,14 +309,16 @@ public class RCTMGLMapViewManager extends AbstractEventEmitter<RCTMGLMapView> {
                         args.getString(0),
                         ConvertUtils.toPointF(args.getArray(1)),
                         FilterParser.getFilterList(args.getArray(2)),
-                        ConvertUtils.toStringList(args.getArray(3)));
+                        ConvertUtils.toStringList(args.getArray(3)),
+                        getQueryOptions(args, 4));
                 break;
             case METHOD_QUERY_FEATURES_RECT:
                 mapView.queryRenderedFeaturesInRect(
                         args.getString(0),
                         ConvertUtils.toRectF(args.getArray(1)),
                         FilterParser.getFilterList(args.getArray(2)),
-                        ConvertUtils.toStringList(args.getArray(3)));
+                        ConvertUtils.toStringList(args.getArray(3)),
+                        getQueryOptions(args, 4));
                 break;
             case METHOD_VISIBLE_BOUNDS:
                 mapView.getVisibleBounds(args.getString(0));
@@ -331,7 +350,17 @@ public class RCTMGLMapViewManager extends AbstractEventEmitter<RCTMGLMapView> {
             case METHOD_SHOW_ATTRIBUTION:
                 mapView.showAttribution();
                 break;
+            case METHOD_REORDER_LAYERS:
+                mapView.reorderLayers(args.getString(0), ConvertUtils.toStringList(args.getArray(1)));
+                break;
+        }
+    }
+
+    private static FeatureQueryOptions getQueryOptions(ReadableArray args, int index) {
+        if (args.size() <= index || args.isNull(index)) {
+            return FeatureQueryOptions.fromReadableMap(null);
         }
+        return FeatureQueryOptions.fromReadableMap(args.getMap(index));
     }
 
     //endregion
@@ -9,6 +9,7 @@ import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.ReadableMapKeySetIterator;
 import com.mapbox.mapboxsdk.maps.MapboxMap;
 import com.mapbox.rctmgl.utils.DownloadMapImageTask;
+import com.mapbox.rctmgl.utils.MapImageResolver;
 
 import java.util.AbstractMap;
 import java.util.ArrayList;
@@ -20,9 +21,15 @@ import java.util.Map;
  */
 
 public class RCTMGLStyle {
+    public static final String STYLESHEET_KEY = "__MAPBOX_STYLESHEET__";
+
     private Context mContext;
     private ReadableMap mReactStyle;
     private MapboxMap mMap;
+    private MapImageResolver mImageResolver;
+    private List<String> mStyleKeys;
+    private int[] mStyleKeyIndices;
+    private RCTMGLStyleSheet mStyleSheet;
 
     public RCTMGLStyle(@NonNull Context context, @NonNull ReadableMap reactStyle, @NonNull MapboxMap map) {
         mContext = context;
@@ -30,7 +37,28 @@ public class RCTMGLStyle {
         mMap = map;
     }
 
+    /**
+     * Style limited to the given keys, e.g. the ones that changed since the style was last applied.
+     */
+    public RCTMGLStyle(@NonNull Context context, @NonNull ReadableMap reactStyle, @NonNull MapImageResolver imageResolver, @NonNull List<String> styleKeys) {
+        this(context, reactStyle, imageResolver.getMap());
+        mImageResolver = imageResolver;
+        mStyleKeys = styleKeys;
+    }
+
+    /**
+     * Style of a registered stylesheet, with the values in reactStyle overriding the stylesheet's.
+     */
+    public RCTMGLStyle(@NonNull Context context, RCTMGLStyleSheet styleSheet, ReadableMap reactStyle, @NonNull MapImageResolver imageResolver, @NonNull List<String> styleKeys) {
+        this(context, reactStyle, imageResolver, styleKeys);
+        mStyleSheet = styleSheet;
+    }
+
     public List<String> getAllStyleKeys() {
+        if (mStyleKeys != null) {
+            return mStyleKeys;
+        }
+
         if (mReactStyle == null) {
             return new ArrayList<>();
         }
@@ -41,15 +69,38 @@ public class RCTMGLStyle {
         while (it.hasNextKey()) {
             String key = it.nextKey();
 
-            if (!key.equals("__MAPBOX_STYLESHEET__")) {
+            if (!key.equals(STYLESHEET_KEY)) {
                 keys.add(key);
             }
         }
 
+        mStyleKeys = keys;
         return keys;
     }
 
+    /**
+     * @return RCTMGLStyleFactory setter table slot of each of getAllStyleKeys, resolved once per style
+     */
+    public int[] getStyleKeyIndices() {
+        if (mStyleKeyIndices != null) {
+            return mStyleKeyIndices;
+        }
+
+        List<String> keys = getAllStyleKeys();
+        mStyleKeyIndices = new int[keys.size()];
+
+        for (int i = 0; i < keys.size(); i++) {
+            mStyleKeyIndices[i] = RCTMGLStyleFactory.getStyleKeyIndex(keys.get(i));
+        }
+
+        return mStyleKeyIndices;
+    }
+
     public RCTMGLStyleValue getStyleValueForKey(String styleKey) {
+        if (mStyleSheet != null && (mReactStyle == null || !mReactStyle.hasKey(styleKey))) {
+            return mStyleSheet.getStyleValue(styleKey);
+        }
+
         ReadableMap styleValueConfig = mReactStyle.getMap(styleKey);
 
         if (styleValueConfig == null) {
@@ -75,6 +126,12 @@ public class RCTMGLStyle {
             return;
         }
 
+        if (mImageResolver != null) {
+            // shared with the other layers of the map, so an image used by many layers is only loaded once
+            mImageResolver.resolve(uriStr, uriStr, callback);
+            return;
+        }
+
         Map.Entry[] images = new Map.Entry[]{ new AbstractMap.SimpleEntry(uriStr, uriStr) };
         DownloadMapImageTask task = new DownloadMapImageTask(mContext, mMap, callback);
         task.execute(images);
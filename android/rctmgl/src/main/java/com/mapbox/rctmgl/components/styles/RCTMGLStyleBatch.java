@@ -0,0 +1,38 @@
+package com.mapbox.rctmgl.components.styles;
+
+import com.mapbox.mapboxsdk.style.layers.Layer;
+import com.mapbox.mapboxsdk.style.layers.PropertyValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the property values of a restyle so they reach the layer in a single setProperties call.
+ * Values added after the batch was applied, e.g. patterns whose image finished loading, are set right away.
+ */
+
+public class RCTMGLStyleBatch {
+    private final Layer mLayer;
+    private List<PropertyValue> mProperties = new ArrayList<>();
+
+    public RCTMGLStyleBatch(Layer layer) {
+        mLayer = layer;
+    }
+
+    public void add(PropertyValue property) {
+        if (mProperties == null) {
+            mLayer.setProperties(property);
+            return;
+        }
+        mProperties.add(property);
+    }
+
+    public void apply() {
+        List<PropertyValue> properties = mProperties;
+        mProperties = null;
+
+        if (properties != null && !properties.isEmpty()) {
+            mLayer.setProperties(properties.toArray(new PropertyValue[properties.size()]));
+        }
+    }
+}
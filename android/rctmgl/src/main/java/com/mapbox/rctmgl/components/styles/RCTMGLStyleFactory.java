@@ -17,644 +17,1420 @@ import com.mapbox.mapboxsdk.style.light.Light;
 import com.mapbox.mapboxsdk.style.light.Position;
 import com.mapbox.rctmgl.utils.DownloadMapImageTask;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class RCTMGLStyleFactory {
     public static final String VALUE_KEY = "value";
     public static final String SHOULD_ADD_IMAGE_KEY = "shouldAddImage";
-
-    public static void setFillLayerStyle(final FillLayer layer, RCTMGLStyle style) {
-      List<String> styleKeys = style.getAllStyleKeys();
-
-      if (styleKeys.size() == 0) {
-        return;
-      }
-
-      for (String styleKey : styleKeys) {
-        final RCTMGLStyleValue styleValue = style.getStyleValueForKey(styleKey);
-
-        switch (styleKey) {
-            case "visibility":
-              RCTMGLStyleFactory.setVisibility(layer, styleValue);
-              break;
-            case "fillAntialias":
-              RCTMGLStyleFactory.setFillAntialias(layer, styleValue);
-              break;
-            case "fillOpacity":
-              RCTMGLStyleFactory.setFillOpacity(layer, styleValue);
-              break;
-            case "fillOpacityTransition":
+    public static final int UNKNOWN_STYLE_KEY = -1;
+
+    private interface StyleSetter<T> {
+        void set(T layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch);
+    }
+
+    // style keys of every layer type, the index of a key is its slot in the setter tables
+    private static final int STYLE_KEY_COUNT = 157;
+    private static final Map<String, Integer> STYLE_KEY_INDICES = new HashMap<>();
+    static {
+      STYLE_KEY_INDICES.put("visibility", 0);
+      STYLE_KEY_INDICES.put("fillAntialias", 1);
+      STYLE_KEY_INDICES.put("fillOpacity", 2);
+      STYLE_KEY_INDICES.put("fillOpacityTransition", 3);
+      STYLE_KEY_INDICES.put("fillColor", 4);
+      STYLE_KEY_INDICES.put("fillColorTransition", 5);
+      STYLE_KEY_INDICES.put("fillOutlineColor", 6);
+      STYLE_KEY_INDICES.put("fillOutlineColorTransition", 7);
+      STYLE_KEY_INDICES.put("fillTranslate", 8);
+      STYLE_KEY_INDICES.put("fillTranslateTransition", 9);
+      STYLE_KEY_INDICES.put("fillTranslateAnchor", 10);
+      STYLE_KEY_INDICES.put("fillPattern", 11);
+      STYLE_KEY_INDICES.put("fillPatternTransition", 12);
+      STYLE_KEY_INDICES.put("lineCap", 13);
+      STYLE_KEY_INDICES.put("lineJoin", 14);
+      STYLE_KEY_INDICES.put("lineMiterLimit", 15);
+      STYLE_KEY_INDICES.put("lineRoundLimit", 16);
+      STYLE_KEY_INDICES.put("lineOpacity", 17);
+      STYLE_KEY_INDICES.put("lineOpacityTransition", 18);
+      STYLE_KEY_INDICES.put("lineColor", 19);
+      STYLE_KEY_INDICES.put("lineColorTransition", 20);
+      STYLE_KEY_INDICES.put("lineTranslate", 21);
+      STYLE_KEY_INDICES.put("lineTranslateTransition", 22);
+      STYLE_KEY_INDICES.put("lineTranslateAnchor", 23);
+      STYLE_KEY_INDICES.put("lineWidth", 24);
+      STYLE_KEY_INDICES.put("lineWidthTransition", 25);
+      STYLE_KEY_INDICES.put("lineGapWidth", 26);
+      STYLE_KEY_INDICES.put("lineGapWidthTransition", 27);
+      STYLE_KEY_INDICES.put("lineOffset", 28);
+      STYLE_KEY_INDICES.put("lineOffsetTransition", 29);
+      STYLE_KEY_INDICES.put("lineBlur", 30);
+      STYLE_KEY_INDICES.put("lineBlurTransition", 31);
+      STYLE_KEY_INDICES.put("lineDasharray", 32);
+      STYLE_KEY_INDICES.put("lineDasharrayTransition", 33);
+      STYLE_KEY_INDICES.put("linePattern", 34);
+      STYLE_KEY_INDICES.put("linePatternTransition", 35);
+      STYLE_KEY_INDICES.put("symbolPlacement", 36);
+      STYLE_KEY_INDICES.put("symbolSpacing", 37);
+      STYLE_KEY_INDICES.put("symbolAvoidEdges", 38);
+      STYLE_KEY_INDICES.put("iconAllowOverlap", 39);
+      STYLE_KEY_INDICES.put("iconIgnorePlacement", 40);
+      STYLE_KEY_INDICES.put("iconOptional", 41);
+      STYLE_KEY_INDICES.put("iconRotationAlignment", 42);
+      STYLE_KEY_INDICES.put("iconSize", 43);
+      STYLE_KEY_INDICES.put("iconTextFit", 44);
+      STYLE_KEY_INDICES.put("iconTextFitPadding", 45);
+      STYLE_KEY_INDICES.put("iconImage", 46);
+      STYLE_KEY_INDICES.put("iconRotate", 47);
+      STYLE_KEY_INDICES.put("iconPadding", 48);
+      STYLE_KEY_INDICES.put("iconKeepUpright", 49);
+      STYLE_KEY_INDICES.put("iconOffset", 50);
+      STYLE_KEY_INDICES.put("iconAnchor", 51);
+      STYLE_KEY_INDICES.put("iconPitchAlignment", 52);
+      STYLE_KEY_INDICES.put("textPitchAlignment", 53);
+      STYLE_KEY_INDICES.put("textRotationAlignment", 54);
+      STYLE_KEY_INDICES.put("textField", 55);
+      STYLE_KEY_INDICES.put("textFont", 56);
+      STYLE_KEY_INDICES.put("textSize", 57);
+      STYLE_KEY_INDICES.put("textMaxWidth", 58);
+      STYLE_KEY_INDICES.put("textLineHeight", 59);
+      STYLE_KEY_INDICES.put("textLetterSpacing", 60);
+      STYLE_KEY_INDICES.put("textJustify", 61);
+      STYLE_KEY_INDICES.put("textAnchor", 62);
+      STYLE_KEY_INDICES.put("textMaxAngle", 63);
+      STYLE_KEY_INDICES.put("textRotate", 64);
+      STYLE_KEY_INDICES.put("textPadding", 65);
+      STYLE_KEY_INDICES.put("textKeepUpright", 66);
+      STYLE_KEY_INDICES.put("textTransform", 67);
+      STYLE_KEY_INDICES.put("textOffset", 68);
+      STYLE_KEY_INDICES.put("textAllowOverlap", 69);
+      STYLE_KEY_INDICES.put("textIgnorePlacement", 70);
+      STYLE_KEY_INDICES.put("textOptional", 71);
+      STYLE_KEY_INDICES.put("iconOpacity", 72);
+      STYLE_KEY_INDICES.put("iconOpacityTransition", 73);
+      STYLE_KEY_INDICES.put("iconColor", 74);
+      STYLE_KEY_INDICES.put("iconColorTransition", 75);
+      STYLE_KEY_INDICES.put("iconHaloColor", 76);
+      STYLE_KEY_INDICES.put("iconHaloColorTransition", 77);
+      STYLE_KEY_INDICES.put("iconHaloWidth", 78);
+      STYLE_KEY_INDICES.put("iconHaloWidthTransition", 79);
+      STYLE_KEY_INDICES.put("iconHaloBlur", 80);
+      STYLE_KEY_INDICES.put("iconHaloBlurTransition", 81);
+      STYLE_KEY_INDICES.put("iconTranslate", 82);
+      STYLE_KEY_INDICES.put("iconTranslateTransition", 83);
+      STYLE_KEY_INDICES.put("iconTranslateAnchor", 84);
+      STYLE_KEY_INDICES.put("textOpacity", 85);
+      STYLE_KEY_INDICES.put("textOpacityTransition", 86);
+      STYLE_KEY_INDICES.put("textColor", 87);
+      STYLE_KEY_INDICES.put("textColorTransition", 88);
+      STYLE_KEY_INDICES.put("textHaloColor", 89);
+      STYLE_KEY_INDICES.put("textHaloColorTransition", 90);
+      STYLE_KEY_INDICES.put("textHaloWidth", 91);
+      STYLE_KEY_INDICES.put("textHaloWidthTransition", 92);
+      STYLE_KEY_INDICES.put("textHaloBlur", 93);
+      STYLE_KEY_INDICES.put("textHaloBlurTransition", 94);
+      STYLE_KEY_INDICES.put("textTranslate", 95);
+      STYLE_KEY_INDICES.put("textTranslateTransition", 96);
+      STYLE_KEY_INDICES.put("textTranslateAnchor", 97);
+      STYLE_KEY_INDICES.put("circleRadius", 98);
+      STYLE_KEY_INDICES.put("circleRadiusTransition", 99);
+      STYLE_KEY_INDICES.put("circleColor", 100);
+      STYLE_KEY_INDICES.put("circleColorTransition", 101);
+      STYLE_KEY_INDICES.put("circleBlur", 102);
+      STYLE_KEY_INDICES.put("circleBlurTransition", 103);
+      STYLE_KEY_INDICES.put("circleOpacity", 104);
+      STYLE_KEY_INDICES.put("circleOpacityTransition", 105);
+      STYLE_KEY_INDICES.put("circleTranslate", 106);
+      STYLE_KEY_INDICES.put("circleTranslateTransition", 107);
+      STYLE_KEY_INDICES.put("circleTranslateAnchor", 108);
+      STYLE_KEY_INDICES.put("circlePitchScale", 109);
+      STYLE_KEY_INDICES.put("circlePitchAlignment", 110);
+      STYLE_KEY_INDICES.put("circleStrokeWidth", 111);
+      STYLE_KEY_INDICES.put("circleStrokeWidthTransition", 112);
+      STYLE_KEY_INDICES.put("circleStrokeColor", 113);
+      STYLE_KEY_INDICES.put("circleStrokeColorTransition", 114);
+      STYLE_KEY_INDICES.put("circleStrokeOpacity", 115);
+      STYLE_KEY_INDICES.put("circleStrokeOpacityTransition", 116);
+      STYLE_KEY_INDICES.put("fillExtrusionOpacity", 117);
+      STYLE_KEY_INDICES.put("fillExtrusionOpacityTransition", 118);
+      STYLE_KEY_INDICES.put("fillExtrusionColor", 119);
+      STYLE_KEY_INDICES.put("fillExtrusionColorTransition", 120);
+      STYLE_KEY_INDICES.put("fillExtrusionTranslate", 121);
+      STYLE_KEY_INDICES.put("fillExtrusionTranslateTransition", 122);
+      STYLE_KEY_INDICES.put("fillExtrusionTranslateAnchor", 123);
+      STYLE_KEY_INDICES.put("fillExtrusionPattern", 124);
+      STYLE_KEY_INDICES.put("fillExtrusionPatternTransition", 125);
+      STYLE_KEY_INDICES.put("fillExtrusionHeight", 126);
+      STYLE_KEY_INDICES.put("fillExtrusionHeightTransition", 127);
+      STYLE_KEY_INDICES.put("fillExtrusionBase", 128);
+      STYLE_KEY_INDICES.put("fillExtrusionBaseTransition", 129);
+      STYLE_KEY_INDICES.put("rasterOpacity", 130);
+      STYLE_KEY_INDICES.put("rasterOpacityTransition", 131);
+      STYLE_KEY_INDICES.put("rasterHueRotate", 132);
+      STYLE_KEY_INDICES.put("rasterHueRotateTransition", 133);
+      STYLE_KEY_INDICES.put("rasterBrightnessMin", 134);
+      STYLE_KEY_INDICES.put("rasterBrightnessMinTransition", 135);
+      STYLE_KEY_INDICES.put("rasterBrightnessMax", 136);
+      STYLE_KEY_INDICES.put("rasterBrightnessMaxTransition", 137);
+      STYLE_KEY_INDICES.put("rasterSaturation", 138);
+      STYLE_KEY_INDICES.put("rasterSaturationTransition", 139);
+      STYLE_KEY_INDICES.put("rasterContrast", 140);
+      STYLE_KEY_INDICES.put("rasterContrastTransition", 141);
+      STYLE_KEY_INDICES.put("rasterFadeDuration", 142);
+      STYLE_KEY_INDICES.put("rasterFadeDurationTransition", 143);
+      STYLE_KEY_INDICES.put("backgroundColor", 144);
+      STYLE_KEY_INDICES.put("backgroundColorTransition", 145);
+      STYLE_KEY_INDICES.put("backgroundPattern", 146);
+      STYLE_KEY_INDICES.put("backgroundPatternTransition", 147);
+      STYLE_KEY_INDICES.put("backgroundOpacity", 148);
+      STYLE_KEY_INDICES.put("backgroundOpacityTransition", 149);
+      STYLE_KEY_INDICES.put("anchor", 150);
+      STYLE_KEY_INDICES.put("position", 151);
+      STYLE_KEY_INDICES.put("positionTransition", 152);
+      STYLE_KEY_INDICES.put("color", 153);
+      STYLE_KEY_INDICES.put("colorTransition", 154);
+      STYLE_KEY_INDICES.put("intensity", 155);
+      STYLE_KEY_INDICES.put("intensityTransition", 156);
+    }
+
+    /**
+     * @return slot of the style key in the setter tables, or UNKNOWN_STYLE_KEY
+     */
+    public static int getStyleKeyIndex(String styleKey) {
+        Integer index = STYLE_KEY_INDICES.get(styleKey);
+        return index != null ? index : UNKNOWN_STYLE_KEY;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final StyleSetter<FillLayer>[] FILL_STYLE_SETTERS = new StyleSetter[STYLE_KEY_COUNT];
+    static {
+      FILL_STYLE_SETTERS[0] = new StyleSetter<FillLayer>() {
+          @Override
+          public void set(FillLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setVisibility(layer, styleValue, batch);
+          }
+      };
+      FILL_STYLE_SETTERS[1] = new StyleSetter<FillLayer>() {
+          @Override
+          public void set(FillLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setFillAntialias(layer, styleValue, batch);
+          }
+      };
+      FILL_STYLE_SETTERS[2] = new StyleSetter<FillLayer>() {
+          @Override
+          public void set(FillLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setFillOpacity(layer, styleValue, batch);
+          }
+      };
+      FILL_STYLE_SETTERS[3] = new StyleSetter<FillLayer>() {
+          @Override
+          public void set(FillLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setFillOpacityTransition(layer, styleValue);
-              break;
-            case "fillColor":
-              RCTMGLStyleFactory.setFillColor(layer, styleValue);
-              break;
-            case "fillColorTransition":
+          }
+      };
+      FILL_STYLE_SETTERS[4] = new StyleSetter<FillLayer>() {
+          @Override
+          public void set(FillLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setFillColor(layer, styleValue, batch);
+          }
+      };
+      FILL_STYLE_SETTERS[5] = new StyleSetter<FillLayer>() {
+          @Override
+          public void set(FillLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setFillColorTransition(layer, styleValue);
-              break;
-            case "fillOutlineColor":
-              RCTMGLStyleFactory.setFillOutlineColor(layer, styleValue);
-              break;
-            case "fillOutlineColorTransition":
+          }
+      };
+      FILL_STYLE_SETTERS[6] = new StyleSetter<FillLayer>() {
+          @Override
+          public void set(FillLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setFillOutlineColor(layer, styleValue, batch);
+          }
+      };
+      FILL_STYLE_SETTERS[7] = new StyleSetter<FillLayer>() {
+          @Override
+          public void set(FillLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setFillOutlineColorTransition(layer, styleValue);
-              break;
-            case "fillTranslate":
-              RCTMGLStyleFactory.setFillTranslate(layer, styleValue);
-              break;
-            case "fillTranslateTransition":
+          }
+      };
+      FILL_STYLE_SETTERS[8] = new StyleSetter<FillLayer>() {
+          @Override
+          public void set(FillLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setFillTranslate(layer, styleValue, batch);
+          }
+      };
+      FILL_STYLE_SETTERS[9] = new StyleSetter<FillLayer>() {
+          @Override
+          public void set(FillLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setFillTranslateTransition(layer, styleValue);
-              break;
-            case "fillTranslateAnchor":
-              RCTMGLStyleFactory.setFillTranslateAnchor(layer, styleValue);
-              break;
-            case "fillPattern":
+          }
+      };
+      FILL_STYLE_SETTERS[10] = new StyleSetter<FillLayer>() {
+          @Override
+          public void set(FillLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setFillTranslateAnchor(layer, styleValue, batch);
+          }
+      };
+      FILL_STYLE_SETTERS[11] = new StyleSetter<FillLayer>() {
+          @Override
+          public void set(final FillLayer layer, RCTMGLStyle style, final RCTMGLStyleValue styleValue, final RCTMGLStyleBatch batch) {
               style.addImage(styleValue, new DownloadMapImageTask.OnAllImagesLoaded() {
                   @Override
                   public void onAllImagesLoaded() {
-                      RCTMGLStyleFactory.setFillPattern(layer, styleValue);
+                      RCTMGLStyleFactory.setFillPattern(layer, styleValue, batch);
                   }
               });
-              break;
-            case "fillPatternTransition":
+          }
+      };
+      FILL_STYLE_SETTERS[12] = new StyleSetter<FillLayer>() {
+          @Override
+          public void set(FillLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setFillPatternTransition(layer, styleValue);
-              break;
-        }
-      }
+          }
+      };
     }
-    public static void setLineLayerStyle(final LineLayer layer, RCTMGLStyle style) {
+
+    public static void setFillLayerStyle(final FillLayer layer, RCTMGLStyle style) {
       List<String> styleKeys = style.getAllStyleKeys();
 
       if (styleKeys.size() == 0) {
         return;
       }
 
-      for (String styleKey : styleKeys) {
-        final RCTMGLStyleValue styleValue = style.getStyleValueForKey(styleKey);
-
-        switch (styleKey) {
-            case "lineCap":
-              RCTMGLStyleFactory.setLineCap(layer, styleValue);
-              break;
-            case "lineJoin":
-              RCTMGLStyleFactory.setLineJoin(layer, styleValue);
-              break;
-            case "lineMiterLimit":
-              RCTMGLStyleFactory.setLineMiterLimit(layer, styleValue);
-              break;
-            case "lineRoundLimit":
-              RCTMGLStyleFactory.setLineRoundLimit(layer, styleValue);
-              break;
-            case "visibility":
-              RCTMGLStyleFactory.setVisibility(layer, styleValue);
-              break;
-            case "lineOpacity":
-              RCTMGLStyleFactory.setLineOpacity(layer, styleValue);
-              break;
-            case "lineOpacityTransition":
+      int[] styleKeyIndices = style.getStyleKeyIndices();
+      RCTMGLStyleBatch batch = new RCTMGLStyleBatch(layer);
+
+      for (int i = 0; i < styleKeyIndices.length; i++) {
+        int styleKeyIndex = styleKeyIndices[i];
+        if (styleKeyIndex == UNKNOWN_STYLE_KEY || FILL_STYLE_SETTERS[styleKeyIndex] == null) {
+          continue;
+        }
+
+        RCTMGLStyleValue styleValue = style.getStyleValueForKey(styleKeys.get(i));
+        FILL_STYLE_SETTERS[styleKeyIndex].set(layer, style, styleValue, batch);
+      }
+
+      batch.apply();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final StyleSetter<LineLayer>[] LINE_STYLE_SETTERS = new StyleSetter[STYLE_KEY_COUNT];
+    static {
+      LINE_STYLE_SETTERS[13] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setLineCap(layer, styleValue, batch);
+          }
+      };
+      LINE_STYLE_SETTERS[14] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setLineJoin(layer, styleValue, batch);
+          }
+      };
+      LINE_STYLE_SETTERS[15] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setLineMiterLimit(layer, styleValue, batch);
+          }
+      };
+      LINE_STYLE_SETTERS[16] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setLineRoundLimit(layer, styleValue, batch);
+          }
+      };
+      LINE_STYLE_SETTERS[0] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setVisibility(layer, styleValue, batch);
+          }
+      };
+      LINE_STYLE_SETTERS[17] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setLineOpacity(layer, styleValue, batch);
+          }
+      };
+      LINE_STYLE_SETTERS[18] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setLineOpacityTransition(layer, styleValue);
-              break;
-            case "lineColor":
-              RCTMGLStyleFactory.setLineColor(layer, styleValue);
-              break;
-            case "lineColorTransition":
+          }
+      };
+      LINE_STYLE_SETTERS[19] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setLineColor(layer, styleValue, batch);
+          }
+      };
+      LINE_STYLE_SETTERS[20] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setLineColorTransition(layer, styleValue);
-              break;
-            case "lineTranslate":
-              RCTMGLStyleFactory.setLineTranslate(layer, styleValue);
-              break;
-            case "lineTranslateTransition":
+          }
+      };
+      LINE_STYLE_SETTERS[21] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setLineTranslate(layer, styleValue, batch);
+          }
+      };
+      LINE_STYLE_SETTERS[22] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setLineTranslateTransition(layer, styleValue);
-              break;
-            case "lineTranslateAnchor":
-              RCTMGLStyleFactory.setLineTranslateAnchor(layer, styleValue);
-              break;
-            case "lineWidth":
-              RCTMGLStyleFactory.setLineWidth(layer, styleValue);
-              break;
-            case "lineWidthTransition":
+          }
+      };
+      LINE_STYLE_SETTERS[23] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setLineTranslateAnchor(layer, styleValue, batch);
+          }
+      };
+      LINE_STYLE_SETTERS[24] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setLineWidth(layer, styleValue, batch);
+          }
+      };
+      LINE_STYLE_SETTERS[25] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setLineWidthTransition(layer, styleValue);
-              break;
-            case "lineGapWidth":
-              RCTMGLStyleFactory.setLineGapWidth(layer, styleValue);
-              break;
-            case "lineGapWidthTransition":
+          }
+      };
+      LINE_STYLE_SETTERS[26] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setLineGapWidth(layer, styleValue, batch);
+          }
+      };
+      LINE_STYLE_SETTERS[27] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setLineGapWidthTransition(layer, styleValue);
-              break;
-            case "lineOffset":
-              RCTMGLStyleFactory.setLineOffset(layer, styleValue);
-              break;
-            case "lineOffsetTransition":
+          }
+      };
+      LINE_STYLE_SETTERS[28] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setLineOffset(layer, styleValue, batch);
+          }
+      };
+      LINE_STYLE_SETTERS[29] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setLineOffsetTransition(layer, styleValue);
-              break;
-            case "lineBlur":
-              RCTMGLStyleFactory.setLineBlur(layer, styleValue);
-              break;
-            case "lineBlurTransition":
+          }
+      };
+      LINE_STYLE_SETTERS[30] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setLineBlur(layer, styleValue, batch);
+          }
+      };
+      LINE_STYLE_SETTERS[31] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setLineBlurTransition(layer, styleValue);
-              break;
-            case "lineDasharray":
-              RCTMGLStyleFactory.setLineDasharray(layer, styleValue);
-              break;
-            case "lineDasharrayTransition":
+          }
+      };
+      LINE_STYLE_SETTERS[32] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setLineDasharray(layer, styleValue, batch);
+          }
+      };
+      LINE_STYLE_SETTERS[33] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setLineDasharrayTransition(layer, styleValue);
-              break;
-            case "linePattern":
+          }
+      };
+      LINE_STYLE_SETTERS[34] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(final LineLayer layer, RCTMGLStyle style, final RCTMGLStyleValue styleValue, final RCTMGLStyleBatch batch) {
               style.addImage(styleValue, new DownloadMapImageTask.OnAllImagesLoaded() {
                   @Override
                   public void onAllImagesLoaded() {
-                      RCTMGLStyleFactory.setLinePattern(layer, styleValue);
+                      RCTMGLStyleFactory.setLinePattern(layer, styleValue, batch);
                   }
               });
-              break;
-            case "linePatternTransition":
+          }
+      };
+      LINE_STYLE_SETTERS[35] = new StyleSetter<LineLayer>() {
+          @Override
+          public void set(LineLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setLinePatternTransition(layer, styleValue);
-              break;
-        }
-      }
+          }
+      };
     }
-    public static void setSymbolLayerStyle(final SymbolLayer layer, RCTMGLStyle style) {
+
+    public static void setLineLayerStyle(final LineLayer layer, RCTMGLStyle style) {
       List<String> styleKeys = style.getAllStyleKeys();
 
       if (styleKeys.size() == 0) {
         return;
       }
 
-      for (String styleKey : styleKeys) {
-        final RCTMGLStyleValue styleValue = style.getStyleValueForKey(styleKey);
-
-        switch (styleKey) {
-            case "symbolPlacement":
-              RCTMGLStyleFactory.setSymbolPlacement(layer, styleValue);
-              break;
-            case "symbolSpacing":
-              RCTMGLStyleFactory.setSymbolSpacing(layer, styleValue);
-              break;
-            case "symbolAvoidEdges":
-              RCTMGLStyleFactory.setSymbolAvoidEdges(layer, styleValue);
-              break;
-            case "iconAllowOverlap":
-              RCTMGLStyleFactory.setIconAllowOverlap(layer, styleValue);
-              break;
-            case "iconIgnorePlacement":
-              RCTMGLStyleFactory.setIconIgnorePlacement(layer, styleValue);
-              break;
-            case "iconOptional":
-              RCTMGLStyleFactory.setIconOptional(layer, styleValue);
-              break;
-            case "iconRotationAlignment":
-              RCTMGLStyleFactory.setIconRotationAlignment(layer, styleValue);
-              break;
-            case "iconSize":
-              RCTMGLStyleFactory.setIconSize(layer, styleValue);
-              break;
-            case "iconTextFit":
-              RCTMGLStyleFactory.setIconTextFit(layer, styleValue);
-              break;
-            case "iconTextFitPadding":
-              RCTMGLStyleFactory.setIconTextFitPadding(layer, styleValue);
-              break;
-            case "iconImage":
+      int[] styleKeyIndices = style.getStyleKeyIndices();
+      RCTMGLStyleBatch batch = new RCTMGLStyleBatch(layer);
+
+      for (int i = 0; i < styleKeyIndices.length; i++) {
+        int styleKeyIndex = styleKeyIndices[i];
+        if (styleKeyIndex == UNKNOWN_STYLE_KEY || LINE_STYLE_SETTERS[styleKeyIndex] == null) {
+          continue;
+        }
+
+        RCTMGLStyleValue styleValue = style.getStyleValueForKey(styleKeys.get(i));
+        LINE_STYLE_SETTERS[styleKeyIndex].set(layer, style, styleValue, batch);
+      }
+
+      batch.apply();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final StyleSetter<SymbolLayer>[] SYMBOL_STYLE_SETTERS = new StyleSetter[STYLE_KEY_COUNT];
+    static {
+      SYMBOL_STYLE_SETTERS[36] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setSymbolPlacement(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[37] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setSymbolSpacing(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[38] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setSymbolAvoidEdges(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[39] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconAllowOverlap(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[40] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconIgnorePlacement(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[41] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconOptional(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[42] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconRotationAlignment(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[43] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconSize(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[44] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconTextFit(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[45] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconTextFitPadding(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[46] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(final SymbolLayer layer, RCTMGLStyle style, final RCTMGLStyleValue styleValue, final RCTMGLStyleBatch batch) {
               style.addImage(styleValue, new DownloadMapImageTask.OnAllImagesLoaded() {
                   @Override
                   public void onAllImagesLoaded() {
-                      RCTMGLStyleFactory.setIconImage(layer, styleValue);
+                      RCTMGLStyleFactory.setIconImage(layer, styleValue, batch);
                   }
               });
-              break;
-            case "iconRotate":
-              RCTMGLStyleFactory.setIconRotate(layer, styleValue);
-              break;
-            case "iconPadding":
-              RCTMGLStyleFactory.setIconPadding(layer, styleValue);
-              break;
-            case "iconKeepUpright":
-              RCTMGLStyleFactory.setIconKeepUpright(layer, styleValue);
-              break;
-            case "iconOffset":
-              RCTMGLStyleFactory.setIconOffset(layer, styleValue);
-              break;
-            case "iconAnchor":
-              RCTMGLStyleFactory.setIconAnchor(layer, styleValue);
-              break;
-            case "iconPitchAlignment":
-              RCTMGLStyleFactory.setIconPitchAlignment(layer, styleValue);
-              break;
-            case "textPitchAlignment":
-              RCTMGLStyleFactory.setTextPitchAlignment(layer, styleValue);
-              break;
-            case "textRotationAlignment":
-              RCTMGLStyleFactory.setTextRotationAlignment(layer, styleValue);
-              break;
-            case "textField":
-              RCTMGLStyleFactory.setTextField(layer, styleValue);
-              break;
-            case "textFont":
-              RCTMGLStyleFactory.setTextFont(layer, styleValue);
-              break;
-            case "textSize":
-              RCTMGLStyleFactory.setTextSize(layer, styleValue);
-              break;
-            case "textMaxWidth":
-              RCTMGLStyleFactory.setTextMaxWidth(layer, styleValue);
-              break;
-            case "textLineHeight":
-              RCTMGLStyleFactory.setTextLineHeight(layer, styleValue);
-              break;
-            case "textLetterSpacing":
-              RCTMGLStyleFactory.setTextLetterSpacing(layer, styleValue);
-              break;
-            case "textJustify":
-              RCTMGLStyleFactory.setTextJustify(layer, styleValue);
-              break;
-            case "textAnchor":
-              RCTMGLStyleFactory.setTextAnchor(layer, styleValue);
-              break;
-            case "textMaxAngle":
-              RCTMGLStyleFactory.setTextMaxAngle(layer, styleValue);
-              break;
-            case "textRotate":
-              RCTMGLStyleFactory.setTextRotate(layer, styleValue);
-              break;
-            case "textPadding":
-              RCTMGLStyleFactory.setTextPadding(layer, styleValue);
-              break;
-            case "textKeepUpright":
-              RCTMGLStyleFactory.setTextKeepUpright(layer, styleValue);
-              break;
-            case "textTransform":
-              RCTMGLStyleFactory.setTextTransform(layer, styleValue);
-              break;
-            case "textOffset":
-              RCTMGLStyleFactory.setTextOffset(layer, styleValue);
-              break;
-            case "textAllowOverlap":
-              RCTMGLStyleFactory.setTextAllowOverlap(layer, styleValue);
-              break;
-            case "textIgnorePlacement":
-              RCTMGLStyleFactory.setTextIgnorePlacement(layer, styleValue);
-              break;
-            case "textOptional":
-              RCTMGLStyleFactory.setTextOptional(layer, styleValue);
-              break;
-            case "visibility":
-              RCTMGLStyleFactory.setVisibility(layer, styleValue);
-              break;
-            case "iconOpacity":
-              RCTMGLStyleFactory.setIconOpacity(layer, styleValue);
-              break;
-            case "iconOpacityTransition":
+          }
+      };
+      SYMBOL_STYLE_SETTERS[47] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconRotate(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[48] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconPadding(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[49] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconKeepUpright(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[50] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconOffset(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[51] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconAnchor(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[52] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconPitchAlignment(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[53] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextPitchAlignment(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[54] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextRotationAlignment(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[55] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextField(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[56] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextFont(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[57] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextSize(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[58] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextMaxWidth(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[59] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextLineHeight(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[60] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextLetterSpacing(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[61] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextJustify(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[62] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextAnchor(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[63] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextMaxAngle(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[64] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextRotate(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[65] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextPadding(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[66] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextKeepUpright(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[67] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextTransform(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[68] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextOffset(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[69] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextAllowOverlap(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[70] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextIgnorePlacement(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[71] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextOptional(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[0] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setVisibility(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[72] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconOpacity(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[73] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setIconOpacityTransition(layer, styleValue);
-              break;
-            case "iconColor":
-              RCTMGLStyleFactory.setIconColor(layer, styleValue);
-              break;
-            case "iconColorTransition":
+          }
+      };
+      SYMBOL_STYLE_SETTERS[74] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconColor(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[75] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setIconColorTransition(layer, styleValue);
-              break;
-            case "iconHaloColor":
-              RCTMGLStyleFactory.setIconHaloColor(layer, styleValue);
-              break;
-            case "iconHaloColorTransition":
+          }
+      };
+      SYMBOL_STYLE_SETTERS[76] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconHaloColor(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[77] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setIconHaloColorTransition(layer, styleValue);
-              break;
-            case "iconHaloWidth":
-              RCTMGLStyleFactory.setIconHaloWidth(layer, styleValue);
-              break;
-            case "iconHaloWidthTransition":
+          }
+      };
+      SYMBOL_STYLE_SETTERS[78] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconHaloWidth(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[79] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setIconHaloWidthTransition(layer, styleValue);
-              break;
-            case "iconHaloBlur":
-              RCTMGLStyleFactory.setIconHaloBlur(layer, styleValue);
-              break;
-            case "iconHaloBlurTransition":
+          }
+      };
+      SYMBOL_STYLE_SETTERS[80] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconHaloBlur(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[81] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setIconHaloBlurTransition(layer, styleValue);
-              break;
-            case "iconTranslate":
-              RCTMGLStyleFactory.setIconTranslate(layer, styleValue);
-              break;
-            case "iconTranslateTransition":
+          }
+      };
+      SYMBOL_STYLE_SETTERS[82] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconTranslate(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[83] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setIconTranslateTransition(layer, styleValue);
-              break;
-            case "iconTranslateAnchor":
-              RCTMGLStyleFactory.setIconTranslateAnchor(layer, styleValue);
-              break;
-            case "textOpacity":
-              RCTMGLStyleFactory.setTextOpacity(layer, styleValue);
-              break;
-            case "textOpacityTransition":
+          }
+      };
+      SYMBOL_STYLE_SETTERS[84] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setIconTranslateAnchor(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[85] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextOpacity(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[86] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setTextOpacityTransition(layer, styleValue);
-              break;
-            case "textColor":
-              RCTMGLStyleFactory.setTextColor(layer, styleValue);
-              break;
-            case "textColorTransition":
+          }
+      };
+      SYMBOL_STYLE_SETTERS[87] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextColor(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[88] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setTextColorTransition(layer, styleValue);
-              break;
-            case "textHaloColor":
-              RCTMGLStyleFactory.setTextHaloColor(layer, styleValue);
-              break;
-            case "textHaloColorTransition":
+          }
+      };
+      SYMBOL_STYLE_SETTERS[89] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextHaloColor(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[90] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setTextHaloColorTransition(layer, styleValue);
-              break;
-            case "textHaloWidth":
-              RCTMGLStyleFactory.setTextHaloWidth(layer, styleValue);
-              break;
-            case "textHaloWidthTransition":
+          }
+      };
+      SYMBOL_STYLE_SETTERS[91] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextHaloWidth(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[92] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setTextHaloWidthTransition(layer, styleValue);
-              break;
-            case "textHaloBlur":
-              RCTMGLStyleFactory.setTextHaloBlur(layer, styleValue);
-              break;
-            case "textHaloBlurTransition":
+          }
+      };
+      SYMBOL_STYLE_SETTERS[93] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextHaloBlur(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[94] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setTextHaloBlurTransition(layer, styleValue);
-              break;
-            case "textTranslate":
-              RCTMGLStyleFactory.setTextTranslate(layer, styleValue);
-              break;
-            case "textTranslateTransition":
+          }
+      };
+      SYMBOL_STYLE_SETTERS[95] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextTranslate(layer, styleValue, batch);
+          }
+      };
+      SYMBOL_STYLE_SETTERS[96] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setTextTranslateTransition(layer, styleValue);
-              break;
-            case "textTranslateAnchor":
-              RCTMGLStyleFactory.setTextTranslateAnchor(layer, styleValue);
-              break;
-        }
-      }
+          }
+      };
+      SYMBOL_STYLE_SETTERS[97] = new StyleSetter<SymbolLayer>() {
+          @Override
+          public void set(SymbolLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setTextTranslateAnchor(layer, styleValue, batch);
+          }
+      };
     }
-    public static void setCircleLayerStyle(final CircleLayer layer, RCTMGLStyle style) {
+
+    public static void setSymbolLayerStyle(final SymbolLayer layer, RCTMGLStyle style) {
       List<String> styleKeys = style.getAllStyleKeys();
 
       if (styleKeys.size() == 0) {
         return;
       }
 
-      for (String styleKey : styleKeys) {
-        final RCTMGLStyleValue styleValue = style.getStyleValueForKey(styleKey);
+      int[] styleKeyIndices = style.getStyleKeyIndices();
+      RCTMGLStyleBatch batch = new RCTMGLStyleBatch(layer);
+
+      for (int i = 0; i < styleKeyIndices.length; i++) {
+        int styleKeyIndex = styleKeyIndices[i];
+        if (styleKeyIndex == UNKNOWN_STYLE_KEY || SYMBOL_STYLE_SETTERS[styleKeyIndex] == null) {
+          continue;
+        }
 
-        switch (styleKey) {
-            case "visibility":
-              RCTMGLStyleFactory.setVisibility(layer, styleValue);
-              break;
-            case "circleRadius":
-              RCTMGLStyleFactory.setCircleRadius(layer, styleValue);
-              break;
-            case "circleRadiusTransition":
+        RCTMGLStyleValue styleValue = style.getStyleValueForKey(styleKeys.get(i));
+        SYMBOL_STYLE_SETTERS[styleKeyIndex].set(layer, style, styleValue, batch);
+      }
+
+      batch.apply();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final StyleSetter<CircleLayer>[] CIRCLE_STYLE_SETTERS = new StyleSetter[STYLE_KEY_COUNT];
+    static {
+      CIRCLE_STYLE_SETTERS[0] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setVisibility(layer, styleValue, batch);
+          }
+      };
+      CIRCLE_STYLE_SETTERS[98] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setCircleRadius(layer, styleValue, batch);
+          }
+      };
+      CIRCLE_STYLE_SETTERS[99] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setCircleRadiusTransition(layer, styleValue);
-              break;
-            case "circleColor":
-              RCTMGLStyleFactory.setCircleColor(layer, styleValue);
-              break;
-            case "circleColorTransition":
+          }
+      };
+      CIRCLE_STYLE_SETTERS[100] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setCircleColor(layer, styleValue, batch);
+          }
+      };
+      CIRCLE_STYLE_SETTERS[101] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setCircleColorTransition(layer, styleValue);
-              break;
-            case "circleBlur":
-              RCTMGLStyleFactory.setCircleBlur(layer, styleValue);
-              break;
-            case "circleBlurTransition":
+          }
+      };
+      CIRCLE_STYLE_SETTERS[102] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setCircleBlur(layer, styleValue, batch);
+          }
+      };
+      CIRCLE_STYLE_SETTERS[103] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setCircleBlurTransition(layer, styleValue);
-              break;
-            case "circleOpacity":
-              RCTMGLStyleFactory.setCircleOpacity(layer, styleValue);
-              break;
-            case "circleOpacityTransition":
+          }
+      };
+      CIRCLE_STYLE_SETTERS[104] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setCircleOpacity(layer, styleValue, batch);
+          }
+      };
+      CIRCLE_STYLE_SETTERS[105] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setCircleOpacityTransition(layer, styleValue);
-              break;
-            case "circleTranslate":
-              RCTMGLStyleFactory.setCircleTranslate(layer, styleValue);
-              break;
-            case "circleTranslateTransition":
+          }
+      };
+      CIRCLE_STYLE_SETTERS[106] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setCircleTranslate(layer, styleValue, batch);
+          }
+      };
+      CIRCLE_STYLE_SETTERS[107] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setCircleTranslateTransition(layer, styleValue);
-              break;
-            case "circleTranslateAnchor":
-              RCTMGLStyleFactory.setCircleTranslateAnchor(layer, styleValue);
-              break;
-            case "circlePitchScale":
-              RCTMGLStyleFactory.setCirclePitchScale(layer, styleValue);
-              break;
-            case "circlePitchAlignment":
-              RCTMGLStyleFactory.setCirclePitchAlignment(layer, styleValue);
-              break;
-            case "circleStrokeWidth":
-              RCTMGLStyleFactory.setCircleStrokeWidth(layer, styleValue);
-              break;
-            case "circleStrokeWidthTransition":
+          }
+      };
+      CIRCLE_STYLE_SETTERS[108] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setCircleTranslateAnchor(layer, styleValue, batch);
+          }
+      };
+      CIRCLE_STYLE_SETTERS[109] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setCirclePitchScale(layer, styleValue, batch);
+          }
+      };
+      CIRCLE_STYLE_SETTERS[110] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setCirclePitchAlignment(layer, styleValue, batch);
+          }
+      };
+      CIRCLE_STYLE_SETTERS[111] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setCircleStrokeWidth(layer, styleValue, batch);
+          }
+      };
+      CIRCLE_STYLE_SETTERS[112] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setCircleStrokeWidthTransition(layer, styleValue);
-              break;
-            case "circleStrokeColor":
-              RCTMGLStyleFactory.setCircleStrokeColor(layer, styleValue);
-              break;
-            case "circleStrokeColorTransition":
+          }
+      };
+      CIRCLE_STYLE_SETTERS[113] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setCircleStrokeColor(layer, styleValue, batch);
+          }
+      };
+      CIRCLE_STYLE_SETTERS[114] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setCircleStrokeColorTransition(layer, styleValue);
-              break;
-            case "circleStrokeOpacity":
-              RCTMGLStyleFactory.setCircleStrokeOpacity(layer, styleValue);
-              break;
-            case "circleStrokeOpacityTransition":
+          }
+      };
+      CIRCLE_STYLE_SETTERS[115] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setCircleStrokeOpacity(layer, styleValue, batch);
+          }
+      };
+      CIRCLE_STYLE_SETTERS[116] = new StyleSetter<CircleLayer>() {
+          @Override
+          public void set(CircleLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setCircleStrokeOpacityTransition(layer, styleValue);
-              break;
-        }
-      }
+          }
+      };
     }
-    public static void setFillExtrusionLayerStyle(final FillExtrusionLayer layer, RCTMGLStyle style) {
+
+    public static void setCircleLayerStyle(final CircleLayer layer, RCTMGLStyle style) {
       List<String> styleKeys = style.getAllStyleKeys();
 
       if (styleKeys.size() == 0) {
         return;
       }
 
-      for (String styleKey : styleKeys) {
-        final RCTMGLStyleValue styleValue = style.getStyleValueForKey(styleKey);
+      int[] styleKeyIndices = style.getStyleKeyIndices();
+      RCTMGLStyleBatch batch = new RCTMGLStyleBatch(layer);
+
+      for (int i = 0; i < styleKeyIndices.length; i++) {
+        int styleKeyIndex = styleKeyIndices[i];
+        if (styleKeyIndex == UNKNOWN_STYLE_KEY || CIRCLE_STYLE_SETTERS[styleKeyIndex] == null) {
+          continue;
+        }
 
-        switch (styleKey) {
-            case "visibility":
-              RCTMGLStyleFactory.setVisibility(layer, styleValue);
-              break;
-            case "fillExtrusionOpacity":
-              RCTMGLStyleFactory.setFillExtrusionOpacity(layer, styleValue);
-              break;
-            case "fillExtrusionOpacityTransition":
+        RCTMGLStyleValue styleValue = style.getStyleValueForKey(styleKeys.get(i));
+        CIRCLE_STYLE_SETTERS[styleKeyIndex].set(layer, style, styleValue, batch);
+      }
+
+      batch.apply();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final StyleSetter<FillExtrusionLayer>[] FILL_EXTRUSION_STYLE_SETTERS = new StyleSetter[STYLE_KEY_COUNT];
+    static {
+      FILL_EXTRUSION_STYLE_SETTERS[0] = new StyleSetter<FillExtrusionLayer>() {
+          @Override
+          public void set(FillExtrusionLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setVisibility(layer, styleValue, batch);
+          }
+      };
+      FILL_EXTRUSION_STYLE_SETTERS[117] = new StyleSetter<FillExtrusionLayer>() {
+          @Override
+          public void set(FillExtrusionLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setFillExtrusionOpacity(layer, styleValue, batch);
+          }
+      };
+      FILL_EXTRUSION_STYLE_SETTERS[118] = new StyleSetter<FillExtrusionLayer>() {
+          @Override
+          public void set(FillExtrusionLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setFillExtrusionOpacityTransition(layer, styleValue);
-              break;
-            case "fillExtrusionColor":
-              RCTMGLStyleFactory.setFillExtrusionColor(layer, styleValue);
-              break;
-            case "fillExtrusionColorTransition":
+          }
+      };
+      FILL_EXTRUSION_STYLE_SETTERS[119] = new StyleSetter<FillExtrusionLayer>() {
+          @Override
+          public void set(FillExtrusionLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setFillExtrusionColor(layer, styleValue, batch);
+          }
+      };
+      FILL_EXTRUSION_STYLE_SETTERS[120] = new StyleSetter<FillExtrusionLayer>() {
+          @Override
+          public void set(FillExtrusionLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setFillExtrusionColorTransition(layer, styleValue);
-              break;
-            case "fillExtrusionTranslate":
-              RCTMGLStyleFactory.setFillExtrusionTranslate(layer, styleValue);
-              break;
-            case "fillExtrusionTranslateTransition":
+          }
+      };
+      FILL_EXTRUSION_STYLE_SETTERS[121] = new StyleSetter<FillExtrusionLayer>() {
+          @Override
+          public void set(FillExtrusionLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setFillExtrusionTranslate(layer, styleValue, batch);
+          }
+      };
+      FILL_EXTRUSION_STYLE_SETTERS[122] = new StyleSetter<FillExtrusionLayer>() {
+          @Override
+          public void set(FillExtrusionLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setFillExtrusionTranslateTransition(layer, styleValue);
-              break;
-            case "fillExtrusionTranslateAnchor":
-              RCTMGLStyleFactory.setFillExtrusionTranslateAnchor(layer, styleValue);
-              break;
-            case "fillExtrusionPattern":
+          }
+      };
+      FILL_EXTRUSION_STYLE_SETTERS[123] = new StyleSetter<FillExtrusionLayer>() {
+          @Override
+          public void set(FillExtrusionLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setFillExtrusionTranslateAnchor(layer, styleValue, batch);
+          }
+      };
+      FILL_EXTRUSION_STYLE_SETTERS[124] = new StyleSetter<FillExtrusionLayer>() {
+          @Override
+          public void set(final FillExtrusionLayer layer, RCTMGLStyle style, final RCTMGLStyleValue styleValue, final RCTMGLStyleBatch batch) {
               style.addImage(styleValue, new DownloadMapImageTask.OnAllImagesLoaded() {
                   @Override
                   public void onAllImagesLoaded() {
-                      RCTMGLStyleFactory.setFillExtrusionPattern(layer, styleValue);
+                      RCTMGLStyleFactory.setFillExtrusionPattern(layer, styleValue, batch);
                   }
               });
-              break;
-            case "fillExtrusionPatternTransition":
+          }
+      };
+      FILL_EXTRUSION_STYLE_SETTERS[125] = new StyleSetter<FillExtrusionLayer>() {
+          @Override
+          public void set(FillExtrusionLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setFillExtrusionPatternTransition(layer, styleValue);
-              break;
-            case "fillExtrusionHeight":
-              RCTMGLStyleFactory.setFillExtrusionHeight(layer, styleValue);
-              break;
-            case "fillExtrusionHeightTransition":
+          }
+      };
+      FILL_EXTRUSION_STYLE_SETTERS[126] = new StyleSetter<FillExtrusionLayer>() {
+          @Override
+          public void set(FillExtrusionLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setFillExtrusionHeight(layer, styleValue, batch);
+          }
+      };
+      FILL_EXTRUSION_STYLE_SETTERS[127] = new StyleSetter<FillExtrusionLayer>() {
+          @Override
+          public void set(FillExtrusionLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setFillExtrusionHeightTransition(layer, styleValue);
-              break;
-            case "fillExtrusionBase":
-              RCTMGLStyleFactory.setFillExtrusionBase(layer, styleValue);
-              break;
-            case "fillExtrusionBaseTransition":
+          }
+      };
+      FILL_EXTRUSION_STYLE_SETTERS[128] = new StyleSetter<FillExtrusionLayer>() {
+          @Override
+          public void set(FillExtrusionLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setFillExtrusionBase(layer, styleValue, batch);
+          }
+      };
+      FILL_EXTRUSION_STYLE_SETTERS[129] = new StyleSetter<FillExtrusionLayer>() {
+          @Override
+          public void set(FillExtrusionLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setFillExtrusionBaseTransition(layer, styleValue);
-              break;
-        }
-      }
+          }
+      };
     }
-    public static void setRasterLayerStyle(final RasterLayer layer, RCTMGLStyle style) {
+
+    public static void setFillExtrusionLayerStyle(final FillExtrusionLayer layer, RCTMGLStyle style) {
       List<String> styleKeys = style.getAllStyleKeys();
 
       if (styleKeys.size() == 0) {
         return;
       }
 
-      for (String styleKey : styleKeys) {
-        final RCTMGLStyleValue styleValue = style.getStyleValueForKey(styleKey);
+      int[] styleKeyIndices = style.getStyleKeyIndices();
+      RCTMGLStyleBatch batch = new RCTMGLStyleBatch(layer);
+
+      for (int i = 0; i < styleKeyIndices.length; i++) {
+        int styleKeyIndex = styleKeyIndices[i];
+        if (styleKeyIndex == UNKNOWN_STYLE_KEY || FILL_EXTRUSION_STYLE_SETTERS[styleKeyIndex] == null) {
+          continue;
+        }
 
-        switch (styleKey) {
-            case "visibility":
-              RCTMGLStyleFactory.setVisibility(layer, styleValue);
-              break;
-            case "rasterOpacity":
-              RCTMGLStyleFactory.setRasterOpacity(layer, styleValue);
-              break;
-            case "rasterOpacityTransition":
+        RCTMGLStyleValue styleValue = style.getStyleValueForKey(styleKeys.get(i));
+        FILL_EXTRUSION_STYLE_SETTERS[styleKeyIndex].set(layer, style, styleValue, batch);
+      }
+
+      batch.apply();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final StyleSetter<RasterLayer>[] RASTER_STYLE_SETTERS = new StyleSetter[STYLE_KEY_COUNT];
+    static {
+      RASTER_STYLE_SETTERS[0] = new StyleSetter<RasterLayer>() {
+          @Override
+          public void set(RasterLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setVisibility(layer, styleValue, batch);
+          }
+      };
+      RASTER_STYLE_SETTERS[130] = new StyleSetter<RasterLayer>() {
+          @Override
+          public void set(RasterLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setRasterOpacity(layer, styleValue, batch);
+          }
+      };
+      RASTER_STYLE_SETTERS[131] = new StyleSetter<RasterLayer>() {
+          @Override
+          public void set(RasterLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setRasterOpacityTransition(layer, styleValue);
-              break;
-            case "rasterHueRotate":
-              RCTMGLStyleFactory.setRasterHueRotate(layer, styleValue);
-              break;
-            case "rasterHueRotateTransition":
+          }
+      };
+      RASTER_STYLE_SETTERS[132] = new StyleSetter<RasterLayer>() {
+          @Override
+          public void set(RasterLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setRasterHueRotate(layer, styleValue, batch);
+          }
+      };
+      RASTER_STYLE_SETTERS[133] = new StyleSetter<RasterLayer>() {
+          @Override
+          public void set(RasterLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setRasterHueRotateTransition(layer, styleValue);
-              break;
-            case "rasterBrightnessMin":
-              RCTMGLStyleFactory.setRasterBrightnessMin(layer, styleValue);
-              break;
-            case "rasterBrightnessMinTransition":
+          }
+      };
+      RASTER_STYLE_SETTERS[134] = new StyleSetter<RasterLayer>() {
+          @Override
+          public void set(RasterLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setRasterBrightnessMin(layer, styleValue, batch);
+          }
+      };
+      RASTER_STYLE_SETTERS[135] = new StyleSetter<RasterLayer>() {
+          @Override
+          public void set(RasterLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setRasterBrightnessMinTransition(layer, styleValue);
-              break;
-            case "rasterBrightnessMax":
-              RCTMGLStyleFactory.setRasterBrightnessMax(layer, styleValue);
-              break;
-            case "rasterBrightnessMaxTransition":
+          }
+      };
+      RASTER_STYLE_SETTERS[136] = new StyleSetter<RasterLayer>() {
+          @Override
+          public void set(RasterLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setRasterBrightnessMax(layer, styleValue, batch);
+          }
+      };
+      RASTER_STYLE_SETTERS[137] = new StyleSetter<RasterLayer>() {
+          @Override
+          public void set(RasterLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setRasterBrightnessMaxTransition(layer, styleValue);
-              break;
-            case "rasterSaturation":
-              RCTMGLStyleFactory.setRasterSaturation(layer, styleValue);
-              break;
-            case "rasterSaturationTransition":
+          }
+      };
+      RASTER_STYLE_SETTERS[138] = new StyleSetter<RasterLayer>() {
+          @Override
+          public void set(RasterLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setRasterSaturation(layer, styleValue, batch);
+          }
+      };
+      RASTER_STYLE_SETTERS[139] = new StyleSetter<RasterLayer>() {
+          @Override
+          public void set(RasterLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setRasterSaturationTransition(layer, styleValue);
-              break;
-            case "rasterContrast":
-              RCTMGLStyleFactory.setRasterContrast(layer, styleValue);
-              break;
-            case "rasterContrastTransition":
+          }
+      };
+      RASTER_STYLE_SETTERS[140] = new StyleSetter<RasterLayer>() {
+          @Override
+          public void set(RasterLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setRasterContrast(layer, styleValue, batch);
+          }
+      };
+      RASTER_STYLE_SETTERS[141] = new StyleSetter<RasterLayer>() {
+          @Override
+          public void set(RasterLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setRasterContrastTransition(layer, styleValue);
-              break;
-            case "rasterFadeDuration":
-              RCTMGLStyleFactory.setRasterFadeDuration(layer, styleValue);
-              break;
-            case "rasterFadeDurationTransition":
+          }
+      };
+      RASTER_STYLE_SETTERS[142] = new StyleSetter<RasterLayer>() {
+          @Override
+          public void set(RasterLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setRasterFadeDuration(layer, styleValue, batch);
+          }
+      };
+      RASTER_STYLE_SETTERS[143] = new StyleSetter<RasterLayer>() {
+          @Override
+          public void set(RasterLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setRasterFadeDurationTransition(layer, styleValue);
-              break;
-        }
-      }
+          }
+      };
     }
-    public static void setBackgroundLayerStyle(final BackgroundLayer layer, RCTMGLStyle style) {
+
+    public static void setRasterLayerStyle(final RasterLayer layer, RCTMGLStyle style) {
       List<String> styleKeys = style.getAllStyleKeys();
 
       if (styleKeys.size() == 0) {
         return;
       }
 
-      for (String styleKey : styleKeys) {
-        final RCTMGLStyleValue styleValue = style.getStyleValueForKey(styleKey);
+      int[] styleKeyIndices = style.getStyleKeyIndices();
+      RCTMGLStyleBatch batch = new RCTMGLStyleBatch(layer);
+
+      for (int i = 0; i < styleKeyIndices.length; i++) {
+        int styleKeyIndex = styleKeyIndices[i];
+        if (styleKeyIndex == UNKNOWN_STYLE_KEY || RASTER_STYLE_SETTERS[styleKeyIndex] == null) {
+          continue;
+        }
 
-        switch (styleKey) {
-            case "visibility":
-              RCTMGLStyleFactory.setVisibility(layer, styleValue);
-              break;
-            case "backgroundColor":
-              RCTMGLStyleFactory.setBackgroundColor(layer, styleValue);
-              break;
-            case "backgroundColorTransition":
+        RCTMGLStyleValue styleValue = style.getStyleValueForKey(styleKeys.get(i));
+        RASTER_STYLE_SETTERS[styleKeyIndex].set(layer, style, styleValue, batch);
+      }
+
+      batch.apply();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final StyleSetter<BackgroundLayer>[] BACKGROUND_STYLE_SETTERS = new StyleSetter[STYLE_KEY_COUNT];
+    static {
+      BACKGROUND_STYLE_SETTERS[0] = new StyleSetter<BackgroundLayer>() {
+          @Override
+          public void set(BackgroundLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setVisibility(layer, styleValue, batch);
+          }
+      };
+      BACKGROUND_STYLE_SETTERS[144] = new StyleSetter<BackgroundLayer>() {
+          @Override
+          public void set(BackgroundLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setBackgroundColor(layer, styleValue, batch);
+          }
+      };
+      BACKGROUND_STYLE_SETTERS[145] = new StyleSetter<BackgroundLayer>() {
+          @Override
+          public void set(BackgroundLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setBackgroundColorTransition(layer, styleValue);
-              break;
-            case "backgroundPattern":
+          }
+      };
+      BACKGROUND_STYLE_SETTERS[146] = new StyleSetter<BackgroundLayer>() {
+          @Override
+          public void set(final BackgroundLayer layer, RCTMGLStyle style, final RCTMGLStyleValue styleValue, final RCTMGLStyleBatch batch) {
               style.addImage(styleValue, new DownloadMapImageTask.OnAllImagesLoaded() {
                   @Override
                   public void onAllImagesLoaded() {
-                      RCTMGLStyleFactory.setBackgroundPattern(layer, styleValue);
+                      RCTMGLStyleFactory.setBackgroundPattern(layer, styleValue, batch);
                   }
               });
-              break;
-            case "backgroundPatternTransition":
+          }
+      };
+      BACKGROUND_STYLE_SETTERS[147] = new StyleSetter<BackgroundLayer>() {
+          @Override
+          public void set(BackgroundLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setBackgroundPatternTransition(layer, styleValue);
-              break;
-            case "backgroundOpacity":
-              RCTMGLStyleFactory.setBackgroundOpacity(layer, styleValue);
-              break;
-            case "backgroundOpacityTransition":
+          }
+      };
+      BACKGROUND_STYLE_SETTERS[148] = new StyleSetter<BackgroundLayer>() {
+          @Override
+          public void set(BackgroundLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+              RCTMGLStyleFactory.setBackgroundOpacity(layer, styleValue, batch);
+          }
+      };
+      BACKGROUND_STYLE_SETTERS[149] = new StyleSetter<BackgroundLayer>() {
+          @Override
+          public void set(BackgroundLayer layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setBackgroundOpacityTransition(layer, styleValue);
-              break;
-        }
-      }
+          }
+      };
     }
-    public static void setLightLayerStyle(final Light layer, RCTMGLStyle style) {
+
+    public static void setBackgroundLayerStyle(final BackgroundLayer layer, RCTMGLStyle style) {
       List<String> styleKeys = style.getAllStyleKeys();
 
       if (styleKeys.size() == 0) {
         return;
       }
 
-      for (String styleKey : styleKeys) {
-        final RCTMGLStyleValue styleValue = style.getStyleValueForKey(styleKey);
+      int[] styleKeyIndices = style.getStyleKeyIndices();
+      RCTMGLStyleBatch batch = new RCTMGLStyleBatch(layer);
+
+      for (int i = 0; i < styleKeyIndices.length; i++) {
+        int styleKeyIndex = styleKeyIndices[i];
+        if (styleKeyIndex == UNKNOWN_STYLE_KEY || BACKGROUND_STYLE_SETTERS[styleKeyIndex] == null) {
+          continue;
+        }
+
+        RCTMGLStyleValue styleValue = style.getStyleValueForKey(styleKeys.get(i));
+        BACKGROUND_STYLE_SETTERS[styleKeyIndex].set(layer, style, styleValue, batch);
+      }
 
-        switch (styleKey) {
-            case "anchor":
+      batch.apply();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final StyleSetter<Light>[] LIGHT_STYLE_SETTERS = new StyleSetter[STYLE_KEY_COUNT];
+    static {
+      LIGHT_STYLE_SETTERS[150] = new StyleSetter<Light>() {
+          @Override
+          public void set(Light layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setAnchor(layer, styleValue);
-              break;
-            case "position":
+          }
+      };
+      LIGHT_STYLE_SETTERS[151] = new StyleSetter<Light>() {
+          @Override
+          public void set(Light layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setPosition(layer, styleValue);
-              break;
-            case "positionTransition":
+          }
+      };
+      LIGHT_STYLE_SETTERS[152] = new StyleSetter<Light>() {
+          @Override
+          public void set(Light layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setPositionTransition(layer, styleValue);
-              break;
-            case "color":
+          }
+      };
+      LIGHT_STYLE_SETTERS[153] = new StyleSetter<Light>() {
+          @Override
+          public void set(Light layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setColor(layer, styleValue);
-              break;
-            case "colorTransition":
+          }
+      };
+      LIGHT_STYLE_SETTERS[154] = new StyleSetter<Light>() {
+          @Override
+          public void set(Light layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setColorTransition(layer, styleValue);
-              break;
-            case "intensity":
+          }
+      };
+      LIGHT_STYLE_SETTERS[155] = new StyleSetter<Light>() {
+          @Override
+          public void set(Light layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setIntensity(layer, styleValue);
-              break;
-            case "intensityTransition":
+          }
+      };
+      LIGHT_STYLE_SETTERS[156] = new StyleSetter<Light>() {
+          @Override
+          public void set(Light layer, RCTMGLStyle style, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
               RCTMGLStyleFactory.setIntensityTransition(layer, styleValue);
-              break;
+          }
+      };
+    }
+
+    public static void setLightLayerStyle(final Light layer, RCTMGLStyle style) {
+      List<String> styleKeys = style.getAllStyleKeys();
+
+      if (styleKeys.size() == 0) {
+        return;
+      }
+
+      int[] styleKeyIndices = style.getStyleKeyIndices();
+      RCTMGLStyleBatch batch = null; // light properties are set one by one
+
+      for (int i = 0; i < styleKeyIndices.length; i++) {
+        int styleKeyIndex = styleKeyIndices[i];
+        if (styleKeyIndex == UNKNOWN_STYLE_KEY || LIGHT_STYLE_SETTERS[styleKeyIndex] == null) {
+          continue;
         }
+
+        RCTMGLStyleValue styleValue = style.getStyleValueForKey(styleKeys.get(i));
+        LIGHT_STYLE_SETTERS[styleKeyIndex].set(layer, style, styleValue, batch);
       }
     }
 
-    public static void setVisibility(FillLayer layer, RCTMGLStyleValue styleValue) {
-        layer.setProperties(PropertyFactory.visibility(styleValue.getString(VALUE_KEY)));
+    public static void setVisibility(FillLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+        batch.add(PropertyFactory.visibility(styleValue.getString(VALUE_KEY)));
     }
 
-    public static void setFillAntialias(FillLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setFillAntialias(FillLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Boolean, Boolean> parser = new RCTMGLStyleFunctionParser<Boolean, Boolean>(styleValue) {
             @Override
@@ -668,13 +1444,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.fillAntialias(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.fillAntialias(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.fillAntialias(styleValue.getBoolean(VALUE_KEY)));
+        batch.add(PropertyFactory.fillAntialias(styleValue.getBoolean(VALUE_KEY)));
       }
     }
 
-    public static void setFillOpacity(FillLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setFillOpacity(FillLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -688,9 +1464,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.fillOpacity(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.fillOpacity(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.fillOpacity(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.fillOpacity(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -702,7 +1478,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setFillColor(FillLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setFillColor(FillLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Integer, String> parser = new RCTMGLStyleFunctionParser<Integer, String>(styleValue) {
             @Override
@@ -716,9 +1492,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.fillColor(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.fillColor(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.fillColor(styleValue.getInt(VALUE_KEY)));
+        batch.add(PropertyFactory.fillColor(styleValue.getInt(VALUE_KEY)));
       }
     }
 
@@ -730,7 +1506,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setFillOutlineColor(FillLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setFillOutlineColor(FillLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Integer, String> parser = new RCTMGLStyleFunctionParser<Integer, String>(styleValue) {
             @Override
@@ -744,9 +1520,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.fillOutlineColor(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.fillOutlineColor(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.fillOutlineColor(styleValue.getInt(VALUE_KEY)));
+        batch.add(PropertyFactory.fillOutlineColor(styleValue.getInt(VALUE_KEY)));
       }
     }
 
@@ -758,7 +1534,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setFillTranslate(FillLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setFillTranslate(FillLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float[], Float[]> parser = new RCTMGLStyleFunctionParser<Float[], Float[]>(styleValue) {
             @Override
@@ -772,9 +1548,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.fillTranslate(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.fillTranslate(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.fillTranslate(styleValue.getFloatArray(VALUE_KEY)));
+        batch.add(PropertyFactory.fillTranslate(styleValue.getFloatArray(VALUE_KEY)));
       }
     }
 
@@ -786,7 +1562,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setFillTranslateAnchor(FillLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setFillTranslateAnchor(FillLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -800,13 +1576,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.fillTranslateAnchor(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.fillTranslateAnchor(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.fillTranslateAnchor(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.fillTranslateAnchor(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setFillPattern(FillLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setFillPattern(FillLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -820,9 +1596,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.fillPattern(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.fillPattern(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.fillPattern(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.fillPattern(styleValue.getString(VALUE_KEY)));
       }
     }
 
@@ -834,7 +1610,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setLineCap(LineLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setLineCap(LineLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -848,13 +1624,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.lineCap(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.lineCap(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.lineCap(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.lineCap(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setLineJoin(LineLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setLineJoin(LineLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -868,13 +1644,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.lineJoin(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.lineJoin(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.lineJoin(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.lineJoin(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setLineMiterLimit(LineLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setLineMiterLimit(LineLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -888,13 +1664,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.lineMiterLimit(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.lineMiterLimit(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.lineMiterLimit(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.lineMiterLimit(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
-    public static void setLineRoundLimit(LineLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setLineRoundLimit(LineLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -908,17 +1684,17 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.lineRoundLimit(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.lineRoundLimit(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.lineRoundLimit(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.lineRoundLimit(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
-    public static void setVisibility(LineLayer layer, RCTMGLStyleValue styleValue) {
-        layer.setProperties(PropertyFactory.visibility(styleValue.getString(VALUE_KEY)));
+    public static void setVisibility(LineLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+        batch.add(PropertyFactory.visibility(styleValue.getString(VALUE_KEY)));
     }
 
-    public static void setLineOpacity(LineLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setLineOpacity(LineLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -932,9 +1708,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.lineOpacity(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.lineOpacity(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.lineOpacity(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.lineOpacity(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -946,7 +1722,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setLineColor(LineLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setLineColor(LineLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Integer, String> parser = new RCTMGLStyleFunctionParser<Integer, String>(styleValue) {
             @Override
@@ -960,9 +1736,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.lineColor(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.lineColor(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.lineColor(styleValue.getInt(VALUE_KEY)));
+        batch.add(PropertyFactory.lineColor(styleValue.getInt(VALUE_KEY)));
       }
     }
 
@@ -974,7 +1750,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setLineTranslate(LineLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setLineTranslate(LineLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float[], Float[]> parser = new RCTMGLStyleFunctionParser<Float[], Float[]>(styleValue) {
             @Override
@@ -988,9 +1764,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.lineTranslate(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.lineTranslate(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.lineTranslate(styleValue.getFloatArray(VALUE_KEY)));
+        batch.add(PropertyFactory.lineTranslate(styleValue.getFloatArray(VALUE_KEY)));
       }
     }
 
@@ -1002,7 +1778,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setLineTranslateAnchor(LineLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setLineTranslateAnchor(LineLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -1016,13 +1792,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.lineTranslateAnchor(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.lineTranslateAnchor(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.lineTranslateAnchor(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.lineTranslateAnchor(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setLineWidth(LineLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setLineWidth(LineLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -1036,9 +1812,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.lineWidth(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.lineWidth(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.lineWidth(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.lineWidth(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -1050,7 +1826,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setLineGapWidth(LineLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setLineGapWidth(LineLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -1064,9 +1840,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.lineGapWidth(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.lineGapWidth(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.lineGapWidth(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.lineGapWidth(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -1078,7 +1854,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setLineOffset(LineLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setLineOffset(LineLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -1092,9 +1868,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.lineOffset(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.lineOffset(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.lineOffset(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.lineOffset(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -1106,7 +1882,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setLineBlur(LineLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setLineBlur(LineLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -1120,9 +1896,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.lineBlur(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.lineBlur(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.lineBlur(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.lineBlur(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -1134,7 +1910,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setLineDasharray(LineLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setLineDasharray(LineLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float[], Float[]> parser = new RCTMGLStyleFunctionParser<Float[], Float[]>(styleValue) {
             @Override
@@ -1148,9 +1924,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.lineDasharray(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.lineDasharray(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.lineDasharray(styleValue.getFloatArray(VALUE_KEY)));
+        batch.add(PropertyFactory.lineDasharray(styleValue.getFloatArray(VALUE_KEY)));
       }
     }
 
@@ -1162,7 +1938,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setLinePattern(LineLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setLinePattern(LineLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -1176,9 +1952,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.linePattern(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.linePattern(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.linePattern(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.linePattern(styleValue.getString(VALUE_KEY)));
       }
     }
 
@@ -1190,7 +1966,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setSymbolPlacement(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setSymbolPlacement(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -1204,13 +1980,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.symbolPlacement(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.symbolPlacement(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.symbolPlacement(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.symbolPlacement(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setSymbolSpacing(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setSymbolSpacing(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -1224,13 +2000,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.symbolSpacing(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.symbolSpacing(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.symbolSpacing(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.symbolSpacing(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
-    public static void setSymbolAvoidEdges(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setSymbolAvoidEdges(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Boolean, Boolean> parser = new RCTMGLStyleFunctionParser<Boolean, Boolean>(styleValue) {
             @Override
@@ -1244,13 +2020,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.symbolAvoidEdges(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.symbolAvoidEdges(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.symbolAvoidEdges(styleValue.getBoolean(VALUE_KEY)));
+        batch.add(PropertyFactory.symbolAvoidEdges(styleValue.getBoolean(VALUE_KEY)));
       }
     }
 
-    public static void setIconAllowOverlap(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconAllowOverlap(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Boolean, Boolean> parser = new RCTMGLStyleFunctionParser<Boolean, Boolean>(styleValue) {
             @Override
@@ -1264,13 +2040,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconAllowOverlap(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.iconAllowOverlap(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconAllowOverlap(styleValue.getBoolean(VALUE_KEY)));
+        batch.add(PropertyFactory.iconAllowOverlap(styleValue.getBoolean(VALUE_KEY)));
       }
     }
 
-    public static void setIconIgnorePlacement(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconIgnorePlacement(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Boolean, Boolean> parser = new RCTMGLStyleFunctionParser<Boolean, Boolean>(styleValue) {
             @Override
@@ -1284,13 +2060,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconIgnorePlacement(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.iconIgnorePlacement(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconIgnorePlacement(styleValue.getBoolean(VALUE_KEY)));
+        batch.add(PropertyFactory.iconIgnorePlacement(styleValue.getBoolean(VALUE_KEY)));
       }
     }
 
-    public static void setIconOptional(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconOptional(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Boolean, Boolean> parser = new RCTMGLStyleFunctionParser<Boolean, Boolean>(styleValue) {
             @Override
@@ -1304,13 +2080,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconOptional(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.iconOptional(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconOptional(styleValue.getBoolean(VALUE_KEY)));
+        batch.add(PropertyFactory.iconOptional(styleValue.getBoolean(VALUE_KEY)));
       }
     }
 
-    public static void setIconRotationAlignment(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconRotationAlignment(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -1324,13 +2100,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconRotationAlignment(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.iconRotationAlignment(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconRotationAlignment(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.iconRotationAlignment(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setIconSize(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconSize(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -1344,13 +2120,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconSize(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.iconSize(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconSize(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.iconSize(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
-    public static void setIconTextFit(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconTextFit(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -1364,13 +2140,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconTextFit(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.iconTextFit(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconTextFit(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.iconTextFit(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setIconTextFitPadding(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconTextFitPadding(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float[], Float[]> parser = new RCTMGLStyleFunctionParser<Float[], Float[]>(styleValue) {
             @Override
@@ -1384,13 +2160,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconTextFitPadding(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.iconTextFitPadding(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconTextFitPadding(styleValue.getFloatArray(VALUE_KEY)));
+        batch.add(PropertyFactory.iconTextFitPadding(styleValue.getFloatArray(VALUE_KEY)));
       }
     }
 
-    public static void setIconImage(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconImage(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -1404,13 +2180,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconImage(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.iconImage(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconImage(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.iconImage(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setIconRotate(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconRotate(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -1424,13 +2200,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconRotate(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.iconRotate(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconRotate(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.iconRotate(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
-    public static void setIconPadding(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconPadding(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -1444,13 +2220,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconPadding(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.iconPadding(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconPadding(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.iconPadding(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
-    public static void setIconKeepUpright(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconKeepUpright(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Boolean, Boolean> parser = new RCTMGLStyleFunctionParser<Boolean, Boolean>(styleValue) {
             @Override
@@ -1464,13 +2240,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconKeepUpright(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.iconKeepUpright(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconKeepUpright(styleValue.getBoolean(VALUE_KEY)));
+        batch.add(PropertyFactory.iconKeepUpright(styleValue.getBoolean(VALUE_KEY)));
       }
     }
 
-    public static void setIconOffset(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconOffset(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float[], Float[]> parser = new RCTMGLStyleFunctionParser<Float[], Float[]>(styleValue) {
             @Override
@@ -1484,13 +2260,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconOffset(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.iconOffset(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconOffset(styleValue.getFloatArray(VALUE_KEY)));
+        batch.add(PropertyFactory.iconOffset(styleValue.getFloatArray(VALUE_KEY)));
       }
     }
 
-    public static void setIconAnchor(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconAnchor(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -1504,13 +2280,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconAnchor(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.iconAnchor(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconAnchor(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.iconAnchor(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setIconPitchAlignment(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconPitchAlignment(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -1524,13 +2300,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconPitchAlignment(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.iconPitchAlignment(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconPitchAlignment(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.iconPitchAlignment(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setTextPitchAlignment(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextPitchAlignment(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -1544,13 +2320,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textPitchAlignment(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.textPitchAlignment(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.textPitchAlignment(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.textPitchAlignment(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setTextRotationAlignment(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextRotationAlignment(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -1564,13 +2340,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textRotationAlignment(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.textRotationAlignment(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.textRotationAlignment(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.textRotationAlignment(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setTextField(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextField(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -1584,13 +2360,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textField(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.textField(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.textField(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.textField(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setTextFont(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextFont(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String[], String[]> parser = new RCTMGLStyleFunctionParser<String[], String[]>(styleValue) {
             @Override
@@ -1604,13 +2380,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textFont(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.textFont(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.textFont(styleValue.getStringArray(VALUE_KEY)));
+        batch.add(PropertyFactory.textFont(styleValue.getStringArray(VALUE_KEY)));
       }
     }
 
-    public static void setTextSize(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextSize(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -1624,13 +2400,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textSize(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.textSize(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.textSize(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.textSize(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
-    public static void setTextMaxWidth(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextMaxWidth(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -1644,13 +2420,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textMaxWidth(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.textMaxWidth(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.textMaxWidth(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.textMaxWidth(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
-    public static void setTextLineHeight(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextLineHeight(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -1664,13 +2440,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textLineHeight(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.textLineHeight(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.textLineHeight(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.textLineHeight(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
-    public static void setTextLetterSpacing(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextLetterSpacing(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -1684,13 +2460,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textLetterSpacing(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.textLetterSpacing(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.textLetterSpacing(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.textLetterSpacing(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
-    public static void setTextJustify(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextJustify(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -1704,13 +2480,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textJustify(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.textJustify(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.textJustify(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.textJustify(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setTextAnchor(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextAnchor(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -1724,13 +2500,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textAnchor(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.textAnchor(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.textAnchor(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.textAnchor(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setTextMaxAngle(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextMaxAngle(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -1744,13 +2520,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textMaxAngle(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.textMaxAngle(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.textMaxAngle(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.textMaxAngle(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
-    public static void setTextRotate(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextRotate(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -1764,13 +2540,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textRotate(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.textRotate(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.textRotate(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.textRotate(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
-    public static void setTextPadding(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextPadding(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -1784,13 +2560,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textPadding(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.textPadding(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.textPadding(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.textPadding(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
-    public static void setTextKeepUpright(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextKeepUpright(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Boolean, Boolean> parser = new RCTMGLStyleFunctionParser<Boolean, Boolean>(styleValue) {
             @Override
@@ -1804,13 +2580,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textKeepUpright(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.textKeepUpright(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.textKeepUpright(styleValue.getBoolean(VALUE_KEY)));
+        batch.add(PropertyFactory.textKeepUpright(styleValue.getBoolean(VALUE_KEY)));
       }
     }
 
-    public static void setTextTransform(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextTransform(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -1824,13 +2600,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textTransform(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.textTransform(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.textTransform(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.textTransform(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setTextOffset(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextOffset(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float[], Float[]> parser = new RCTMGLStyleFunctionParser<Float[], Float[]>(styleValue) {
             @Override
@@ -1844,13 +2620,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textOffset(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.textOffset(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.textOffset(styleValue.getFloatArray(VALUE_KEY)));
+        batch.add(PropertyFactory.textOffset(styleValue.getFloatArray(VALUE_KEY)));
       }
     }
 
-    public static void setTextAllowOverlap(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextAllowOverlap(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Boolean, Boolean> parser = new RCTMGLStyleFunctionParser<Boolean, Boolean>(styleValue) {
             @Override
@@ -1864,13 +2640,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textAllowOverlap(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.textAllowOverlap(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.textAllowOverlap(styleValue.getBoolean(VALUE_KEY)));
+        batch.add(PropertyFactory.textAllowOverlap(styleValue.getBoolean(VALUE_KEY)));
       }
     }
 
-    public static void setTextIgnorePlacement(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextIgnorePlacement(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Boolean, Boolean> parser = new RCTMGLStyleFunctionParser<Boolean, Boolean>(styleValue) {
             @Override
@@ -1884,13 +2660,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textIgnorePlacement(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.textIgnorePlacement(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.textIgnorePlacement(styleValue.getBoolean(VALUE_KEY)));
+        batch.add(PropertyFactory.textIgnorePlacement(styleValue.getBoolean(VALUE_KEY)));
       }
     }
 
-    public static void setTextOptional(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextOptional(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Boolean, Boolean> parser = new RCTMGLStyleFunctionParser<Boolean, Boolean>(styleValue) {
             @Override
@@ -1904,17 +2680,17 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textOptional(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.textOptional(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.textOptional(styleValue.getBoolean(VALUE_KEY)));
+        batch.add(PropertyFactory.textOptional(styleValue.getBoolean(VALUE_KEY)));
       }
     }
 
-    public static void setVisibility(SymbolLayer layer, RCTMGLStyleValue styleValue) {
-        layer.setProperties(PropertyFactory.visibility(styleValue.getString(VALUE_KEY)));
+    public static void setVisibility(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+        batch.add(PropertyFactory.visibility(styleValue.getString(VALUE_KEY)));
     }
 
-    public static void setIconOpacity(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconOpacity(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -1928,9 +2704,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconOpacity(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.iconOpacity(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconOpacity(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.iconOpacity(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -1942,7 +2718,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setIconColor(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconColor(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Integer, String> parser = new RCTMGLStyleFunctionParser<Integer, String>(styleValue) {
             @Override
@@ -1956,9 +2732,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconColor(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.iconColor(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconColor(styleValue.getInt(VALUE_KEY)));
+        batch.add(PropertyFactory.iconColor(styleValue.getInt(VALUE_KEY)));
       }
     }
 
@@ -1970,7 +2746,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setIconHaloColor(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconHaloColor(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Integer, String> parser = new RCTMGLStyleFunctionParser<Integer, String>(styleValue) {
             @Override
@@ -1984,9 +2760,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconHaloColor(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.iconHaloColor(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconHaloColor(styleValue.getInt(VALUE_KEY)));
+        batch.add(PropertyFactory.iconHaloColor(styleValue.getInt(VALUE_KEY)));
       }
     }
 
@@ -1998,7 +2774,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setIconHaloWidth(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconHaloWidth(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2012,9 +2788,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconHaloWidth(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.iconHaloWidth(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconHaloWidth(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.iconHaloWidth(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2026,7 +2802,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setIconHaloBlur(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconHaloBlur(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2040,9 +2816,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconHaloBlur(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.iconHaloBlur(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconHaloBlur(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.iconHaloBlur(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2054,7 +2830,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setIconTranslate(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconTranslate(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float[], Float[]> parser = new RCTMGLStyleFunctionParser<Float[], Float[]>(styleValue) {
             @Override
@@ -2068,9 +2844,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconTranslate(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.iconTranslate(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconTranslate(styleValue.getFloatArray(VALUE_KEY)));
+        batch.add(PropertyFactory.iconTranslate(styleValue.getFloatArray(VALUE_KEY)));
       }
     }
 
@@ -2082,7 +2858,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setIconTranslateAnchor(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setIconTranslateAnchor(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -2096,13 +2872,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.iconTranslateAnchor(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.iconTranslateAnchor(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.iconTranslateAnchor(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.iconTranslateAnchor(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setTextOpacity(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextOpacity(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2116,9 +2892,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textOpacity(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.textOpacity(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.textOpacity(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.textOpacity(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2130,7 +2906,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setTextColor(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextColor(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Integer, String> parser = new RCTMGLStyleFunctionParser<Integer, String>(styleValue) {
             @Override
@@ -2144,9 +2920,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textColor(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.textColor(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.textColor(styleValue.getInt(VALUE_KEY)));
+        batch.add(PropertyFactory.textColor(styleValue.getInt(VALUE_KEY)));
       }
     }
 
@@ -2158,7 +2934,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setTextHaloColor(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextHaloColor(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Integer, String> parser = new RCTMGLStyleFunctionParser<Integer, String>(styleValue) {
             @Override
@@ -2172,9 +2948,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textHaloColor(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.textHaloColor(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.textHaloColor(styleValue.getInt(VALUE_KEY)));
+        batch.add(PropertyFactory.textHaloColor(styleValue.getInt(VALUE_KEY)));
       }
     }
 
@@ -2186,7 +2962,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setTextHaloWidth(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextHaloWidth(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2200,9 +2976,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textHaloWidth(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.textHaloWidth(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.textHaloWidth(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.textHaloWidth(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2214,7 +2990,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setTextHaloBlur(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextHaloBlur(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2228,9 +3004,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textHaloBlur(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.textHaloBlur(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.textHaloBlur(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.textHaloBlur(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2242,7 +3018,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setTextTranslate(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextTranslate(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float[], Float[]> parser = new RCTMGLStyleFunctionParser<Float[], Float[]>(styleValue) {
             @Override
@@ -2256,9 +3032,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textTranslate(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.textTranslate(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.textTranslate(styleValue.getFloatArray(VALUE_KEY)));
+        batch.add(PropertyFactory.textTranslate(styleValue.getFloatArray(VALUE_KEY)));
       }
     }
 
@@ -2270,7 +3046,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setTextTranslateAnchor(SymbolLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setTextTranslateAnchor(SymbolLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -2284,17 +3060,17 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.textTranslateAnchor(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.textTranslateAnchor(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.textTranslateAnchor(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.textTranslateAnchor(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setVisibility(CircleLayer layer, RCTMGLStyleValue styleValue) {
-        layer.setProperties(PropertyFactory.visibility(styleValue.getString(VALUE_KEY)));
+    public static void setVisibility(CircleLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+        batch.add(PropertyFactory.visibility(styleValue.getString(VALUE_KEY)));
     }
 
-    public static void setCircleRadius(CircleLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setCircleRadius(CircleLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2308,9 +3084,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.circleRadius(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.circleRadius(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.circleRadius(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.circleRadius(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2322,7 +3098,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setCircleColor(CircleLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setCircleColor(CircleLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Integer, String> parser = new RCTMGLStyleFunctionParser<Integer, String>(styleValue) {
             @Override
@@ -2336,9 +3112,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.circleColor(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.circleColor(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.circleColor(styleValue.getInt(VALUE_KEY)));
+        batch.add(PropertyFactory.circleColor(styleValue.getInt(VALUE_KEY)));
       }
     }
 
@@ -2350,7 +3126,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setCircleBlur(CircleLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setCircleBlur(CircleLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2364,9 +3140,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.circleBlur(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.circleBlur(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.circleBlur(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.circleBlur(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2378,7 +3154,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setCircleOpacity(CircleLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setCircleOpacity(CircleLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2392,9 +3168,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.circleOpacity(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.circleOpacity(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.circleOpacity(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.circleOpacity(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2406,7 +3182,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setCircleTranslate(CircleLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setCircleTranslate(CircleLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float[], Float[]> parser = new RCTMGLStyleFunctionParser<Float[], Float[]>(styleValue) {
             @Override
@@ -2420,9 +3196,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.circleTranslate(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.circleTranslate(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.circleTranslate(styleValue.getFloatArray(VALUE_KEY)));
+        batch.add(PropertyFactory.circleTranslate(styleValue.getFloatArray(VALUE_KEY)));
       }
     }
 
@@ -2434,7 +3210,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setCircleTranslateAnchor(CircleLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setCircleTranslateAnchor(CircleLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -2448,13 +3224,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.circleTranslateAnchor(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.circleTranslateAnchor(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.circleTranslateAnchor(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.circleTranslateAnchor(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setCirclePitchScale(CircleLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setCirclePitchScale(CircleLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -2468,13 +3244,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.circlePitchScale(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.circlePitchScale(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.circlePitchScale(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.circlePitchScale(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setCirclePitchAlignment(CircleLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setCirclePitchAlignment(CircleLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -2488,13 +3264,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.circlePitchAlignment(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.circlePitchAlignment(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.circlePitchAlignment(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.circlePitchAlignment(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setCircleStrokeWidth(CircleLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setCircleStrokeWidth(CircleLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2508,9 +3284,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.circleStrokeWidth(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.circleStrokeWidth(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.circleStrokeWidth(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.circleStrokeWidth(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2522,7 +3298,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setCircleStrokeColor(CircleLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setCircleStrokeColor(CircleLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Integer, String> parser = new RCTMGLStyleFunctionParser<Integer, String>(styleValue) {
             @Override
@@ -2536,9 +3312,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.circleStrokeColor(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.circleStrokeColor(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.circleStrokeColor(styleValue.getInt(VALUE_KEY)));
+        batch.add(PropertyFactory.circleStrokeColor(styleValue.getInt(VALUE_KEY)));
       }
     }
 
@@ -2550,7 +3326,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setCircleStrokeOpacity(CircleLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setCircleStrokeOpacity(CircleLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2564,9 +3340,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.circleStrokeOpacity(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.circleStrokeOpacity(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.circleStrokeOpacity(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.circleStrokeOpacity(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2578,11 +3354,11 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setVisibility(FillExtrusionLayer layer, RCTMGLStyleValue styleValue) {
-        layer.setProperties(PropertyFactory.visibility(styleValue.getString(VALUE_KEY)));
+    public static void setVisibility(FillExtrusionLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+        batch.add(PropertyFactory.visibility(styleValue.getString(VALUE_KEY)));
     }
 
-    public static void setFillExtrusionOpacity(FillExtrusionLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setFillExtrusionOpacity(FillExtrusionLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2596,9 +3372,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.fillExtrusionOpacity(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.fillExtrusionOpacity(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.fillExtrusionOpacity(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.fillExtrusionOpacity(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2610,7 +3386,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setFillExtrusionColor(FillExtrusionLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setFillExtrusionColor(FillExtrusionLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Integer, String> parser = new RCTMGLStyleFunctionParser<Integer, String>(styleValue) {
             @Override
@@ -2624,9 +3400,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.fillExtrusionColor(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.fillExtrusionColor(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.fillExtrusionColor(styleValue.getInt(VALUE_KEY)));
+        batch.add(PropertyFactory.fillExtrusionColor(styleValue.getInt(VALUE_KEY)));
       }
     }
 
@@ -2638,7 +3414,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setFillExtrusionTranslate(FillExtrusionLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setFillExtrusionTranslate(FillExtrusionLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float[], Float[]> parser = new RCTMGLStyleFunctionParser<Float[], Float[]>(styleValue) {
             @Override
@@ -2652,9 +3428,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.fillExtrusionTranslate(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.fillExtrusionTranslate(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.fillExtrusionTranslate(styleValue.getFloatArray(VALUE_KEY)));
+        batch.add(PropertyFactory.fillExtrusionTranslate(styleValue.getFloatArray(VALUE_KEY)));
       }
     }
 
@@ -2666,7 +3442,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setFillExtrusionTranslateAnchor(FillExtrusionLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setFillExtrusionTranslateAnchor(FillExtrusionLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -2680,13 +3456,13 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.fillExtrusionTranslateAnchor(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.fillExtrusionTranslateAnchor(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.fillExtrusionTranslateAnchor(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.fillExtrusionTranslateAnchor(styleValue.getString(VALUE_KEY)));
       }
     }
 
-    public static void setFillExtrusionPattern(FillExtrusionLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setFillExtrusionPattern(FillExtrusionLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -2700,9 +3476,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.fillExtrusionPattern(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.fillExtrusionPattern(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.fillExtrusionPattern(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.fillExtrusionPattern(styleValue.getString(VALUE_KEY)));
       }
     }
 
@@ -2714,7 +3490,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setFillExtrusionHeight(FillExtrusionLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setFillExtrusionHeight(FillExtrusionLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2728,9 +3504,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.fillExtrusionHeight(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.fillExtrusionHeight(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.fillExtrusionHeight(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.fillExtrusionHeight(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2742,7 +3518,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setFillExtrusionBase(FillExtrusionLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setFillExtrusionBase(FillExtrusionLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2756,9 +3532,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.fillExtrusionBase(styleValue.makeStyleFunction(parser)));
+        batch.add(PropertyFactory.fillExtrusionBase(styleValue.makeStyleFunction(parser)));
       } else {
-        layer.setProperties(PropertyFactory.fillExtrusionBase(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.fillExtrusionBase(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2770,11 +3546,11 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setVisibility(RasterLayer layer, RCTMGLStyleValue styleValue) {
-        layer.setProperties(PropertyFactory.visibility(styleValue.getString(VALUE_KEY)));
+    public static void setVisibility(RasterLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+        batch.add(PropertyFactory.visibility(styleValue.getString(VALUE_KEY)));
     }
 
-    public static void setRasterOpacity(RasterLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setRasterOpacity(RasterLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2788,9 +3564,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.rasterOpacity(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.rasterOpacity(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.rasterOpacity(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.rasterOpacity(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2802,7 +3578,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setRasterHueRotate(RasterLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setRasterHueRotate(RasterLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2816,9 +3592,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.rasterHueRotate(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.rasterHueRotate(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.rasterHueRotate(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.rasterHueRotate(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2830,7 +3606,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setRasterBrightnessMin(RasterLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setRasterBrightnessMin(RasterLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2844,9 +3620,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.rasterBrightnessMin(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.rasterBrightnessMin(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.rasterBrightnessMin(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.rasterBrightnessMin(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2858,7 +3634,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setRasterBrightnessMax(RasterLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setRasterBrightnessMax(RasterLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2872,9 +3648,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.rasterBrightnessMax(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.rasterBrightnessMax(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.rasterBrightnessMax(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.rasterBrightnessMax(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2886,7 +3662,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setRasterSaturation(RasterLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setRasterSaturation(RasterLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2900,9 +3676,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.rasterSaturation(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.rasterSaturation(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.rasterSaturation(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.rasterSaturation(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2914,7 +3690,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setRasterContrast(RasterLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setRasterContrast(RasterLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2928,9 +3704,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.rasterContrast(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.rasterContrast(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.rasterContrast(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.rasterContrast(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2942,7 +3718,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setRasterFadeDuration(RasterLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setRasterFadeDuration(RasterLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -2956,9 +3732,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.rasterFadeDuration(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.rasterFadeDuration(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.rasterFadeDuration(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.rasterFadeDuration(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -2970,11 +3746,11 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setVisibility(BackgroundLayer layer, RCTMGLStyleValue styleValue) {
-        layer.setProperties(PropertyFactory.visibility(styleValue.getString(VALUE_KEY)));
+    public static void setVisibility(BackgroundLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
+        batch.add(PropertyFactory.visibility(styleValue.getString(VALUE_KEY)));
     }
 
-    public static void setBackgroundColor(BackgroundLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setBackgroundColor(BackgroundLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Integer, String> parser = new RCTMGLStyleFunctionParser<Integer, String>(styleValue) {
             @Override
@@ -2988,9 +3764,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.backgroundColor(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.backgroundColor(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.backgroundColor(styleValue.getInt(VALUE_KEY)));
+        batch.add(PropertyFactory.backgroundColor(styleValue.getInt(VALUE_KEY)));
       }
     }
 
@@ -3002,7 +3778,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setBackgroundPattern(BackgroundLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setBackgroundPattern(BackgroundLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<String, String> parser = new RCTMGLStyleFunctionParser<String, String>(styleValue) {
             @Override
@@ -3016,9 +3792,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.backgroundPattern(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.backgroundPattern(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.backgroundPattern(styleValue.getString(VALUE_KEY)));
+        batch.add(PropertyFactory.backgroundPattern(styleValue.getString(VALUE_KEY)));
       }
     }
 
@@ -3030,7 +3806,7 @@ public class RCTMGLStyleFactory {
       }
     }
 
-    public static void setBackgroundOpacity(BackgroundLayer layer, RCTMGLStyleValue styleValue) {
+    public static void setBackgroundOpacity(BackgroundLayer layer, RCTMGLStyleValue styleValue, RCTMGLStyleBatch batch) {
       if (styleValue.isFunction()) {
         RCTMGLStyleFunctionParser<Float, Float> parser = new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
             @Override
@@ -3044,9 +3820,9 @@ public class RCTMGLStyleFactory {
             }
         };
 
-        layer.setProperties(PropertyFactory.backgroundOpacity(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
+        batch.add(PropertyFactory.backgroundOpacity(styleValue.makeCameraFunction(styleValue.getInt("mode"), parser)));
       } else {
-        layer.setProperties(PropertyFactory.backgroundOpacity(styleValue.getFloat(VALUE_KEY)));
+        batch.add(PropertyFactory.backgroundOpacity(styleValue.getFloat(VALUE_KEY)));
       }
     }
 
@@ -10,6 +10,7 @@ import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.ReadableMapKeySetIterator;
 import com.facebook.react.bridge.ReadableNativeArray;
 import com.facebook.react.bridge.ReadableType;
+import com.mapbox.mapboxsdk.style.functions.Function;
 import com.mapbox.mapboxsdk.style.functions.stops.Stop;
 import com.mapbox.mapboxsdk.style.layers.PropertyValue;
 
@@ -18,6 +19,7 @@ import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -26,12 +28,63 @@ import java.util.Map;
  */
 
 public abstract class RCTMGLStyleFunctionParser<T, V> {
+    public static final int MAX_CACHED_FUNCTIONS = 512;
+
+    // a stylesheet function is usually set on many layers, compile it once per property and payload
+    private static final Map<FunctionKey, Function> sFunctionCache = new LinkedHashMap<FunctionKey, Function>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<FunctionKey, Function> eldest) {
+            return size() > MAX_CACHED_FUNCTIONS;
+        }
+    };
+
     private RCTMGLStyleValue mStyleValue;
+    private FunctionKey mFunctionKey;
 
     public RCTMGLStyleFunctionParser(RCTMGLStyleValue styleValue) {
         mStyleValue = styleValue;
     }
 
+    public static void clearFunctionCache() {
+        synchronized (sFunctionCache) {
+            sFunctionCache.clear();
+        }
+    }
+
+    public static int getCachedFunctionCount() {
+        synchronized (sFunctionCache) {
+            return sFunctionCache.size();
+        }
+    }
+
+    /**
+     * @return function compiled earlier from an identical payload for the same property, or null
+     */
+    public Function getCachedFunction() {
+        synchronized (sFunctionCache) {
+            return sFunctionCache.get(getFunctionKey());
+        }
+    }
+
+    public void cacheFunction(Function function) {
+        if (function == null) {
+            return;
+        }
+
+        synchronized (sFunctionCache) {
+            sFunctionCache.put(getFunctionKey(), function);
+        }
+    }
+
+    private FunctionKey getFunctionKey() {
+        if (mFunctionKey == null) {
+            // every generated setter has its own parser class, so it tells the property and its value types apart
+            mFunctionKey = new FunctionKey(getClass(), mStyleValue.getFunctionPayload(),
+                    mStyleValue.getFunctionPayloadHash());
+        }
+        return mFunctionKey;
+    }
+
     public List<StopConfig> getRawStops() {
         ReadableArray readableArrayRawStops = mStyleValue.getArray("stops");
 
@@ -106,6 +159,38 @@ public abstract class RCTMGLStyleFunctionParser<T, V> {
         }
     }
 
+    private static class FunctionKey {
+        final Class<?> parserClass;
+        final Map<String, Object> payload;
+        final int hash;
+
+        FunctionKey(Class<?> parserClass, Map<String, Object> payload, int payloadHash) {
+            this.parserClass = parserClass;
+            this.payload = payload;
+            this.hash = 31 * parserClass.hashCode() + payloadHash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FunctionKey)) {
+                return false;
+            }
+
+            FunctionKey other = (FunctionKey) o;
+            // the same style value, e.g. from a stylesheet, skips the structural compare
+            return hash == other.hash && parserClass.equals(other.parserClass) &&
+                    (payload == other.payload || payload.equals(other.payload));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     private class StopConfig {
         Object propertyValue;
         T value;
@@ -0,0 +1,152 @@
+package com.mapbox.rctmgl.components.styles;
+
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stylesheet registered once from JS and referenced by id from any number of layers, so the style
+ * doesn't cross the bridge and get decoded again for every layer that uses it.
+ * Values are copied out of the bridge maps and wrapped in RCTMGLStyleValues when registered.
+ *
+ * Registering an id again diffs the new values against the previous ones once, layers listening on the id
+ * only restyle the keys that changed. Listeners are only touched from the UI thread.
+ */
+
+public class RCTMGLStyleSheet {
+    private static final Map<String, RCTMGLStyleSheet> sStyleSheets = new ConcurrentHashMap<>();
+    private static final Map<String, List<OnStyleSheetRegisteredListener>> sListeners = new HashMap<>();
+
+    private final String mID;
+    private final int mVersion;
+    private final Map<String, RCTMGLStyleValue> mStyleValues = new HashMap<>();
+    private final Map<String, Object> mRawValues;
+    private final List<String> mChangedKeys;
+
+    public interface OnStyleSheetRegisteredListener {
+        void onStyleSheetRegistered(RCTMGLStyleSheet styleSheet);
+    }
+
+    private RCTMGLStyleSheet(String id, ReadableMap style, RCTMGLStyleSheet previous) {
+        mID = id;
+        mVersion = previous != null ? previous.mVersion + 1 : 0;
+
+        JavaOnlyMap values = JavaOnlyMap.deepClone(style);
+        ReadableMapKeySetIterator it = values.keySetIterator();
+
+        while (it.hasNextKey()) {
+            String key = it.nextKey();
+
+            if (!key.equals(RCTMGLStyle.STYLESHEET_KEY)) {
+                mStyleValues.put(key, new RCTMGLStyleValue(values.getMap(key)));
+            }
+        }
+
+        HashMap<String, Object> rawValues = values.toHashMap();
+        rawValues.remove(RCTMGLStyle.STYLESHEET_KEY);
+        mRawValues = Collections.unmodifiableMap(rawValues);
+
+        List<String> changedKeys = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : mRawValues.entrySet()) {
+            // values decode to maps, lists and primitives, so equals compares them structurally
+            Object value = entry.getValue();
+            if (previous == null || value == null || !value.equals(previous.mRawValues.get(entry.getKey()))) {
+                changedKeys.add(entry.getKey());
+            }
+        }
+        mChangedKeys = Collections.unmodifiableList(changedKeys);
+    }
+
+    public static RCTMGLStyleSheet register(String id, ReadableMap style) {
+        RCTMGLStyleSheet styleSheet = new RCTMGLStyleSheet(id, style, sStyleSheets.get(id));
+        sStyleSheets.put(id, styleSheet);
+        return styleSheet;
+    }
+
+    public static void unregister(String id) {
+        sStyleSheets.remove(id);
+    }
+
+    public static RCTMGLStyleSheet get(String id) {
+        return id != null ? sStyleSheets.get(id) : null;
+    }
+
+    /**
+     * Listens for the id to be registered, or registered again with new values.
+     */
+    public static void addListener(String id, OnStyleSheetRegisteredListener listener) {
+        List<OnStyleSheetRegisteredListener> listeners = sListeners.get(id);
+        if (listeners == null) {
+            listeners = new ArrayList<>();
+            sListeners.put(id, listeners);
+        }
+
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public static void removeListener(String id, OnStyleSheetRegisteredListener listener) {
+        List<OnStyleSheetRegisteredListener> listeners = sListeners.get(id);
+        if (listeners == null) {
+            return;
+        }
+
+        listeners.remove(listener);
+        if (listeners.isEmpty()) {
+            sListeners.remove(id);
+        }
+    }
+
+    /**
+     * Hands the currently registered stylesheet to everything listening on the id, called on the UI thread
+     * after register.
+     */
+    public static void notifyRegistered(String id) {
+        RCTMGLStyleSheet styleSheet = get(id);
+        List<OnStyleSheetRegisteredListener> listeners = sListeners.get(id);
+        if (styleSheet == null || listeners == null) {
+            return;
+        }
+
+        for (OnStyleSheetRegisteredListener listener : new ArrayList<>(listeners)) {
+            listener.onStyleSheetRegistered(styleSheet);
+        }
+    }
+
+    public String getID() {
+        return mID;
+    }
+
+    public boolean hasStyleValue(String styleKey) {
+        return mStyleValues.containsKey(styleKey);
+    }
+
+    public RCTMGLStyleValue getStyleValue(String styleKey) {
+        return mStyleValues.get(styleKey);
+    }
+
+    /**
+     * @return keys whose value differs from the applied stylesheet, the diff against the previously registered
+     * values is computed once at registration, any other stylesheet gets every key
+     */
+    public Collection<String> getChangedKeys(RCTMGLStyleSheet applied) {
+        if (applied == this) {
+            return Collections.emptyList();
+        }
+
+        if (applied != null && applied.mID.equals(mID) && applied.mVersion == mVersion - 1) {
+            return mChangedKeys;
+        }
+
+        return mRawValues.keySet();
+    }
+}
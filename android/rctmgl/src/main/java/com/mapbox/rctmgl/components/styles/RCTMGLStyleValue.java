@@ -13,6 +13,9 @@ import com.mapbox.mapboxsdk.style.functions.stops.Stop;
 import com.mapbox.mapboxsdk.style.functions.stops.Stops;
 import com.mapbox.mapboxsdk.style.layers.TransitionOptions;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Created by nickitaliano on 9/12/17.
  */
@@ -22,6 +25,10 @@ public class RCTMGLStyleValue {
     private String mType;
     private ReadableMap mPayload;
 
+    // functions only, converted once so every function cache lookup with this value is a hash compare
+    private HashMap<String, Object> mFunctionPayload;
+    private int mFunctionPayloadHash;
+
     public static final String FunctionTypeCamera = "camera";
     public static final String FunctionTypeSource = "source";
     public static final String FunctionTypeComposite = "composite";
@@ -34,6 +41,11 @@ public class RCTMGLStyleValue {
     public RCTMGLStyleValue(@NonNull ReadableMap config) {
         mType = config.getString("styletype");
         mPayload = config.getMap("payload");
+
+        if (isFunction()) {
+            mFunctionPayload = mPayload.toHashMap();
+            mFunctionPayloadHash = mFunctionPayload.hashCode();
+        }
     }
 
     public String getType() {
@@ -41,7 +53,7 @@ public class RCTMGLStyleValue {
     }
 
     public boolean isFunction() {
-        return mType.equals("function");
+        return "function".equals(mType);
     }
 
     public int getInt(String key) {
@@ -98,23 +110,57 @@ public class RCTMGLStyleValue {
         return mPayload.getMap(key);
     }
 
+    /**
+     * @return payload of a function as plain maps and lists, compares by structure, null for other values
+     */
+    public Map<String, Object> getFunctionPayload() {
+        return mFunctionPayload;
+    }
+
+    /**
+     * @return structural hash of the function payload, computed when the value was created
+     */
+    public int getFunctionPayloadHash() {
+        return mFunctionPayloadHash;
+    }
+
     public Function makeStyleFunction(RCTMGLStyleFunctionParser functionParser) {
+        Function function = functionParser.getCachedFunction();
+        if (function != null) {
+            return function;
+        }
+
         String fnType = getString("fn");
         int mode = getInt("mode");
 
         switch (fnType) {
             case FunctionTypeCamera:
-                return makeCameraFunction(mode, functionParser);
+                function = buildCameraFunction(mode, functionParser);
+                break;
             case FunctionTypeSource:
-                return makeSourceFunction(mode, getString("attributeName"), functionParser);
+                function = makeSourceFunction(mode, getString("attributeName"), functionParser);
+                break;
             case FunctionTypeComposite:
-                return makeCompositeFunction(mode, getString("attributeName"), functionParser);
-            default:
-                return null;
+                function = makeCompositeFunction(mode, getString("attributeName"), functionParser);
+                break;
         }
+
+        functionParser.cacheFunction(function);
+        return function;
     }
 
     public CameraFunction makeCameraFunction(int mode, RCTMGLStyleFunctionParser functionParser) {
+        Function function = functionParser.getCachedFunction();
+        if (function instanceof CameraFunction) {
+            return (CameraFunction) function;
+        }
+
+        CameraFunction cameraFunction = buildCameraFunction(mode, functionParser);
+        functionParser.cacheFunction(cameraFunction);
+        return cameraFunction;
+    }
+
+    private CameraFunction buildCameraFunction(int mode, RCTMGLStyleFunctionParser functionParser) {
         Stop[] stops = functionParser.getStops(functionParser.getRawStops());
 
         switch (mode) {
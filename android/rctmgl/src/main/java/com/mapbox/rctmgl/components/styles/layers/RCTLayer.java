@@ -12,6 +12,8 @@ import com.mapbox.mapboxsdk.style.layers.Property;
 import com.mapbox.mapboxsdk.style.layers.PropertyFactory;
 import com.mapbox.rctmgl.components.AbstractMapFeature;
 import com.mapbox.rctmgl.components.mapview.RCTMGLMapView;
+import com.mapbox.rctmgl.components.styles.RCTMGLStyle;
+import com.mapbox.rctmgl.components.styles.RCTMGLStyleSheet;
 import com.mapbox.rctmgl.components.styles.sources.RCTSource;
 import com.mapbox.rctmgl.location.UserLocationLayerConstants;
 import com.mapbox.rctmgl.utils.ConvertUtils;
@@ -20,8 +22,11 @@ import com.mapbox.rctmgl.utils.FilterParser;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -60,9 +65,29 @@ public abstract class RCTLayer<T extends Layer> extends AbstractMapFeature {
     protected boolean mVisible;
     protected Double mMinZoomLevel;
     protected Double mMaxZoomLevel;
+
+    // lazy layers only create their engine layer when the camera is within this many zoom levels of their zoom range,
+    // and drop it again when it's further away than the drop margin, if there's one
+    protected Double mLazyZoomMargin;
+    protected Double mLazyDropZoomMargin;
     protected ReadableMap mReactStyle;
+    protected String mStyleSheetID;
     protected Filter.Statement mFilter;
 
+    // react style values and stylesheet last applied to mLayer, so a restyle only sets the properties that changed,
+    // null values when the layer needs the whole style
+    private Map<String, Object> mAppliedReactStyle;
+    private RCTMGLStyleSheet mAppliedStyleSheet;
+
+    private final RCTMGLStyleSheet.OnStyleSheetRegisteredListener mStyleSheetListener = new RCTMGLStyleSheet.OnStyleSheetRegisteredListener() {
+        @Override
+        public void onStyleSheetRegistered(RCTMGLStyleSheet styleSheet) {
+            if (mLayer != null) {
+                addStyles();
+            }
+        }
+    };
+
     protected MapboxMap mMap;
     protected T mLayer;
 
@@ -93,8 +118,7 @@ public abstract class RCTLayer<T extends Layer> extends AbstractMapFeature {
 
         mAboveLayerID = aboveLayerID;
         if (mLayer != null) {
-            removeFromMap(mMapView);
-            addAbove(mAboveLayerID);
+            moveAbove(mAboveLayerID);
         }
     }
 
@@ -105,11 +129,20 @@ public abstract class RCTLayer<T extends Layer> extends AbstractMapFeature {
 
         mBelowLayerID = belowLayerID;
         if (mLayer != null) {
-            removeFromMap(mMapView);
-            addBelow(mBelowLayerID);
+            moveBelow(mBelowLayerID);
         }
     }
 
+    /**
+     * Takes over a placement the layer was already moved to, e.g. by the map view's reorderLayers, without moving
+     * it again. The style change or lazy creation that adds the layer again then puts it back there.
+     */
+    public void setPlacement(String aboveLayerID, String belowLayerID) {
+        mAboveLayerID = aboveLayerID;
+        mBelowLayerID = belowLayerID;
+        mLayerIndex = null;
+    }
+
     public void setLayerIndex(int layerIndex) {
         if (mLayerIndex != null && mLayerIndex == layerIndex) {
             return;
@@ -117,8 +150,7 @@ public abstract class RCTLayer<T extends Layer> extends AbstractMapFeature {
 
         mLayerIndex = layerIndex;
         if (mLayer != null) {
-            removeFromMap(mMapView);
-            addAtIndex(mLayerIndex);
+            moveToIndex(mLayerIndex);
         }
     }
 
@@ -137,6 +169,7 @@ public abstract class RCTLayer<T extends Layer> extends AbstractMapFeature {
         if (mLayer != null) {
             mLayer.setMinZoom((float) minZoomLevel);
         }
+        updateLazyState();
     }
 
     public void setMaxZoomLevel(double maxZoomLevel) {
@@ -145,6 +178,87 @@ public abstract class RCTLayer<T extends Layer> extends AbstractMapFeature {
         if (mLayer != null) {
             mLayer.setMaxZoom((float) maxZoomLevel);
         }
+        updateLazyState();
+    }
+
+    /**
+     * Makes the layer lazy, it's only created in the style when the camera is within the margin of its zoom range.
+     * Null creates it right away.
+     */
+    public void setLazyZoomMargin(Double lazyZoomMargin) {
+        mLazyZoomMargin = lazyZoomMargin;
+        updateLazyState();
+    }
+
+    /**
+     * A lazy layer is removed from the style again when the camera is further than this from its zoom range.
+     * Null keeps it once it was created.
+     */
+    public void setLazyDropZoomMargin(Double lazyDropZoomMargin) {
+        mLazyDropZoomMargin = lazyDropZoomMargin;
+        updateLazyState();
+    }
+
+    public boolean isLazy() {
+        return mLazyZoomMargin != null;
+    }
+
+    public boolean isMaterialized() {
+        return mLayer != null;
+    }
+
+    /**
+     * @return true when the layer is placed against another one or at an index, rather than on top of the style
+     */
+    public boolean hasPlacement() {
+        return mAboveLayerID != null || mBelowLayerID != null || mLayerIndex != null;
+    }
+
+    /**
+     * Creates or drops the engine layer of a lazy layer for the camera's zoom.
+     */
+    public void updateMaterialization(double zoom) {
+        if (mMapView == null || !isLazy()) {
+            return;
+        }
+
+        if (mLayer == null) {
+            if (isNearZoomRange(zoom, mLazyZoomMargin)) {
+                materialize();
+            }
+        } else if (mLazyDropZoomMargin != null) {
+            // never drop within the margin it's created at, or the layer would flip at the edge
+            double dropMargin = Math.max(mLazyDropZoomMargin, mLazyZoomMargin);
+
+            if (!isNearZoomRange(zoom, dropMargin)) {
+                mMap.removeLayer(mLayer);
+                mLayer = null;
+                mMapView.invalidateLayerOrder();
+            }
+        }
+    }
+
+    private boolean isNearZoomRange(double zoom, double margin) {
+        if (mMinZoomLevel != null && zoom < mMinZoomLevel - margin) {
+            return false;
+        }
+        return mMaxZoomLevel == null || zoom <= mMaxZoomLevel + margin;
+    }
+
+    private void updateLazyState() {
+        if (mMapView == null) {
+            return;
+        }
+
+        if (isLazy()) {
+            mMapView.addLazyLayer(this);
+        } else {
+            mMapView.removeLazyLayer(this);
+
+            if (mLayer == null) {
+                materialize();
+            }
+        }
     }
 
     public void setReactStyle(ReadableMap reactStyle) {
@@ -155,6 +269,26 @@ public abstract class RCTLayer<T extends Layer> extends AbstractMapFeature {
         }
     }
 
+    /**
+     * Uses a stylesheet registered through the module, values in the react style override the stylesheet's.
+     */
+    public void setStyleSheetID(String styleSheetID) {
+        if (mMapView != null && mStyleSheetID != null) {
+            RCTMGLStyleSheet.removeListener(mStyleSheetID, mStyleSheetListener);
+        }
+
+        mStyleSheetID = styleSheetID;
+
+        if (mMapView != null && mStyleSheetID != null) {
+            // restyled when the stylesheet is registered, or registered again with new values
+            RCTMGLStyleSheet.addListener(mStyleSheetID, mStyleSheetListener);
+        }
+
+        if (mLayer != null) {
+            addStyles();
+        }
+    }
+
     public void setFilter(ReadableArray readableFilterArray) {
         FilterParser.FilterList filterList = FilterParser.getFilterList(readableFilterArray);
 
@@ -205,21 +339,109 @@ public abstract class RCTLayer<T extends Layer> extends AbstractMapFeature {
         mMap.addLayerAt(mLayer, index);
     }
 
-    protected void insertLayer() {
-        if (mMap.getLayer(mID) != null) {
+    /**
+     * Moves the layer right above another one, keeping the engine layer and its properties.
+     * Does nothing when it's already there.
+     */
+    public void moveAbove(String aboveLayerID) {
+        if (!hasInitialized()) {
+            return;
+        }
+
+        List<String> layerIDs = getStyleLayerIDs();
+        int aboveIndex = layerIDs.indexOf(aboveLayerID);
+        if (aboveIndex != -1 && layerIDs.indexOf(mID) == aboveIndex + 1) {
+            return;
+        }
+
+        mMap.removeLayer(mLayer);
+        addAbove(aboveLayerID);
+        mMapView.invalidateLayerOrder();
+    }
+
+    /**
+     * Moves the layer right below another one, keeping the engine layer and its properties.
+     * Does nothing when it's already there.
+     */
+    public void moveBelow(String belowLayerID) {
+        if (!hasInitialized()) {
+            return;
+        }
+
+        List<String> layerIDs = getStyleLayerIDs();
+        int belowIndex = layerIDs.indexOf(belowLayerID);
+        if (belowIndex != -1 && layerIDs.indexOf(mID) == belowIndex - 1) {
+            return;
+        }
+
+        mMap.removeLayer(mLayer);
+        addBelow(belowLayerID);
+        mMapView.invalidateLayerOrder();
+    }
+
+    /**
+     * Moves the layer to an index of the style, keeping the engine layer and its properties.
+     * Does nothing when it's already there.
+     */
+    public void moveToIndex(int index) {
+        if (!hasInitialized()) {
+            return;
+        }
+
+        if (getStyleLayerIDs().indexOf(mID) == index) {
+            return;
+        }
+
+        mMap.removeLayer(mLayer);
+        addAtIndex(index);
+        mMapView.invalidateLayerOrder();
+    }
+
+    private List<String> getStyleLayerIDs() {
+        List<Layer> layers = mMap.getLayers();
+        List<String> layerIDs = new ArrayList<>(layers.size());
+
+        for (Layer layer : layers) {
+            layerIDs.add(layer.getId());
+        }
+
+        return layerIDs;
+    }
+
+    public void insertLayer() {
+        if (mMapView.hasStyleLayer(mID)) {
             return; // prevent adding a layer twice
         }
 
-        if (mAboveLayerID != null) {
+        String anchorLayerID = mAboveLayerID != null ? mAboveLayerID : mBelowLayerID;
+        if (anchorLayerID != null && mMapView.deferLayer(this, anchorLayerID)) {
+            return; // inserted once the layer it's placed against was added
+        }
+
+        // the layer it's placed against may be lazy as well and not created yet
+        boolean hasAnchorLayer = anchorLayerID != null && (!isLazy() || mMapView.hasStyleLayer(anchorLayerID));
+        if (anchorLayerID != null && !hasAnchorLayer) {
+            Log.w(LOG_TAG, String.format("Lazy layer %s is placed against %s, which isn't in the style", mID, anchorLayerID));
+        }
+
+        if (hasAnchorLayer && mAboveLayerID != null) {
             addAbove(mAboveLayerID);
-        } else if (mBelowLayerID != null) {
+        } else if (hasAnchorLayer) {
             addBelow(mBelowLayerID);
         } else if (mLayerIndex != null) {
             addAtIndex(mLayerIndex);
         } else {
-            add();
+            // a lazy layer goes where it would be had it been added when mounted, below the layers mounted after it
+            String mountedAboveID = isLazy() ? mMapView.getLayerMountedAbove(this) : null;
+
+            if (mountedAboveID != null) {
+                addBelow(mountedAboveID);
+            } else {
+                add();
+            }
         }
 
+        mMapView.onStyleLayerAdded(mID);
         setZoomBounds();
     }
 
@@ -233,6 +455,55 @@ public abstract class RCTLayer<T extends Layer> extends AbstractMapFeature {
         }
     }
 
+    /**
+     * @return the style with only the properties whose value differs from the one last applied to the layer
+     */
+    protected RCTMGLStyle getStyleChanges() {
+        // null until the stylesheet is registered, the listener restyles the layer once it is
+        RCTMGLStyleSheet styleSheet = RCTMGLStyleSheet.get(mStyleSheetID);
+
+        Map<String, Object> reactStyle = mReactStyle != null ? mReactStyle.toHashMap() : new HashMap<String, Object>();
+        reactStyle.remove(RCTMGLStyle.STYLESHEET_KEY);
+
+        boolean isApplied = mAppliedReactStyle != null;
+        Set<String> changedKeys = new LinkedHashSet<>();
+
+        for (Map.Entry<String, Object> entry : reactStyle.entrySet()) {
+            // values decode to maps, lists and primitives, so equals compares them structurally
+            Object value = entry.getValue();
+            if (!isApplied || value == null || !value.equals(mAppliedReactStyle.get(entry.getKey()))) {
+                changedKeys.add(entry.getKey());
+            }
+        }
+
+        if (styleSheet != null) {
+            if (isApplied) {
+                // keys the react style stopped overriding fall back to the stylesheet
+                for (String key : mAppliedReactStyle.keySet()) {
+                    if (!reactStyle.containsKey(key) && styleSheet.hasStyleValue(key)) {
+                        changedKeys.add(key);
+                    }
+                }
+            }
+
+            // the stylesheet is diffed once when registered, not for every layer using it
+            for (String key : styleSheet.getChangedKeys(isApplied ? mAppliedStyleSheet : null)) {
+                if (!reactStyle.containsKey(key)) {
+                    changedKeys.add(key);
+                }
+            }
+        }
+
+        mAppliedReactStyle = reactStyle;
+        mAppliedStyleSheet = styleSheet;
+
+        List<String> styleKeys = new ArrayList<>(changedKeys);
+        if (styleSheet != null) {
+            return new RCTMGLStyle(getContext(), styleSheet, mReactStyle, mMapView.getImageResolver(), styleKeys);
+        }
+        return new RCTMGLStyle(getContext(), mReactStyle, mMapView.getImageResolver(), styleKeys);
+    }
+
     protected Filter.Statement buildFilter(FilterParser.FilterList filterList) {
         return FilterParser.parse(filterList);
     }
@@ -245,8 +516,25 @@ public abstract class RCTLayer<T extends Layer> extends AbstractMapFeature {
     public void addToMap(RCTMGLMapView mapView) {
         mMap = mapView.getMapboxMap();
         mMapView = mapView;
+        mapView.onLayerMounted(this);
 
-        T existingLayer = mMap.<T>getLayerAs(mID);
+        if (mStyleSheetID != null) {
+            RCTMGLStyleSheet.addListener(mStyleSheetID, mStyleSheetListener);
+        }
+
+        if (isLazy()) {
+            mapView.addLazyLayer(this); // created once the camera gets close to its zoom range
+            return;
+        }
+
+        materialize();
+    }
+
+    /**
+     * Creates the engine layer, or takes the one in the style with our id, and applies the style and filter.
+     */
+    protected void materialize() {
+        T existingLayer = mMapView.<T>getStyleLayerAs(mID);
         if (existingLayer != null) {
             mLayer = existingLayer;
         } else {
@@ -254,12 +542,30 @@ public abstract class RCTLayer<T extends Layer> extends AbstractMapFeature {
             insertLayer();
         }
 
+        mAppliedReactStyle = null; // the layer may not hold our values, apply the whole style
+        mAppliedStyleSheet = null;
         addStyles();
+
+        if (mFilter != null) {
+            updateFilter(mFilter);
+        }
     }
 
     @Override
     public void removeFromMap(RCTMGLMapView mapView) {
-        mMap.removeLayer(mLayer);
+        mapView.removeLazyLayer(this);
+        mapView.onLayerUnmounted(this);
+
+        if (mStyleSheetID != null) {
+            RCTMGLStyleSheet.removeListener(mStyleSheetID, mStyleSheetListener);
+        }
+
+        if (mLayer != null) {
+            mMap.removeLayer(mLayer);
+            mLayer = null;
+            mapView.invalidateLayerOrder();
+        }
+        mMapView = null; // so zoom range changes after removal don't create the layer again
     }
 
     public abstract T makeLayer();
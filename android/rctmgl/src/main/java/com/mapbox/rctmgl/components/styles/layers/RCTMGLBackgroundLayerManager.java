@@ -57,8 +57,23 @@ public class RCTMGLBackgroundLayerManager extends ViewGroupManager<RCTMGLBackgro
         layer.setMaxZoomLevel(maxZoomLevel);
     }
 
+    @ReactProp(name="lazyZoomMargin")
+    public void setLazyZoomMargin(RCTMGLBackgroundLayer layer, Double lazyZoomMargin) {
+        layer.setLazyZoomMargin(lazyZoomMargin);
+    }
+
+    @ReactProp(name="lazyDropZoomMargin")
+    public void setLazyDropZoomMargin(RCTMGLBackgroundLayer layer, Double lazyDropZoomMargin) {
+        layer.setLazyDropZoomMargin(lazyDropZoomMargin);
+    }
+
     @ReactProp(name="reactStyle")
     public void setReactStyle(RCTMGLBackgroundLayer layer, ReadableMap style) {
         layer.setReactStyle(style);
     }
+
+    @ReactProp(name="styleSheetID")
+    public void setStyleSheetID(RCTMGLBackgroundLayer layer, String styleSheetID) {
+        layer.setStyleSheetID(styleSheetID);
+    }
 }
@@ -4,8 +4,6 @@ import android.content.Context;
 
 import com.mapbox.mapboxsdk.style.layers.CircleLayer;
 import com.mapbox.mapboxsdk.style.layers.Filter;
-import com.mapbox.rctmgl.components.mapview.RCTMGLMapView;
-import com.mapbox.rctmgl.components.styles.RCTMGLStyle;
 import com.mapbox.rctmgl.components.styles.RCTMGLStyleFactory;
 
 /**
@@ -24,15 +22,6 @@ public class RCTMGLCircleLayer extends RCTLayer<CircleLayer> {
         mLayer.setFilter(statement);
     }
 
-    @Override
-    public void addToMap(RCTMGLMapView mapView) {
-        super.addToMap(mapView);
-
-        if (mFilter != null) {
-            updateFilter(mFilter);
-        }
-    }
-
     @Override
     public CircleLayer makeLayer() {
         CircleLayer layer = new CircleLayer(mID, mSourceID);
@@ -46,7 +35,7 @@ public class RCTMGLCircleLayer extends RCTLayer<CircleLayer> {
 
     @Override
     public void addStyles() {
-        RCTMGLStyleFactory.setCircleLayerStyle(mLayer, new RCTMGLStyle(getContext(), mReactStyle, mMap));
+        RCTMGLStyleFactory.setCircleLayerStyle(mLayer, getStyleChanges());
     }
 
     public void setSourceLayerID(String sourceLayerID) {
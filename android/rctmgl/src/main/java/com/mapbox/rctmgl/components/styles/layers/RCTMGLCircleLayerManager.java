@@ -60,11 +60,26 @@ public class RCTMGLCircleLayerManager extends ViewGroupManager<RCTMGLCircleLayer
         layer.setMaxZoomLevel(maxZoomLevel);
     }
 
+    @ReactProp(name="lazyZoomMargin")
+    public void setLazyZoomMargin(RCTMGLCircleLayer layer, Double lazyZoomMargin) {
+        layer.setLazyZoomMargin(lazyZoomMargin);
+    }
+
+    @ReactProp(name="lazyDropZoomMargin")
+    public void setLazyDropZoomMargin(RCTMGLCircleLayer layer, Double lazyDropZoomMargin) {
+        layer.setLazyDropZoomMargin(lazyDropZoomMargin);
+    }
+
     @ReactProp(name="reactStyle")
     public void setReactStyle(RCTMGLCircleLayer layer, ReadableMap style) {
         layer.setReactStyle(style);
     }
 
+    @ReactProp(name="styleSheetID")
+    public void setStyleSheetID(RCTMGLCircleLayer layer, String styleSheetID) {
+        layer.setStyleSheetID(styleSheetID);
+    }
+
     @ReactProp(name="sourceLayerID")
     public void setSourceLayerId(RCTMGLCircleLayer layer, String sourceLayerID) {
         layer.setSourceLayerID(sourceLayerID);
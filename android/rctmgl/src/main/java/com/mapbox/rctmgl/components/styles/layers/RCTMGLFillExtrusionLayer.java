@@ -5,8 +5,6 @@ import android.content.Context;
 import com.mapbox.mapboxsdk.style.layers.FillExtrusionLayer;
 import com.mapbox.mapboxsdk.style.layers.FillLayer;
 import com.mapbox.mapboxsdk.style.layers.Filter;
-import com.mapbox.rctmgl.components.mapview.RCTMGLMapView;
-import com.mapbox.rctmgl.components.styles.RCTMGLStyle;
 import com.mapbox.rctmgl.components.styles.RCTMGLStyleFactory;
 import com.mapbox.rctmgl.components.styles.sources.RCTSource;
 
@@ -26,15 +24,6 @@ public class RCTMGLFillExtrusionLayer extends RCTLayer<FillExtrusionLayer> {
         mLayer.setFilter(statement);
     }
 
-    @Override
-    public void addToMap(RCTMGLMapView mapView) {
-        super.addToMap(mapView);
-
-        if (mFilter != null) {
-            updateFilter(mFilter);
-        }
-    }
-
     @Override
     public FillExtrusionLayer makeLayer() {
         FillExtrusionLayer layer = new FillExtrusionLayer(mID, mSourceID);
@@ -48,7 +37,7 @@ public class RCTMGLFillExtrusionLayer extends RCTLayer<FillExtrusionLayer> {
 
     @Override
     public void addStyles() {
-        RCTMGLStyleFactory.setFillExtrusionLayerStyle(mLayer, new RCTMGLStyle(getContext(), mReactStyle, mMap));
+        RCTMGLStyleFactory.setFillExtrusionLayerStyle(mLayer, getStyleChanges());
     }
 
     public void setSourceLayerID(String sourceLayerID) {
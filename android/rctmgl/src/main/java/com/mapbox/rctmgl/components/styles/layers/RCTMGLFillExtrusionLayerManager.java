@@ -63,11 +63,26 @@ public class RCTMGLFillExtrusionLayerManager extends ViewGroupManager<RCTMGLFill
         layer.setMaxZoomLevel(maxZoomLevel);
     }
 
+    @ReactProp(name="lazyZoomMargin")
+    public void setLazyZoomMargin(RCTMGLFillExtrusionLayer layer, Double lazyZoomMargin) {
+        layer.setLazyZoomMargin(lazyZoomMargin);
+    }
+
+    @ReactProp(name="lazyDropZoomMargin")
+    public void setLazyDropZoomMargin(RCTMGLFillExtrusionLayer layer, Double lazyDropZoomMargin) {
+        layer.setLazyDropZoomMargin(lazyDropZoomMargin);
+    }
+
     @ReactProp(name="reactStyle")
     public void setReactStyle(RCTMGLFillExtrusionLayer layer, ReadableMap style) {
         layer.setReactStyle(style);
     }
 
+    @ReactProp(name="styleSheetID")
+    public void setStyleSheetID(RCTMGLFillExtrusionLayer layer, String styleSheetID) {
+        layer.setStyleSheetID(styleSheetID);
+    }
+
     @ReactProp(name="sourceLayerID")
     public void setSourceLayerId(RCTMGLFillExtrusionLayer layer, String sourceLayerID) {
         layer.setSourceLayerID(sourceLayerID);
@@ -4,8 +4,6 @@ import android.content.Context;
 
 import com.mapbox.mapboxsdk.style.layers.FillLayer;
 import com.mapbox.mapboxsdk.style.layers.Filter;
-import com.mapbox.rctmgl.components.mapview.RCTMGLMapView;
-import com.mapbox.rctmgl.components.styles.RCTMGLStyle;
 import com.mapbox.rctmgl.components.styles.RCTMGLStyleFactory;
 import com.mapbox.rctmgl.components.styles.sources.RCTSource;
 
@@ -25,15 +23,6 @@ public class RCTMGLFillLayer extends RCTLayer<FillLayer> {
         mLayer.setFilter(statement);
     }
 
-    @Override
-    public void addToMap(RCTMGLMapView mapView) {
-        super.addToMap(mapView);
-
-        if (mFilter != null) {
-            updateFilter(mFilter);
-        }
-    }
-
     @Override
     public FillLayer makeLayer() {
         FillLayer layer = new FillLayer(mID, mSourceID);
@@ -47,7 +36,7 @@ public class RCTMGLFillLayer extends RCTLayer<FillLayer> {
 
     @Override
     public void addStyles() {
-        RCTMGLStyleFactory.setFillLayerStyle(mLayer, new RCTMGLStyle(getContext(), mReactStyle, mMap));
+        RCTMGLStyleFactory.setFillLayerStyle(mLayer, getStyleChanges());
     }
 
     public void setSourceLayerID(String sourceLayerID) {
@@ -68,11 +68,26 @@ public class RCTMGLFillLayerManager extends ViewGroupManager<RCTMGLFillLayer> {
         layer.setMaxZoomLevel(maxZoomLevel);
     }
 
+    @ReactProp(name="lazyZoomMargin")
+    public void setLazyZoomMargin(RCTMGLFillLayer layer, Double lazyZoomMargin) {
+        layer.setLazyZoomMargin(lazyZoomMargin);
+    }
+
+    @ReactProp(name="lazyDropZoomMargin")
+    public void setLazyDropZoomMargin(RCTMGLFillLayer layer, Double lazyDropZoomMargin) {
+        layer.setLazyDropZoomMargin(lazyDropZoomMargin);
+    }
+
     @ReactProp(name="reactStyle")
     public void setReactStyle(RCTMGLFillLayer layer, ReadableMap style) {
         layer.setReactStyle(style);
     }
 
+    @ReactProp(name="styleSheetID")
+    public void setStyleSheetID(RCTMGLFillLayer layer, String styleSheetID) {
+        layer.setStyleSheetID(styleSheetID);
+    }
+
     @ReactProp(name="filter")
     public void setFilter(RCTMGLFillLayer layer, ReadableArray filterList) {
         layer.setFilter(filterList);
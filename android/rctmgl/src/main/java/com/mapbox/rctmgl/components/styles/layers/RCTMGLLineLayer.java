@@ -5,8 +5,6 @@ import android.content.Context;
 import com.facebook.react.uimanager.UIManagerModule;
 import com.mapbox.mapboxsdk.style.layers.Filter;
 import com.mapbox.mapboxsdk.style.layers.LineLayer;
-import com.mapbox.rctmgl.components.mapview.RCTMGLMapView;
-import com.mapbox.rctmgl.components.styles.RCTMGLStyle;
 import com.mapbox.rctmgl.components.styles.RCTMGLStyleFactory;
 
 /**
@@ -25,15 +23,6 @@ public class RCTMGLLineLayer extends RCTLayer<LineLayer> {
         mLayer.setFilter(statement);
     }
 
-    @Override
-    public void addToMap(RCTMGLMapView mapView) {
-        super.addToMap(mapView);
-
-        if (mFilter != null) {
-            updateFilter(mFilter);
-        }
-    }
-
     @Override
     public LineLayer makeLayer() {
         LineLayer layer = new LineLayer(mID, mSourceID);
@@ -47,7 +36,7 @@ public class RCTMGLLineLayer extends RCTLayer<LineLayer> {
 
     @Override
     public void addStyles() {
-        RCTMGLStyleFactory.setLineLayerStyle(mLayer, new RCTMGLStyle(getContext(), mReactStyle, mMap));
+        RCTMGLStyleFactory.setLineLayerStyle(mLayer, getStyleChanges());
     }
 
     public void setSourceLayerID(String sourceLayerID) {
@@ -62,11 +62,26 @@ public class RCTMGLLineLayerManager extends ViewGroupManager<RCTMGLLineLayer> {
         layer.setMaxZoomLevel(maxZoomLevel);
     }
 
+    @ReactProp(name="lazyZoomMargin")
+    public void setLazyZoomMargin(RCTMGLLineLayer layer, Double lazyZoomMargin) {
+        layer.setLazyZoomMargin(lazyZoomMargin);
+    }
+
+    @ReactProp(name="lazyDropZoomMargin")
+    public void setLazyDropZoomMargin(RCTMGLLineLayer layer, Double lazyDropZoomMargin) {
+        layer.setLazyDropZoomMargin(lazyDropZoomMargin);
+    }
+
     @ReactProp(name="reactStyle")
     public void setReactStyle(RCTMGLLineLayer layer, ReadableMap style) {
         layer.setReactStyle(style);
     }
 
+    @ReactProp(name="styleSheetID")
+    public void setStyleSheetID(RCTMGLLineLayer layer, String styleSheetID) {
+        layer.setStyleSheetID(styleSheetID);
+    }
+
     @ReactProp(name="sourceLayerID")
     public void setSourceLayerId(RCTMGLLineLayer layer, String sourceLayerID) {
         layer.setSourceLayerID(sourceLayerID);
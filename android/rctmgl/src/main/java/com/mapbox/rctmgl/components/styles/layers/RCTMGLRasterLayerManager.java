@@ -57,8 +57,23 @@ public class RCTMGLRasterLayerManager extends ViewGroupManager<RCTMGLRasterLayer
         layer.setMaxZoomLevel(maxZoomLevel);
     }
 
+    @ReactProp(name="lazyZoomMargin")
+    public void setLazyZoomMargin(RCTMGLRasterLayer layer, Double lazyZoomMargin) {
+        layer.setLazyZoomMargin(lazyZoomMargin);
+    }
+
+    @ReactProp(name="lazyDropZoomMargin")
+    public void setLazyDropZoomMargin(RCTMGLRasterLayer layer, Double lazyDropZoomMargin) {
+        layer.setLazyDropZoomMargin(lazyDropZoomMargin);
+    }
+
     @ReactProp(name="reactStyle")
     public void setReactStyle(RCTMGLRasterLayer layer, ReadableMap style) {
         layer.setReactStyle(style);
     }
+
+    @ReactProp(name="styleSheetID")
+    public void setStyleSheetID(RCTMGLRasterLayer layer, String styleSheetID) {
+        layer.setStyleSheetID(styleSheetID);
+    }
 }
@@ -14,8 +14,6 @@ import com.mapbox.mapboxsdk.style.layers.Filter;
 import com.mapbox.mapboxsdk.style.layers.PropertyFactory;
 import com.mapbox.mapboxsdk.style.layers.SymbolLayer;
 import com.mapbox.rctmgl.R;
-import com.mapbox.rctmgl.components.mapview.RCTMGLMapView;
-import com.mapbox.rctmgl.components.styles.RCTMGLStyle;
 import com.mapbox.rctmgl.components.styles.RCTMGLStyleFactory;
 
 /**
@@ -34,15 +32,6 @@ public class RCTMGLSymbolLayer extends RCTLayer<SymbolLayer> {
         mLayer.setFilter(statement);
     }
 
-    @Override
-    public void addToMap(RCTMGLMapView mapView) {
-        super.addToMap(mapView);
-
-        if (mFilter != null) {
-            updateFilter(mFilter);
-        }
-    }
-
     @Override
     public SymbolLayer makeLayer() {
         SymbolLayer layer = new SymbolLayer(mID, mSourceID);
@@ -56,7 +45,7 @@ public class RCTMGLSymbolLayer extends RCTLayer<SymbolLayer> {
 
     @Override
     public void addStyles() {
-        RCTMGLStyleFactory.setSymbolLayerStyle(mLayer, new RCTMGLStyle(getContext(), mReactStyle, mMap));
+        RCTMGLStyleFactory.setSymbolLayerStyle(mLayer, getStyleChanges());
     }
 
     public void setSourceLayerID(String sourceLayerID) {
@@ -58,11 +58,26 @@ public class RCTMGLSymbolLayerManager extends ViewGroupManager<RCTMGLSymbolLayer
         layer.setMaxZoomLevel(maxZoomLevel);
     }
 
+    @ReactProp(name="lazyZoomMargin")
+    public void setLazyZoomMargin(RCTMGLSymbolLayer layer, Double lazyZoomMargin) {
+        layer.setLazyZoomMargin(lazyZoomMargin);
+    }
+
+    @ReactProp(name="lazyDropZoomMargin")
+    public void setLazyDropZoomMargin(RCTMGLSymbolLayer layer, Double lazyDropZoomMargin) {
+        layer.setLazyDropZoomMargin(lazyDropZoomMargin);
+    }
+
     @ReactProp(name="reactStyle")
     public void setReactStyle(RCTMGLSymbolLayer layer, ReadableMap style) {
         layer.setReactStyle(style);
     }
 
+    @ReactProp(name="styleSheetID")
+    public void setStyleSheetID(RCTMGLSymbolLayer layer, String styleSheetID) {
+        layer.setStyleSheetID(styleSheetID);
+    }
+
     @ReactProp(name="sourceLayerID")
     public void setSourceLayerId(RCTMGLSymbolLayer layer, String sourceLayerID) {
         layer.setSourceLayerID(sourceLayerID);
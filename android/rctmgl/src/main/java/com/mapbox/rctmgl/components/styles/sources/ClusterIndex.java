@@ -0,0 +1,436 @@
+package com.mapbox.rctmgl.components.styles.sources;
+
+import com.google.gson.JsonObject;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.Geometry;
+import com.mapbox.services.commons.geojson.Point;
+import com.mapbox.services.commons.models.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical point cluster index following supercluster, the algorithm the map engine clusters GeoJSON sources with.
+ * Points are greedily merged from the max zoom down and every zoom keeps its own kd-tree, so cluster queries only
+ * visit the points involved instead of the whole source.
+ *
+ * Cluster ids encode where the cluster lives, (index << 5) + (zoom + 1), like supercluster does.
+ */
+
+public class ClusterIndex {
+    public static final int DEFAULT_RADIUS = 50;
+    public static final int DEFAULT_MAX_ZOOM = 17;
+
+    private static final int EXTENT = 512;
+    private static final int NODE_SIZE = 64;
+
+    // rendered features come back snapped to the tile grid, a couple of tile units is enough to match them
+    private static final double TILE_EXTENT = 8192;
+    private static final double POSITION_TOLERANCE = 2;
+
+    private int mRadius;
+    private int mMaxZoom;
+    private List<Feature> mPoints;
+    private KDTree[] mTrees;
+
+    public ClusterIndex(List<Feature> features, int radius, int maxZoom) {
+        mRadius = radius;
+        mMaxZoom = maxZoom;
+        mPoints = new ArrayList<>();
+
+        List<ClusterPoint> clusters = new ArrayList<>();
+        for (Feature feature : features) {
+            Geometry geometry = feature.getGeometry();
+            if (!(geometry instanceof Point)) {
+                continue;
+            }
+
+            Position position = ((Point) geometry).getCoordinates();
+            clusters.add(new ClusterPoint(lngX(position.getLongitude()), latY(position.getLatitude()), mPoints.size(), 1, false));
+            mPoints.add(feature);
+        }
+
+        mTrees = new KDTree[maxZoom + 2];
+        mTrees[maxZoom + 1] = new KDTree(clusters);
+
+        for (int zoom = maxZoom; zoom >= 0; zoom--) {
+            clusters = cluster(clusters, zoom);
+            mTrees[zoom] = new KDTree(clusters);
+        }
+    }
+
+    public List<Feature> getChildren(int clusterID) {
+        List<Feature> children = new ArrayList<>();
+        for (ClusterPoint child : getChildPoints(clusterID)) {
+            children.add(toFeature(child));
+        }
+        return children;
+    }
+
+    public List<Feature> getLeaves(int clusterID, int limit, int offset) {
+        List<Feature> leaves = new ArrayList<>();
+        if (limit > 0) {
+            appendLeaves(leaves, clusterID, limit, offset, 0);
+        }
+        return leaves;
+    }
+
+    public int getExpansionZoom(int clusterID) {
+        int expansionZoom = getClusterZoom(clusterID) - 1;
+
+        while (expansionZoom <= mMaxZoom) {
+            List<ClusterPoint> children = getChildPoints(clusterID);
+            expansionZoom++;
+
+            if (children.size() != 1 || !children.get(0).isCluster) {
+                break;
+            }
+            clusterID = children.get(0).id;
+        }
+
+        return expansionZoom;
+    }
+
+    /**
+     * Finds the cluster the engine rendered at the given position, used when the engine reports cluster ids
+     * that do not follow our encoding.
+     * @return cluster id or -1 when there is no such cluster
+     */
+    public int findCluster(double longitude, double latitude, int pointCount) {
+        double x = lngX(longitude);
+        double y = latY(latitude);
+
+        for (int zoom = mMaxZoom; zoom >= 0; zoom--) {
+            double tolerance = POSITION_TOLERANCE / (TILE_EXTENT * Math.pow(2, zoom));
+
+            for (ClusterPoint point : mTrees[zoom].within(x, y, tolerance)) {
+                if (point.isCluster && point.numPoints == pointCount) {
+                    return point.id;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return true when the id decodes to a cluster of this index, optionally checking its point count
+     */
+    public boolean hasCluster(int clusterID, int pointCount) {
+        ClusterPoint origin = getOrigin(clusterID);
+        if (origin == null) {
+            return false;
+        }
+
+        int childPointCount = 0;
+        for (ClusterPoint child : getChildPoints(clusterID)) {
+            childPointCount += child.numPoints;
+        }
+        return childPointCount > 1 && (pointCount < 0 || childPointCount == pointCount);
+    }
+
+    private List<ClusterPoint> cluster(List<ClusterPoint> points, int zoom) {
+        List<ClusterPoint> clusters = new ArrayList<>();
+        double radius = mRadius / (EXTENT * Math.pow(2, zoom));
+        KDTree tree = mTrees[zoom + 1];
+
+        for (int i = 0; i < points.size(); i++) {
+            ClusterPoint point = points.get(i);
+            if (point.zoom <= zoom) {
+                continue; // already merged into a cluster on this zoom
+            }
+            point.zoom = zoom;
+
+            int clusterID = (i << 5) + (zoom + 1);
+            int numPoints = point.numPoints;
+            double wx = point.x * numPoints;
+            double wy = point.y * numPoints;
+
+            for (ClusterPoint neighbor : tree.within(point.x, point.y, radius)) {
+                if (neighbor.zoom <= zoom) {
+                    continue;
+                }
+                neighbor.zoom = zoom;
+                neighbor.parentID = clusterID;
+
+                wx += neighbor.x * neighbor.numPoints;
+                wy += neighbor.y * neighbor.numPoints;
+                numPoints += neighbor.numPoints;
+            }
+
+            if (numPoints == point.numPoints) {
+                clusters.add(point);
+            } else {
+                point.parentID = clusterID;
+                clusters.add(new ClusterPoint(wx / numPoints, wy / numPoints, clusterID, numPoints, true));
+            }
+        }
+
+        return clusters;
+    }
+
+    private int appendLeaves(List<Feature> leaves, int clusterID, int limit, int offset, int skipped) {
+        for (ClusterPoint child : getChildPoints(clusterID)) {
+            if (child.isCluster) {
+                if (skipped + child.numPoints <= offset) {
+                    skipped += child.numPoints; // skip the whole cluster
+                } else {
+                    skipped = appendLeaves(leaves, child.id, limit, offset, skipped);
+                }
+            } else if (skipped < offset) {
+                skipped++;
+            } else {
+                leaves.add(mPoints.get(child.id));
+            }
+
+            if (leaves.size() == limit) {
+                break;
+            }
+        }
+
+        return skipped;
+    }
+
+    private List<ClusterPoint> getChildPoints(int clusterID) {
+        ClusterPoint origin = getOrigin(clusterID);
+        if (origin == null) {
+            throw new IllegalArgumentException(String.format("No cluster with the id %d", clusterID));
+        }
+
+        int originZoom = getClusterZoom(clusterID);
+        double radius = mRadius / (EXTENT * Math.pow(2, originZoom - 1));
+
+        List<ClusterPoint> children = new ArrayList<>();
+        for (ClusterPoint point : mTrees[originZoom].within(origin.x, origin.y, radius)) {
+            if (point.parentID == clusterID) {
+                children.add(point);
+            }
+        }
+        return children;
+    }
+
+    private ClusterPoint getOrigin(int clusterID) {
+        int originZoom = getClusterZoom(clusterID);
+        int originIndex = clusterID >> 5;
+
+        if (clusterID < 0 || originZoom < 1 || originZoom > mMaxZoom + 1) {
+            return null;
+        }
+
+        KDTree tree = mTrees[originZoom];
+        return originIndex < tree.size() ? tree.get(originIndex) : null;
+    }
+
+    private int getClusterZoom(int clusterID) {
+        return clusterID % 32;
+    }
+
+    private Feature toFeature(ClusterPoint point) {
+        if (!point.isCluster) {
+            return mPoints.get(point.id);
+        }
+
+        JsonObject properties = new JsonObject();
+        properties.addProperty("cluster", true);
+        properties.addProperty("cluster_id", point.id);
+        properties.addProperty("point_count", point.numPoints);
+        properties.addProperty("point_count_abbreviated", abbreviate(point.numPoints));
+
+        Point geometry = Point.fromCoordinates(Position.fromCoordinates(xLng(point.x), yLat(point.y)));
+        return Feature.fromGeometry(geometry, properties, String.valueOf(point.id));
+    }
+
+    private static String abbreviate(int count) {
+        if (count >= 10000) {
+            return Math.round(count / 1000.0) + "k";
+        } else if (count >= 1000) {
+            return (Math.round(count / 100.0) / 10.0) + "k";
+        }
+        return String.valueOf(count);
+    }
+
+    private static double lngX(double lng) {
+        return lng / 360.0 + 0.5;
+    }
+
+    private static double latY(double lat) {
+        double sin = Math.sin(lat * Math.PI / 180.0);
+        double y = 0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI;
+        return y < 0 ? 0 : y > 1 ? 1 : y;
+    }
+
+    private static double xLng(double x) {
+        return (x - 0.5) * 360.0;
+    }
+
+    private static double yLat(double y) {
+        double y2 = (180.0 - y * 360.0) * Math.PI / 180.0;
+        return 360.0 * Math.atan(Math.exp(y2)) / Math.PI - 90.0;
+    }
+
+    private static class ClusterPoint {
+        final double x;
+        final double y;
+        final int id; // index into mPoints for points, cluster id for clusters
+        final int numPoints;
+        final boolean isCluster;
+
+        int zoom = Integer.MAX_VALUE;
+        int parentID = -1;
+
+        ClusterPoint(double x, double y, int id, int numPoints, boolean isCluster) {
+            this.x = x;
+            this.y = y;
+            this.id = id;
+            this.numPoints = numPoints;
+            this.isCluster = isCluster;
+        }
+    }
+
+    /**
+     * Static kd-tree over the points of a single zoom, laid out in place like kdbush.
+     * Points keep their original order so cluster ids can index into them.
+     */
+    private static class KDTree {
+        private final List<ClusterPoint> mPoints;
+        private final int[] mIDs;
+        private final double[] mCoords;
+
+        KDTree(List<ClusterPoint> points) {
+            mPoints = points;
+            mIDs = new int[points.size()];
+            mCoords = new double[points.size() * 2];
+
+            for (int i = 0; i < points.size(); i++) {
+                mIDs[i] = i;
+                mCoords[2 * i] = points.get(i).x;
+                mCoords[2 * i + 1] = points.get(i).y;
+            }
+
+            sort(0, mIDs.length - 1, 0);
+        }
+
+        int size() {
+            return mPoints.size();
+        }
+
+        ClusterPoint get(int index) {
+            return mPoints.get(index);
+        }
+
+        List<ClusterPoint> within(double qx, double qy, double radius) {
+            List<ClusterPoint> result = new ArrayList<>();
+            if (mIDs.length == 0) {
+                return result;
+            }
+
+            double radiusSq = radius * radius;
+            int[] stack = new int[3 * 64];
+            int stackSize = 0;
+
+            stack[stackSize++] = 0;
+            stack[stackSize++] = mIDs.length - 1;
+            stack[stackSize++] = 0;
+
+            while (stackSize > 0) {
+                int axis = stack[--stackSize];
+                int right = stack[--stackSize];
+                int left = stack[--stackSize];
+
+                if (right - left <= NODE_SIZE) {
+                    for (int i = left; i <= right; i++) {
+                        if (distSq(mCoords[2 * i], mCoords[2 * i + 1], qx, qy) <= radiusSq) {
+                            result.add(mPoints.get(mIDs[i]));
+                        }
+                    }
+                    continue;
+                }
+
+                int m = (left + right) >> 1;
+                double x = mCoords[2 * m];
+                double y = mCoords[2 * m + 1];
+
+                if (distSq(x, y, qx, qy) <= radiusSq) {
+                    result.add(mPoints.get(mIDs[m]));
+                }
+
+                int nextAxis = (axis + 1) % 2;
+
+                if (axis == 0 ? qx - radius <= x : qy - radius <= y) {
+                    stack[stackSize++] = left;
+                    stack[stackSize++] = m - 1;
+                    stack[stackSize++] = nextAxis;
+                }
+                if (axis == 0 ? qx + radius >= x : qy + radius >= y) {
+                    stack[stackSize++] = m + 1;
+                    stack[stackSize++] = right;
+                    stack[stackSize++] = nextAxis;
+                }
+            }
+
+            return result;
+        }
+
+        private void sort(int left, int right, int depth) {
+            if (right - left <= NODE_SIZE) {
+                return;
+            }
+
+            int m = (left + right) >> 1;
+            select(m, left, right, depth % 2);
+
+            sort(left, m - 1, depth + 1);
+            sort(m + 1, right, depth + 1);
+        }
+
+        private void select(int k, int left, int right, int axis) {
+            while (right > left) {
+                double t = mCoords[2 * k + axis];
+                int i = left;
+                int j = right;
+
+                swap(left, k);
+                if (mCoords[2 * right + axis] > t) {
+                    swap(left, right);
+                }
+
+                while (i < j) {
+                    swap(i, j);
+                    i++;
+                    j--;
+                    while (mCoords[2 * i + axis] < t) i++;
+                    while (mCoords[2 * j + axis] > t) j--;
+                }
+
+                if (mCoords[2 * left + axis] == t) {
+                    swap(left, j);
+                } else {
+                    j++;
+                    swap(j, right);
+                }
+
+                if (j <= k) left = j + 1;
+                if (k <= j) right = j - 1;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int id = mIDs[i];
+            mIDs[i] = mIDs[j];
+            mIDs[j] = id;
+
+            double x = mCoords[2 * i];
+            double y = mCoords[2 * i + 1];
+            mCoords[2 * i] = mCoords[2 * j];
+            mCoords[2 * i + 1] = mCoords[2 * j + 1];
+            mCoords[2 * j] = x;
+            mCoords[2 * j + 1] = y;
+        }
+
+        private static double distSq(double ax, double ay, double bx, double by) {
+            double dx = ax - bx;
+            double dy = ay - by;
+            return dx * dx + dy * dy;
+        }
+    }
+}
@@ -4,12 +4,20 @@ import android.content.Context;
 import android.graphics.PointF;
 import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Choreographer;
 
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
 import com.mapbox.mapboxsdk.annotations.Marker;
 import com.mapbox.mapboxsdk.annotations.MarkerOptions;
 import com.mapbox.mapboxsdk.annotations.MarkerView;
 import com.mapbox.mapboxsdk.annotations.MarkerViewOptions;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
 import com.mapbox.mapboxsdk.maps.MapboxMap;
 import com.mapbox.mapboxsdk.style.sources.GeoJsonOptions;
 import com.mapbox.mapboxsdk.style.sources.GeoJsonSource;
@@ -20,26 +28,44 @@ import com.mapbox.rctmgl.components.styles.layers.RCTLayer;
 import com.mapbox.rctmgl.events.FeatureClickEvent;
 import com.mapbox.rctmgl.events.IEvent;
 import com.mapbox.rctmgl.utils.DownloadMapImageTask;
+import com.mapbox.rctmgl.utils.FeatureHitTester;
 import com.mapbox.rctmgl.utils.GeoJSONUtils;
+import com.mapbox.rctmgl.utils.MapImageResolver;
 import com.mapbox.services.commons.geojson.Feature;
 import com.mapbox.services.commons.geojson.FeatureCollection;
 import com.mapbox.services.commons.geojson.Geometry;
 import com.mapbox.services.commons.geojson.Point;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Created by nickitaliano on 9/19/17.
  */
 
-public class RCTMGLShapeSource extends RCTSource<GeoJsonSource> {
+public class RCTMGLShapeSource extends RCTSource<GeoJsonSource>
+        implements ShapeUpdateQueue.OnShapeParsedListener, ShapeRegistry.OnSharedShapeListener {
+    private static final int FULL_RESOLUTION_BAND = -1;
+
+    // part of the viewport size added on each side when picking tiles, so panning doesn't push tiles every frame
+    private static final double TILING_VIEWPORT_MARGIN = 0.5;
+    private static final long ANIMATED_INDEX_REFRESH_INTERVAL = 1000;
+
     private URL mURL;
+    private String mLocalURL;
+    private boolean mIsLocalURLRead;
     private RCTMGLShapeSourceManager mManager;
 
     private String mShape;
+    private String mShapeID;
+    private long mShapeVersion = ShapeRegistry.NO_VERSION;
+    private boolean mIsShapeAcquired;
+    private FeatureCollection mSharedFeatureCollection;
 
     private Boolean mCluster;
     private Integer mClusterRadius;
@@ -53,25 +79,82 @@ public class RCTMGLShapeSource extends RCTSource<GeoJsonSource> {
     private List<Map.Entry<String, String>> mImages;
     private List<Map.Entry<String, BitmapDrawable>> mNativeImages;
 
+    private ShapeFeatureStore mFeatureStore;
+    private boolean mFeatureStoreFlushScheduled;
+    private List<Runnable> mPendingFeatureChanges = new ArrayList<>();
+
+    private ShapeUpdateQueue mShapeUpdateQueue;
+    private String mShapeInSource;
+
+    private ShapeIndex<ClusterIndex> mClusterIndex = new ShapeIndex<>();
+    private Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    private ShapeSimplifier mSimplifier;
+    private int mSimplifiedBand = FULL_RESOLUTION_BAND;
+    private volatile int mSimplifyGeneration;
+
+    private boolean mIsTiled;
+    private int mTilingMaxZoom = ShapeTileIndex.DEFAULT_MAX_ZOOM;
+    private int mTilingMaxFeaturesPerTile = ShapeTileIndex.DEFAULT_MAX_FEATURES_PER_TILE;
+    private ShapeIndex<ShapeTileIndex> mTileIndex = new ShapeIndex<>();
+    private boolean mIsTilePushPending;
+    private List<Long> mVisibleTiles;
+    private double[] mTiledBounds;
+
+    private boolean mHasSpatialIndex;
+    private ShapeIndex<ShapeRTree> mSpatialIndex = new ShapeIndex<>();
+
+    private ShapeAnimator mAnimator = new ShapeAnimator();
+    private boolean mAnimationFrameScheduled;
+    private boolean mIsIndexStale;
+    private long mIndexRefreshTime;
+    private Set<String> mMovedFeatureIDs = new HashSet<>();
+
+    private final MapboxMap.OnCameraMoveListener mCameraMoveListener = new MapboxMap.OnCameraMoveListener() {
+        @Override
+        public void onCameraMove() {
+            updateVisibleFeatures();
+        }
+    };
+
+    private final Choreographer.FrameCallback mAnimationFrameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mAnimationFrameScheduled = false;
+            runAnimationFrame();
+        }
+    };
+
+    private final Choreographer.FrameCallback mFeatureStoreFlushCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mFeatureStoreFlushScheduled = false;
+            flushFeatureStore(true);
+        }
+    };
+
     public RCTMGLShapeSource(Context context, RCTMGLShapeSourceManager manager) {
         super(context);
         mManager = manager;
+        mShapeUpdateQueue = new ShapeUpdateQueue(context, this);
     }
 
     @Override
     public void addToMap(final RCTMGLMapView mapView) {
         mRemoved = false;
+        acquireSharedShape();
+
         if (!hasNativeImages() && !hasImages()) {
-            super.addToMap(mapView);
+            addSourceToMap(mapView);
             return;
         }
 
-        MapboxMap map = mapView.getMapboxMap();
+        MapImageResolver imageResolver = mapView.getImageResolver();
 
         // add all images from drawables folder
         if (hasNativeImages()) {
             for (Map.Entry<String, BitmapDrawable> nativeImage : mNativeImages) {
-                map.addImage(nativeImage.getKey(),  nativeImage.getValue().getBitmap());
+                imageResolver.add(nativeImage.getKey(), nativeImage.getValue().getBitmap());
             }
         }
 
@@ -82,33 +165,55 @@ public class RCTMGLShapeSource extends RCTSource<GeoJsonSource> {
                 public void onAllImagesLoaded() {
                     // don't add the ShapeSource when the it was removed while loading images
                     if (mRemoved) return;
-                    RCTMGLShapeSource.super.addToMap(mapView);
+                    addSourceToMap(mapView);
                 }
             };
 
-            DownloadMapImageTask task = new DownloadMapImageTask(getContext(), map, imagesLoadedCallback);
-            task.execute(mImages.toArray(new Map.Entry[mImages.size()]));
+            imageResolver.resolve(mImages.toArray(new Map.Entry[mImages.size()]), imagesLoadedCallback);
             return;
         }
 
+        addSourceToMap(mapView);
+    }
+
+    private void addSourceToMap(RCTMGLMapView mapView) {
         super.addToMap(mapView);
+        mMap.addOnCameraMoveListener(mCameraMoveListener);
+        updateVisibleFeatures();
     }
 
     @Override
     public void removeFromMap(RCTMGLMapView mapView) {
         super.removeFromMap(mapView);
         mRemoved = true;
+        mSimplifyGeneration++;
+        releaseSharedShape();
+
+        if (mFeatureStoreFlushScheduled) {
+            Choreographer.getInstance().removeFrameCallback(mFeatureStoreFlushCallback);
+            mFeatureStoreFlushScheduled = false;
+        }
+        if (mAnimationFrameScheduled) {
+            Choreographer.getInstance().removeFrameCallback(mAnimationFrameCallback);
+            mAnimationFrameScheduled = false;
+        }
+        mAnimator.stopAll();
         if (mMap == null) return;
 
+        mMap.removeOnCameraMoveListener(mCameraMoveListener);
+
+        // through the resolver, so it doesn't take the images for still being in the style
+        MapImageResolver imageResolver = mapView.getImageResolver();
+
         if (hasImages()) {
             for (Map.Entry<String, String> image : mImages) {
-                mMap.removeImage(image.getKey());
+                imageResolver.remove(image.getKey());
             }
         }
 
         if (hasNativeImages()) {
             for (Map.Entry<String, BitmapDrawable> image : mNativeImages) {
-                mMap.removeImage(image.getKey());
+                imageResolver.remove(image.getKey());
             }
         }
     }
@@ -117,39 +222,368 @@ public class RCTMGLShapeSource extends RCTSource<GeoJsonSource> {
     public GeoJsonSource makeSource() {
         GeoJsonOptions options = getOptions();
 
+        if (mFeatureStore != null && !mShapeUpdateQueue.isPending()) {
+            mFeatureStore.markClean();
+            mSimplifiedBand = FULL_RESOLUTION_BAND; // updateVisibleFeatures swaps in the zoom band once added
+            return new GeoJsonSource(mID, FeatureCollection.fromFeatures(getSourceFeatures()), options);
+        }
+
         if (mShape != null) {
+            mShapeInSource = mShape;
+            mSimplifiedBand = FULL_RESOLUTION_BAND;
             return new GeoJsonSource(mID, mShape, options);
         }
 
+        if (mURL == null || mIsLocalURLRead) {
+            // shape is still being decoded, it is pushed to the source once ready
+            return new GeoJsonSource(mID, FeatureCollection.fromFeatures(new Feature[0]), options);
+        }
+
         return new GeoJsonSource(mID, mURL, options);
     }
 
     public void setURL(URL url) {
+        setEngineURL(url, null);
+        pushURL();
+    }
+
+    /**
+     * file:// and asset:// urls go to the engine like remote ones, unless the source needs its features natively
+     * for tiling, simplification, the spatial index, feature commands or queries. Then the file is read here instead,
+     * streamed from a memory-mapped file on the parse thread into the same feature store as inline shapes.
+     * @param url the url for the engine, null when it can't load it
+     */
+    public void setLocalURL(String localURL, URL url) {
+        setEngineURL(url, localURL);
+        mShape = null;
+
+        if (mURL == null || isFeatureStoreNeeded()) {
+            loadFeatures();
+        } else {
+            pushURL();
+        }
+    }
+
+    private void setEngineURL(URL url, String localURL) {
+        if (mIsLocalURLRead && mShapeUpdateQueue.cancel(ShapeUpdateQueue.FORMAT_GEOJSON_URL)) {
+            // the file that was being read is not wanted anymore, it must not replace the new url
+            mPendingFeatureChanges.clear();
+            cancelSharedShapeLoading();
+        }
+
         mURL = url;
+        mLocalURL = localURL;
+        mIsLocalURLRead = false;
+        mShapeVersion = ShapeRegistry.NO_VERSION;
+        mFeatureStore = null; // the engine loads the url itself
+        releaseIndexQueries();
+    }
 
-        if (mSource != null && mMapView != null && !mMapView.isDestroyed() ) {
+    private void pushURL() {
+        if (mURL != null && canUpdateSource()) {
             ((GeoJsonSource) mSource).setUrl(mURL);
         }
     }
 
+    /**
+     * Starts parsing the shape, or reading the local url, into the feature store once something needs its
+     * features natively.
+     */
+    private void loadFeatures() {
+        if (isShapeUnparsed()) {
+            offerShape(mShape, ShapeUpdateQueue.FORMAT_GEOJSON);
+            return;
+        }
+
+        if (mLocalURL == null || mIsLocalURLRead) {
+            return;
+        }
+
+        mIsLocalURLRead = true;
+        offerShape(mLocalURL, ShapeUpdateQueue.FORMAT_GEOJSON_URL);
+    }
+
+    /**
+     * @return true when the shape was handed to the engine as a string and hasn't been parsed here
+     */
+    private boolean isShapeUnparsed() {
+        return mShape != null && mFeatureStore == null && !mShapeUpdateQueue.isPending();
+    }
+
+    private boolean isFeatureStoreNeeded() {
+        return mIsTiled || mSimplifier != null || mHasSpatialIndex;
+    }
+
     public void setShape(String geoJSONStr) {
         mShape = geoJSONStr;
+        if (mShape != null) {
+            mLocalURL = null;
+        }
+
+        if (mShape == null) {
+            // shape was unset, feature changes waiting for it apply to the current features instead
+            if (mShapeUpdateQueue.cancel(ShapeUpdateQueue.FORMAT_GEOJSON)) {
+                cancelSharedShapeLoading();
+                replayPendingFeatureChanges();
+                releaseIndexQueries();
+            }
+            return;
+        }
+
+        if (isFeatureStoreNeeded() || mShapeID != null || mAnimator.isRunning() || !mPendingFeatureChanges.isEmpty()) {
+            // parsed in the background, see onShapeParsed
+            offerShape(mShape, ShapeUpdateQueue.FORMAT_GEOJSON);
+            return;
+        }
 
-        if (mSource != null && mMapView != null && !mMapView.isDestroyed() ) {
+        // nothing needs the features natively, the engine parses the string in one go, see loadFeatures
+        mShapeUpdateQueue.cancel();
+        mShapeVersion = ShapeRegistry.getVersion(mShape, ShapeUpdateQueue.FORMAT_GEOJSON);
+        mFeatureStore = null;
+        mSharedFeatureCollection = null;
+        releaseIndexQueries();
+
+        if (canUpdateSource()) {
+            mShapeInSource = mShape;
+            mSimplifiedBand = FULL_RESOLUTION_BAND;
             ((GeoJsonSource) mSource).setGeoJson(mShape);
         }
     }
 
+    public void setShapeBuffer(String shapeBuffer) {
+        if (shapeBuffer == null) {
+            return;
+        }
+
+        mShape = null;
+        mLocalURL = null;
+        offerShape(shapeBuffer, ShapeUpdateQueue.FORMAT_SHAPE_BUFFER);
+    }
+
+    /**
+     * Sources with the same shape id and the same shape content share one parsed copy of it across all map views,
+     * only one of them parses it. New content under an id is parsed again and replaces the shared copy. A source can
+     * also set just the id to show the shape other sources provide.
+     */
+    public void setShapeID(String shapeID) {
+        if (shapeID != null ? shapeID.equals(mShapeID) : mShapeID == null) {
+            return;
+        }
+
+        releaseSharedShape();
+        mShapeID = shapeID;
+        acquireSharedShape();
+
+        if (mShapeID == null || mShapeVersion == ShapeRegistry.NO_VERSION) {
+            return;
+        }
+
+        // the shape may have been set before its id
+        if (mShapeUpdateQueue.isPending()) {
+            if (!ShapeRegistry.startLoading(mShapeID, mShapeVersion, this)) {
+                mShapeUpdateQueue.cancel(); // another source parses the same content, or already did
+                mShape = null;
+            }
+        } else if (mSharedFeatureCollection != null) {
+            ShapeRegistry.publish(mShapeID, mShapeVersion, mSharedFeatureCollection, this);
+        } else if (isShapeUnparsed()) {
+            loadFeatures(); // shared shapes are parsed ones
+        }
+    }
+
+    @Override
+    public void onSharedShapeReady(String shapeID, long version, FeatureCollection featureCollection) {
+        if (!shapeID.equals(mShapeID) || featureCollection == mSharedFeatureCollection) {
+            return; // e.g. re-added to the map, our features may have been changed since
+        }
+
+        if (mShapeVersion != ShapeRegistry.NO_VERSION && mShapeVersion != version) {
+            return; // other content under our id, we keep showing our own
+        }
+
+        mShape = null; // the shared copy replaces our own
+        mSharedFeatureCollection = featureCollection;
+        setFeatureCollection(null, featureCollection);
+    }
+
+    @Override
+    public void onShapeParsed(String shape, FeatureCollection featureCollection) {
+        setFeatureCollection(shape, featureCollection);
+        mSharedFeatureCollection = featureCollection;
+
+        if (mShapeID != null) {
+            ShapeRegistry.publish(mShapeID, mShapeVersion, featureCollection, this);
+        }
+    }
+
+    @Override
+    public void onShapeParseFailed(String shape) {
+        // the changes were meant for the shape that failed, they must not end up on the next one
+        mPendingFeatureChanges.clear();
+        cancelSharedShapeLoading();
+
+        if (mIsLocalURLRead && shape.equals(mLocalURL)) {
+            // e.g. too large to read, the engine loads it instead
+            mLocalURL = null;
+            mIsLocalURLRead = false;
+            pushURL();
+        }
+
+        releaseIndexQueries();
+    }
+
+    private void offerShape(String shape, int format) {
+        mShapeVersion = ShapeRegistry.getVersion(shape, format);
+
+        if (mShapeID != null && !ShapeRegistry.startLoading(mShapeID, mShapeVersion, this)) {
+            // another source with the same shape id and content parses it, or already did
+            mShapeUpdateQueue.cancel();
+            mShape = null;
+            return;
+        }
+
+        mShapeUpdateQueue.offer(shape, format);
+
+        if (mFeatureStore == null) {
+            invalidateClusterIndex(); // cluster queries wait for the first shape
+        }
+    }
+
+    private void cancelSharedShapeLoading() {
+        if (mShapeID != null) {
+            ShapeRegistry.cancelLoading(mShapeID, this);
+        }
+    }
+
+    private void acquireSharedShape() {
+        if (mShapeID == null || mIsShapeAcquired) {
+            return;
+        }
+
+        mIsShapeAcquired = true;
+        ShapeRegistry.acquire(mShapeID, this);
+    }
+
+    private void releaseSharedShape() {
+        if (mShapeID == null || !mIsShapeAcquired) {
+            return;
+        }
+
+        mIsShapeAcquired = false;
+        ShapeRegistry.release(mShapeID, this);
+    }
+
+    private void setFeatureCollection(String shape, FeatureCollection featureCollection) {
+        mFeatureStore = new ShapeFeatureStore();
+        mFeatureStore.reset(featureCollection);
+        clearSimplifierCache();
+
+        if (shape != null && shape == mShapeInSource && mPendingFeatureChanges.isEmpty()) {
+            mFeatureStore.markClean(); // the source was already created from this exact shape
+            invalidateIndexes();
+            updateVisibleFeatures();
+        }
+
+        for (Runnable featureChange : mPendingFeatureChanges) {
+            featureChange.run();
+        }
+        mPendingFeatureChanges.clear();
+
+        flushFeatureStore(true);
+    }
+
+    public WritableMap getShapeUpdateStats() {
+        WritableMap stats = Arguments.createMap();
+        stats.putInt("submitted", mShapeUpdateQueue.getSubmittedCount());
+        stats.putInt("applied", mShapeUpdateQueue.getAppliedCount());
+        stats.putInt("coalesced", mShapeUpdateQueue.getCoalescedCount());
+        return stats;
+    }
+
     public void setCluster(boolean cluster) {
         mCluster = cluster;
+        invalidateClusterIndex();
     }
 
     public void setClusterRadius(int clusterRadius) {
         mClusterRadius = clusterRadius;
+        invalidateClusterIndex();
     }
 
     public void setClusterMaxZoom(int clusterMaxZoom) {
         mClusterMaxZoom = clusterMaxZoom;
+        invalidateClusterIndex();
+    }
+
+    /**
+     * Tiled sources only hand the features around the viewport to the engine, picked from a tile pyramid that is
+     * rebuilt in the background whenever the features change.
+     */
+    public void setTiling(boolean isTiled, int maxZoom, int maxFeaturesPerTile) {
+        mIsTiled = isTiled;
+        mTilingMaxZoom = maxZoom;
+        mTilingMaxFeaturesPerTile = maxFeaturesPerTile;
+        invalidateTileIndex();
+
+        if (mIsTiled) {
+            loadFeatures();
+        }
+
+        if (!mIsTiled && mFeatureStore != null && canUpdateSource()) {
+            pushFeatures();
+        }
+    }
+
+    public void setSimplifier(ShapeSimplifier simplifier) {
+        mSimplifier = simplifier;
+
+        if (mSimplifier != null) {
+            loadFeatures();
+        }
+
+        if (mFeatureStore != null && canUpdateSource()) {
+            pushFeatures();
+        }
+    }
+
+    /**
+     * Runs the query against the cluster index once it has caught up with the features last handed to the source,
+     * queries made while the first shape is parsed wait for it.
+     * The query gets a null index when the source is not clustered or has no features to cluster, e.g. url sources.
+     */
+    public void queryClusterIndex(ShapeIndex.OnIndexReady<ClusterIndex> query) {
+        if (isClusterEnabled()) {
+            loadFeatures();
+        }
+        mClusterIndex.query(query);
+    }
+
+    /**
+     * Keeps an R-tree of the features up to date in the background so spatial queries are answered right away.
+     * Without it the tree is only built by the first query after the features change.
+     */
+    public void setSpatialIndex(boolean hasSpatialIndex) {
+        mHasSpatialIndex = hasSpatialIndex;
+        invalidateSpatialIndex();
+
+        if (mHasSpatialIndex) {
+            loadFeatures();
+        }
+    }
+
+    /**
+     * Runs the query against the R-tree of the current features, building the tree first when needed.
+     * The query gets a null tree when the source has no features of its own, e.g. remote url sources.
+     */
+    public void querySpatialIndex(ShapeIndex.OnIndexReady<ShapeRTree> query) {
+        loadFeatures();
+
+        if (mFeatureStore == null && mShapeUpdateQueue.isPending()) {
+            mSpatialIndex.waitForRebuild(); // the first shape is still being parsed
+        } else if (mSpatialIndex.get() == null && !mSpatialIndex.isBuilding() && mFeatureStore != null) {
+            rebuildSpatialIndex();
+        }
+        mSpatialIndex.query(query);
     }
 
     public void setMaxZoom(int maxZoom) {
@@ -172,10 +606,94 @@ public class RCTMGLShapeSource extends RCTSource<GeoJsonSource> {
         mNativeImages = nativeImages;
     }
 
+    public void addFeatures(final List<Feature> features) {
+        runFeatureChange(new Runnable() {
+            @Override
+            public void run() {
+                getFeatureStore().addFeatures(features);
+            }
+        });
+    }
+
+    public void updateFeatures(final List<Feature> features) {
+        runFeatureChange(new Runnable() {
+            @Override
+            public void run() {
+                getFeatureStore().updateFeatures(features);
+            }
+        });
+    }
+
+    public void removeFeatures(final List<String> featureIDs) {
+        runFeatureChange(new Runnable() {
+            @Override
+            public void run() {
+                getFeatureStore().removeFeatures(featureIDs);
+            }
+        });
+    }
+
+    public void applyFeatureChanges(final List<Feature> addedFeatures, final List<Feature> updatedFeatures, final List<String> removedFeatureIDs) {
+        runFeatureChange(new Runnable() {
+            @Override
+            public void run() {
+                ShapeFeatureStore store = getFeatureStore();
+
+                // removals go first so a feature can be removed and re-added in the same batch
+                store.removeFeatures(removedFeatureIDs);
+                store.addFeatures(addedFeatures);
+                store.updateFeatures(updatedFeatures);
+            }
+        });
+    }
+
+    /**
+     * Moves point features towards the targets, interpolated once per frame. Each target has a feature id,
+     * coordinates and either a timestamp in milliseconds since the epoch or a duration from now to reach them,
+     * plus an optional bearing.
+     */
+    public void animateFeatures(final ReadableArray targets) {
+        runFeatureChange(new Runnable() {
+            @Override
+            public void run() {
+                long now = System.currentTimeMillis();
+                ShapeFeatureStore store = getFeatureStore();
+
+                for (int i = 0; i < targets.size(); i++) {
+                    ReadableMap target = targets.getMap(i);
+                    ReadableArray coordinates = target.getArray("coordinates");
+
+                    long timestamp = target.hasKey("timestamp") ? (long) target.getDouble("timestamp") :
+                            now + (target.hasKey("duration") ? (long) target.getDouble("duration") : 0);
+                    double bearing = target.hasKey("bearing") && !target.isNull("bearing") ?
+                            target.getDouble("bearing") : Double.NaN;
+
+                    mAnimator.addTarget(store, target.getString("id"),
+                            coordinates.getDouble(0), coordinates.getDouble(1), bearing, timestamp, now);
+                }
+
+                scheduleAnimationFrame();
+            }
+        });
+    }
+
+    public void setAnimationDelay(long delay) {
+        mAnimator.setDelay(delay);
+    }
+
     public void onPress(Feature feature) {
         mManager.handleEvent(FeatureClickEvent.makeShapeSourceEvent(this, feature));
     }
 
+    @Override
+    public void onPress(List<FeatureHitTester.Hit> hits) {
+        if (mMaxPressResults > 1) {
+            mManager.handleEvent(FeatureClickEvent.makeShapeSourceEvent(this, hits));
+        } else {
+            onPress(hits.get(0).getFeature());
+        }
+    }
+
     private GeoJsonOptions getOptions() {
         GeoJsonOptions options = new GeoJsonOptions();
 
@@ -206,6 +724,354 @@ public class RCTMGLShapeSource extends RCTSource<GeoJsonSource> {
         return options;
     }
 
+    private ShapeFeatureStore getFeatureStore() {
+        if (mFeatureStore == null) {
+            mFeatureStore = new ShapeFeatureStore();
+        }
+        return mFeatureStore;
+    }
+
+    private void runFeatureChange(Runnable featureChange) {
+        loadFeatures(); // changes apply on top of the shape's or the file's features
+
+        if (mShapeUpdateQueue.isPending()) {
+            // feature changes apply on top of the shape that is still being parsed
+            mPendingFeatureChanges.add(featureChange);
+            return;
+        }
+
+        featureChange.run();
+        scheduleFeatureStoreFlush();
+    }
+
+    private void replayPendingFeatureChanges() {
+        List<Runnable> featureChanges = mPendingFeatureChanges;
+        mPendingFeatureChanges = new ArrayList<>();
+
+        for (Runnable featureChange : featureChanges) {
+            runFeatureChange(featureChange);
+        }
+    }
+
+    private void scheduleFeatureStoreFlush() {
+        if (mFeatureStoreFlushScheduled || mAnimationFrameScheduled) {
+            return; // an animation frame flushes the store as well
+        }
+        mFeatureStoreFlushScheduled = true;
+        Choreographer.getInstance().postFrameCallback(mFeatureStoreFlushCallback);
+    }
+
+    private void scheduleAnimationFrame() {
+        if (mAnimationFrameScheduled || !mAnimator.isRunning()) {
+            return;
+        }
+
+        if (mFeatureStoreFlushScheduled) {
+            Choreographer.getInstance().removeFrameCallback(mFeatureStoreFlushCallback);
+            mFeatureStoreFlushScheduled = false;
+        }
+
+        mAnimationFrameScheduled = true;
+        Choreographer.getInstance().postFrameCallback(mAnimationFrameCallback);
+    }
+
+    private void runAnimationFrame() {
+        if (mFeatureStore != null) {
+            // changes made by commands since the last frame, rather than by the animation
+            boolean hasFeatureChanges = mFeatureStore.isDirty();
+
+            for (Feature feature : mAnimator.step(mFeatureStore, System.currentTimeMillis())) {
+                mMovedFeatureIDs.add(feature.getId());
+            }
+            flushFeatureStore(hasFeatureChanges);
+        }
+
+        if (mAnimator.isRunning()) {
+            scheduleAnimationFrame();
+        } else if (mIsIndexStale) {
+            invalidateIndexes();
+        }
+    }
+
+    /**
+     * @param hasFeatureChanges false when only the animation moved features
+     */
+    private void flushFeatureStore(boolean hasFeatureChanges) {
+        if (mFeatureStore == null || !mFeatureStore.isDirty()) {
+            return;
+        }
+
+        if (hasFeatureChanges || !mAnimator.isRunning()) {
+            invalidateIndexes();
+        } else {
+            refreshAnimatedIndexes();
+        }
+
+        if (canUpdateSource()) {
+            pushFeatures();
+            mFeatureStore.markClean();
+        }
+    }
+
+    /**
+     * Hands the features over to the engine, simplified for the current zoom band when simplification is enabled.
+     * Parsed features are passed directly so the engine skips re-parsing a JSON string.
+     */
+    private void pushFeatures() {
+        if (mIsTiled && mTileIndex.get() == null) {
+            return; // keep the current tiles until the tile index is rebuilt, it pushes once ready
+        }
+
+        final int generation = ++mSimplifyGeneration;
+        final List<Feature> features = getSourceFeatures();
+
+        final int band = getSimplificationBand();
+        mSimplifiedBand = band;
+
+        if (band == FULL_RESOLUTION_BAND) {
+            ((GeoJsonSource) mSource).setGeoJson(FeatureCollection.fromFeatures(features));
+            return;
+        }
+
+        final ShapeSimplifier simplifier = mSimplifier;
+
+        ShapeUpdateQueue.getIndexExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                if (generation != mSimplifyGeneration) {
+                    return; // features or zoom band changed before this variant was started
+                }
+
+                final FeatureCollection featureCollection = simplifier.simplify(features, band);
+
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation == mSimplifyGeneration && canUpdateSource()) {
+                            ((GeoJsonSource) mSource).setGeoJson(featureCollection);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * @return features to hand to the engine, only those in the tiles around the viewport when tiled
+     */
+    private List<Feature> getSourceFeatures() {
+        if (!mIsTiled) {
+            return mFeatureStore.getFeatures();
+        }
+
+        ShapeTileIndex tileIndex = mTileIndex.get();
+        if (tileIndex == null) {
+            return new ArrayList<>();
+        }
+
+        mTiledBounds = getViewportBounds(TILING_VIEWPORT_MARGIN);
+        mVisibleTiles = tileIndex.getTiles(mTiledBounds[0], mTiledBounds[1], mTiledBounds[2], mTiledBounds[3]);
+        // features animated since the index was built are picked by where they are now
+        return tileIndex.getFeatures(mVisibleTiles, mFeatureStore, mMovedFeatureIDs, mTiledBounds);
+    }
+
+    private void updateVisibleFeatures() {
+        if (mFeatureStore == null || !canUpdateSource()) {
+            return;
+        }
+
+        boolean isBandChanged = mSimplifier != null && getSimplificationBand() != mSimplifiedBand;
+        boolean isTilesChanged = false;
+
+        ShapeTileIndex tileIndex = mTileIndex.get();
+        if (tileIndex != null && !isViewportTiled()) {
+            double[] bounds = getViewportBounds(TILING_VIEWPORT_MARGIN);
+            isTilesChanged = !tileIndex.getTiles(bounds[0], bounds[1], bounds[2], bounds[3]).equals(mVisibleTiles);
+            mTiledBounds = bounds;
+        }
+
+        if (isBandChanged || isTilesChanged) {
+            pushFeatures();
+        }
+    }
+
+    private boolean isViewportTiled() {
+        if (mTiledBounds == null) {
+            return false;
+        }
+
+        double[] viewport = getViewportBounds(0);
+        return viewport[0] >= mTiledBounds[0] && viewport[1] >= mTiledBounds[1] &&
+                viewport[2] <= mTiledBounds[2] && viewport[3] <= mTiledBounds[3];
+    }
+
+    /**
+     * @return minX, minY, maxX, maxY of the viewport in mercator coordinates between 0 and 1
+     */
+    private double[] getViewportBounds(double margin) {
+        LatLngBounds bounds = mMap.getProjection().getVisibleRegion().latLngBounds;
+
+        double minX = ShapeTileIndex.projectX(bounds.getLonWest());
+        double maxX = ShapeTileIndex.projectX(bounds.getLonEast());
+        double minY = ShapeTileIndex.projectY(bounds.getLatNorth());
+        double maxY = ShapeTileIndex.projectY(bounds.getLatSouth());
+
+        if (minX > maxX) {
+            // crosses the antimeridian
+            minX = 0;
+            maxX = 1;
+        }
+
+        double marginX = (maxX - minX) * margin;
+        double marginY = (maxY - minY) * margin;
+        return new double[]{ minX - marginX, minY - marginY, maxX + marginX, maxY + marginY };
+    }
+
+    private void invalidateTileIndex() {
+        mVisibleTiles = null;
+        mTiledBounds = null;
+        mMovedFeatureIDs.clear(); // the new index is built from the current positions
+
+        if (!mIsTiled || mFeatureStore == null) {
+            mTileIndex.clear();
+            return;
+        }
+
+        final int maxZoom = mTilingMaxZoom;
+        final int maxFeaturesPerTile = mTilingMaxFeaturesPerTile;
+
+        mTileIndex.rebuild(mFeatureStore.getFeatures(), new ShapeIndex.Builder<ShapeTileIndex>() {
+            @Override
+            public ShapeTileIndex build(List<Feature> features) {
+                return new ShapeTileIndex(features, maxZoom, maxFeaturesPerTile);
+            }
+        });
+
+        if (mIsTilePushPending) {
+            return; // already waiting for the index, once is enough
+        }
+
+        mIsTilePushPending = true;
+        mTileIndex.query(new ShapeIndex.OnIndexReady<ShapeTileIndex>() {
+            @Override
+            public void onIndexReady(ShapeTileIndex tileIndex) {
+                mIsTilePushPending = false;
+                if (tileIndex != null && canUpdateSource()) {
+                    pushFeatures();
+                }
+            }
+        });
+    }
+
+    private int getSimplificationBand() {
+        if (mSimplifier == null) {
+            return FULL_RESOLUTION_BAND;
+        }
+
+        int band = mSimplifier.getBand(mMap.getCameraPosition().zoom);
+        return mSimplifier.isFullResolution(band) ? FULL_RESOLUTION_BAND : band;
+    }
+
+    private void clearSimplifierCache() {
+        final ShapeSimplifier simplifier = mSimplifier;
+        if (simplifier == null) {
+            return;
+        }
+
+        ShapeUpdateQueue.getIndexExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                simplifier.clear();
+            }
+        });
+    }
+
+    private boolean canUpdateSource() {
+        return !mRemoved && mSource != null && mMapView != null && !mMapView.isDestroyed();
+    }
+
+    private void invalidateIndexes() {
+        mIsIndexStale = false;
+        mIndexRefreshTime = SystemClock.uptimeMillis();
+        invalidateClusterIndex();
+        invalidateTileIndex();
+        invalidateSpatialIndex();
+    }
+
+    /**
+     * Positions change every frame while animating, the cluster and spatial indexes are rebuilt at most once per
+     * ANIMATED_INDEX_REFRESH_INTERVAL so queries don't lag behind long running animations. The tile index is kept,
+     * moved features are looked up by their current position instead, and rebuilt once the animation ends.
+     */
+    private void refreshAnimatedIndexes() {
+        mIsIndexStale = true;
+
+        long now = SystemClock.uptimeMillis();
+        if (now - mIndexRefreshTime >= ANIMATED_INDEX_REFRESH_INTERVAL) {
+            mIndexRefreshTime = now;
+            invalidateClusterIndex();
+            invalidateSpatialIndex();
+        }
+    }
+
+    /**
+     * Rebuilds the cluster index from the current features in the background, queries that arrive in the meantime
+     * wait for the new index.
+     */
+    private void invalidateClusterIndex() {
+        if (isClusterEnabled() && mFeatureStore == null && mShapeUpdateQueue.isPending()) {
+            mClusterIndex.waitForRebuild(); // the first shape is still being parsed
+            return;
+        }
+
+        if (!isClusterEnabled() || mFeatureStore == null) {
+            mClusterIndex.clear();
+            return;
+        }
+
+        final int radius = mClusterRadius != null ? mClusterRadius : ClusterIndex.DEFAULT_RADIUS;
+        final int maxZoom = mClusterMaxZoom != null ? mClusterMaxZoom : ClusterIndex.DEFAULT_MAX_ZOOM;
+
+        mClusterIndex.rebuild(mFeatureStore.getFeatures(), new ShapeIndex.Builder<ClusterIndex>() {
+            @Override
+            public ClusterIndex build(List<Feature> features) {
+                return new ClusterIndex(features, radius, maxZoom);
+            }
+        });
+    }
+
+    /**
+     * Lets queries that wait for a first shape that is no longer coming fail.
+     */
+    private void releaseIndexQueries() {
+        if (mFeatureStore == null) {
+            invalidateClusterIndex();
+            invalidateSpatialIndex();
+        }
+    }
+
+    private void invalidateSpatialIndex() {
+        // queries waiting for the first shape get the tree built from it
+        if ((mHasSpatialIndex || mSpatialIndex.isBuilding()) && mFeatureStore != null) {
+            rebuildSpatialIndex();
+        } else {
+            mSpatialIndex.clear(); // rebuilt by the next query
+        }
+    }
+
+    private void rebuildSpatialIndex() {
+        mSpatialIndex.rebuild(mFeatureStore.getFeatures(), new ShapeIndex.Builder<ShapeRTree>() {
+            @Override
+            public ShapeRTree build(List<Feature> features) {
+                return new ShapeRTree(features);
+            }
+        });
+    }
+
+    private boolean isClusterEnabled() {
+        return mCluster != null && mCluster;
+    }
+
     private boolean hasImages() {
         return mImages != null && mImages.size() > 0;
     }
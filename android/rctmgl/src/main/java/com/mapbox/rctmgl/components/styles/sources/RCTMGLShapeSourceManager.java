@@ -10,6 +10,8 @@ import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeMap;
 import com.facebook.react.common.MapBuilder;
 import com.facebook.react.uimanager.ThemedReactContext;
 import com.facebook.react.uimanager.ViewGroupManager;
@@ -18,8 +20,17 @@ import com.mapbox.rctmgl.components.AbstractEventEmitter;
 import com.mapbox.rctmgl.components.annotation.RCTMGLCallout;
 import com.mapbox.rctmgl.components.mapview.RCTMGLMapView;
 import com.mapbox.rctmgl.components.styles.layers.RCTLayer;
+import com.mapbox.rctmgl.events.AndroidCallbackEvent;
 import com.mapbox.rctmgl.events.constants.EventKeys;
+import com.mapbox.rctmgl.utils.ConvertUtils;
+import com.mapbox.rctmgl.utils.FeatureFilter;
+import com.mapbox.rctmgl.utils.FilterParser;
+import com.mapbox.rctmgl.utils.GeoJSONFileReader;
+import com.mapbox.rctmgl.utils.GeoJSONUtils;
 import com.mapbox.rctmgl.utils.ResourceUtils;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.FeatureCollection;
+import com.mapbox.services.commons.models.Position;
 
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -28,6 +39,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import javax.annotation.Nullable;
+
 /**
  * Created by nickitaliano on 9/19/17.
  */
@@ -80,10 +93,22 @@ public class RCTMGLShapeSourceManager extends AbstractEventEmitter<RCTMGLShapeSo
 
     @ReactProp(name = "url")
     public void setURL(RCTMGLShapeSource source, String urlStr) {
+        URL url = null;
+
         try {
-            source.setURL(new URL(urlStr));
+            url = new URL(urlStr);
         } catch (MalformedURLException e) {
-            Log.w(LOG_TAG, e.getLocalizedMessage());
+            if (!GeoJSONFileReader.isLocalURL(urlStr)) {
+                Log.w(LOG_TAG, e.getLocalizedMessage());
+                return;
+            }
+            // no stream handler for asset urls, the file is read natively instead
+        }
+
+        if (GeoJSONFileReader.isLocalURL(urlStr)) {
+            source.setLocalURL(urlStr, url);
+        } else {
+            source.setURL(url);
         }
     }
 
@@ -92,6 +117,16 @@ public class RCTMGLShapeSourceManager extends AbstractEventEmitter<RCTMGLShapeSo
         source.setShape(geoJSONStr);
     }
 
+    @ReactProp(name = "shapeId")
+    public void setShapeID(RCTMGLShapeSource source, String shapeID) {
+        source.setShapeID(shapeID);
+    }
+
+    @ReactProp(name = "shapeBuffer")
+    public void setShapeBuffer(RCTMGLShapeSource source, String shapeBuffer) {
+        source.setShapeBuffer(shapeBuffer);
+    }
+
     @ReactProp(name = "cluster")
     public void setCluster(RCTMGLShapeSource source, int cluster) {
         source.setCluster(cluster == 1);
@@ -122,6 +157,51 @@ public class RCTMGLShapeSourceManager extends AbstractEventEmitter<RCTMGLShapeSo
         source.setTolerance(tolerance);
     }
 
+    @ReactProp(name = "tiling")
+    public void setTiling(RCTMGLShapeSource source, @Nullable ReadableMap map) {
+        if (map == null) {
+            source.setTiling(false, ShapeTileIndex.DEFAULT_MAX_ZOOM, ShapeTileIndex.DEFAULT_MAX_FEATURES_PER_TILE);
+            return;
+        }
+
+        int maxZoom = map.hasKey("maxZoom") ? map.getInt("maxZoom") : ShapeTileIndex.DEFAULT_MAX_ZOOM;
+        int maxFeaturesPerTile = map.hasKey("maxFeaturesPerTile") ?
+                map.getInt("maxFeaturesPerTile") : ShapeTileIndex.DEFAULT_MAX_FEATURES_PER_TILE;
+
+        source.setTiling(true, maxZoom, maxFeaturesPerTile);
+    }
+
+    @ReactProp(name = "spatialIndex")
+    public void setSpatialIndex(RCTMGLShapeSource source, boolean hasSpatialIndex) {
+        source.setSpatialIndex(hasSpatialIndex);
+    }
+
+    @ReactProp(name = "animationDelay")
+    public void setAnimationDelay(RCTMGLShapeSource source, int animationDelay) {
+        source.setAnimationDelay(animationDelay);
+    }
+
+    @ReactProp(name = "simplify")
+    public void setSimplify(RCTMGLShapeSource source, @Nullable ReadableMap map) {
+        if (map == null || !map.hasKey("zoomLevels")) {
+            source.setSimplifier(null);
+            return;
+        }
+
+        ReadableArray zoomLevels = map.getArray("zoomLevels");
+        double[] levels = new double[zoomLevels.size()];
+        for (int i = 0; i < zoomLevels.size(); i++) {
+            levels[i] = zoomLevels.getDouble(i);
+        }
+
+        String algorithm = map.hasKey("algorithm") ? map.getString("algorithm") : ShapeSimplifier.ALGORITHM_DOUGLAS_PEUCKER;
+        double tolerance = map.hasKey("tolerance") ? map.getDouble("tolerance") : ShapeSimplifier.DEFAULT_TOLERANCE;
+        int maxCachedCoordinates = map.hasKey("maxCachedCoordinates") ?
+                map.getInt("maxCachedCoordinates") : ShapeSimplifier.DEFAULT_MAX_CACHED_COORDINATES;
+
+        source.setSimplifier(new ShapeSimplifier(levels, algorithm, tolerance, maxCachedCoordinates));
+    }
+
     @ReactProp(name = "images")
     public void setImages(RCTMGLShapeSource source, ReadableMap map) {
         List<Map.Entry<String, String>> images = new ArrayList<>();
@@ -161,10 +241,226 @@ public class RCTMGLShapeSourceManager extends AbstractEventEmitter<RCTMGLShapeSo
         source.setHitbox(map);
     }
 
+    @ReactProp(name="maxPressResults")
+    public void setMaxPressResults(RCTMGLShapeSource source, int maxPressResults) {
+        source.setMaxPressResults(maxPressResults);
+    }
+
     @Override
     public Map<String, String> customEvents() {
         return MapBuilder.<String, String>builder()
                 .put(EventKeys.SHAPE_SOURCE_LAYER_CLICK, "onMapboxShapeSourcePress")
+                .put(EventKeys.SHAPE_SOURCE_ANDROID_CALLBACK, "onAndroidCallback")
+                .build();
+    }
+
+    //region React Methods
+
+    public static final int METHOD_ADD_FEATURES = 1;
+    public static final int METHOD_UPDATE_FEATURES = 2;
+    public static final int METHOD_REMOVE_FEATURES = 3;
+    public static final int METHOD_APPLY_FEATURE_CHANGES = 4;
+    public static final int METHOD_GET_SHAPE_UPDATE_STATS = 5;
+    public static final int METHOD_GET_CLUSTER_LEAVES = 6;
+    public static final int METHOD_GET_CLUSTER_CHILDREN = 7;
+    public static final int METHOD_GET_CLUSTER_EXPANSION_ZOOM = 8;
+    public static final int METHOD_QUERY_SOURCE_FEATURES = 9;
+    public static final int METHOD_ANIMATE_FEATURES = 10;
+
+    @Nullable
+    @Override
+    public Map<String, Integer> getCommandsMap() {
+        return MapBuilder.<String, Integer>builder()
+                .put("addFeatures", METHOD_ADD_FEATURES)
+                .put("updateFeatures", METHOD_UPDATE_FEATURES)
+                .put("removeFeatures", METHOD_REMOVE_FEATURES)
+                .put("applyFeatureChanges", METHOD_APPLY_FEATURE_CHANGES)
+                .put("getShapeUpdateStats", METHOD_GET_SHAPE_UPDATE_STATS)
+                .put("getClusterLeaves", METHOD_GET_CLUSTER_LEAVES)
+                .put("getClusterChildren", METHOD_GET_CLUSTER_CHILDREN)
+                .put("getClusterExpansionZoom", METHOD_GET_CLUSTER_EXPANSION_ZOOM)
+                .put("querySourceFeatures", METHOD_QUERY_SOURCE_FEATURES)
+                .put("animateFeatures", METHOD_ANIMATE_FEATURES)
                 .build();
     }
-}
\ No newline at end of file
+
+    @Override
+    public void receiveCommand(RCTMGLShapeSource source, int commandID, @Nullable ReadableArray args) {
+        switch (commandID) {
+            case METHOD_ADD_FEATURES:
+                source.addFeatures(toFeatureList(args, 0));
+                break;
+            case METHOD_UPDATE_FEATURES:
+                source.updateFeatures(toFeatureList(args, 0));
+                break;
+            case METHOD_REMOVE_FEATURES:
+                source.removeFeatures(toFeatureIDList(args, 0));
+                break;
+            case METHOD_APPLY_FEATURE_CHANGES:
+                source.applyFeatureChanges(
+                        toFeatureList(args, 0),
+                        toFeatureList(args, 1),
+                        toFeatureIDList(args, 2));
+                break;
+            case METHOD_GET_SHAPE_UPDATE_STATS:
+                sendCallback(source, args.getString(0), source.getShapeUpdateStats());
+                break;
+            case METHOD_GET_CLUSTER_LEAVES:
+            case METHOD_GET_CLUSTER_CHILDREN:
+            case METHOD_GET_CLUSTER_EXPANSION_ZOOM:
+                queryCluster(source, commandID, args);
+                break;
+            case METHOD_QUERY_SOURCE_FEATURES:
+                querySourceFeatures(source, args);
+                break;
+            case METHOD_ANIMATE_FEATURES:
+                source.animateFeatures(args.getArray(0));
+                break;
+        }
+    }
+
+    private void queryCluster(final RCTMGLShapeSource source, final int commandID, final ReadableArray args) {
+        final String callbackID = args.getString(0);
+        final ReadableMap cluster = args.getMap(1);
+
+        source.queryClusterIndex(new ShapeIndex.OnIndexReady<ClusterIndex>() {
+            @Override
+            public void onIndexReady(ClusterIndex clusterIndex) {
+                WritableMap payload = new WritableNativeMap();
+
+                if (clusterIndex == null) {
+                    payload.putString("error", "ShapeSource is not clustered or has no shape to cluster");
+                    sendCallback(source, callbackID, payload);
+                    return;
+                }
+
+                int clusterID = findClusterID(clusterIndex, cluster);
+                if (clusterID < 0) {
+                    payload.putString("error", "No cluster found for the given cluster id or feature");
+                    sendCallback(source, callbackID, payload);
+                    return;
+                }
+
+                switch (commandID) {
+                    case METHOD_GET_CLUSTER_LEAVES:
+                        List<Feature> leaves = clusterIndex.getLeaves(clusterID, args.getInt(2), args.getInt(3));
+                        payload.putString("data", FeatureCollection.fromFeatures(leaves).toJson());
+                        break;
+                    case METHOD_GET_CLUSTER_CHILDREN:
+                        List<Feature> children = clusterIndex.getChildren(clusterID);
+                        payload.putString("data", FeatureCollection.fromFeatures(children).toJson());
+                        break;
+                    case METHOD_GET_CLUSTER_EXPANSION_ZOOM:
+                        payload.putInt("zoom", clusterIndex.getExpansionZoom(clusterID));
+                        break;
+                }
+
+                sendCallback(source, callbackID, payload);
+            }
+        });
+    }
+
+    private void querySourceFeatures(final RCTMGLShapeSource source, ReadableArray args) {
+        final String callbackID = args.getString(0);
+        final ReadableMap query = args.getMap(1);
+        final FeatureFilter filter;
+
+        try {
+            filter = args.size() > 2 && !args.isNull(2) ?
+                    FeatureFilter.fromFilterList(FilterParser.getFilterList(args.getArray(2))) : null;
+        } catch (IllegalArgumentException e) {
+            WritableMap payload = new WritableNativeMap();
+            payload.putString("error", e.getLocalizedMessage());
+            sendCallback(source, callbackID, payload);
+            return;
+        }
+
+        source.querySpatialIndex(new ShapeIndex.OnIndexReady<ShapeRTree>() {
+            @Override
+            public void onIndexReady(ShapeRTree tree) {
+                WritableMap payload = new WritableNativeMap();
+
+                if (tree == null) {
+                    payload.putString("error", "ShapeSource has no shape to query, remote urls are not indexed");
+                    sendCallback(source, callbackID, payload);
+                    return;
+                }
+
+                int limit = query.hasKey("limit") && !query.isNull("limit") ? query.getInt("limit") : 0;
+                List<Feature> features;
+
+                if (query.hasKey("bbox")) {
+                    ReadableArray bbox = query.getArray("bbox");
+                    features = tree.queryBounds(bbox.getDouble(0), bbox.getDouble(1),
+                            bbox.getDouble(2), bbox.getDouble(3), filter, limit);
+                } else if (query.hasKey("center")) {
+                    ReadableArray center = query.getArray("center");
+                    double radius = query.hasKey("radius") && !query.isNull("radius") ? query.getDouble("radius") : 0;
+                    features = tree.queryNearest(center.getDouble(0), center.getDouble(1), radius, filter, limit);
+                } else if (query.hasKey("polygon")) {
+                    ReadableArray polygon = query.getArray("polygon");
+                    List<Position> ring = new ArrayList<>();
+                    for (int i = 0; i < polygon.size(); i++) {
+                        ReadableArray position = polygon.getArray(i);
+                        ring.add(Position.fromCoordinates(position.getDouble(0), position.getDouble(1)));
+                    }
+                    features = tree.queryPolygon(ring, filter, limit);
+                } else {
+                    payload.putString("error", "Query needs a bbox, a center or a polygon");
+                    sendCallback(source, callbackID, payload);
+                    return;
+                }
+
+                payload.putString("data", FeatureCollection.fromFeatures(features).toJson());
+                sendCallback(source, callbackID, payload);
+            }
+        });
+    }
+
+    private int findClusterID(ClusterIndex clusterIndex, ReadableMap cluster) {
+        int pointCount = cluster.hasKey("pointCount") && !cluster.isNull("pointCount") ? cluster.getInt("pointCount") : -1;
+
+        if (cluster.hasKey("id") && !cluster.isNull("id")) {
+            int clusterID = cluster.getInt("id");
+            if (clusterIndex.hasCluster(clusterID, pointCount)) {
+                return clusterID;
+            }
+        }
+
+        // the engine may number its clusters differently, fall back to where it rendered the cluster
+        if (cluster.hasKey("coordinates") && !cluster.isNull("coordinates") && pointCount > 0) {
+            ReadableArray coordinates = cluster.getArray("coordinates");
+            return clusterIndex.findCluster(coordinates.getDouble(0), coordinates.getDouble(1), pointCount);
+        }
+
+        return -1;
+    }
+
+    private void sendCallback(RCTMGLShapeSource source, String callbackID, WritableMap payload) {
+        AndroidCallbackEvent event = new AndroidCallbackEvent(source, callbackID, EventKeys.SHAPE_SOURCE_ANDROID_CALLBACK);
+        event.setPayload(payload);
+        handleEvent(event);
+    }
+
+    private List<Feature> toFeatureList(@Nullable ReadableArray args, int index) {
+        if (args == null || args.size() <= index || args.isNull(index)) {
+            return new ArrayList<>();
+        }
+
+        FeatureCollection featureCollection = GeoJSONUtils.toFeatureCollection(args.getString(index));
+        if (featureCollection == null || featureCollection.getFeatures() == null) {
+            return new ArrayList<>();
+        }
+
+        return featureCollection.getFeatures();
+    }
+
+    private List<String> toFeatureIDList(@Nullable ReadableArray args, int index) {
+        if (args == null || args.size() <= index || args.isNull(index)) {
+            return new ArrayList<>();
+        }
+        return ConvertUtils.toStringList(args.getArray(index));
+    }
+
+    //endregion
+}
@@ -4,8 +4,11 @@ import android.content.Context;
 
 import com.mapbox.mapboxsdk.style.sources.VectorSource;
 import com.mapbox.rctmgl.events.FeatureClickEvent;
+import com.mapbox.rctmgl.utils.FeatureHitTester;
 import com.mapbox.services.commons.geojson.Feature;
 
+import java.util.List;
+
 /**
  * Created by nickitaliano on 9/8/17.
  */
@@ -27,6 +30,15 @@ public class RCTMGLVectorSource extends RCTSource<VectorSource> {
         mManager.handleEvent(FeatureClickEvent.makeVectorSourceEvent(this, feature));
     }
 
+    @Override
+    public void onPress(List<FeatureHitTester.Hit> hits) {
+        if (mMaxPressResults > 1) {
+            mManager.handleEvent(FeatureClickEvent.makeVectorSourceEvent(this, hits));
+        } else {
+            onPress(hits.get(0).getFeature());
+        }
+    }
+
     @Override
     public VectorSource makeSource() {
         if (isDefaultSource(mID)) {
@@ -75,6 +75,11 @@ public class RCTMGLVectorSourceManager extends AbstractEventEmitter<RCTMGLVector
         source.setHitbox(map);
     }
 
+    @ReactProp(name="maxPressResults")
+    public void setMaxPressResults(RCTMGLVectorSource source, int maxPressResults) {
+        source.setMaxPressResults(maxPressResults);
+    }
+
     @Override
     public Map<String, String> customEvents() {
         return MapBuilder.<String, String>builder()
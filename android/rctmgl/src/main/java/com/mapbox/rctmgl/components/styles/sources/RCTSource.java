@@ -10,6 +10,7 @@ import com.mapbox.mapboxsdk.style.sources.Source;
 import com.mapbox.rctmgl.components.AbstractMapFeature;
 import com.mapbox.rctmgl.components.mapview.RCTMGLMapView;
 import com.mapbox.rctmgl.components.styles.layers.RCTLayer;
+import com.mapbox.rctmgl.utils.FeatureHitTester;
 import com.mapbox.services.commons.geojson.Feature;
 
 import java.util.ArrayList;
@@ -34,6 +35,7 @@ public abstract class RCTSource<T extends Source> extends AbstractMapFeature {
     protected T mSource;
     protected boolean mHasPressListener;
     protected Map<String, Double> mTouchHitbox;
+    protected int mMaxPressResults = 1;
 
     protected List<RCTLayer> mLayers;
     private List<RCTLayer> mQueuedLayers;
@@ -74,6 +76,17 @@ public abstract class RCTSource<T extends Source> extends AbstractMapFeature {
         mTouchHitbox = hitbox;
     }
 
+    public void setMaxPressResults(int maxPressResults) {
+        mMaxPressResults = Math.max(maxPressResults, 1);
+    }
+
+    /**
+     * @return how many of the pressed features, closest first, a press reports
+     */
+    public int getMaxPressResults() {
+        return mMaxPressResults;
+    }
+
     public void setID(String id) {
         mID = id;
     }
@@ -113,12 +126,13 @@ public abstract class RCTSource<T extends Source> extends AbstractMapFeature {
         mMapView = mapView;
         mMap = mapView.getMapboxMap();
 
-        T existingSource = mMap.<T>getSourceAs(mID);
+        T existingSource = mapView.<T>getStyleSourceAs(mID);
         if (existingSource != null) {
             mSource = existingSource;
         } else {
             mSource = makeSource();
             mMap.addSource(mSource);
+            mapView.onStyleSourceAdded(mID);
         }
 
         if (mQueuedLayers != null && mQueuedLayers.size() > 0) { // first load
@@ -184,14 +198,16 @@ public abstract class RCTSource<T extends Source> extends AbstractMapFeature {
             return;
         }
 
-        layer.addToMap(mMapView);
+        if (!mMapView.addToStyleTransaction(layer)) {
+            layer.addToMap(mMapView);
+        }
         if (!mLayers.contains(layer)) {
             mLayers.add(childPosition, layer);
         }
     }
 
     protected void removeLayerFromMap(RCTLayer layer, int childPosition) {
-        if (mMapView != null && layer != null) {
+        if (mMapView != null && layer != null && !mMapView.removeFromStyleTransaction(layer)) {
             layer.removeFromMap(mMapView);
         }
         if (mQueuedLayers != null && mQueuedLayers.size() > 0) {
@@ -204,6 +220,13 @@ public abstract class RCTSource<T extends Source> extends AbstractMapFeature {
     public abstract T makeSource();
     public abstract void onPress(Feature feature);
 
+    /**
+     * @param hits pressed features ranked by their distance to the press, at most getMaxPressResults of them
+     */
+    public void onPress(List<FeatureHitTester.Hit> hits) {
+        onPress(hits.get(0).getFeature());
+    }
+
     public static boolean isDefaultSource(String sourceID) {
         return DEFAULT_ID.equals(sourceID);
     }
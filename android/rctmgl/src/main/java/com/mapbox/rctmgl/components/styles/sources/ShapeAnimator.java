@@ -0,0 +1,202 @@
+package com.mapbox.rctmgl.components.styles.sources;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.Point;
+import com.mapbox.services.commons.models.Position;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves point features of a ShapeSource towards target positions, so JS only has to send sparse updates
+ * instead of a new shape for every step of the motion. Each feature has a track of timestamped keyframes,
+ * positions and bearings are interpolated between them for the time of the current frame.
+ *
+ * The bearing is written to the "bearing" property, taken from the keyframes when they have one,
+ * from the direction of travel otherwise.
+ */
+
+public class ShapeAnimator {
+    public static final String BEARING_PROPERTY = "bearing";
+
+    private final Map<String, Track> mTracks = new HashMap<>();
+    private long mDelay;
+
+    /**
+     * Frames are rendered this many milliseconds in the past, for targets timestamped when they were observed
+     * rather than when they should be reached.
+     */
+    public void setDelay(long delay) {
+        mDelay = delay;
+    }
+
+    public boolean isRunning() {
+        return !mTracks.isEmpty();
+    }
+
+    /**
+     * Adds a keyframe to the feature's track, keyframes at or after the timestamp are replaced.
+     * A new track starts from the position the feature is at now.
+     */
+    public void addTarget(ShapeFeatureStore store, String featureID, double lng, double lat, double bearing, long timestamp, long now) {
+        Track track = mTracks.get(featureID);
+
+        if (track == null) {
+            Feature feature = store.getFeature(featureID);
+            if (feature == null || !(feature.getGeometry() instanceof Point)) {
+                return; // only features already in the source can be animated
+            }
+
+            Position position = ((Point) feature.getGeometry()).getCoordinates();
+            track = new Track();
+            track.keyframes.add(new Keyframe(now - mDelay, position.getLongitude(), position.getLatitude(), getBearing(feature)));
+            mTracks.put(featureID, track);
+        }
+
+        for (int i = track.keyframes.size() - 1; i > 0 && track.keyframes.get(i).timestamp >= timestamp; i--) {
+            track.keyframes.remove(i);
+        }
+        track.keyframes.add(new Keyframe(timestamp, lng, lat, bearing));
+    }
+
+    public void stop(String featureID) {
+        mTracks.remove(featureID);
+    }
+
+    public void stopAll() {
+        mTracks.clear();
+    }
+
+    /**
+     * Moves every animated feature in the store to its position at the given time, tracks that reached
+     * their last keyframe are dropped.
+     *
+     * @return the features that were moved, as they are in the store now
+     */
+    public List<Feature> step(ShapeFeatureStore store, long now) {
+        long time = now - mDelay;
+        List<Feature> movedFeatures = new ArrayList<>();
+
+        Iterator<Map.Entry<String, Track>> iterator = mTracks.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Track> entry = iterator.next();
+            Track track = entry.getValue();
+
+            Feature feature = store.getFeature(entry.getKey());
+            if (feature == null) {
+                iterator.remove(); // removed from the source
+                continue;
+            }
+
+            List<Keyframe> keyframes = track.keyframes;
+
+            // drop keyframes that are behind the segment the time falls in
+            while (keyframes.size() > 2 && keyframes.get(1).timestamp <= time) {
+                keyframes.remove(0);
+            }
+
+            Keyframe from = keyframes.get(0);
+            Keyframe to = keyframes.size() > 1 ? keyframes.get(1) : from;
+
+            double t = to.timestamp > from.timestamp ? (time - from.timestamp) / (double) (to.timestamp - from.timestamp) : 1;
+            t = Math.max(0, Math.min(1, t));
+
+            double lng = from.lng + (to.lng - from.lng) * t;
+            double lat = from.lat + (to.lat - from.lat) * t;
+            double bearing = interpolateBearing(from, to, t, track.bearing);
+            track.bearing = bearing;
+
+            if (t >= 1 && keyframes.size() <= 2) {
+                iterator.remove(); // at the last keyframe, the feature stays there
+            }
+
+            if (lng != track.lng || lat != track.lat || Double.compare(bearing, track.appliedBearing) != 0) {
+                track.lng = lng;
+                track.lat = lat;
+                track.appliedBearing = bearing;
+                movedFeatures.add(moveFeature(feature, lng, lat, bearing));
+            }
+        }
+
+        if (!movedFeatures.isEmpty()) {
+            store.updateFeatures(movedFeatures);
+        }
+        return movedFeatures;
+    }
+
+    private static Feature moveFeature(Feature feature, double lng, double lat, double bearing) {
+        // features may be shared with other sources, copy instead of changing them in place
+        JsonObject properties = new JsonObject();
+        if (feature.getProperties() != null) {
+            for (Map.Entry<String, JsonElement> property : feature.getProperties().entrySet()) {
+                properties.add(property.getKey(), property.getValue());
+            }
+        }
+
+        if (!Double.isNaN(bearing)) {
+            properties.addProperty(BEARING_PROPERTY, bearing);
+        }
+
+        Point point = Point.fromCoordinates(Position.fromCoordinates(lng, lat));
+        return Feature.fromGeometry(point, properties, feature.getId());
+    }
+
+    private static double interpolateBearing(Keyframe from, Keyframe to, double t, double currentBearing) {
+        if (!Double.isNaN(from.bearing) && !Double.isNaN(to.bearing)) {
+            // take the short way around
+            double delta = ((to.bearing - from.bearing) % 360 + 540) % 360 - 180;
+            return (from.bearing + delta * t + 360) % 360;
+        }
+
+        if (!Double.isNaN(to.bearing)) {
+            return to.bearing;
+        }
+
+        if (from.lng == to.lng && from.lat == to.lat) {
+            return currentBearing; // standing still, keep facing the same way
+        }
+
+        double lat1 = Math.toRadians(from.lat);
+        double lat2 = Math.toRadians(to.lat);
+        double deltaLng = Math.toRadians(to.lng - from.lng);
+        double y = Math.sin(deltaLng) * Math.cos(lat2);
+        double x = Math.cos(lat1) * Math.sin(lat2) - Math.sin(lat1) * Math.cos(lat2) * Math.cos(deltaLng);
+        return (Math.toDegrees(Math.atan2(y, x)) + 360) % 360;
+    }
+
+    private static double getBearing(Feature feature) {
+        JsonObject properties = feature.getProperties();
+        JsonElement bearing = properties != null ? properties.get(BEARING_PROPERTY) : null;
+        if (bearing == null || !bearing.isJsonPrimitive() || !bearing.getAsJsonPrimitive().isNumber()) {
+            return Double.NaN;
+        }
+        return bearing.getAsDouble();
+    }
+
+    private static class Keyframe {
+        final long timestamp;
+        final double lng;
+        final double lat;
+        final double bearing;
+
+        Keyframe(long timestamp, double lng, double lat, double bearing) {
+            this.timestamp = timestamp;
+            this.lng = lng;
+            this.lat = lat;
+            this.bearing = bearing;
+        }
+    }
+
+    private static class Track {
+        List<Keyframe> keyframes = new ArrayList<>();
+        double lng = Double.NaN;
+        double lat = Double.NaN;
+        double bearing = Double.NaN;
+        double appliedBearing = Double.NaN;
+    }
+}
@@ -0,0 +1,137 @@
+package com.mapbox.rctmgl.components.styles.sources;
+
+import android.util.Log;
+
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.FeatureCollection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the features of a ShapeSource keyed by feature id so single features can be
+ * added, updated or removed without the whole shape crossing the bridge again.
+ * Features without an id are kept in insertion order under a generated key.
+ *
+ * A shape may repeat an id, the engine renders every copy so they are all kept, the repeats under a generated
+ * key. Updating or removing by id only reaches the first of them.
+ */
+
+public class ShapeFeatureStore {
+    public static final String LOG_TAG = ShapeFeatureStore.class.getSimpleName();
+
+    private static final String ANONYMOUS_KEY_PREFIX = "__rctmgl_anonymous_";
+
+    private Map<String, Feature> mFeatures;
+    private int mAnonymousCount;
+    private boolean mDirty;
+
+    public ShapeFeatureStore() {
+        mFeatures = new LinkedHashMap<>();
+    }
+
+    public void reset(FeatureCollection featureCollection) {
+        mFeatures.clear();
+        mAnonymousCount = 0;
+
+        if (featureCollection != null && featureCollection.getFeatures() != null) {
+            int duplicateCount = 0;
+
+            for (Feature feature : featureCollection.getFeatures()) {
+                String key = getKey(feature);
+
+                if (mFeatures.containsKey(key)) {
+                    key = makeAnonymousKey();
+                    duplicateCount++;
+                }
+                mFeatures.put(key, feature);
+            }
+
+            if (duplicateCount > 0) {
+                Log.w(LOG_TAG, duplicateCount + " features repeat the id of another feature of the shape");
+            }
+        }
+
+        mDirty = true;
+    }
+
+    public void addFeatures(List<Feature> features) {
+        for (Feature feature : features) {
+            mFeatures.put(getKey(feature), feature);
+        }
+        mDirty = mDirty || features.size() > 0;
+    }
+
+    /**
+     * Replaces features that are already in the store, features with an unknown id are ignored.
+     * @return number of features that were replaced
+     */
+    public int updateFeatures(List<Feature> features) {
+        int updateCount = 0;
+
+        for (Feature feature : features) {
+            String id = feature.getId();
+
+            if (id != null && mFeatures.containsKey(id)) {
+                mFeatures.put(id, feature);
+                updateCount++;
+            }
+        }
+
+        mDirty = mDirty || updateCount > 0;
+        return updateCount;
+    }
+
+    /**
+     * @return number of features that were removed
+     */
+    public int removeFeatures(List<String> featureIDs) {
+        int removeCount = 0;
+
+        for (String featureID : featureIDs) {
+            if (mFeatures.remove(featureID) != null) {
+                removeCount++;
+            }
+        }
+
+        mDirty = mDirty || removeCount > 0;
+        return removeCount;
+    }
+
+    public Feature getFeature(String featureID) {
+        return mFeatures.get(featureID);
+    }
+
+    public List<Feature> getFeatures() {
+        return new ArrayList<>(mFeatures.values());
+    }
+
+    public int size() {
+        return mFeatures.size();
+    }
+
+    public boolean isDirty() {
+        return mDirty;
+    }
+
+    public void markClean() {
+        mDirty = false;
+    }
+
+    public FeatureCollection toFeatureCollection() {
+        return FeatureCollection.fromFeatures(getFeatures());
+    }
+
+    private String getKey(Feature feature) {
+        String id = feature.getId();
+        return id != null ? id : makeAnonymousKey();
+    }
+
+    private String makeAnonymousKey() {
+        String key = ANONYMOUS_KEY_PREFIX + mAnonymousCount;
+        mAnonymousCount++;
+        return key;
+    }
+}
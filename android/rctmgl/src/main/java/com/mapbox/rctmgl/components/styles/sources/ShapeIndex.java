@@ -0,0 +1,123 @@
+package com.mapbox.rctmgl.components.styles.sources;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.mapbox.services.commons.geojson.Feature;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds an index over the features of a ShapeSource that is built in the background on the index executor.
+ * Only the latest build is kept when features change faster than the index builds,
+ * and queries made while a build is running wait for it. A build that fails leaves no index, like clear.
+ */
+
+public class ShapeIndex<T> {
+    public static final String LOG_TAG = ShapeIndex.class.getSimpleName();
+
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    private T mIndex;
+    private volatile int mGeneration;
+    private boolean mIsBuilding;
+    private List<OnIndexReady<T>> mPendingQueries = new ArrayList<>();
+
+    public interface Builder<T> {
+        T build(List<Feature> features);
+    }
+
+    public interface OnIndexReady<T> {
+        void onIndexReady(T index);
+    }
+
+    /**
+     * @return the index, or null while it is being built or when there is none
+     */
+    public T get() {
+        return mIndex;
+    }
+
+    public boolean isBuilding() {
+        return mIsBuilding;
+    }
+
+    /**
+     * Drops the current index and builds a new one from the features in the background.
+     */
+    public void rebuild(final List<Feature> features, final Builder<T> builder) {
+        mIndex = null;
+        mIsBuilding = true;
+        final int generation = ++mGeneration;
+
+        ShapeUpdateQueue.getIndexExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                if (generation != mGeneration) {
+                    return; // features changed again before this build started
+                }
+
+                T builtIndex = null;
+                try {
+                    builtIndex = builder.build(features);
+                } catch (RuntimeException e) {
+                    Log.w(LOG_TAG, "Failed to index the features of a ShapeSource: " + e.getLocalizedMessage());
+                }
+
+                final T index = builtIndex;
+
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation != mGeneration) {
+                            return;
+                        }
+
+                        mIndex = index;
+                        mIsBuilding = false;
+                        runPendingQueries();
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Makes queries wait for the next rebuild or clear, e.g. while the features to index are still being parsed.
+     */
+    public void waitForRebuild() {
+        mIsBuilding = true;
+    }
+
+    /**
+     * Drops the current index, waiting queries get a null index.
+     */
+    public void clear() {
+        mIndex = null;
+        mIsBuilding = false;
+        mGeneration++;
+        runPendingQueries();
+    }
+
+    /**
+     * Runs the query once the index is up to date, right away when no build is running.
+     */
+    public void query(OnIndexReady<T> query) {
+        if (mIsBuilding) {
+            mPendingQueries.add(query);
+            return;
+        }
+        query.onIndexReady(mIndex);
+    }
+
+    private void runPendingQueries() {
+        List<OnIndexReady<T>> queries = new ArrayList<>(mPendingQueries);
+        mPendingQueries.clear();
+
+        for (OnIndexReady<T> query : queries) {
+            query.onIndexReady(mIndex);
+        }
+    }
+}
@@ -0,0 +1,530 @@
+package com.mapbox.rctmgl.components.styles.sources;
+
+import com.mapbox.rctmgl.utils.FeatureFilter;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.Geometry;
+import com.mapbox.services.commons.geojson.LineString;
+import com.mapbox.services.commons.geojson.MultiLineString;
+import com.mapbox.services.commons.geojson.MultiPoint;
+import com.mapbox.services.commons.geojson.MultiPolygon;
+import com.mapbox.services.commons.geojson.Point;
+import com.mapbox.services.commons.geojson.Polygon;
+import com.mapbox.services.commons.models.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Static R-tree over the features of a ShapeSource, bulk loaded with Sort-Tile-Recursive packing.
+ * Answers bounding box, nearest/radius and polygon (lasso) queries without going through the engine,
+ * so features outside of the viewport are found as well.
+ *
+ * Bounds are kept in longitude/latitude, distances are measured in meters on a local equirectangular
+ * projection around the query center, which is accurate enough for radii up to a few hundred kilometers.
+ */
+
+public class ShapeRTree {
+    public static final int DEFAULT_NODE_SIZE = 16;
+
+    private static final double METERS_PER_DEGREE = 6378137.0 * Math.PI / 180.0;
+
+    private final List<Feature> mFeatures;
+    private final int mNodeSize;
+
+    // entries are the features first, in packing order, followed by the nodes of each level
+    private final int mItemCount;
+    private double[] mBounds;
+    private int[] mFeatureIndices;
+    private int[] mChildStart;
+    private int[] mChildCount;
+    private int mRoot = -1;
+
+    public ShapeRTree(List<Feature> features) {
+        this(features, DEFAULT_NODE_SIZE);
+    }
+
+    public ShapeRTree(List<Feature> features, int nodeSize) {
+        mFeatures = features;
+        mNodeSize = Math.max(2, nodeSize);
+        mItemCount = features.size();
+
+        if (mItemCount == 0) {
+            return;
+        }
+
+        // there is always at least one node above the features, the root
+        int entryCount = mItemCount;
+        int levelSize = mItemCount;
+        do {
+            levelSize = (levelSize + mNodeSize - 1) / mNodeSize;
+            entryCount += levelSize;
+        } while (levelSize > 1);
+
+        mBounds = new double[entryCount * 4];
+        mChildStart = new int[entryCount];
+        mChildCount = new int[entryCount];
+
+        double[] featureBounds = new double[mItemCount * 4];
+        for (int i = 0; i < mItemCount; i++) {
+            computeBounds(features.get(i).getGeometry(), featureBounds, i);
+        }
+
+        mFeatureIndices = packOrder(featureBounds, mItemCount);
+        for (int i = 0; i < mItemCount; i++) {
+            System.arraycopy(featureBounds, mFeatureIndices[i] * 4, mBounds, i * 4, 4);
+        }
+
+        int levelStart = 0;
+        int levelCount = mItemCount;
+        int next = mItemCount;
+
+        do {
+            int parentCount = (levelCount + mNodeSize - 1) / mNodeSize;
+            double[] parentBounds = new double[parentCount * 4];
+            int[] parentChildStart = new int[parentCount];
+            int[] parentChildCount = new int[parentCount];
+
+            for (int i = 0; i < parentCount; i++) {
+                int start = levelStart + i * mNodeSize;
+                int count = Math.min(mNodeSize, levelStart + levelCount - start);
+                parentChildStart[i] = start;
+                parentChildCount[i] = count;
+
+                parentBounds[i * 4] = Double.POSITIVE_INFINITY;
+                parentBounds[i * 4 + 1] = Double.POSITIVE_INFINITY;
+                parentBounds[i * 4 + 2] = Double.NEGATIVE_INFINITY;
+                parentBounds[i * 4 + 3] = Double.NEGATIVE_INFINITY;
+                for (int child = start; child < start + count; child++) {
+                    parentBounds[i * 4] = Math.min(parentBounds[i * 4], mBounds[child * 4]);
+                    parentBounds[i * 4 + 1] = Math.min(parentBounds[i * 4 + 1], mBounds[child * 4 + 1]);
+                    parentBounds[i * 4 + 2] = Math.max(parentBounds[i * 4 + 2], mBounds[child * 4 + 2]);
+                    parentBounds[i * 4 + 3] = Math.max(parentBounds[i * 4 + 3], mBounds[child * 4 + 3]);
+                }
+            }
+
+            // pack the parents again so the next level groups nodes that are close to each other
+            int[] order = packOrder(parentBounds, parentCount);
+            for (int i = 0; i < parentCount; i++) {
+                int entry = next + i;
+                System.arraycopy(parentBounds, order[i] * 4, mBounds, entry * 4, 4);
+                mChildStart[entry] = parentChildStart[order[i]];
+                mChildCount[entry] = parentChildCount[order[i]];
+            }
+
+            levelStart = next;
+            levelCount = parentCount;
+            next += parentCount;
+        } while (levelCount > 1);
+
+        mRoot = levelStart;
+    }
+
+    public int getFeatureCount() {
+        return mItemCount;
+    }
+
+    /**
+     * @return features whose bounds intersect the given bounds, limit 0 returns all of them
+     */
+    public List<Feature> queryBounds(double west, double south, double east, double north, FeatureFilter filter, int limit) {
+        List<Feature> result = new ArrayList<>();
+        if (mRoot < 0) {
+            return result;
+        }
+
+        int[] stack = new int[64];
+        int stackSize = 0;
+        stack[stackSize++] = mRoot;
+
+        while (stackSize > 0) {
+            int entry = stack[--stackSize];
+            if (!intersects(entry, west, south, east, north)) {
+                continue;
+            }
+
+            if (entry < mItemCount) {
+                Feature feature = mFeatures.get(mFeatureIndices[entry]);
+                if (filter == null || filter.matches(feature)) {
+                    result.add(feature);
+                    if (result.size() == limit) {
+                        break;
+                    }
+                }
+                continue;
+            }
+
+            int end = mChildStart[entry] + mChildCount[entry];
+            for (int child = mChildStart[entry]; child < end; child++) {
+                if (stackSize == stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[stackSize++] = child;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return features closest to the center first, up to limit features within maxDistance meters.
+     * A limit of 0 doesn't limit the count, a maxDistance of 0 or less doesn't limit the distance.
+     */
+    public List<Feature> queryNearest(double lng, double lat, double maxDistance, FeatureFilter filter, int limit) {
+        List<Feature> result = new ArrayList<>();
+        if (mRoot < 0) {
+            return result;
+        }
+
+        double scaleX = Math.cos(Math.toRadians(lat)) * METERS_PER_DEGREE;
+        double limitDistance = maxDistance > 0 ? maxDistance : Double.POSITIVE_INFINITY;
+
+        PriorityQueue<QueueEntry> queue = new PriorityQueue<>();
+        queue.add(new QueueEntry(mRoot, 0, false));
+
+        while (!queue.isEmpty()) {
+            QueueEntry next = queue.poll();
+            if (next.distance > limitDistance) {
+                break;
+            }
+
+            if (next.isExact) {
+                result.add(mFeatures.get(mFeatureIndices[next.entry]));
+                if (result.size() == limit) {
+                    break;
+                }
+                continue;
+            }
+
+            if (next.entry < mItemCount) {
+                // bounds only give a lower bound, queue the feature again with its actual distance
+                Feature feature = mFeatures.get(mFeatureIndices[next.entry]);
+                if (filter == null || filter.matches(feature)) {
+                    double distance = distanceTo(feature.getGeometry(), lng, lat, scaleX);
+                    queue.add(new QueueEntry(next.entry, distance, true));
+                }
+                continue;
+            }
+
+            int end = mChildStart[next.entry] + mChildCount[next.entry];
+            for (int child = mChildStart[next.entry]; child < end; child++) {
+                double distance = boundsDistance(child, lng, lat, scaleX);
+                if (distance <= limitDistance) {
+                    queue.add(new QueueEntry(child, distance, false));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Lasso selection, points inside the ring match, lines match when they enter it and polygons when they
+     * overlap it, including polygons the lasso is drawn inside of.
+     *
+     * @param ring longitude/latitude positions of the lasso, closed or not
+     */
+    public List<Feature> queryPolygon(List<Position> ring, FeatureFilter filter, int limit) {
+        List<Feature> result = new ArrayList<>();
+        if (ring.size() < 3) {
+            return result;
+        }
+
+        double[] xs = new double[ring.size()];
+        double[] ys = new double[ring.size()];
+        double west = Double.POSITIVE_INFINITY, south = Double.POSITIVE_INFINITY;
+        double east = Double.NEGATIVE_INFINITY, north = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < ring.size(); i++) {
+            xs[i] = ring.get(i).getLongitude();
+            ys[i] = ring.get(i).getLatitude();
+            west = Math.min(west, xs[i]);
+            south = Math.min(south, ys[i]);
+            east = Math.max(east, xs[i]);
+            north = Math.max(north, ys[i]);
+        }
+
+        for (Feature feature : queryBounds(west, south, east, north, filter, 0)) {
+            if (intersectsLasso(feature.getGeometry(), xs, ys)) {
+                result.add(feature);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private boolean intersects(int entry, double west, double south, double east, double north) {
+        int i = entry * 4;
+        return mBounds[i] <= east && mBounds[i + 2] >= west && mBounds[i + 1] <= north && mBounds[i + 3] >= south;
+    }
+
+    private double boundsDistance(int entry, double lng, double lat, double scaleX) {
+        int i = entry * 4;
+        double dx = Math.max(0, Math.max(mBounds[i] - lng, lng - mBounds[i + 2])) * scaleX;
+        double dy = Math.max(0, Math.max(mBounds[i + 1] - lat, lat - mBounds[i + 3])) * METERS_PER_DEGREE;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * @return the order of the entries after STR packing: sorted by x into vertical slices, each sorted by y
+     */
+    private int[] packOrder(final double[] bounds, int count) {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                return Double.compare(bounds[a * 4] + bounds[a * 4 + 2], bounds[b * 4] + bounds[b * 4 + 2]);
+            }
+        });
+
+        int nodeCount = (count + mNodeSize - 1) / mNodeSize;
+        int sliceCount = (int) Math.ceil(Math.sqrt(nodeCount));
+        int sliceSize = sliceCount * mNodeSize;
+
+        Comparator<Integer> byY = new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                return Double.compare(bounds[a * 4 + 1] + bounds[a * 4 + 3], bounds[b * 4 + 1] + bounds[b * 4 + 3]);
+            }
+        };
+
+        for (int start = 0; start < count; start += sliceSize) {
+            Arrays.sort(order, start, Math.min(count, start + sliceSize), byY);
+        }
+
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = order[i];
+        }
+        return result;
+    }
+
+    private static void computeBounds(Geometry geometry, double[] bounds, int index) {
+        int i = index * 4;
+        bounds[i] = Double.POSITIVE_INFINITY;
+        bounds[i + 1] = Double.POSITIVE_INFINITY;
+        bounds[i + 2] = Double.NEGATIVE_INFINITY;
+        bounds[i + 3] = Double.NEGATIVE_INFINITY;
+
+        for (List<Position> positions : getPaths(geometry)) {
+            for (Position position : positions) {
+                bounds[i] = Math.min(bounds[i], position.getLongitude());
+                bounds[i + 1] = Math.min(bounds[i + 1], position.getLatitude());
+                bounds[i + 2] = Math.max(bounds[i + 2], position.getLongitude());
+                bounds[i + 3] = Math.max(bounds[i + 3], position.getLatitude());
+            }
+        }
+    }
+
+    private static double distanceTo(Geometry geometry, double lng, double lat, double scaleX) {
+        if (geometry instanceof Point) {
+            return distance(((Point) geometry).getCoordinates(), lng, lat, scaleX);
+        }
+
+        if (geometry instanceof Polygon && contains(((Polygon) geometry).getCoordinates(), lng, lat)) {
+            return 0;
+        }
+
+        if (geometry instanceof MultiPolygon) {
+            for (List<List<Position>> polygon : ((MultiPolygon) geometry).getCoordinates()) {
+                if (contains(polygon, lng, lat)) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean isPoints = geometry instanceof MultiPoint;
+        double minDistance = Double.POSITIVE_INFINITY;
+
+        for (List<Position> path : getPaths(geometry)) {
+            for (int i = 0; i < path.size(); i++) {
+                if (isPoints || i == 0) {
+                    minDistance = Math.min(minDistance, distance(path.get(i), lng, lat, scaleX));
+                } else {
+                    minDistance = Math.min(minDistance, segmentDistance(path.get(i - 1), path.get(i), lng, lat, scaleX));
+                }
+            }
+        }
+
+        return minDistance;
+    }
+
+    private static double distance(Position position, double lng, double lat, double scaleX) {
+        double dx = (position.getLongitude() - lng) * scaleX;
+        double dy = (position.getLatitude() - lat) * METERS_PER_DEGREE;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private static double segmentDistance(Position a, Position b, double lng, double lat, double scaleX) {
+        double ax = (a.getLongitude() - lng) * scaleX;
+        double ay = (a.getLatitude() - lat) * METERS_PER_DEGREE;
+        double bx = (b.getLongitude() - lng) * scaleX;
+        double by = (b.getLatitude() - lat) * METERS_PER_DEGREE;
+
+        double dx = bx - ax;
+        double dy = by - ay;
+        double lengthSquared = dx * dx + dy * dy;
+
+        double t = lengthSquared > 0 ? Math.max(0, Math.min(1, -(ax * dx + ay * dy) / lengthSquared)) : 0;
+        double x = ax + t * dx;
+        double y = ay + t * dy;
+        return Math.sqrt(x * x + y * y);
+    }
+
+    private static boolean contains(List<List<Position>> polygon, double lng, double lat) {
+        if (polygon.isEmpty() || !ringContains(polygon.get(0), lng, lat)) {
+            return false;
+        }
+
+        for (int i = 1; i < polygon.size(); i++) {
+            if (ringContains(polygon.get(i), lng, lat)) {
+                return false; // in a hole
+            }
+        }
+        return true;
+    }
+
+    private static boolean ringContains(List<Position> ring, double lng, double lat) {
+        boolean isInside = false;
+
+        for (int i = 0, j = ring.size() - 1; i < ring.size(); j = i++) {
+            double xi = ring.get(i).getLongitude(), yi = ring.get(i).getLatitude();
+            double xj = ring.get(j).getLongitude(), yj = ring.get(j).getLatitude();
+
+            if ((yi > lat) != (yj > lat) && lng < (xj - xi) * (lat - yi) / (yj - yi) + xi) {
+                isInside = !isInside;
+            }
+        }
+        return isInside;
+    }
+
+    private static boolean ringContains(double[] xs, double[] ys, double x, double y) {
+        boolean isInside = false;
+
+        for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+            if ((ys[i] > y) != (ys[j] > y) && x < (xs[j] - xs[i]) * (y - ys[i]) / (ys[j] - ys[i]) + xs[i]) {
+                isInside = !isInside;
+            }
+        }
+        return isInside;
+    }
+
+    private static boolean intersectsLasso(Geometry geometry, double[] xs, double[] ys) {
+        List<List<Position>> paths = getPaths(geometry);
+
+        for (List<Position> path : paths) {
+            for (Position position : path) {
+                if (ringContains(xs, ys, position.getLongitude(), position.getLatitude())) {
+                    return true;
+                }
+            }
+        }
+
+        if (geometry instanceof Point || geometry instanceof MultiPoint) {
+            return false;
+        }
+
+        // no vertex inside, a line or ring edge can still cross the lasso
+        for (List<Position> path : paths) {
+            for (int i = 1; i < path.size(); i++) {
+                if (crossesRing(path.get(i - 1), path.get(i), xs, ys)) {
+                    return true;
+                }
+            }
+        }
+
+        // nothing crosses, so the lasso is either outside of a polygon or all inside of it
+        if (geometry instanceof Polygon) {
+            return contains(((Polygon) geometry).getCoordinates(), xs[0], ys[0]);
+        } else if (geometry instanceof MultiPolygon) {
+            for (List<List<Position>> polygon : ((MultiPolygon) geometry).getCoordinates()) {
+                if (contains(polygon, xs[0], ys[0])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean crossesRing(Position a, Position b, double[] xs, double[] ys) {
+        double ax = a.getLongitude(), ay = a.getLatitude();
+        double bx = b.getLongitude(), by = b.getLatitude();
+
+        for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+            boolean isSplitByEdge = (cross(xs[j], ys[j], xs[i], ys[i], ax, ay) > 0) !=
+                    (cross(xs[j], ys[j], xs[i], ys[i], bx, by) > 0);
+            boolean isEdgeSplit = (cross(ax, ay, bx, by, xs[j], ys[j]) > 0) !=
+                    (cross(ax, ay, bx, by, xs[i], ys[i]) > 0);
+
+            if (isSplitByEdge && isEdgeSplit) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return which side of the line from a to b the point is on, positive on the left
+     */
+    private static double cross(double ax, double ay, double bx, double by, double x, double y) {
+        return (bx - ax) * (y - ay) - (by - ay) * (x - ax);
+    }
+
+    /**
+     * @return the coordinates of the geometry as lists of positions: lines, rings or the points themselves
+     */
+    private static List<List<Position>> getPaths(Geometry geometry) {
+        List<List<Position>> paths = new ArrayList<>();
+
+        if (geometry instanceof Point) {
+            List<Position> point = new ArrayList<>(1);
+            point.add(((Point) geometry).getCoordinates());
+            paths.add(point);
+        } else if (geometry instanceof MultiPoint) {
+            paths.add(((MultiPoint) geometry).getCoordinates());
+        } else if (geometry instanceof LineString) {
+            paths.add(((LineString) geometry).getCoordinates());
+        } else if (geometry instanceof MultiLineString) {
+            paths.addAll(((MultiLineString) geometry).getCoordinates());
+        } else if (geometry instanceof Polygon) {
+            paths.addAll(((Polygon) geometry).getCoordinates());
+        } else if (geometry instanceof MultiPolygon) {
+            for (List<List<Position>> polygon : ((MultiPolygon) geometry).getCoordinates()) {
+                paths.addAll(polygon);
+            }
+        }
+
+        return paths;
+    }
+
+    private static class QueueEntry implements Comparable<QueueEntry> {
+        final int entry;
+        final double distance;
+        final boolean isExact;
+
+        QueueEntry(int entry, double distance, boolean isExact) {
+            this.entry = entry;
+            this.distance = distance;
+            this.isExact = isExact;
+        }
+
+        @Override
+        public int compareTo(QueueEntry other) {
+            int comparison = Double.compare(distance, other.distance);
+            if (comparison != 0) {
+                return comparison;
+            }
+            // at equal distance resolve features first so results come out as early as possible
+            return Boolean.compare(other.isExact, isExact);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.mapbox.rctmgl.components.styles.sources;
+
+import com.mapbox.services.commons.geojson.FeatureCollection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process wide registry of parsed shapes keyed by a shape id, shared by every ShapeSource that uses the same id
+ * across all map views. Each shape also carries a version computed from its content, a source only skips parsing
+ * when the same id and version was already parsed or is being parsed, so new content under an old id isn't dropped.
+ * The newest content published for an id replaces the previous one.
+ * Entries are reference counted and dropped when the last source holding the id releases it.
+ *
+ * Only used from the UI thread.
+ */
+
+public class ShapeRegistry {
+    public static final long NO_VERSION = 0;
+
+    private static final Map<String, Entry> sEntries = new HashMap<>();
+
+    public interface OnSharedShapeListener {
+        void onSharedShapeReady(String shapeID, long version, FeatureCollection featureCollection);
+    }
+
+    /**
+     * @return 64 bit FNV-1a hash of the shape and its format, never NO_VERSION
+     */
+    public static long getVersion(String shape, int format) {
+        long hash = 0xcbf29ce484222325L ^ format;
+
+        for (int i = 0; i < shape.length(); i++) {
+            hash ^= shape.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        return hash != NO_VERSION ? hash : 1;
+    }
+
+    /**
+     * Holds a reference to the shape, the listener is called right away when the shape is already parsed,
+     * otherwise once a holder publishes it.
+     */
+    public static void acquire(String shapeID, OnSharedShapeListener listener) {
+        Entry entry = sEntries.get(shapeID);
+        if (entry == null) {
+            entry = new Entry();
+            sEntries.put(shapeID, entry);
+        }
+
+        entry.listeners.add(listener);
+
+        if (entry.featureCollection != null) {
+            listener.onSharedShapeReady(shapeID, entry.version, entry.featureCollection);
+        }
+    }
+
+    public static void release(String shapeID, OnSharedShapeListener listener) {
+        Entry entry = sEntries.get(shapeID);
+        if (entry == null || !entry.listeners.remove(listener)) {
+            return;
+        }
+
+        if (entry.listeners.isEmpty()) {
+            sEntries.remove(shapeID);
+        } else if (entry.loader == listener) {
+            entry.loader = null; // let another holder load it
+        }
+    }
+
+    /**
+     * @return true when the caller should parse the shape, false when this version of it is being parsed by another
+     * holder, or was parsed already and is handed to the caller right away
+     */
+    public static boolean startLoading(String shapeID, long version, OnSharedShapeListener loader) {
+        Entry entry = sEntries.get(shapeID);
+        if (entry == null) {
+            return true; // not shared
+        }
+
+        if (entry.featureCollection != null && entry.version == version) {
+            loader.onSharedShapeReady(shapeID, version, entry.featureCollection);
+            return false;
+        }
+
+        if (entry.loader != null && entry.loader != loader && entry.loadingVersion == version) {
+            return false;
+        }
+
+        entry.loader = loader;
+        entry.loadingVersion = version;
+        return true;
+    }
+
+    public static void cancelLoading(String shapeID, OnSharedShapeListener loader) {
+        Entry entry = sEntries.get(shapeID);
+        if (entry != null && entry.loader == loader) {
+            entry.loader = null;
+        }
+    }
+
+    /**
+     * Stores the parsed shape and hands it to every other holder, unless this version is already stored.
+     */
+    public static void publish(String shapeID, long version, FeatureCollection featureCollection,
+                               OnSharedShapeListener publisher) {
+        Entry entry = sEntries.get(shapeID);
+        if (entry == null || (entry.featureCollection != null && entry.version == version)) {
+            return;
+        }
+
+        entry.featureCollection = featureCollection;
+        entry.version = version;
+
+        if (entry.loader == publisher || entry.loadingVersion == version) {
+            entry.loader = null;
+        }
+
+        for (OnSharedShapeListener listener : new ArrayList<>(entry.listeners)) {
+            if (listener != publisher) {
+                listener.onSharedShapeReady(shapeID, version, featureCollection);
+            }
+        }
+    }
+
+    private static class Entry {
+        FeatureCollection featureCollection;
+        long version = NO_VERSION;
+        OnSharedShapeListener loader;
+        long loadingVersion = NO_VERSION;
+        List<OnSharedShapeListener> listeners = new ArrayList<>();
+    }
+}
@@ -0,0 +1,416 @@
+package com.mapbox.rctmgl.components.styles.sources;
+
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.FeatureCollection;
+import com.mapbox.services.commons.geojson.Geometry;
+import com.mapbox.services.commons.geojson.LineString;
+import com.mapbox.services.commons.geojson.MultiLineString;
+import com.mapbox.services.commons.geojson.MultiPolygon;
+import com.mapbox.services.commons.geojson.Polygon;
+import com.mapbox.services.commons.models.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Produces simplified variants of a ShapeSource's lines and polygons for zoom bands. The zoom levels split the zoom
+ * range into bands, each band is simplified with the tolerance of its upper zoom so it still looks exact there,
+ * and zooms past the last level use the full resolution features.
+ *
+ * Simplified geometries are cached per feature and band, so feature level updates only simplify what changed.
+ * The cache is bounded by the number of coordinates it holds and evicts the least recently used entries.
+ * simplify and clear are synchronized, ShapeSource runs them on the index executor.
+ */
+
+public class ShapeSimplifier {
+    public static final String ALGORITHM_DOUGLAS_PEUCKER = "douglas-peucker";
+    public static final String ALGORITHM_VISVALINGAM = "visvalingam";
+
+    public static final double DEFAULT_TOLERANCE = 1.0;
+    public static final int DEFAULT_MAX_CACHED_COORDINATES = 1000000;
+
+    private static final double TILE_SIZE = 512.0;
+
+    private final double[] mZoomLevels;
+    private final String mAlgorithm;
+    private final double mTolerance;
+    private final int mMaxCachedCoordinates;
+
+    private final LinkedHashMap<CacheKey, CacheEntry> mCache = new LinkedHashMap<>(16, 0.75f, true);
+    private int mCachedCoordinates;
+
+    /**
+     * @param zoomLevels zoom levels that separate the bands
+     * @param algorithm ALGORITHM_DOUGLAS_PEUCKER or ALGORITHM_VISVALINGAM
+     * @param tolerance allowed error in screen pixels
+     */
+    public ShapeSimplifier(double[] zoomLevels, String algorithm, double tolerance, int maxCachedCoordinates) {
+        mZoomLevels = Arrays.copyOf(zoomLevels, zoomLevels.length);
+        Arrays.sort(mZoomLevels);
+
+        mAlgorithm = algorithm;
+        mTolerance = tolerance;
+        mMaxCachedCoordinates = maxCachedCoordinates;
+    }
+
+    /**
+     * @return band of the zoom, getBandCount() means full resolution
+     */
+    public int getBand(double zoom) {
+        for (int i = 0; i < mZoomLevels.length; i++) {
+            if (zoom < mZoomLevels[i]) {
+                return i;
+            }
+        }
+        return mZoomLevels.length;
+    }
+
+    public int getBandCount() {
+        return mZoomLevels.length;
+    }
+
+    public boolean isFullResolution(int band) {
+        return band >= mZoomLevels.length;
+    }
+
+    public synchronized FeatureCollection simplify(List<Feature> features, int band) {
+        if (isFullResolution(band)) {
+            return FeatureCollection.fromFeatures(features);
+        }
+
+        List<Feature> simplifiedFeatures = new ArrayList<>(features.size());
+        for (Feature feature : features) {
+            Feature simplifiedFeature = getSimplifiedFeature(feature, band);
+            if (simplifiedFeature != null) {
+                simplifiedFeatures.add(simplifiedFeature);
+            }
+        }
+
+        trimCache();
+        return FeatureCollection.fromFeatures(simplifiedFeatures);
+    }
+
+    public synchronized void clear() {
+        mCache.clear();
+        mCachedCoordinates = 0;
+    }
+
+    private Feature getSimplifiedFeature(Feature feature, int band) {
+        Geometry geometry = feature.getGeometry();
+        if (!isSimplifiable(geometry)) {
+            return feature;
+        }
+
+        CacheKey key = new CacheKey(feature, band);
+        CacheEntry entry = mCache.get(key);
+
+        if (entry == null) {
+            double tolerance = mTolerance / (TILE_SIZE * Math.pow(2, mZoomLevels[band]));
+            Geometry simplifiedGeometry = simplifyGeometry(geometry, tolerance * tolerance);
+
+            Feature simplifiedFeature = null;
+            if (simplifiedGeometry != null) {
+                simplifiedFeature = Feature.fromGeometry(simplifiedGeometry, feature.getProperties(), feature.getId());
+            }
+
+            entry = new CacheEntry(simplifiedFeature, countCoordinates(simplifiedGeometry));
+            mCache.put(key, entry);
+            mCachedCoordinates += entry.coordinateCount;
+        }
+
+        return entry.feature;
+    }
+
+    private void trimCache() {
+        Iterator<Map.Entry<CacheKey, CacheEntry>> iterator = mCache.entrySet().iterator();
+
+        while (mCachedCoordinates > mMaxCachedCoordinates && iterator.hasNext()) {
+            mCachedCoordinates -= iterator.next().getValue().coordinateCount;
+            iterator.remove();
+        }
+    }
+
+    private boolean isSimplifiable(Geometry geometry) {
+        return geometry instanceof LineString || geometry instanceof MultiLineString ||
+                geometry instanceof Polygon || geometry instanceof MultiPolygon;
+    }
+
+    /**
+     * @return simplified geometry, or null when the geometry collapses at this tolerance
+     */
+    private Geometry simplifyGeometry(Geometry geometry, double sqTolerance) {
+        if (geometry instanceof LineString) {
+            return LineString.fromCoordinates(simplifyLine(((LineString) geometry).getCoordinates(), sqTolerance, false));
+        } else if (geometry instanceof MultiLineString) {
+            List<List<Position>> lines = new ArrayList<>();
+            for (List<Position> line : ((MultiLineString) geometry).getCoordinates()) {
+                lines.add(simplifyLine(line, sqTolerance, false));
+            }
+            return MultiLineString.fromCoordinates(lines);
+        } else if (geometry instanceof Polygon) {
+            List<List<Position>> rings = simplifyPolygon(((Polygon) geometry).getCoordinates(), sqTolerance);
+            return rings != null ? Polygon.fromCoordinates(rings) : null;
+        } else if (geometry instanceof MultiPolygon) {
+            List<List<List<Position>>> polygons = new ArrayList<>();
+            for (List<List<Position>> polygon : ((MultiPolygon) geometry).getCoordinates()) {
+                List<List<Position>> rings = simplifyPolygon(polygon, sqTolerance);
+                if (rings != null) {
+                    polygons.add(rings);
+                }
+            }
+            return polygons.size() > 0 ? MultiPolygon.fromCoordinates(polygons) : null;
+        }
+        return geometry;
+    }
+
+    private List<List<Position>> simplifyPolygon(List<List<Position>> rings, double sqTolerance) {
+        List<List<Position>> simplifiedRings = new ArrayList<>();
+
+        for (int i = 0; i < rings.size(); i++) {
+            List<Position> ring = simplifyLine(rings.get(i), sqTolerance, true);
+
+            if (ring.size() < 4) {
+                if (i == 0) {
+                    return null; // the outer ring is smaller than the tolerance, drop the polygon
+                }
+                continue; // drop holes that became too small
+            }
+            simplifiedRings.add(ring);
+        }
+
+        return simplifiedRings;
+    }
+
+    private List<Position> simplifyLine(List<Position> positions, double sqTolerance, boolean isRing) {
+        int count = positions.size();
+        if (count <= (isRing ? 4 : 2)) {
+            return positions;
+        }
+
+        double[] coords = new double[count * 2];
+        for (int i = 0; i < count; i++) {
+            coords[2 * i] = projectX(positions.get(i).getLongitude());
+            coords[2 * i + 1] = projectY(positions.get(i).getLatitude());
+        }
+
+        boolean[] keep = new boolean[count];
+        keep[0] = true;
+        keep[count - 1] = true;
+
+        if (ALGORITHM_VISVALINGAM.equals(mAlgorithm)) {
+            visvalingam(coords, keep, sqTolerance);
+        } else {
+            douglasPeucker(coords, keep, sqTolerance);
+        }
+
+        List<Position> simplified = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (keep[i]) {
+                simplified.add(positions.get(i));
+            }
+        }
+        return simplified;
+    }
+
+    private static void douglasPeucker(double[] coords, boolean[] keep, double sqTolerance) {
+        int[] stack = new int[keep.length * 2];
+        int stackSize = 0;
+
+        stack[stackSize++] = 0;
+        stack[stackSize++] = keep.length - 1;
+
+        while (stackSize > 0) {
+            int last = stack[--stackSize];
+            int first = stack[--stackSize];
+
+            double maxSqDist = sqTolerance;
+            int index = -1;
+
+            for (int i = first + 1; i < last; i++) {
+                double sqDist = getSqSegmentDistance(coords, i, first, last);
+                if (sqDist > maxSqDist) {
+                    index = i;
+                    maxSqDist = sqDist;
+                }
+            }
+
+            if (index != -1) {
+                keep[index] = true;
+
+                stack[stackSize++] = first;
+                stack[stackSize++] = index;
+                stack[stackSize++] = index;
+                stack[stackSize++] = last;
+            }
+        }
+    }
+
+    /**
+     * Removes the point that forms the smallest triangle with its neighbours until every triangle is larger than
+     * the tolerance, with the tolerance interpreted as the area of a square with the tolerance as side.
+     */
+    private static void visvalingam(double[] coords, boolean[] keep, double sqTolerance) {
+        int count = keep.length;
+        final int[] prev = new int[count];
+        final int[] next = new int[count];
+        final double[] areas = new double[count];
+
+        PriorityQueue<int[]> queue = new PriorityQueue<>(count, new Comparator<int[]>() {
+            @Override
+            public int compare(int[] a, int[] b) {
+                return Double.compare(areas[a[0]], areas[b[0]]);
+            }
+        });
+
+        for (int i = 0; i < count; i++) {
+            prev[i] = i - 1;
+            next[i] = i + 1;
+            keep[i] = true;
+        }
+
+        int[] version = new int[count];
+        for (int i = 1; i < count - 1; i++) {
+            areas[i] = getTriangleArea(coords, i - 1, i, i + 1);
+            queue.add(new int[]{ i, 0 });
+        }
+
+        while (!queue.isEmpty()) {
+            int[] entry = queue.poll();
+            int i = entry[0];
+
+            if (!keep[i] || entry[1] != version[i]) {
+                continue; // stale entry, its area changed after it was queued
+            }
+            if (areas[i] > sqTolerance) {
+                break;
+            }
+
+            keep[i] = false;
+
+            int p = prev[i];
+            int n = next[i];
+            next[p] = n;
+            prev[n] = p;
+
+            // the neighbours' triangles never become smaller than the removed one, keeps removal order monotonic
+            if (p > 0) {
+                areas[p] = Math.max(areas[i], getTriangleArea(coords, prev[p], p, n));
+                version[p]++;
+                queue.add(new int[]{ p, version[p] });
+            }
+            if (n < count - 1) {
+                areas[n] = Math.max(areas[i], getTriangleArea(coords, p, n, next[n]));
+                version[n]++;
+                queue.add(new int[]{ n, version[n] });
+            }
+        }
+    }
+
+    private static double getTriangleArea(double[] coords, int a, int b, int c) {
+        double ax = coords[2 * a], ay = coords[2 * a + 1];
+        double bx = coords[2 * b], by = coords[2 * b + 1];
+        double cx = coords[2 * c], cy = coords[2 * c + 1];
+        return Math.abs((bx - ax) * (cy - ay) - (cx - ax) * (by - ay)) / 2.0;
+    }
+
+    private static double getSqSegmentDistance(double[] coords, int p, int a, int b) {
+        double x = coords[2 * a];
+        double y = coords[2 * a + 1];
+        double dx = coords[2 * b] - x;
+        double dy = coords[2 * b + 1] - y;
+
+        if (dx != 0 || dy != 0) {
+            double t = ((coords[2 * p] - x) * dx + (coords[2 * p + 1] - y) * dy) / (dx * dx + dy * dy);
+
+            if (t > 1) {
+                x = coords[2 * b];
+                y = coords[2 * b + 1];
+            } else if (t > 0) {
+                x += dx * t;
+                y += dy * t;
+            }
+        }
+
+        dx = coords[2 * p] - x;
+        dy = coords[2 * p + 1] - y;
+        return dx * dx + dy * dy;
+    }
+
+    private static double projectX(double lng) {
+        return lng / 360.0 + 0.5;
+    }
+
+    private static double projectY(double lat) {
+        double sin = Math.sin(lat * Math.PI / 180.0);
+        double y = 0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI;
+        return y < 0 ? 0 : y > 1 ? 1 : y;
+    }
+
+    private static int countCoordinates(Geometry geometry) {
+        if (geometry instanceof LineString) {
+            return ((LineString) geometry).getCoordinates().size();
+        } else if (geometry instanceof MultiLineString) {
+            return countRings(((MultiLineString) geometry).getCoordinates());
+        } else if (geometry instanceof Polygon) {
+            return countRings(((Polygon) geometry).getCoordinates());
+        } else if (geometry instanceof MultiPolygon) {
+            int count = 0;
+            for (List<List<Position>> polygon : ((MultiPolygon) geometry).getCoordinates()) {
+                count += countRings(polygon);
+            }
+            return count;
+        }
+        return 0;
+    }
+
+    private static int countRings(List<List<Position>> rings) {
+        int count = 0;
+        for (List<Position> ring : rings) {
+            count += ring.size();
+        }
+        return count;
+    }
+
+    /**
+     * Features are immutable, so the feature instance identifies its geometry.
+     */
+    private static class CacheKey {
+        final Feature feature;
+        final int band;
+
+        CacheKey(Feature feature, int band) {
+            this.feature = feature;
+            this.band = band;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return feature == other.feature && band == other.band;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(feature) + band;
+        }
+    }
+
+    private static class CacheEntry {
+        final Feature feature;
+        final int coordinateCount;
+
+        CacheEntry(Feature feature, int coordinateCount) {
+            this.feature = feature;
+            this.coordinateCount = coordinateCount;
+        }
+    }
+}
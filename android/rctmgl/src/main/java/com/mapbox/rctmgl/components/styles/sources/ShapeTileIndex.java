@@ -0,0 +1,281 @@
+package com.mapbox.rctmgl.components.styles.sources;
+
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.Geometry;
+import com.mapbox.services.commons.geojson.LineString;
+import com.mapbox.services.commons.geojson.MultiLineString;
+import com.mapbox.services.commons.geojson.MultiPoint;
+import com.mapbox.services.commons.geojson.MultiPolygon;
+import com.mapbox.services.commons.geojson.Point;
+import com.mapbox.services.commons.geojson.Polygon;
+import com.mapbox.services.commons.models.Position;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Slices the features of a ShapeSource into a tile pyramid, geojson-vt style: a tile is split into its four children
+ * until it holds at most maxFeaturesPerTile features, reaches maxZoom, or splitting it would copy all of its features
+ * into several children. Features are not clipped, a feature is listed in every leaf tile its bounding box touches,
+ * the engine still does the actual tiling of what it receives.
+ *
+ * Looking up the leaf tiles that cover the viewport gives the features worth handing to the engine.
+ */
+
+public class ShapeTileIndex {
+    public static final int DEFAULT_MAX_ZOOM = 14;
+    public static final int DEFAULT_MAX_FEATURES_PER_TILE = 1000;
+
+    private final List<Feature> mFeatures;
+    private final int mMaxZoom;
+    private final int mMaxFeaturesPerTile;
+
+    // minX, minY, maxX, maxY per feature in mercator coordinates between 0 and 1
+    private final double[] mFeatureBounds;
+
+    private final Map<Long, int[]> mLeafTiles = new HashMap<>();
+    private final Set<Long> mSplitTiles = new HashSet<>();
+
+    public ShapeTileIndex(List<Feature> features, int maxZoom, int maxFeaturesPerTile) {
+        mFeatures = features;
+        mMaxZoom = maxZoom;
+        mMaxFeaturesPerTile = maxFeaturesPerTile;
+        mFeatureBounds = new double[features.size() * 4];
+
+        int[] indices = new int[features.size()];
+        for (int i = 0; i < features.size(); i++) {
+            indices[i] = i;
+            computeBounds(features.get(i).getGeometry(), mFeatureBounds, i * 4);
+        }
+
+        split(0, 0, 0, indices);
+    }
+
+    public int getFeatureCount() {
+        return mFeatures.size();
+    }
+
+    int getLeafTileCount() {
+        return mLeafTiles.size();
+    }
+
+    /**
+     * @return sorted keys of the leaf tiles that intersect the given mercator bounds
+     */
+    public List<Long> getTiles(double minX, double minY, double maxX, double maxY) {
+        List<Long> tiles = new ArrayList<>();
+        collectTiles(0, 0, 0, minX, minY, maxX, maxY, tiles);
+        Collections.sort(tiles);
+        return tiles;
+    }
+
+    public List<Feature> getFeatures(List<Long> tiles) {
+        return getFeatures(tiles, null, Collections.<String>emptySet(), null);
+    }
+
+    /**
+     * Like getFeatures, for features that moved since the index was built, e.g. animated ones, the store's current
+     * version is returned when its position is within the bounds, regardless of the tile it was indexed in.
+     *
+     * @param bounds minX, minY, maxX, maxY in mercator coordinates the moved features are picked from
+     */
+    public List<Feature> getFeatures(List<Long> tiles, ShapeFeatureStore store, Set<String> movedFeatureIDs, double[] bounds) {
+        boolean[] isAdded = new boolean[mFeatures.size()];
+        List<Feature> features = new ArrayList<>();
+
+        for (Long tile : tiles) {
+            int[] indices = mLeafTiles.get(tile);
+            if (indices == null) {
+                continue;
+            }
+
+            for (int index : indices) {
+                if (isAdded[index]) {
+                    continue;
+                }
+
+                isAdded[index] = true;
+                Feature feature = mFeatures.get(index);
+
+                if (feature.getId() == null || !movedFeatureIDs.contains(feature.getId())) {
+                    features.add(feature);
+                }
+            }
+        }
+
+        if (movedFeatureIDs.isEmpty()) {
+            return features;
+        }
+
+        double[] featureBounds = new double[4];
+        for (String featureID : movedFeatureIDs) {
+            Feature feature = store.getFeature(featureID);
+            if (feature == null) {
+                continue; // removed since
+            }
+
+            computeBounds(feature.getGeometry(), featureBounds, 0);
+            if (intersects(featureBounds, 0, bounds[0], bounds[1], bounds[2], bounds[3])) {
+                features.add(feature);
+            }
+        }
+
+        return features;
+    }
+
+    private void split(int z, int x, int y, int[] indices) {
+        long key = toKey(z, x, y);
+
+        if (indices.length <= mMaxFeaturesPerTile || z >= mMaxZoom) {
+            mLeafTiles.put(key, indices);
+            return;
+        }
+
+        int[][] children = new int[4][];
+        int childCount = 0;
+        boolean isReduced = false;
+
+        for (int i = 0; i < 4; i++) {
+            children[i] = filter(indices, z + 1, x * 2 + (i % 2), y * 2 + (i / 2));
+
+            if (children[i].length > 0) {
+                childCount++;
+                isReduced = isReduced || children[i].length < indices.length;
+            }
+        }
+
+        if (childCount > 1 && !isReduced) {
+            // the features overlap all of the children, e.g. large polygons or long lines, splitting only copies them
+            mLeafTiles.put(key, indices);
+            return;
+        }
+
+        mSplitTiles.add(key);
+
+        for (int i = 0; i < 4; i++) {
+            if (children[i].length > 0) {
+                split(z + 1, x * 2 + (i % 2), y * 2 + (i / 2), children[i]);
+            }
+        }
+    }
+
+    private int[] filter(int[] indices, int z, int x, int y) {
+        double size = 1.0 / (1 << z);
+        double minX = x * size;
+        double minY = y * size;
+
+        int[] result = new int[indices.length];
+        int count = 0;
+
+        for (int index : indices) {
+            if (intersects(mFeatureBounds, index * 4, minX, minY, minX + size, minY + size)) {
+                result[count++] = index;
+            }
+        }
+
+        int[] trimmed = new int[count];
+        System.arraycopy(result, 0, trimmed, 0, count);
+        return trimmed;
+    }
+
+    private void collectTiles(int z, int x, int y, double minX, double minY, double maxX, double maxY, List<Long> tiles) {
+        long key = toKey(z, x, y);
+
+        if (mLeafTiles.containsKey(key)) {
+            tiles.add(key);
+            return;
+        }
+
+        if (!mSplitTiles.contains(key)) {
+            return; // empty tile
+        }
+
+        double childSize = 1.0 / (1 << (z + 1));
+        for (int i = 0; i < 4; i++) {
+            int childX = x * 2 + (i % 2);
+            int childY = y * 2 + (i / 2);
+            double childMinX = childX * childSize;
+            double childMinY = childY * childSize;
+
+            if (childMinX <= maxX && childMinX + childSize >= minX && childMinY <= maxY && childMinY + childSize >= minY) {
+                collectTiles(z + 1, childX, childY, minX, minY, maxX, maxY, tiles);
+            }
+        }
+    }
+
+    private static boolean intersects(double[] bounds, int i, double minX, double minY, double maxX, double maxY) {
+        return bounds[i] <= maxX && bounds[i + 2] >= minX && bounds[i + 1] <= maxY && bounds[i + 3] >= minY;
+    }
+
+    /**
+     * Writes minX, minY, maxX, maxY of the geometry into the bounds at offset i.
+     */
+    private static void computeBounds(Geometry geometry, double[] bounds, int i) {
+        bounds[i] = Double.POSITIVE_INFINITY;
+        bounds[i + 1] = Double.POSITIVE_INFINITY;
+        bounds[i + 2] = Double.NEGATIVE_INFINITY;
+        bounds[i + 3] = Double.NEGATIVE_INFINITY;
+
+        if (geometry instanceof Point) {
+            extend(bounds, i, ((Point) geometry).getCoordinates());
+        } else if (geometry instanceof MultiPoint) {
+            extend(bounds, i, ((MultiPoint) geometry).getCoordinates());
+        } else if (geometry instanceof LineString) {
+            extend(bounds, i, ((LineString) geometry).getCoordinates());
+        } else if (geometry instanceof MultiLineString) {
+            for (List<Position> line : ((MultiLineString) geometry).getCoordinates()) {
+                extend(bounds, i, line);
+            }
+        } else if (geometry instanceof Polygon) {
+            // the outer ring bounds the polygon
+            extend(bounds, i, ((Polygon) geometry).getCoordinates().get(0));
+        } else if (geometry instanceof MultiPolygon) {
+            for (List<List<Position>> polygon : ((MultiPolygon) geometry).getCoordinates()) {
+                extend(bounds, i, polygon.get(0));
+            }
+        }
+
+        if (bounds[i] > bounds[i + 2]) {
+            // no coordinates, e.g. geometry collections, keep it visible everywhere
+            bounds[i] = 0;
+            bounds[i + 1] = 0;
+            bounds[i + 2] = 1;
+            bounds[i + 3] = 1;
+        }
+    }
+
+    private static void extend(double[] bounds, int i, List<Position> positions) {
+        for (Position position : positions) {
+            extend(bounds, i, position);
+        }
+    }
+
+    private static void extend(double[] bounds, int i, Position position) {
+        double x = projectX(position.getLongitude());
+        double y = projectY(position.getLatitude());
+
+        bounds[i] = Math.min(bounds[i], x);
+        bounds[i + 1] = Math.min(bounds[i + 1], y);
+        bounds[i + 2] = Math.max(bounds[i + 2], x);
+        bounds[i + 3] = Math.max(bounds[i + 3], y);
+    }
+
+    public static double projectX(double lng) {
+        return lng / 360.0 + 0.5;
+    }
+
+    public static double projectY(double lat) {
+        double sin = Math.sin(lat * Math.PI / 180.0);
+        double y = 0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI;
+        return y < 0 ? 0 : y > 1 ? 1 : y;
+    }
+
+    private static long toKey(int z, int x, int y) {
+        return ((long) z << 58) | ((long) x << 29) | y;
+    }
+}
@@ -0,0 +1,226 @@
+package com.mapbox.rctmgl.components.styles.sources;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.mapbox.rctmgl.utils.GeoJSONFileReader;
+import com.mapbox.rctmgl.utils.GeoJSONUtils;
+import com.mapbox.rctmgl.utils.ShapeBufferDecoder;
+import com.mapbox.services.commons.geojson.FeatureCollection;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Parses ShapeSource GeoJSON and shape buffers off the UI thread. Each source owns a single-slot mailbox, a shape that is
+ * replaced before it was applied is dropped, so only the newest pending shape ever reaches the map.
+ */
+
+public class ShapeUpdateQueue {
+    public static final String LOG_TAG = ShapeUpdateQueue.class.getSimpleName();
+
+    public static final int FORMAT_GEOJSON = 0;
+    public static final int FORMAT_SHAPE_BUFFER = 1;
+    public static final int FORMAT_GEOJSON_URL = 2;
+
+    public static final int MAX_INDEX_THREADS = 2;
+
+    private static ExecutorService sParseExecutor;
+    private static ExecutorService sIndexExecutor;
+
+    private final AtomicReference<ShapeUpdate> mPendingShape = new AtomicReference<>();
+    private final AtomicBoolean mIsParsing = new AtomicBoolean(false);
+
+    private final AtomicInteger mSubmittedCount = new AtomicInteger();
+    private final AtomicInteger mCoalescedCount = new AtomicInteger();
+    private int mAppliedCount;
+
+    private volatile String mLatestShape;
+    private int mLatestFormat;
+
+    private Context mContext;
+    private Handler mMainHandler;
+    private OnShapeParsedListener mListener;
+
+    public interface OnShapeParsedListener {
+        void onShapeParsed(String shape, FeatureCollection featureCollection);
+        void onShapeParseFailed(String shape);
+    }
+
+    public ShapeUpdateQueue(Context context, OnShapeParsedListener listener) {
+        mContext = context.getApplicationContext();
+        mListener = listener;
+        mMainHandler = new Handler(Looper.getMainLooper());
+    }
+
+    public void offer(String geoJSONStr) {
+        offer(geoJSONStr, FORMAT_GEOJSON);
+    }
+
+    /**
+     * @param shape GeoJSON string, for FORMAT_SHAPE_BUFFER a base64 string or file url, see ShapeBufferDecoder,
+     *              for FORMAT_GEOJSON_URL a file:// or asset:// url of a GeoJSON file
+     */
+    public void offer(String shape, int format) {
+        mLatestShape = shape;
+        mLatestFormat = format;
+        mSubmittedCount.incrementAndGet();
+
+        if (mPendingShape.getAndSet(new ShapeUpdate(shape, format)) != null) {
+            mCoalescedCount.incrementAndGet();
+        }
+
+        scheduleParse();
+    }
+
+    /**
+     * @return true while a submitted shape has not been applied or dropped yet
+     */
+    public boolean isPending() {
+        return mLatestShape != null;
+    }
+
+    /**
+     * Drops the pending shape, whatever its format.
+     * @return true when a pending shape was dropped
+     */
+    public boolean cancel() {
+        return cancel(mLatestFormat);
+    }
+
+    /**
+     * Drops the pending shape when it was offered in the given format, so e.g. unsetting shape doesn't drop a
+     * shape buffer offered right before.
+     * @return true when a pending shape was dropped
+     */
+    public boolean cancel(int format) {
+        if (mLatestShape == null || mLatestFormat != format) {
+            return false;
+        }
+
+        mLatestShape = null; // a parse that is already running is dropped in deliver
+
+        if (mPendingShape.getAndSet(null) != null) {
+            mCoalescedCount.incrementAndGet();
+        }
+        return true;
+    }
+
+    public int getSubmittedCount() {
+        return mSubmittedCount.get();
+    }
+
+    public int getCoalescedCount() {
+        return mCoalescedCount.get();
+    }
+
+    public int getAppliedCount() {
+        return mAppliedCount;
+    }
+
+    private void scheduleParse() {
+        if (mIsParsing.compareAndSet(false, true)) {
+            getParseExecutor().execute(mParseRunnable);
+        }
+    }
+
+    private final Runnable mParseRunnable = new Runnable() {
+        @Override
+        public void run() {
+            try {
+                final ShapeUpdate update = mPendingShape.getAndSet(null);
+                if (update == null) {
+                    return;
+                }
+
+                final FeatureCollection featureCollection = parse(update);
+
+                if (mPendingShape.get() != null) {
+                    // a newer shape arrived while we were parsing this one
+                    mCoalescedCount.incrementAndGet();
+                    return;
+                }
+
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        deliver(update.shape, featureCollection);
+                    }
+                });
+            } finally {
+                mIsParsing.set(false);
+
+                if (mPendingShape.get() != null) {
+                    scheduleParse();
+                }
+            }
+        }
+    };
+
+    private void deliver(String shape, FeatureCollection featureCollection) {
+        if (shape != mLatestShape) {
+            mCoalescedCount.incrementAndGet();
+            return;
+        }
+
+        mLatestShape = null;
+
+        if (featureCollection == null) {
+            mListener.onShapeParseFailed(shape); // invalid shape, keep whatever is currently on the map
+            return;
+        }
+
+        mAppliedCount++;
+        mListener.onShapeParsed(shape, featureCollection);
+    }
+
+    private FeatureCollection parse(ShapeUpdate update) {
+        try {
+            switch (update.format) {
+                case FORMAT_SHAPE_BUFFER:
+                    return ShapeBufferDecoder.decode(update.shape);
+                case FORMAT_GEOJSON_URL:
+                    return GeoJSONFileReader.read(mContext, update.shape);
+                default:
+                    return GeoJSONUtils.toFeatureCollection(update.shape);
+            }
+        } catch (IOException | RuntimeException e) {
+            Log.w(LOG_TAG, "Invalid shape passed to ShapeSource: " + e.getLocalizedMessage());
+            return null;
+        }
+    }
+
+    private static class ShapeUpdate {
+        final String shape;
+        final int format;
+
+        ShapeUpdate(String shape, int format) {
+            this.shape = shape;
+            this.format = format;
+        }
+    }
+
+    static synchronized ExecutorService getParseExecutor() {
+        if (sParseExecutor == null) {
+            sParseExecutor = Executors.newSingleThreadExecutor();
+        }
+        return sParseExecutor;
+    }
+
+    /**
+     * Index builds and simplified variants of the features, kept off the parse thread so a large build doesn't
+     * hold back the latest shape of every other source.
+     */
+    static synchronized ExecutorService getIndexExecutor() {
+        if (sIndexExecutor == null) {
+            sIndexExecutor = Executors.newFixedThreadPool(MAX_INDEX_THREADS);
+        }
+        return sIndexExecutor;
+    }
+}
@@ -4,6 +4,7 @@ import android.os.StrictMode;
 import android.view.View;
 
 import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableNativeMap;
 import com.google.gson.JsonObject;
@@ -11,11 +12,13 @@ import com.mapbox.rctmgl.events.AbstractEvent;
 import com.mapbox.rctmgl.events.constants.EventKeys;
 import com.mapbox.rctmgl.events.constants.EventTypes;
 import com.mapbox.rctmgl.utils.ConvertUtils;
+import com.mapbox.rctmgl.utils.FeatureHitTester;
 import com.mapbox.rctmgl.utils.GeoJSONUtils;
 import com.mapbox.services.commons.geojson.Feature;
 import com.mapbox.services.commons.geojson.Geometry;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -25,6 +28,7 @@ import java.util.Map;
 public class FeatureClickEvent extends AbstractEvent {
     private String mEventKey;
     private Feature mFeature;
+    private List<FeatureHitTester.Hit> mHits;
 
     public FeatureClickEvent(View view, String eventKey, String eventType, Feature feature) {
         super(view, eventType);
@@ -32,6 +36,14 @@ public class FeatureClickEvent extends AbstractEvent {
         mEventKey = eventKey;
     }
 
+    /**
+     * Event for the closest of the pressed features, with all of them and their distance under hits.
+     */
+    public FeatureClickEvent(View view, String eventKey, String eventType, List<FeatureHitTester.Hit> hits) {
+        this(view, eventKey, eventType, hits.get(0).getFeature());
+        mHits = hits;
+    }
+
     @Override
     public String getKey() {
         return mEventKey;
@@ -42,16 +54,46 @@ public class FeatureClickEvent extends AbstractEvent {
         return GeoJSONUtils.fromFeature(mFeature);
     }
 
+    @Override
+    public WritableMap toJSON() {
+        WritableMap map = super.toJSON();
+
+        if (mHits != null) {
+            WritableArray hits = Arguments.createArray();
+
+            for (FeatureHitTester.Hit hit : mHits) {
+                WritableMap hitMap = Arguments.createMap();
+                hitMap.putMap("feature", GeoJSONUtils.fromFeature(hit.getFeature()));
+                hitMap.putDouble("distance", hit.getDistance());
+                hits.pushMap(hitMap);
+            }
+
+            map.putArray("hits", hits);
+        }
+
+        return map;
+    }
+
     public static FeatureClickEvent makeShapeSourceEvent(View view, Feature feature) {
         return new FeatureClickEvent(view, EventKeys.SHAPE_SOURCE_LAYER_CLICK,
                 EventTypes.SHAPE_SOURCE_LAYER_CLICK, feature);
     }
 
+    public static FeatureClickEvent makeShapeSourceEvent(View view, List<FeatureHitTester.Hit> hits) {
+        return new FeatureClickEvent(view, EventKeys.SHAPE_SOURCE_LAYER_CLICK,
+                EventTypes.SHAPE_SOURCE_LAYER_CLICK, hits);
+    }
+
     public static FeatureClickEvent makeVectorSourceEvent(View view, Feature feature) {
         return new FeatureClickEvent(view, EventKeys.VECTOR_SOURCE_LAYER_CLICK,
                 EventTypes.VECTOR_SOURCE_LAYER_CLICK, feature);
     }
 
+    public static FeatureClickEvent makeVectorSourceEvent(View view, List<FeatureHitTester.Hit> hits) {
+        return new FeatureClickEvent(view, EventKeys.VECTOR_SOURCE_LAYER_CLICK,
+                EventTypes.VECTOR_SOURCE_LAYER_CLICK, hits);
+    }
+
     public static FeatureClickEvent makeRasterSourceEvent(View view, Feature feature) {
         return new FeatureClickEvent(view, EventKeys.RASTER_SOURCE_LAYER_CLICK,
                 EventTypes.RASTER_SOURCE_LAYER_CLICK, feature);
@@ -23,6 +23,7 @@ public class EventKeys {
     public static final String SHAPE_SOURCE_LAYER_CLICK = ns("shapesource.layer.pressed");
     public static final String VECTOR_SOURCE_LAYER_CLICK = ns("vectorsource.layer.pressed");
     public static final String RASTER_SOURCE_LAYER_CLICK = ns("rastersource.layer.pressed");
+    public static final String SHAPE_SOURCE_ANDROID_CALLBACK = ns("shapesource.androidcallback");
 
     private static String ns(String name) {
         return String.format("%s.%s", NAMESPACE, name);
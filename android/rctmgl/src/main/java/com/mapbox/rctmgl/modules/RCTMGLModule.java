@@ -8,6 +8,7 @@ import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.common.MapBuilder;
 import com.mapbox.mapboxsdk.Mapbox;
@@ -17,6 +18,7 @@ import com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerMode;
 import com.mapbox.mapboxsdk.storage.FileSource;
 import com.mapbox.mapboxsdk.style.layers.Property;
 import com.mapbox.rctmgl.components.camera.constants.CameraMode;
+import com.mapbox.rctmgl.components.styles.RCTMGLStyleSheet;
 import com.mapbox.rctmgl.components.styles.RCTMGLStyleValue;
 import com.mapbox.rctmgl.components.styles.sources.RCTSource;
 import com.mapbox.rctmgl.events.constants.EventTypes;
@@ -302,4 +304,23 @@ public class RCTMGLModule extends ReactContextBaseJavaModule {
     public void isTelemetryEnabled(Promise promise) {
         promise.resolve(MapboxTelemetry.getInstance().isTelemetryEnabled());
     }
+
+    @ReactMethod
+    public void registerStyleSheet(final String id, ReadableMap style) {
+        // decoded here on the module thread, layers only look it up by id
+        RCTMGLStyleSheet.register(id, style);
+
+        mReactContext.runOnUiQueueThread(new Runnable() {
+            @Override
+            public void run() {
+                // restyles the layers using it, also the ones mounted before it was registered
+                RCTMGLStyleSheet.notifyRegistered(id);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void unregisterStyleSheet(String id) {
+        RCTMGLStyleSheet.unregister(id);
+    }
 }
@@ -39,18 +39,9 @@ public class DownloadMapImageTask extends AsyncTask<Map.Entry<String, String>, V
         List<Map.Entry<String, Bitmap>> images = new ArrayList<>();
 
         for (Map.Entry<String, String> object : objects) {
-            String uri = object.getValue();
-
-            if (uri.contains("://")) { // has scheme attempt to get bitmap from url
-                try {
-                    Bitmap bitmap = BitmapUtils.getBitmapFromURL(uri, null);
-                    images.add(new AbstractMap.SimpleEntry<String, Bitmap>(object.getKey(), bitmap));
-                } catch (Exception e) {
-                    Log.w(LOG_TAG, e.getLocalizedMessage());
-                }
-            } else {
-                // local asset required from JS require('image.png') or import icon from 'image.png' while in release mode
-                Bitmap bitmap = BitmapUtils.getBitmapFromResource(mContext, uri, null);
+            Bitmap bitmap = loadBitmap(mContext, object.getValue());
+
+            if (bitmap != null) {
                 images.add(new AbstractMap.SimpleEntry<String, Bitmap>(object.getKey(), bitmap));
             }
         }
@@ -58,6 +49,23 @@ public class DownloadMapImageTask extends AsyncTask<Map.Entry<String, String>, V
         return images;
     }
 
+    /**
+     * @return bitmap for an url or a drawable name, null when it can't be loaded
+     */
+    public static Bitmap loadBitmap(Context context, String uri) {
+        if (uri.contains("://")) { // has scheme attempt to get bitmap from url
+            try {
+                return BitmapUtils.getBitmapFromURL(uri, null);
+            } catch (Exception e) {
+                Log.w(LOG_TAG, e.getLocalizedMessage());
+                return null;
+            }
+        }
+
+        // local asset required from JS require('image.png') or import icon from 'image.png' while in release mode
+        return BitmapUtils.getBitmapFromResource(context, uri, null);
+    }
+
     @Override
     protected void onPostExecute(List<Map.Entry<String, Bitmap>> images) {
         if (images == null) {
@@ -0,0 +1,448 @@
+package com.mapbox.rctmgl.utils;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.mapbox.services.commons.geojson.Feature;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Evaluates a filter against features natively, for queries answered outside of the engine.
+ * Takes the same filter list as FilterParser, nested all/any/none included, with $type and $id
+ * matching the geometry type and the feature id like the engine does. Values are strictly typed, except
+ * that an id also matches a number it parses to.
+ *
+ * The filter is compiled once into a tree of conditions with their values already typed, "in" values
+ * in a hash set and a sorted array, so matching a feature doesn't allocate on our side.
+ */
+
+public class FeatureFilter {
+    private static final int KEY_PROPERTY = 0;
+    private static final int KEY_TYPE = 1;
+    private static final int KEY_ID = 2;
+
+    private final Condition mRoot;
+
+    private FeatureFilter(Condition root) {
+        mRoot = root;
+    }
+
+    /**
+     * @return the filter, or null when the list is empty and every feature matches
+     */
+    public static FeatureFilter fromFilterList(FilterParser.FilterList filterList) {
+        if (filterList == null || filterList.size() < 2) {
+            return null;
+        }
+        return new FeatureFilter(compileFilter(filterList));
+    }
+
+    public boolean matches(Feature feature) {
+        return mRoot.matches(feature);
+    }
+
+    /**
+     * @return number of features matching the filter
+     */
+    public int count(List<Feature> features) {
+        int count = 0;
+        for (int i = 0; i < features.size(); i++) {
+            if (mRoot.matches(features.get(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    //region Compiling
+
+    private static Condition compileFilter(FilterParser.FilterList filterList) {
+        if (filterList.size() == 1 && filterList.isFilterList(0)) {
+            return compileFilter(filterList.getFilterList(0));
+        }
+
+        int compound = FilterParser.getCompound(filterList.getString(0));
+        if (compound == 0) {
+            Condition condition = null;
+            int start = 0;
+
+            while (start < filterList.size()) {
+                int end = filterList.nextOperand(start);
+                condition = compileComparison(filterList, start, end);
+                start = end;
+            }
+            return condition;
+        }
+
+        return compileCompound(filterList, compound, 1, filterList.size());
+    }
+
+    private static Condition compileCompound(FilterParser.FilterList filterList, int compound, int start, int end) {
+        Condition[] conditions = new Condition[filterList.countOperands(start, end)];
+        int count = 0;
+
+        while (start < end) {
+            int operandCompound = filterList.isFilterList(start) ? 0 : FilterParser.getCompound(filterList.getString(start));
+
+            if (filterList.isFilterList(start)) {
+                conditions[count++] = compileFilter(filterList.getFilterList(start));
+                start++;
+            } else if (operandCompound > 0) {
+                // flattened nested compound, it takes the rest of the operands
+                conditions[count++] = compileCompound(filterList, operandCompound, start + 1, end);
+                start = end;
+            } else {
+                int operandEnd = filterList.nextOperand(start);
+                conditions[count++] = compileComparison(filterList, start, operandEnd);
+                start = operandEnd;
+            }
+        }
+
+        return new CompoundCondition(compound, Arrays.copyOf(conditions, count));
+    }
+
+    private static Condition compileComparison(FilterParser.FilterList filterList, int start, int end) {
+        String op = filterList.getString(start);
+
+        if (end - start < 2) {
+            throw new IllegalArgumentException("Filter " + op + " is missing its key");
+        }
+
+        String key = filterList.getString(start + 1);
+        Object[] values = filterList.getValues(start + 2, end);
+
+        switch (op) {
+            case "has":
+                return new HasCondition(key, false);
+            case "!has":
+                return new HasCondition(key, true);
+            case "in":
+                return new InCondition(key, values, false);
+            case "!in":
+                return new InCondition(key, values, true);
+        }
+
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Filter " + op + " " + key + " is missing its value");
+        }
+
+        switch (op) {
+            case "==":
+                return new EqualCondition(key, values[0], false);
+            case "!=":
+                return new EqualCondition(key, values[0], true);
+            case "<":
+                return new CompareCondition(key, values[0], true, false);
+            case "<=":
+                return new CompareCondition(key, values[0], true, true);
+            case ">":
+                return new CompareCondition(key, values[0], false, false);
+            case ">=":
+                return new CompareCondition(key, values[0], false, true);
+            default:
+                throw new IllegalArgumentException("Unknown filter operator " + op);
+        }
+    }
+
+    private static double parseNumber(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    //endregion
+
+    //region Conditions
+
+    private interface Condition {
+        boolean matches(Feature feature);
+    }
+
+    private static class CompoundCondition implements Condition {
+        final int compound;
+        final Condition[] conditions;
+
+        CompoundCondition(int compound, Condition[] conditions) {
+            this.compound = compound;
+            this.conditions = conditions;
+        }
+
+        @Override
+        public boolean matches(Feature feature) {
+            switch (compound) {
+                case FilterParser.COMPOUND_FILTER_ANY:
+                    for (int i = 0; i < conditions.length; i++) {
+                        if (conditions[i].matches(feature)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                case FilterParser.COMPOUND_FILTER_NONE:
+                    for (int i = 0; i < conditions.length; i++) {
+                        if (conditions[i].matches(feature)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                default:
+                    for (int i = 0; i < conditions.length; i++) {
+                        if (!conditions[i].matches(feature)) {
+                            return false;
+                        }
+                    }
+                    return true;
+            }
+        }
+    }
+
+    /**
+     * Looks up the value of its key and dispatches on its type, without boxing it.
+     */
+    private static abstract class KeyCondition implements Condition {
+        final String key;
+        final int keyType;
+
+        KeyCondition(String key) {
+            this.key = key;
+
+            if ("$type".equals(key)) {
+                keyType = KEY_TYPE;
+            } else if ("$id".equals(key)) {
+                keyType = KEY_ID;
+            } else {
+                keyType = KEY_PROPERTY;
+            }
+        }
+
+        @Override
+        public boolean matches(Feature feature) {
+            switch (keyType) {
+                case KEY_TYPE:
+                    return feature.getGeometry() != null ? matchesString(feature.getGeometry().getType()) : matchesMissing();
+                case KEY_ID:
+                    return feature.getId() != null ? matchesString(feature.getId()) : matchesMissing();
+            }
+
+            JsonObject properties = feature.getProperties();
+            if (properties == null) {
+                return matchesMissing();
+            }
+
+            JsonElement element = properties.get(key);
+            if (element == null || !element.isJsonPrimitive()) {
+                return matchesMissing();
+            }
+
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isNumber()) {
+                return matchesNumber(primitive.getAsDouble());
+            }
+            if (primitive.isBoolean()) {
+                return matchesBoolean(primitive.getAsBoolean());
+            }
+            return matchesString(primitive.getAsString());
+        }
+
+        abstract boolean matchesMissing();
+
+        abstract boolean matchesNumber(double value);
+
+        abstract boolean matchesString(String value);
+
+        abstract boolean matchesBoolean(boolean value);
+    }
+
+    private static class HasCondition extends KeyCondition {
+        final boolean negate;
+
+        HasCondition(String key, boolean negate) {
+            super(key);
+            this.negate = negate;
+        }
+
+        @Override
+        boolean matchesMissing() {
+            return negate;
+        }
+
+        @Override
+        boolean matchesNumber(double value) {
+            return !negate;
+        }
+
+        @Override
+        boolean matchesString(String value) {
+            return !negate;
+        }
+
+        @Override
+        boolean matchesBoolean(boolean value) {
+            return !negate;
+        }
+    }
+
+    /**
+     * == and !=. Ids are strings while the filter may hold them as numbers, so an id is equal to a number
+     * when it parses to it. Properties only match values of their own type.
+     */
+    private static class EqualCondition extends KeyCondition {
+        final boolean negate;
+        final String string;
+        final double number;
+        final Boolean bool;
+
+        EqualCondition(String key, Object expected, boolean negate) {
+            super(key);
+            this.negate = negate;
+            this.string = expected instanceof String ? (String) expected : null;
+            this.number = expected instanceof Double ? (Double) expected : Double.NaN;
+            this.bool = expected instanceof Boolean ? (Boolean) expected : null;
+        }
+
+        @Override
+        boolean matchesMissing() {
+            return negate;
+        }
+
+        @Override
+        boolean matchesNumber(double value) {
+            return (value == number) != negate;
+        }
+
+        @Override
+        boolean matchesString(String value) {
+            boolean isEqual;
+            if (string != null) {
+                isEqual = string.equals(value);
+            } else {
+                isEqual = keyType == KEY_ID && !Double.isNaN(number) && parseNumber(value) == number;
+            }
+            return isEqual != negate;
+        }
+
+        @Override
+        boolean matchesBoolean(boolean value) {
+            return (bool != null && bool == value) != negate;
+        }
+    }
+
+    private static class InCondition extends KeyCondition {
+        final boolean negate;
+        final Set<String> strings = new HashSet<>();
+
+        // also looked up for ids that parse to a number
+        final double[] numbers;
+
+        boolean hasTrue;
+        boolean hasFalse;
+
+        InCondition(String key, Object[] values, boolean negate) {
+            super(key);
+            this.negate = negate;
+
+            double[] numbers = new double[values.length];
+            int numberCount = 0;
+
+            for (Object value : values) {
+                if (value instanceof Boolean) {
+                    if ((Boolean) value) {
+                        hasTrue = true;
+                    } else {
+                        hasFalse = true;
+                    }
+                    continue;
+                }
+
+                if (value instanceof String) {
+                    strings.add((String) value);
+                } else if (value instanceof Double) {
+                    numbers[numberCount++] = (Double) value;
+                }
+            }
+
+            this.numbers = Arrays.copyOf(numbers, numberCount);
+            Arrays.sort(this.numbers);
+        }
+
+        @Override
+        boolean matchesMissing() {
+            return negate;
+        }
+
+        @Override
+        boolean matchesNumber(double value) {
+            return (Arrays.binarySearch(numbers, value) >= 0) != negate;
+        }
+
+        @Override
+        boolean matchesString(String value) {
+            boolean isIn = strings.contains(value)
+                    || (keyType == KEY_ID && numbers.length > 0 && Arrays.binarySearch(numbers, parseNumber(value)) >= 0);
+            return isIn != negate;
+        }
+
+        @Override
+        boolean matchesBoolean(boolean value) {
+            return (value ? hasTrue : hasFalse) != negate;
+        }
+    }
+
+    /**
+     * <, <=, > and >=, only between two numbers or two strings like the engine.
+     */
+    private static class CompareCondition extends KeyCondition {
+        final boolean isLess;
+        final boolean orEqual;
+        final String string;
+        final double number;
+
+        CompareCondition(String key, Object expected, boolean isLess, boolean orEqual) {
+            super(key);
+            this.isLess = isLess;
+            this.orEqual = orEqual;
+            this.string = expected instanceof String ? (String) expected : null;
+            this.number = expected instanceof Double ? (Double) expected : Double.NaN;
+        }
+
+        @Override
+        boolean matchesMissing() {
+            return false;
+        }
+
+        @Override
+        boolean matchesNumber(double value) {
+            if (Double.isNaN(number)) {
+                return false;
+            }
+            return matchesComparison(Double.compare(value, number));
+        }
+
+        @Override
+        boolean matchesString(String value) {
+            if (string == null) {
+                return false;
+            }
+            return matchesComparison(value.compareTo(string));
+        }
+
+        @Override
+        boolean matchesBoolean(boolean value) {
+            return false;
+        }
+
+        private boolean matchesComparison(int comparison) {
+            if (comparison == 0) {
+                return orEqual;
+            }
+            return (comparison < 0) == isLess;
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,294 @@
+package com.mapbox.rctmgl.utils;
+
+import android.graphics.PointF;
+
+import com.mapbox.mapboxsdk.geometry.LatLng;
+import com.mapbox.mapboxsdk.maps.Projection;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.Geometry;
+import com.mapbox.services.commons.geojson.LineString;
+import com.mapbox.services.commons.geojson.MultiLineString;
+import com.mapbox.services.commons.geojson.MultiPoint;
+import com.mapbox.services.commons.geojson.MultiPolygon;
+import com.mapbox.services.commons.geojson.Point;
+import com.mapbox.services.commons.geojson.Polygon;
+import com.mapbox.services.commons.models.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ranks the features found under a press by their distance on screen to the pressed point, measured to
+ * the point itself, the closest segment of a line, or a polygon's outline with presses inside it at 0.
+ * Distances are in screen pixels, geometries are projected with the map's current camera.
+ *
+ * Features within the tolerance are all under the finger, the one rendered on top wins among them, so a line
+ * drawn over a fill is picked over the fill the press is inside of. Features split across tiles are queried
+ * once per tile, only the best ranked copy of each is kept.
+ */
+
+public class FeatureHitTester {
+    private final Projection mProjection;
+    private final double mX;
+    private final double mY;
+    private final double mTolerance;
+    private final List<Hit> mHits = new ArrayList<>();
+
+    /**
+     * @param tolerance distance in screen pixels within which features count as pressed
+     */
+    public FeatureHitTester(Projection projection, PointF screenPoint, double tolerance) {
+        this(projection, screenPoint.x, screenPoint.y, tolerance);
+    }
+
+    FeatureHitTester(Projection projection, double x, double y, double tolerance) {
+        mProjection = projection;
+        mX = x;
+        mY = y;
+        mTolerance = tolerance;
+    }
+
+    /**
+     * Features don't tell their layer, but the engine returns those of the top most layer first, so their
+     * position stands in for the z-order of their layer.
+     *
+     * @param features features of one or more layers in the order the engine returned them
+     */
+    public void addFeatures(List<Feature> features) {
+        for (int i = 0; i < features.size(); i++) {
+            Feature feature = features.get(i);
+            addHit(feature, getDistance(feature), features.size() - i);
+        }
+    }
+
+    /**
+     * @param zIndex higher for features drawn on top
+     */
+    void addHit(Feature feature, double distance, int zIndex) {
+        mHits.add(new Hit(feature, distance, zIndex));
+    }
+
+    /**
+     * @param maxResults how many of the closest features to return
+     * @return the closest features first, top most layer first among those under the finger, features without
+     * a geometry last
+     */
+    public List<Hit> rank(int maxResults) {
+        List<Hit> hits = new ArrayList<>(mHits);
+
+        // stable, so features keep the engine's order when they tie
+        Collections.sort(hits, new Comparator<Hit>() {
+            @Override
+            public int compare(Hit a, Hit b) {
+                int comparison = Double.compare(getRankDistance(a), getRankDistance(b));
+                if (comparison != 0) {
+                    return comparison;
+                }
+                return b.zIndex - a.zIndex;
+            }
+        });
+
+        int limit = Math.max(maxResults, 1);
+        List<Hit> results = new ArrayList<>(Math.min(hits.size(), limit));
+        Set<Object> seenKeys = new HashSet<>();
+
+        for (Hit hit : hits) {
+            if (results.size() == limit) {
+                break;
+            }
+
+            if (seenKeys.add(getFeatureKey(hit.feature))) {
+                results.add(hit);
+            }
+        }
+
+        return results;
+    }
+
+    private double getRankDistance(Hit hit) {
+        return hit.distance <= mTolerance ? 0.0 : hit.distance;
+    }
+
+    /**
+     * @return the id, or without one the geometry type and properties, which copies of a feature from
+     * different tiles share
+     */
+    private static Object getFeatureKey(Feature feature) {
+        if (feature.getId() != null) {
+            return feature.getId();
+        }
+
+        String type = feature.getGeometry() != null ? feature.getGeometry().getType() : null;
+        return Arrays.asList(type, feature.getProperties());
+    }
+
+    public double getDistance(Feature feature) {
+        Geometry geometry = feature.getGeometry();
+        return geometry != null ? getDistance(geometry) : Double.POSITIVE_INFINITY;
+    }
+
+    private double getDistance(Geometry geometry) {
+        if (geometry instanceof Point) {
+            return getPositionDistance(((Point) geometry).getCoordinates());
+        } else if (geometry instanceof MultiPoint) {
+            double distance = Double.POSITIVE_INFINITY;
+            for (Position position : ((MultiPoint) geometry).getCoordinates()) {
+                distance = Math.min(distance, getPositionDistance(position));
+            }
+            return distance;
+        } else if (geometry instanceof LineString) {
+            return getLineDistance(((LineString) geometry).getCoordinates());
+        } else if (geometry instanceof MultiLineString) {
+            double distance = Double.POSITIVE_INFINITY;
+            for (List<Position> line : ((MultiLineString) geometry).getCoordinates()) {
+                distance = Math.min(distance, getLineDistance(line));
+            }
+            return distance;
+        } else if (geometry instanceof Polygon) {
+            return getPolygonDistance(((Polygon) geometry).getCoordinates());
+        } else if (geometry instanceof MultiPolygon) {
+            double distance = Double.POSITIVE_INFINITY;
+            for (List<List<Position>> polygon : ((MultiPolygon) geometry).getCoordinates()) {
+                distance = Math.min(distance, getPolygonDistance(polygon));
+            }
+            return distance;
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    private double getPositionDistance(Position position) {
+        PointF point = mProjection.toScreenLocation(new LatLng(position.getLatitude(), position.getLongitude()));
+        return getPointDistance(mX, mY, point.x, point.y);
+    }
+
+    private double getLineDistance(List<Position> line) {
+        double[][] points = project(line);
+        return getPolylineDistance(mX, mY, points[0], points[1]);
+    }
+
+    private double getPolygonDistance(List<List<Position>> rings) {
+        if (rings.isEmpty()) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        boolean isInside = false;
+        double distance = Double.POSITIVE_INFINITY;
+
+        for (int i = 0; i < rings.size(); i++) {
+            double[][] points = project(rings.get(i));
+            boolean isInRing = isInRing(mX, mY, points[0], points[1]);
+
+            if (i == 0) {
+                isInside = isInRing;
+            } else if (isInRing) {
+                isInside = false; // in a hole
+            }
+
+            distance = Math.min(distance, getPolylineDistance(mX, mY, points[0], points[1]));
+        }
+
+        return isInside ? 0.0 : distance;
+    }
+
+    private double[][] project(List<Position> positions) {
+        double[] xs = new double[positions.size()];
+        double[] ys = new double[positions.size()];
+
+        for (int i = 0; i < positions.size(); i++) {
+            Position position = positions.get(i);
+            PointF point = mProjection.toScreenLocation(new LatLng(position.getLatitude(), position.getLongitude()));
+            xs[i] = point.x;
+            ys[i] = point.y;
+        }
+
+        return new double[][]{ xs, ys };
+    }
+
+    //region Screen space math
+
+    public static double getPointDistance(double px, double py, double x, double y) {
+        double dx = px - x;
+        double dy = py - y;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    public static double getSegmentDistance(double px, double py, double ax, double ay, double bx, double by) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double lengthSquared = dx * dx + dy * dy;
+
+        if (lengthSquared == 0.0) {
+            return getPointDistance(px, py, ax, ay);
+        }
+
+        // closest point of the segment, clamped to its ends
+        double t = ((px - ax) * dx + (py - ay) * dy) / lengthSquared;
+        t = Math.max(0.0, Math.min(1.0, t));
+
+        return getPointDistance(px, py, ax + t * dx, ay + t * dy);
+    }
+
+    public static double getPolylineDistance(double px, double py, double[] xs, double[] ys) {
+        if (xs.length == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        if (xs.length == 1) {
+            return getPointDistance(px, py, xs[0], ys[0]);
+        }
+
+        double distance = Double.POSITIVE_INFINITY;
+        for (int i = 1; i < xs.length; i++) {
+            distance = Math.min(distance, getSegmentDistance(px, py, xs[i - 1], ys[i - 1], xs[i], ys[i]));
+        }
+        return distance;
+    }
+
+    /**
+     * Even-odd test, the ring may or may not repeat its first point at the end.
+     */
+    public static boolean isInRing(double px, double py, double[] xs, double[] ys) {
+        boolean isInside = false;
+
+        for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+            boolean crosses = (ys[i] > py) != (ys[j] > py)
+                    && px < (xs[j] - xs[i]) * (py - ys[i]) / (ys[j] - ys[i]) + xs[i];
+
+            if (crosses) {
+                isInside = !isInside;
+            }
+        }
+
+        return isInside;
+    }
+
+    //endregion
+
+    public static class Hit {
+        private final Feature feature;
+        private final double distance;
+        private final int zIndex;
+
+        Hit(Feature feature, double distance, int zIndex) {
+            this.feature = feature;
+            this.distance = distance;
+            this.zIndex = zIndex;
+        }
+
+        public Feature getFeature() {
+            return feature;
+        }
+
+        /**
+         * @return distance in screen pixels from the press, 0 inside of a polygon
+         */
+        public double getDistance() {
+            return distance;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.mapbox.rctmgl.utils;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.mapbox.services.commons.geojson.Feature;
+
+import java.util.List;
+
+/**
+ * What a feature query sends back over the bridge: the features with all or some of their properties,
+ * with or without geometry, only their ids, or only how many there are.
+ * Results are built as bridge maps and arrays right away, without going through a json string.
+ */
+
+public class FeatureQueryOptions {
+    private String[] mPropertyKeys;
+    private boolean mIdsOnly;
+    private boolean mCountOnly;
+    private boolean mOmitGeometry;
+
+    /**
+     * @param options properties, idsOnly, countOnly and omitGeometry, null for whole features
+     */
+    public static FeatureQueryOptions fromReadableMap(ReadableMap options) {
+        FeatureQueryOptions queryOptions = new FeatureQueryOptions();
+
+        if (options == null) {
+            return queryOptions;
+        }
+
+        if (options.hasKey("properties") && !options.isNull("properties")) {
+            ReadableArray keys = options.getArray("properties");
+            queryOptions.mPropertyKeys = new String[keys.size()];
+
+            for (int i = 0; i < keys.size(); i++) {
+                queryOptions.mPropertyKeys[i] = keys.getString(i);
+            }
+        }
+
+        queryOptions.mIdsOnly = options.hasKey("idsOnly") && options.getBoolean("idsOnly");
+        queryOptions.mCountOnly = options.hasKey("countOnly") && options.getBoolean("countOnly");
+        queryOptions.mOmitGeometry = options.hasKey("omitGeometry") && options.getBoolean("omitGeometry");
+        return queryOptions;
+    }
+
+    /**
+     * Puts count, ids or the feature collection as data into the payload.
+     */
+    public void putResult(WritableMap payload, List<Feature> features) {
+        if (mCountOnly) {
+            payload.putInt("count", features.size());
+        } else if (mIdsOnly) {
+            WritableArray ids = Arguments.createArray();
+            for (Feature feature : features) {
+                if (feature.getId() != null) {
+                    ids.pushString(feature.getId());
+                } else {
+                    ids.pushNull();
+                }
+            }
+            payload.putArray("ids", ids);
+        } else {
+            payload.putMap("data", makeFeatureCollection(features));
+        }
+    }
+
+    private WritableMap makeFeatureCollection(List<Feature> features) {
+        WritableArray featureArray = Arguments.createArray();
+
+        for (Feature feature : features) {
+            featureArray.pushMap(makeFeature(feature));
+        }
+
+        WritableMap featureCollection = Arguments.createMap();
+        featureCollection.putString("type", "FeatureCollection");
+        featureCollection.putArray("features", featureArray);
+        return featureCollection;
+    }
+
+    private WritableMap makeFeature(Feature feature) {
+        WritableMap map = Arguments.createMap();
+        map.putString("type", "Feature");
+
+        if (feature.getId() != null) {
+            map.putString("id", feature.getId());
+        }
+
+        if (mOmitGeometry || feature.getGeometry() == null) {
+            map.putNull("geometry");
+        } else {
+            map.putMap("geometry", GeoJSONUtils.fromGeometry(feature.getGeometry()));
+        }
+
+        map.putMap("properties", makeProperties(feature.getProperties()));
+        return map;
+    }
+
+    private WritableMap makeProperties(JsonObject properties) {
+        if (properties == null) {
+            return Arguments.createMap();
+        }
+
+        if (mPropertyKeys == null) {
+            return ConvertUtils.toWritableMap(properties);
+        }
+
+        // only the requested keys, the rest of the properties is never converted
+        WritableMap map = Arguments.createMap();
+
+        for (String key : mPropertyKeys) {
+            JsonElement element = properties.get(key);
+
+            if (element == null || element.isJsonNull()) {
+                continue;
+            }
+
+            if (element.isJsonPrimitive()) {
+                JsonPrimitive primitive = element.getAsJsonPrimitive();
+
+                if (primitive.isBoolean()) {
+                    map.putBoolean(key, primitive.getAsBoolean());
+                } else if (primitive.isNumber()) {
+                    map.putDouble(key, primitive.getAsDouble());
+                } else {
+                    map.putString(key, primitive.getAsString());
+                }
+            } else if (element.isJsonArray()) {
+                map.putArray(key, ConvertUtils.toWritableArray(element.getAsJsonArray()));
+            } else if (element.isJsonObject()) {
+                map.putMap(key, ConvertUtils.toWritableMap(element.getAsJsonObject()));
+            }
+        }
+
+        return map;
+    }
+}
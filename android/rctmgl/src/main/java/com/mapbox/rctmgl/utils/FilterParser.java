@@ -4,11 +4,9 @@ import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.mapbox.mapboxsdk.style.layers.Filter;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -37,204 +35,294 @@ public class FilterParser {
     public static final int COMPOUND_FILTER_ANY = 2;
     public static final int COMPOUND_FILTER_NONE = 1;
 
+    public static final int MAX_CACHED_FILTERS = 256;
+
+    // filter list -> statement, layers and queries tend to send the same filters over and over
+    private static final Map<FilterList, Filter.Statement> sFilterCache =
+            new LinkedHashMap<FilterList, Filter.Statement>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<FilterList, Filter.Statement> eldest) {
+                    return size() > MAX_CACHED_FILTERS;
+                }
+            };
+
+    /**
+     * Copies the bridged filter items, an array item holds a nested filter, e.g. an any inside of an all.
+     */
     public static FilterList getFilterList(ReadableArray readableArray) {
-        List<Map<String, Object>> rawFilterList = new ArrayList<>();
+        Object[] values = new Object[readableArray.size()];
 
-        for (int i = 0; i < readableArray.size(); i++) {
+        for (int i = 0; i < values.length; i++) {
             ReadableMap readableMap = readableArray.getMap(i);
 
-            Map<String, Object> filterItem = new HashMap<>();
-            filterItem.put("type", readableMap.getString("type"));
-
             switch (readableMap.getString("type")) {
                 case "boolean":
-                    filterItem.put("value", readableMap.getBoolean("value"));
+                    values[i] = readableMap.getBoolean("value");
                     break;
                 case "number":
-                    filterItem.put("value", readableMap.getDouble("value"));
+                    values[i] = readableMap.getDouble("value");
+                    break;
+                case "array":
+                    values[i] = getFilterList(readableMap.getArray("value"));
                     break;
                 default:
-                    filterItem.put("value", readableMap.getString("value"));
+                    values[i] = readableMap.getString("value");
                     break;
             }
-
-            rawFilterList.add(filterItem);
         }
 
-        return new FilterList(rawFilterList);
+        return new FilterList(values);
     }
 
+    /**
+     * Builds the statement in one pass over the list, or returns the one built for an equal list before.
+     */
     public static Filter.Statement parse(FilterList filterList) {
-        Filter.Statement completeStatement = null;
-
-        int compound = 0;
-
         // no filter
         if (filterList == null || filterList.size() < 2) {
             return null;
         }
 
-        // peak ahead to see if this is a compound filter or not
-        switch (filterList.getString(0)) {
-            case "all":
-                compound = COMPOUND_FILTER_ALL;
-                break;
-            case "any":
-                compound = COMPOUND_FILTER_ANY;
-                break;
-            case "none":
-                compound = COMPOUND_FILTER_NONE;
-                break;
+        synchronized (sFilterCache) {
+            Filter.Statement statement = sFilterCache.get(filterList);
+            if (statement != null) {
+                return statement;
+            }
         }
 
-        List<Filter.Statement> compoundStatement = new ArrayList<>();
+        Filter.Statement statement = parseFilter(filterList);
 
-        if (compound > 0) {
-            filterList.removeFirst();
+        if (statement != null) {
+            synchronized (sFilterCache) {
+                sFilterCache.put(filterList, statement);
+            }
         }
 
-        while (!filterList.isEmpty()) {
-
-            int posPointer = 1;
+        return statement;
+    }
 
-            while (posPointer < filterList.size()) {
-                if (FILTER_OPS.contains(filterList.getString(posPointer))) {
-                    break;
-                }
-                posPointer++;
-            }
+    public static void clearFilterCache() {
+        synchronized (sFilterCache) {
+            sFilterCache.clear();
+        }
+    }
 
-            // TODO: throw useful exceptions here when popping from list fails due to an invalid filter
+    public static int getCachedFilterCount() {
+        synchronized (sFilterCache) {
+            return sFilterCache.size();
+        }
+    }
 
-            FilterList currentFilters = filterList.subList(posPointer);
-            filterList.removeAll(currentFilters);
+    public static int getCompound(String op) {
+        switch (op) {
+            case "all":
+                return COMPOUND_FILTER_ALL;
+            case "any":
+                return COMPOUND_FILTER_ANY;
+            case "none":
+                return COMPOUND_FILTER_NONE;
+            default:
+                return 0;
+        }
+    }
 
-            String op = currentFilters.getString(0);
-            currentFilters.removeFirst();
+    private static Filter.Statement parseFilter(FilterList filterList) {
+        if (filterList.size() == 1 && filterList.isFilterList(0)) {
+            return parseFilter(filterList.getFilterList(0));
+        }
 
+        int compound = getCompound(filterList.getString(0));
+        if (compound == 0) {
             Filter.Statement statement = null;
-            String key = currentFilters.getString(0);
-            currentFilters.removeFirst();
+            int start = 0;
 
-            Object[] values = getObjectValues(currentFilters);
-
-            switch (op) {
-                case "in":
-                    statement = Filter.in(key, values);
-                    break;
-                case "!in":
-                    statement = Filter.notIn(key, values);
-                    break;
-                case "<=":
-                    statement = Filter.lte(key, values[0]);
-                    break;
-                case "<":
-                    statement = Filter.lt(key, values[0]);
-                    break;
-                case ">=":
-                    statement = Filter.gte(key, values[0]);
-                    break;
-                case ">":
-                    statement = Filter.gt(key, values[0]);
-                    break;
-                case "!=":
-                    statement = Filter.neq(key, values[0]);
-                    break;
-                case "==":
-                    statement = Filter.eq(key, values[0]);
-                    break;
-                case "has":
-                    statement = Filter.has(key);
-                    break;
-                case "!has":
-                    statement = Filter.notHas(key);
-                    break;
+            // a plain list holds one comparison, keep the last one if there are more like we always did
+            while (start < filterList.size()) {
+                int end = filterList.nextOperand(start);
+                statement = parseComparison(filterList, start, end);
+                start = end;
             }
+            return statement;
+        }
+
+        return parseCompound(filterList, compound, 1, filterList.size());
+    }
 
-            if (compound > 0) {
-                compoundStatement.add(statement);
+    /**
+     * @param start index of the first operand
+     * @param end index after the last operand
+     */
+    private static Filter.Statement parseCompound(FilterList filterList, int compound, int start, int end) {
+        Filter.Statement[] statements = new Filter.Statement[filterList.countOperands(start, end)];
+        int count = 0;
+
+        while (start < end) {
+            int operandCompound = filterList.isFilterList(start) ? 0 : getCompound(filterList.getString(start));
+
+            if (filterList.isFilterList(start)) {
+                statements[count++] = parseFilter(filterList.getFilterList(start));
+                start++;
+            } else if (operandCompound > 0) {
+                // flattened nested compound, it takes the rest of the operands
+                statements[count++] = parseCompound(filterList, operandCompound, start + 1, end);
+                start = end;
             } else {
-                completeStatement = statement;
+                int operandEnd = filterList.nextOperand(start);
+                statements[count++] = parseComparison(filterList, start, operandEnd);
+                start = operandEnd;
             }
         }
 
-        if (compound > 0) {
-            Filter.Statement[] statements = new Filter.Statement[compoundStatement.size()];
-            compoundStatement.toArray(statements);
-
-            switch (compound) {
-                case COMPOUND_FILTER_ALL:
-                    return Filter.all(statements);
-                case COMPOUND_FILTER_ANY:
-                    return Filter.any(statements);
-                case COMPOUND_FILTER_NONE:
-                    return Filter.none(statements);
-            }
+        if (count < statements.length) {
+            statements = Arrays.copyOf(statements, count);
         }
 
-        return completeStatement;
+        switch (compound) {
+            case COMPOUND_FILTER_ANY:
+                return Filter.any(statements);
+            case COMPOUND_FILTER_NONE:
+                return Filter.none(statements);
+            default:
+                return Filter.all(statements);
+        }
     }
 
-    private static Object[] getObjectValues(FilterList filterList) {
-        List<Object> objects = new ArrayList<>();
+    private static Filter.Statement parseComparison(FilterList filterList, int start, int end) {
+        String op = filterList.getString(start);
+
+        if (end - start < 2) {
+            throw new IllegalArgumentException("Filter " + op + " is missing its key");
+        }
+
+        String key = filterList.getString(start + 1);
+
+        switch (op) {
+            case "has":
+                return Filter.has(key);
+            case "!has":
+                return Filter.notHas(key);
+        }
+
+        Object[] values = filterList.getValues(start + 2, end);
 
-        for (int i = 0; i < filterList.size(); i++) {
-            Map<String, Object> item = filterList.get(i);
-            objects.add(item.get("value"));
+        switch (op) {
+            case "in":
+                return Filter.in(key, values);
+            case "!in":
+                return Filter.notIn(key, values);
         }
 
-        return objects.toArray(new Object[objects.size()]);
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Filter " + op + " " + key + " is missing its value");
+        }
+
+        switch (op) {
+            case "<=":
+                return Filter.lte(key, values[0]);
+            case "<":
+                return Filter.lt(key, values[0]);
+            case ">=":
+                return Filter.gte(key, values[0]);
+            case ">":
+                return Filter.gt(key, values[0]);
+            case "!=":
+                return Filter.neq(key, values[0]);
+            case "==":
+                return Filter.eq(key, values[0]);
+            default:
+                throw new IllegalArgumentException("Unknown filter operator " + op);
+        }
     }
 
+    /**
+     * Immutable list of filter items: strings, doubles, booleans and nested FilterLists.
+     * Equal lists have equal hash codes, so a list is its own key in the filter cache.
+     */
     public static class FilterList {
-        private List<Map<String, Object>> mFilterList;
+        private final Object[] mValues;
+        private int mHashCode;
 
-        FilterList(List<Map<String, Object>> filterList) {
-            mFilterList = new ArrayList<>(filterList);
+        FilterList(Object[] values) {
+            mValues = values;
         }
 
-        Object removeFirst() {
-            Map<String, Object> item = mFilterList.remove(0);
-            return item.get("value");
+        public int size() {
+            return mValues.length;
         }
 
-        Map<String, Object> get(int index) {
-            Map<String, Object> item = mFilterList.get(index);
+        public boolean isEmpty() {
+            return mValues.length == 0;
+        }
 
-            if (item == null) {
-                return null;
-            }
+        public Object getValue(int index) {
+            return mValues[index];
+        }
 
-            return item;
+        public String getString(int index) {
+            Object value = mValues[index];
+            return value instanceof String ? (String) value : "";
         }
 
-        String getString(int index) {
-            Map<String, Object> item = get(index);
+        public boolean isFilterList(int index) {
+            return mValues[index] instanceof FilterList;
+        }
 
-            if (!item.get("type").equals("string")) {
-                return "";
-            }
+        public FilterList getFilterList(int index) {
+            return (FilterList) mValues[index];
+        }
 
-            return (String)item.get("value");
+        /**
+         * @return values in [start, end)
+         */
+        public Object[] getValues(int start, int end) {
+            return Arrays.copyOfRange(mValues, start, end);
         }
 
-        int size() {
-            return mFilterList.size();
+        /**
+         * @return index of the operand after the comparison starting at index
+         */
+        public int nextOperand(int index) {
+            int end = index + 1;
+            while (end < mValues.length && !isOperandStart(end)) {
+                end++;
+            }
+            return end;
+        }
+
+        int countOperands(int start, int end) {
+            int count = 0;
+            for (int i = start; i < end; i++) {
+                if (isOperandStart(i)) {
+                    count++;
+                }
+            }
+            return count;
         }
 
-        boolean isEmpty() {
-            return mFilterList.isEmpty();
+        private boolean isOperandStart(int index) {
+            Object value = mValues[index];
+            return value instanceof FilterList || (value instanceof String && FILTER_OPS.contains(value));
         }
 
-        FilterList subList(int lastPosition) {
-            List<Map<String, Object>> slice = mFilterList.subList(0, lastPosition);
-            return new FilterList(slice);
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FilterList)) {
+                return false;
+            }
+
+            FilterList other = (FilterList) o;
+            return hashCode() == other.hashCode() && Arrays.equals(mValues, other.mValues);
         }
 
-        void removeAll(FilterList itemsToRemove) {
-            for (int i = 0; i < itemsToRemove.size(); i++) {
-                mFilterList.remove(itemsToRemove.get(i));
+        @Override
+        public int hashCode() {
+            if (mHashCode == 0) {
+                mHashCode = Arrays.hashCode(mValues);
             }
+            return mHashCode;
         }
     }
 }
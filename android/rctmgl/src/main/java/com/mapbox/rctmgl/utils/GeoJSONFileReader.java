@@ -0,0 +1,195 @@
+package com.mapbox.rctmgl.utils;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.net.Uri;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.FeatureCollection;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads GeoJSON from file:// and asset:// urls with a streaming parser over a memory-mapped file.
+ * Features are decoded one at a time straight from the mapped bytes, so the GeoJSON text is never held on the heap.
+ * The parsed features still are, several times the size of the text, so files over MAX_FILE_SIZE are refused.
+ */
+
+public class GeoJSONFileReader {
+    public static final String FILE_SCHEME = "file";
+    public static final String ASSET_SCHEME = "asset";
+
+    public static final long MAX_FILE_SIZE = 16 * 1024 * 1024;
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    public static boolean isLocalURL(String url) {
+        if (url == null) {
+            return false;
+        }
+
+        String scheme = Uri.parse(url).getScheme();
+        return FILE_SCHEME.equals(scheme) || ASSET_SCHEME.equals(scheme);
+    }
+
+    public static FeatureCollection read(Context context, String url) throws IOException {
+        return read(open(context, url));
+    }
+
+    static FeatureCollection read(InputStream inputStream) throws IOException {
+        JsonReader reader = new JsonReader(new InputStreamReader(inputStream, UTF8));
+
+        try {
+            return readFeatureCollection(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static FeatureCollection readFeatureCollection(JsonReader reader) throws IOException {
+        Gson gson = GeoJSONUtils.getGson();
+        List<Feature> features = new ArrayList<>();
+        JsonObject members = new JsonObject();
+        JsonParser parser = new JsonParser();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+
+            if ("features".equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    features.add(gson.<Feature>fromJson(reader, Feature.class));
+                }
+                reader.endArray();
+            } else {
+                // small members like type, or the geometry of a single feature
+                members.add(name, parser.parse(reader));
+            }
+        }
+        reader.endObject();
+
+        String type = members.has("type") ? members.get("type").getAsString() : null;
+        if ("FeatureCollection".equals(type)) {
+            return FeatureCollection.fromFeatures(features);
+        }
+        return GeoJSONUtils.toFeatureCollection(members);
+    }
+
+    private static InputStream open(Context context, String url) throws IOException {
+        Uri uri = Uri.parse(url);
+
+        if (ASSET_SCHEME.equals(uri.getScheme())) {
+            String assetPath = url.substring((ASSET_SCHEME + "://").length());
+
+            try {
+                AssetFileDescriptor descriptor = context.getAssets().openFd(assetPath);
+                return new ByteBufferInputStream(map(new FileInputStream(descriptor.getFileDescriptor()),
+                        descriptor.getStartOffset(), descriptor.getLength()));
+            } catch (FileNotFoundException e) {
+                // compressed assets can't be mapped, stream them instead
+                return new SizeLimitedInputStream(context.getAssets().open(assetPath));
+            }
+        }
+
+        return openFile(uri.getPath());
+    }
+
+    static InputStream openFile(String path) throws IOException {
+        FileInputStream inputStream = new FileInputStream(path);
+        return new ByteBufferInputStream(map(inputStream, 0, inputStream.getChannel().size()));
+    }
+
+    private static ByteBuffer map(FileInputStream inputStream, long offset, long length) throws IOException {
+        try {
+            checkSize(length);
+            return inputStream.getChannel().map(FileChannel.MapMode.READ_ONLY, offset, length);
+        } finally {
+            inputStream.close(); // the mapping stays valid after the channel is closed
+        }
+    }
+
+    private static void checkSize(long size) throws IOException {
+        if (size > MAX_FILE_SIZE) {
+            throw new IOException("GeoJSON file is over " + MAX_FILE_SIZE + " bytes, too large to read into memory");
+        }
+    }
+
+    /**
+     * Compressed assets don't know their size up front, they fail once more than MAX_FILE_SIZE bytes were read.
+     */
+    static class SizeLimitedInputStream extends FilterInputStream {
+        private long mCount;
+
+        SizeLimitedInputStream(InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int count = super.read(bytes, offset, length);
+            if (count > 0) {
+                count(count);
+            }
+            return count;
+        }
+
+        private void count(int count) throws IOException {
+            mCount += count;
+            checkSize(mCount);
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer mBuffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            mBuffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return mBuffer.hasRemaining() ? mBuffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!mBuffer.hasRemaining()) {
+                return -1;
+            }
+
+            int count = Math.min(length, mBuffer.remaining());
+            mBuffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return mBuffer.remaining();
+        }
+    }
+}
@@ -6,6 +6,11 @@ import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableNativeArray;
 import com.facebook.react.bridge.WritableNativeMap;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.mapbox.mapboxsdk.geometry.LatLng;
 import com.mapbox.mapboxsdk.geometry.LatLngBounds;
 import com.mapbox.mapboxsdk.geometry.LatLngQuad;
@@ -13,8 +18,13 @@ import com.mapbox.services.commons.geojson.Feature;
 import com.mapbox.services.commons.geojson.FeatureCollection;
 import com.mapbox.services.commons.geojson.Geometry;
 import com.mapbox.services.commons.geojson.LineString;
+import com.mapbox.services.commons.geojson.MultiLineString;
+import com.mapbox.services.commons.geojson.MultiPoint;
+import com.mapbox.services.commons.geojson.MultiPolygon;
 import com.mapbox.services.commons.geojson.Point;
 import com.mapbox.services.commons.geojson.Polygon;
+import com.mapbox.services.commons.geojson.custom.GeometryDeserializer;
+import com.mapbox.services.commons.geojson.custom.PositionDeserializer;
 import com.mapbox.services.commons.models.Position;
 
 import java.util.List;
@@ -24,6 +34,8 @@ import java.util.List;
  */
 
 public class GeoJSONUtils {
+    private static Gson sGson;
+
     public static WritableMap fromFeature(Feature feature) {
         WritableMap map = Arguments.createMap();
         map.putString("type", "Feature");
@@ -48,6 +60,12 @@ public class GeoJSONUtils {
                 return fromLineString((LineString) geometry);
             case "Polygon":
                 return fromPolygon((Polygon) geometry);
+            case "MultiPoint":
+                return fromMultiPoint((MultiPoint) geometry);
+            case "MultiLineString":
+                return fromMultiLineString((MultiLineString) geometry);
+            case "MultiPolygon":
+                return fromMultiPolygon((MultiPolygon) geometry);
             default:
                 return null;
         }
@@ -74,6 +92,52 @@ public class GeoJSONUtils {
         return map;
     }
 
+    public static WritableMap fromMultiPoint(MultiPoint multiPoint) {
+        WritableMap map = Arguments.createMap();
+        map.putString("type", "MultiPoint");
+        map.putArray("coordinates", fromPositions(multiPoint.getCoordinates()));
+        return map;
+    }
+
+    public static WritableMap fromMultiLineString(MultiLineString multiLineString) {
+        WritableMap map = Arguments.createMap();
+        map.putString("type", "MultiLineString");
+        map.putArray("coordinates", fromRings(multiLineString.getCoordinates()));
+        return map;
+    }
+
+    public static WritableMap fromMultiPolygon(MultiPolygon multiPolygon) {
+        WritableArray polygons = Arguments.createArray();
+        for (List<List<Position>> polygon : multiPolygon.getCoordinates()) {
+            polygons.pushArray(fromRings(polygon));
+        }
+
+        WritableMap map = Arguments.createMap();
+        map.putString("type", "MultiPolygon");
+        map.putArray("coordinates", polygons);
+        return map;
+    }
+
+    public static WritableArray fromPositions(List<Position> positions) {
+        WritableArray array = Arguments.createArray();
+
+        for (Position position : positions) {
+            array.pushArray(Arguments.fromArray(position.getCoordinates()));
+        }
+
+        return array;
+    }
+
+    public static WritableArray fromRings(List<List<Position>> rings) {
+        WritableArray array = Arguments.createArray();
+
+        for (List<Position> ring : rings) {
+            array.pushArray(fromPositions(ring));
+        }
+
+        return array;
+    }
+
     public static WritableArray getCoordinates(Point point) {
         double[] coords = point.getCoordinates().getCoordinates();
         return Arguments.fromArray(coords);
@@ -195,4 +259,45 @@ public class GeoJSONUtils {
                 toLatLng(array.getArray(3))
         );
     }
+
+    /**
+     * Parses a GeoJSON geometry, feature or feature collection and always returns a feature collection
+     */
+    public static FeatureCollection toFeatureCollection(String geoJSONStr) {
+        if (geoJSONStr == null) {
+            return null;
+        }
+        return toFeatureCollection(new JsonParser().parse(geoJSONStr));
+    }
+
+    public static FeatureCollection toFeatureCollection(JsonElement element) {
+        if (element == null || !element.isJsonObject()) {
+            return null;
+        }
+
+        JsonObject object = element.getAsJsonObject();
+        String type = object.has("type") ? object.get("type").getAsString() : null;
+
+        if ("FeatureCollection".equals(type)) {
+            return getGson().fromJson(object, FeatureCollection.class);
+        } else if ("Feature".equals(type)) {
+            Feature feature = getGson().fromJson(object, Feature.class);
+            return FeatureCollection.fromFeatures(new Feature[]{ feature });
+        } else if (type != null) {
+            Geometry geometry = getGson().fromJson(object, Geometry.class);
+            return FeatureCollection.fromFeatures(new Feature[]{ Feature.fromGeometry(geometry) });
+        }
+
+        return null;
+    }
+
+    static synchronized Gson getGson() {
+        if (sGson == null) {
+            sGson = new GsonBuilder()
+                    .registerTypeAdapter(Position.class, new PositionDeserializer())
+                    .registerTypeAdapter(Geometry.class, new GeometryDeserializer())
+                    .create();
+        }
+        return sGson;
+    }
 }
@@ -0,0 +1,154 @@
+package com.mapbox.rctmgl.utils;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from primitive longs to objects with open addressing, so lookups neither box the key
+ * nor walk entry chains. Not thread safe.
+ */
+
+public class LongObjectMap<V> {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] mKeys;
+    private Object[] mValues;
+    private int mSize;
+
+    public LongObjectMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongObjectMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        mKeys = new long[capacity];
+        mValues = new Object[capacity];
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int mask = mKeys.length - 1;
+        int index = hash(key) & mask;
+
+        while (mValues[index] != null) {
+            if (mKeys[index] == key) {
+                return (V) mValues[index];
+            }
+            index = (index + 1) & mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * @param value non null value, use remove to clear a key
+     * @return the previous value of the key
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("LongObjectMap doesn't hold null values");
+        }
+
+        int mask = mKeys.length - 1;
+        int index = hash(key) & mask;
+
+        while (mValues[index] != null) {
+            if (mKeys[index] == key) {
+                V previous = (V) mValues[index];
+                mValues[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+
+        mKeys[index] = key;
+        mValues[index] = value;
+        mSize++;
+
+        if (mSize * 2 > mKeys.length) {
+            resize(mKeys.length * 2);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int mask = mKeys.length - 1;
+        int index = hash(key) & mask;
+
+        while (mValues[index] != null) {
+            if (mKeys[index] == key) {
+                V previous = (V) mValues[index];
+                mValues[index] = null;
+                mSize--;
+                closeGap(index);
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+
+        return null;
+    }
+
+    public void clear() {
+        Arrays.fill(mValues, null);
+        mSize = 0;
+    }
+
+    /**
+     * Moves the entries after a removed one back, so every entry stays reachable from its hash slot.
+     */
+    private void closeGap(int gap) {
+        int mask = mKeys.length - 1;
+        int index = (gap + 1) & mask;
+
+        while (mValues[index] != null) {
+            int slot = hash(mKeys[index]) & mask;
+
+            // the entry can move into the gap when its slot isn't cyclically within (gap, index]
+            boolean canMove = gap <= index ? (slot <= gap || slot > index) : (slot <= gap && slot > index);
+            if (canMove) {
+                mKeys[gap] = mKeys[index];
+                mValues[gap] = mValues[index];
+                mValues[index] = null;
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] keys = mKeys;
+        Object[] values = mValues;
+
+        mKeys = new long[capacity];
+        mValues = new Object[capacity];
+        int mask = capacity - 1;
+
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+
+            int index = hash(keys[i]) & mask;
+            while (mValues[index] != null) {
+                index = (index + 1) & mask;
+            }
+            mKeys[index] = keys[i];
+            mValues[index] = values[i];
+        }
+    }
+
+    static int hash(long key) {
+        // marker ids are sequential, spread them over the table
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
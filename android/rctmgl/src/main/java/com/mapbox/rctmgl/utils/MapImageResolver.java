@@ -0,0 +1,181 @@
+package com.mapbox.rctmgl.utils;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.mapbox.mapboxsdk.maps.MapboxMap;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Adds images used by styles and shape sources to a map's style. Each uri is fetched and decoded once
+ * on a small thread pool shared by all maps, however many layers ask for it at the same time, and every
+ * request waiting on it completes after the single addImage.
+ * Must be used from the main thread.
+ */
+
+public class MapImageResolver {
+    public static final String LOG_TAG = MapImageResolver.class.getSimpleName();
+
+    public static final int MAX_DECODE_THREADS = 4;
+
+    private static ExecutorService sDecodeExecutor;
+
+    private final Context mContext;
+    private final MapboxMap mMap;
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+    // image name -> uri of the image added to the current style
+    private final Map<String, String> mAddedImages = new HashMap<>();
+
+    // uri -> requests waiting for it to be decoded
+    private final Map<String, List<PendingImage>> mPendingImages = new HashMap<>();
+
+    private boolean mIsDisposed;
+
+    public MapImageResolver(Context context, MapboxMap map) {
+        mContext = context;
+        mMap = map;
+    }
+
+    public MapboxMap getMap() {
+        return mMap;
+    }
+
+    public void resolve(String name, String uri, DownloadMapImageTask.OnAllImagesLoaded callback) {
+        resolve(new Map.Entry[]{ new AbstractMap.SimpleEntry<>(name, uri) }, callback);
+    }
+
+    /**
+     * @param images image names and the uris to load them from
+     * @param callback called once every image is in the style, right away when they already are
+     */
+    public void resolve(Map.Entry<String, String>[] images, final DownloadMapImageTask.OnAllImagesLoaded callback) {
+        if (images.length == 0) {
+            if (callback != null) {
+                callback.onAllImagesLoaded();
+            }
+            return;
+        }
+
+        final int[] remainingCount = { images.length };
+        DownloadMapImageTask.OnAllImagesLoaded onImageLoaded = new DownloadMapImageTask.OnAllImagesLoaded() {
+            @Override
+            public void onAllImagesLoaded() {
+                remainingCount[0]--;
+
+                if (remainingCount[0] == 0 && callback != null) {
+                    callback.onAllImagesLoaded();
+                }
+            }
+        };
+
+        for (Map.Entry<String, String> image : images) {
+            resolveImage(image.getKey(), image.getValue(), onImageLoaded);
+        }
+    }
+
+    /**
+     * Adds an image that is already decoded, e.g. from the app's drawables, in place of one added from a uri.
+     */
+    public void add(String name, Bitmap bitmap) {
+        mMap.addImage(name, bitmap);
+        mAddedImages.remove(name);
+    }
+
+    /**
+     * Removes the image from the style, the next request for it adds it again.
+     */
+    public void remove(String name) {
+        mMap.removeImage(name);
+        mAddedImages.remove(name);
+    }
+
+    /**
+     * The style was replaced along with its images, they have to be added again.
+     */
+    public void onStyleChanged() {
+        mAddedImages.clear();
+    }
+
+    public void dispose() {
+        mIsDisposed = true;
+        mPendingImages.clear();
+    }
+
+    private void resolveImage(String name, final String uri, DownloadMapImageTask.OnAllImagesLoaded callback) {
+        if (uri.equals(mAddedImages.get(name))) {
+            callback.onAllImagesLoaded();
+            return;
+        }
+
+        List<PendingImage> pendingImages = mPendingImages.get(uri);
+        if (pendingImages != null) {
+            pendingImages.add(new PendingImage(name, callback));
+            return;
+        }
+
+        pendingImages = new ArrayList<>();
+        pendingImages.add(new PendingImage(name, callback));
+        mPendingImages.put(uri, pendingImages);
+
+        getDecodeExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                final Bitmap bitmap = DownloadMapImageTask.loadBitmap(mContext, uri);
+
+                mHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        onImageDecoded(uri, bitmap);
+                    }
+                });
+            }
+        });
+    }
+
+    private void onImageDecoded(String uri, Bitmap bitmap) {
+        List<PendingImage> pendingImages = mPendingImages.remove(uri);
+        if (mIsDisposed || pendingImages == null) {
+            return;
+        }
+
+        if (bitmap != null) {
+            for (PendingImage image : pendingImages) {
+                if (!uri.equals(mAddedImages.get(image.name))) {
+                    mMap.addImage(image.name, bitmap);
+                    mAddedImages.put(image.name, uri);
+                }
+            }
+        }
+
+        for (PendingImage image : pendingImages) {
+            image.callback.onAllImagesLoaded();
+        }
+    }
+
+    private static synchronized ExecutorService getDecodeExecutor() {
+        if (sDecodeExecutor == null) {
+            sDecodeExecutor = Executors.newFixedThreadPool(MAX_DECODE_THREADS);
+        }
+        return sDecodeExecutor;
+    }
+
+    private static class PendingImage {
+        final String name;
+        final DownloadMapImageTask.OnAllImagesLoaded callback;
+
+        PendingImage(String name, DownloadMapImageTask.OnAllImagesLoaded callback) {
+            this.name = name;
+            this.callback = callback;
+        }
+    }
+}
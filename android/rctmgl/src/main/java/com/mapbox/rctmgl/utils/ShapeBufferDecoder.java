@@ -0,0 +1,240 @@
+package com.mapbox.rctmgl.utils;
+
+import android.net.Uri;
+import android.util.Base64;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.FeatureCollection;
+import com.mapbox.services.commons.geojson.Geometry;
+import com.mapbox.services.commons.geojson.LineString;
+import com.mapbox.services.commons.geojson.MultiLineString;
+import com.mapbox.services.commons.geojson.MultiPoint;
+import com.mapbox.services.commons.geojson.MultiPolygon;
+import com.mapbox.services.commons.geojson.Point;
+import com.mapbox.services.commons.geojson.Polygon;
+import com.mapbox.services.commons.models.Position;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes the compact shape buffer written by javascript/utils/shapeBuffer.js straight into geometries,
+ * without going through a JSON string or tree. All values are little endian.
+ *
+ * header:      "RMGB" u8 version, u8 flags, u16 propertyColumnCount,
+ *              u32 featureCount, u32 partCount, u32 ringCount, u32 coordinateCount
+ * geometry:    u8 geometryType[featureCount],
+ *              u32 featurePartOffsets[featureCount + 1],
+ *              u32 partRingOffsets[partCount + 1],
+ *              u32 ringCoordinateOffsets[ringCount + 1],
+ *              (f32 | f64) coordinates[coordinateCount * 2] as lng, lat
+ * ids:         string[featureCount] when FLAG_HAS_IDS is set
+ * properties:  per column: string name, u8 columnType, value[featureCount]
+ *
+ * strings are a u32 byte length followed by utf-8 bytes, a length of 0xFFFFFFFF is null.
+ */
+
+public class ShapeBufferDecoder {
+    public static final byte[] MAGIC = new byte[]{ 'R', 'M', 'G', 'B' };
+    public static final int VERSION = 1;
+
+    public static final int FLAG_FLOAT32 = 1;
+    public static final int FLAG_HAS_IDS = 2;
+
+    public static final int GEOMETRY_POINT = 1;
+    public static final int GEOMETRY_LINE_STRING = 2;
+    public static final int GEOMETRY_POLYGON = 3;
+    public static final int GEOMETRY_MULTI_POINT = 4;
+    public static final int GEOMETRY_MULTI_LINE_STRING = 5;
+    public static final int GEOMETRY_MULTI_POLYGON = 6;
+
+    public static final int COLUMN_NUMBER = 0;
+    public static final int COLUMN_STRING = 1;
+    public static final int COLUMN_BOOLEAN = 2;
+    public static final int COLUMN_JSON = 3;
+
+    private static final int NULL_STRING_LENGTH = 0xFFFFFFFF;
+    private static final int NULL_BOOLEAN = 2;
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * @param shapeBuffer base64 encoded shape buffer, or a file:// url pointing at a raw shape buffer
+     */
+    public static FeatureCollection decode(String shapeBuffer) throws IOException {
+        if (shapeBuffer.startsWith("file://")) {
+            return decode(mapFile(Uri.parse(shapeBuffer).getPath()));
+        }
+        return decode(ByteBuffer.wrap(Base64.decode(shapeBuffer, Base64.DEFAULT)));
+    }
+
+    public static FeatureCollection decode(ByteBuffer buffer) throws IOException {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        for (byte magicByte : MAGIC) {
+            if (buffer.get() != magicByte) {
+                throw new IOException("Not a shape buffer");
+            }
+        }
+
+        int version = buffer.get() & 0xFF;
+        if (version != VERSION) {
+            throw new IOException(String.format("Unsupported shape buffer version %d", version));
+        }
+
+        int flags = buffer.get() & 0xFF;
+        int columnCount = buffer.getShort() & 0xFFFF;
+        int featureCount = buffer.getInt();
+        int partCount = buffer.getInt();
+        int ringCount = buffer.getInt();
+        int coordinateCount = buffer.getInt();
+
+        byte[] geometryTypes = new byte[featureCount];
+        buffer.get(geometryTypes);
+
+        int[] featurePartOffsets = readOffsets(buffer, featureCount + 1);
+        int[] partRingOffsets = readOffsets(buffer, partCount + 1);
+        int[] ringCoordinateOffsets = readOffsets(buffer, ringCount + 1);
+
+        Position[] positions = new Position[coordinateCount];
+        boolean isFloat32 = (flags & FLAG_FLOAT32) != 0;
+        for (int i = 0; i < coordinateCount; i++) {
+            double lng = isFloat32 ? buffer.getFloat() : buffer.getDouble();
+            double lat = isFloat32 ? buffer.getFloat() : buffer.getDouble();
+            positions[i] = Position.fromCoordinates(lng, lat);
+        }
+
+        String[] ids = new String[featureCount];
+        if ((flags & FLAG_HAS_IDS) != 0) {
+            for (int i = 0; i < featureCount; i++) {
+                ids[i] = readString(buffer);
+            }
+        }
+
+        JsonObject[] properties = new JsonObject[featureCount];
+        for (int i = 0; i < featureCount; i++) {
+            properties[i] = new JsonObject();
+        }
+        for (int i = 0; i < columnCount; i++) {
+            readColumn(buffer, properties);
+        }
+
+        List<Feature> features = new ArrayList<>(featureCount);
+        for (int i = 0; i < featureCount; i++) {
+            List<List<List<Position>>> parts = new ArrayList<>();
+
+            for (int part = featurePartOffsets[i]; part < featurePartOffsets[i + 1]; part++) {
+                List<List<Position>> rings = new ArrayList<>();
+
+                for (int ring = partRingOffsets[part]; ring < partRingOffsets[part + 1]; ring++) {
+                    List<Position> ringPositions = new ArrayList<>();
+
+                    for (int c = ringCoordinateOffsets[ring]; c < ringCoordinateOffsets[ring + 1]; c++) {
+                        ringPositions.add(positions[c]);
+                    }
+
+                    rings.add(ringPositions);
+                }
+
+                parts.add(rings);
+            }
+
+            Geometry geometry = makeGeometry(geometryTypes[i], parts);
+            features.add(Feature.fromGeometry(geometry, properties[i], ids[i]));
+        }
+
+        return FeatureCollection.fromFeatures(features);
+    }
+
+    private static Geometry makeGeometry(int geometryType, List<List<List<Position>>> parts) throws IOException {
+        switch (geometryType) {
+            case GEOMETRY_POINT:
+                return Point.fromCoordinates(parts.get(0).get(0).get(0));
+            case GEOMETRY_LINE_STRING:
+                return LineString.fromCoordinates(parts.get(0).get(0));
+            case GEOMETRY_POLYGON:
+                return Polygon.fromCoordinates(parts.get(0));
+            case GEOMETRY_MULTI_POINT:
+                return MultiPoint.fromCoordinates(parts.get(0).get(0));
+            case GEOMETRY_MULTI_LINE_STRING:
+                return MultiLineString.fromCoordinates(parts.get(0));
+            case GEOMETRY_MULTI_POLYGON:
+                return MultiPolygon.fromCoordinates(parts);
+            default:
+                throw new IOException(String.format("Unknown shape buffer geometry type %d", geometryType));
+        }
+    }
+
+    private static void readColumn(ByteBuffer buffer, JsonObject[] properties) throws IOException {
+        String name = readString(buffer);
+        int columnType = buffer.get() & 0xFF;
+
+        for (JsonObject featureProperties : properties) {
+            switch (columnType) {
+                case COLUMN_NUMBER:
+                    double number = buffer.getDouble();
+                    if (!Double.isNaN(number)) {
+                        featureProperties.addProperty(name, number);
+                    }
+                    break;
+                case COLUMN_STRING:
+                    String str = readString(buffer);
+                    if (str != null) {
+                        featureProperties.addProperty(name, str);
+                    }
+                    break;
+                case COLUMN_BOOLEAN:
+                    int bool = buffer.get() & 0xFF;
+                    if (bool != NULL_BOOLEAN) {
+                        featureProperties.addProperty(name, bool == 1);
+                    }
+                    break;
+                case COLUMN_JSON:
+                    String json = readString(buffer);
+                    if (json != null) {
+                        featureProperties.add(name, new JsonParser().parse(json));
+                    }
+                    break;
+                default:
+                    throw new IOException(String.format("Unknown shape buffer column type %d", columnType));
+            }
+        }
+    }
+
+    private static int[] readOffsets(ByteBuffer buffer, int count) {
+        int[] offsets = new int[count];
+        for (int i = 0; i < count; i++) {
+            offsets[i] = buffer.getInt();
+        }
+        return offsets;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_STRING_LENGTH) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF8);
+    }
+
+    private static ByteBuffer mapFile(String path) throws IOException {
+        FileInputStream inputStream = new FileInputStream(path);
+
+        try {
+            FileChannel channel = inputStream.getChannel();
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } finally {
+            inputStream.close(); // the mapping stays valid after the channel is closed
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.mapbox.rctmgl.components.styles;
+
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.mapbox.mapboxsdk.style.layers.SymbolLayer;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Times restyling a 30 property symbol layer, once with a style that was applied before and once with a new
+ * style per pass like a changed style prop sends. Not a test so it stays out of the unit suite, run its main
+ * by hand when working on RCTMGLStyleFactory.
+ */
+
+public class RCTMGLStyleFactoryBenchmark {
+    private static final int WARMUP_ITERATIONS = 2000;
+    private static final int ITERATIONS = 20000;
+
+    public static void main(String[] args) {
+        // stub only, so the mock doesn't keep every call around for verification
+        SymbolLayer layer = mock(SymbolLayer.class, withSettings().stubOnly());
+        JavaOnlyMap reactStyle = RCTMGLStyleFactoryTest.makeSymbolStyle();
+        RCTMGLStyle style = new RCTMGLStyle(null, reactStyle, null);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            RCTMGLStyleFactory.setSymbolLayerStyle(layer, style);
+            RCTMGLStyleFactory.setSymbolLayerStyle(layer, new RCTMGLStyle(null, reactStyle, null));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            RCTMGLStyleFactory.setSymbolLayerStyle(layer, style);
+        }
+        double microsPerRestyle = (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            RCTMGLStyleFactory.setSymbolLayerStyle(layer, new RCTMGLStyle(null, reactStyle, null));
+        }
+        double microsPerNewStyle = (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+
+        System.out.println(String.format("%d properties: %.2f us per restyle, %.2f us per restyle with a new style",
+                reactStyle.toHashMap().size(), microsPerRestyle, microsPerNewStyle));
+    }
+}
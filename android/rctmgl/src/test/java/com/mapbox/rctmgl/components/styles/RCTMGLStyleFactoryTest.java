@@ -0,0 +1,205 @@
+package com.mapbox.rctmgl.components.styles;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.mapbox.mapboxsdk.style.layers.PropertyValue;
+import com.mapbox.mapboxsdk.style.layers.SymbolLayer;
+import com.mapbox.mapboxsdk.style.layers.TransitionOptions;
+
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Dispatch of style keys to the RCTMGLStyleFactory setters, on a mocked symbol layer.
+ */
+
+public class RCTMGLStyleFactoryTest {
+    @Test
+    public void restyleSymbolLayer() {
+        SymbolLayer layer = mock(SymbolLayer.class);
+        final int[] callCount = new int[1];
+        List<String> propertyNames = recordProperties(layer, callCount);
+
+        JavaOnlyMap reactStyle = makeSymbolStyle();
+        assertEquals(30, reactStyle.toHashMap().size());
+
+        RCTMGLStyle style = new RCTMGLStyle(null, reactStyle, null);
+        RCTMGLStyleFunctionParser.clearFunctionCache();
+
+        RCTMGLStyleFactory.setSymbolLayerStyle(layer, style);
+        assertEquals("every property but the transition sets a value", 29, propertyNames.size());
+        assertEquals("values are applied in one batch", 1, callCount[0]);
+
+        RCTMGLStyleFactory.setSymbolLayerStyle(layer, style);
+        assertEquals("zoom functions are compiled once", 2, RCTMGLStyleFunctionParser.getCachedFunctionCount());
+    }
+
+    @Test
+    public void eachKeyMapsToItsSetter() {
+        JavaOnlyMap reactStyle = makeSymbolStyle();
+        ReadableMapKeySetIterator it = reactStyle.keySetIterator();
+
+        while (it.hasNextKey()) {
+            String styleKey = it.nextKey();
+            assertNotEquals(styleKey, RCTMGLStyleFactory.UNKNOWN_STYLE_KEY, RCTMGLStyleFactory.getStyleKeyIndex(styleKey));
+
+            SymbolLayer layer = mock(SymbolLayer.class);
+            List<String> propertyNames = recordProperties(layer, new int[1]);
+
+            JavaOnlyMap singleKeyStyle = new JavaOnlyMap();
+            singleKeyStyle.putMap(styleKey, reactStyle.getMap(styleKey));
+            RCTMGLStyleFactory.setSymbolLayerStyle(layer, new RCTMGLStyle(null, singleKeyStyle, null));
+
+            if (styleKey.equals("textColorTransition")) {
+                assertTrue(propertyNames.isEmpty());
+                verify(layer).setTextColorTransition(ArgumentMatchers.any(TransitionOptions.class));
+            } else {
+                assertEquals(styleKey, 1, propertyNames.size());
+                assertEquals(styleKey, toPropertyName(styleKey), propertyNames.get(0));
+            }
+        }
+    }
+
+    @Test
+    public void keysOfOtherLayersAreIgnored() {
+        SymbolLayer layer = mock(SymbolLayer.class);
+        final int[] callCount = new int[1];
+        List<String> propertyNames = recordProperties(layer, callCount);
+
+        assertEquals(RCTMGLStyleFactory.UNKNOWN_STYLE_KEY, RCTMGLStyleFactory.getStyleKeyIndex("notAStyleKey"));
+
+        JavaOnlyMap reactStyle = new JavaOnlyMap();
+        reactStyle.putMap("fillColor", constant(0xFF333333));
+        reactStyle.putMap("notAStyleKey", constant(1.0));
+        reactStyle.putMap("lineColorTransition", transition(300, 0));
+        RCTMGLStyleFactory.setSymbolLayerStyle(layer, new RCTMGLStyle(null, reactStyle, null));
+
+        assertTrue(propertyNames.isEmpty());
+        verify(layer, never()).setTextColorTransition(ArgumentMatchers.any(TransitionOptions.class));
+    }
+
+    private static List<String> recordProperties(SymbolLayer layer, final int[] callCount) {
+        final List<String> propertyNames = new ArrayList<>();
+
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                callCount[0]++;
+                for (Object argument : invocation.getArguments()) {
+                    propertyNames.add(((PropertyValue) argument).name);
+                }
+                return null;
+            }
+        }).when(layer).setProperties(ArgumentMatchers.<PropertyValue>any());
+
+        return propertyNames;
+    }
+
+    /**
+     * iconSize -> icon-size
+     */
+    private static String toPropertyName(String styleKey) {
+        StringBuilder name = new StringBuilder();
+
+        for (char c : styleKey.toCharArray()) {
+            if (Character.isUpperCase(c)) {
+                name.append('-').append(Character.toLowerCase(c));
+            } else {
+                name.append(c);
+            }
+        }
+
+        return name.toString();
+    }
+
+    /**
+     * 30 properties of a typical labelled icon layer, two of them zoom functions and one a transition.
+     */
+    static JavaOnlyMap makeSymbolStyle() {
+        JavaOnlyMap style = new JavaOnlyMap();
+
+        style.putMap("symbolPlacement", constant("point"));
+        style.putMap("symbolSpacing", constant(250.0));
+        style.putMap("symbolAvoidEdges", constant(false));
+        style.putMap("iconAllowOverlap", constant(true));
+        style.putMap("iconIgnorePlacement", constant(true));
+        style.putMap("iconOptional", constant(false));
+        style.putMap("iconRotationAlignment", constant("map"));
+        style.putMap("iconSize", zoomFunction(10, 0.5, 18, 1.5));
+        style.putMap("iconTextFit", constant("none"));
+        style.putMap("iconRotate", constant(45.0));
+        style.putMap("iconPadding", constant(2.0));
+        style.putMap("iconKeepUpright", constant(false));
+        style.putMap("iconOffset", constant(JavaOnlyArray.of(0.0, -10.0)));
+        style.putMap("iconAnchor", constant("bottom"));
+        style.putMap("iconPitchAlignment", constant("viewport"));
+        style.putMap("textPitchAlignment", constant("viewport"));
+        style.putMap("textRotationAlignment", constant("viewport"));
+        style.putMap("textField", constant("{name}"));
+        style.putMap("textFont", constant(JavaOnlyArray.of("Open Sans Regular")));
+        style.putMap("textSize", zoomFunction(10, 10, 18, 16));
+        style.putMap("textMaxWidth", constant(10.0));
+        style.putMap("textLineHeight", constant(1.2));
+        style.putMap("textLetterSpacing", constant(0.1));
+        style.putMap("textJustify", constant("center"));
+        style.putMap("textAnchor", constant("top"));
+        style.putMap("textOffset", constant(JavaOnlyArray.of(0.0, 1.0)));
+        style.putMap("textAllowOverlap", constant(false));
+        style.putMap("textColor", constant(0xFF333333));
+        style.putMap("textHaloColor", constant(0xFFFFFFFF));
+        style.putMap("textColorTransition", transition(300, 0));
+
+        return style;
+    }
+
+    private static JavaOnlyMap constant(Object value) {
+        JavaOnlyMap payload = new JavaOnlyMap();
+
+        if (value instanceof String) {
+            payload.putString(RCTMGLStyleFactory.VALUE_KEY, (String) value);
+        } else if (value instanceof Boolean) {
+            payload.putBoolean(RCTMGLStyleFactory.VALUE_KEY, (Boolean) value);
+        } else if (value instanceof Integer) {
+            payload.putInt(RCTMGLStyleFactory.VALUE_KEY, (Integer) value);
+        } else if (value instanceof Double) {
+            payload.putDouble(RCTMGLStyleFactory.VALUE_KEY, (Double) value);
+        } else {
+            payload.putArray(RCTMGLStyleFactory.VALUE_KEY, (JavaOnlyArray) value);
+        }
+
+        return JavaOnlyMap.of("styletype", "constant", "payload", payload);
+    }
+
+    private static JavaOnlyMap zoomFunction(double zoom1, double value1, double zoom2, double value2) {
+        JavaOnlyArray stops = JavaOnlyArray.of(
+                JavaOnlyArray.of(JavaOnlyMap.of("type", "number", "value", zoom1), constant(value1)),
+                JavaOnlyArray.of(JavaOnlyMap.of("type", "number", "value", zoom2), constant(value2)));
+
+        JavaOnlyMap payload = JavaOnlyMap.of(
+                "fn", RCTMGLStyleValue.FunctionTypeCamera,
+                "mode", RCTMGLStyleValue.InterpolationModeExponential,
+                "stops", stops);
+
+        return JavaOnlyMap.of("styletype", "function", "payload", payload);
+    }
+
+    private static JavaOnlyMap transition(int duration, int delay) {
+        JavaOnlyMap payload = JavaOnlyMap.of(RCTMGLStyleFactory.VALUE_KEY,
+                JavaOnlyMap.of("duration", duration, "delay", delay));
+        return JavaOnlyMap.of("styletype", "transition", "payload", payload);
+    }
+}
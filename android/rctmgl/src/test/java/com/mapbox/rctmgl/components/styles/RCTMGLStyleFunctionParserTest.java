@@ -0,0 +1,142 @@
+package com.mapbox.rctmgl.components.styles;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReadableArray;
+import com.mapbox.mapboxsdk.style.functions.CameraFunction;
+import com.mapbox.mapboxsdk.style.layers.PropertyFactory;
+import com.mapbox.mapboxsdk.style.layers.PropertyValue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Function cache keys, a hit is looked up by the hash computed when the style value was created
+ * and neither converts nor reads the payload again.
+ */
+
+public class RCTMGLStyleFunctionParserTest {
+    @Before
+    public void setUp() {
+        RCTMGLStyleFunctionParser.clearFunctionCache();
+    }
+
+    @Test
+    public void payloadIsConvertedOncePerStyleValue() {
+        CountingMap payload = makeZoomPayload(0.5, 1.5);
+        RCTMGLStyleValue styleValue = new RCTMGLStyleValue(wrap(payload));
+        assertEquals(1, payload.hashMapCount);
+
+        int[] stopReads = new int[1];
+        for (int i = 0; i < 100; i++) {
+            // a stylesheet value set on many layers
+            styleValue.makeCameraFunction(styleValue.getInt("mode"), makeParser(styleValue, stopReads));
+        }
+
+        assertEquals(1, payload.hashMapCount);
+        assertEquals("stops are parsed once", 1, payload.stopsReadCount);
+        assertEquals(2, stopReads[0]);
+    }
+
+    @Test
+    public void cacheHitSkipsParse() {
+        CountingMap firstPayload = makeZoomPayload(0.5, 1.5);
+        RCTMGLStyleValue first = new RCTMGLStyleValue(wrap(firstPayload));
+        int[] firstStopReads = new int[1];
+        CameraFunction function = first.makeCameraFunction(first.getInt("mode"), makeParser(first, firstStopReads));
+
+        assertNotNull(function);
+        assertEquals(1, firstPayload.stopsReadCount);
+        assertEquals(2, firstStopReads[0]);
+
+        // an equal payload that crossed the bridge again
+        CountingMap secondPayload = makeZoomPayload(0.5, 1.5);
+        RCTMGLStyleValue second = new RCTMGLStyleValue(wrap(secondPayload));
+        int[] secondStopReads = new int[1];
+
+        assertSame(function, second.makeCameraFunction(second.getInt("mode"), makeParser(second, secondStopReads)));
+        assertEquals(1, secondPayload.hashMapCount);
+        assertEquals(0, secondPayload.stopsReadCount);
+        assertEquals(0, secondStopReads[0]);
+        assertEquals(1, RCTMGLStyleFunctionParser.getCachedFunctionCount());
+    }
+
+    @Test
+    public void differentPayloadIsParsed() {
+        RCTMGLStyleValue first = new RCTMGLStyleValue(wrap(makeZoomPayload(0.5, 1.5)));
+        CameraFunction function = first.makeCameraFunction(first.getInt("mode"), makeParser(first, new int[1]));
+
+        CountingMap otherPayload = makeZoomPayload(0.5, 2.0);
+        RCTMGLStyleValue other = new RCTMGLStyleValue(wrap(otherPayload));
+        int[] otherStopReads = new int[1];
+        CameraFunction otherFunction = other.makeCameraFunction(other.getInt("mode"), makeParser(other, otherStopReads));
+
+        assertEquals(1, otherPayload.stopsReadCount);
+        assertEquals(2, otherStopReads[0]);
+        assertEquals(2, RCTMGLStyleFunctionParser.getCachedFunctionCount());
+        assertNotNull(otherFunction);
+        assertNotSame(function, otherFunction);
+    }
+
+    private static RCTMGLStyleFunctionParser<Float, Float> makeParser(RCTMGLStyleValue styleValue, final int[] stopReads) {
+        return new RCTMGLStyleFunctionParser<Float, Float>(styleValue) {
+            @Override
+            protected Float getRawStopValue(RCTMGLStyleValue styleValue) {
+                stopReads[0]++;
+                return styleValue.getFloat(RCTMGLStyleFactory.VALUE_KEY);
+            }
+
+            @Override
+            protected PropertyValue<Float> getStopValue(Float value) {
+                return PropertyFactory.iconSize(value);
+            }
+        };
+    }
+
+    private static JavaOnlyMap wrap(CountingMap payload) {
+        JavaOnlyMap config = new JavaOnlyMap();
+        config.putString("styletype", "function");
+        config.putMap("payload", payload);
+        return config;
+    }
+
+    private static CountingMap makeZoomPayload(double value1, double value2) {
+        CountingMap payload = new CountingMap();
+        payload.putString("fn", RCTMGLStyleValue.FunctionTypeCamera);
+        payload.putInt("mode", RCTMGLStyleValue.InterpolationModeExponential);
+        payload.putArray("stops", JavaOnlyArray.of(makeStop(10, value1), makeStop(18, value2)));
+        return payload;
+    }
+
+    private static JavaOnlyArray makeStop(double zoom, double value) {
+        JavaOnlyMap stopValue = JavaOnlyMap.of("styletype", "constant",
+                "payload", JavaOnlyMap.of(RCTMGLStyleFactory.VALUE_KEY, value));
+        return JavaOnlyArray.of(JavaOnlyMap.of("type", "number", "value", zoom), stopValue);
+    }
+
+    private static class CountingMap extends JavaOnlyMap {
+        int hashMapCount;
+        int stopsReadCount;
+
+        @Override
+        public HashMap<String, Object> toHashMap() {
+            hashMapCount++;
+            return super.toHashMap();
+        }
+
+        @Override
+        public ReadableArray getArray(String name) {
+            if (name.equals("stops")) {
+                stopsReadCount++;
+            }
+            return super.getArray(name);
+        }
+    }
+}
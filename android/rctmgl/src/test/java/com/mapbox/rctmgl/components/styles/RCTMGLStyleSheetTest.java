@@ -0,0 +1,74 @@
+package com.mapbox.rctmgl.components.styles;
+
+import com.facebook.react.bridge.JavaOnlyMap;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Re-registering a stylesheet, the diff against the previous values and restyling the layers listening on its id.
+ */
+
+public class RCTMGLStyleSheetTest {
+    @Test
+    public void reRegisterDiffsAgainstPreviousValues() {
+        String id = "reRegister";
+        RCTMGLStyleSheet first = RCTMGLStyleSheet.register(id, makeStyle(1.0, "red"));
+        assertEquals(new HashSet<>(Arrays.asList("lineWidth", "lineColor")), new HashSet<>(first.getChangedKeys(null)));
+
+        RCTMGLStyleSheet second = RCTMGLStyleSheet.register(id, makeStyle(2.0, "red"));
+        assertEquals(Arrays.asList("lineWidth"), new ArrayList<>(second.getChangedKeys(first)));
+        assertTrue(second.getChangedKeys(second).isEmpty());
+
+        // a layer that missed a version gets the whole stylesheet
+        RCTMGLStyleSheet third = RCTMGLStyleSheet.register(id, makeStyle(2.0, "blue"));
+        assertEquals(Arrays.asList("lineColor"), new ArrayList<>(third.getChangedKeys(second)));
+        assertEquals(2, third.getChangedKeys(first).size());
+    }
+
+    @Test
+    public void listenersGetRegisteredStyleSheet() {
+        String id = "listeners";
+        final List<RCTMGLStyleSheet> notified = new ArrayList<>();
+        RCTMGLStyleSheet.OnStyleSheetRegisteredListener listener = new RCTMGLStyleSheet.OnStyleSheetRegisteredListener() {
+            @Override
+            public void onStyleSheetRegistered(RCTMGLStyleSheet styleSheet) {
+                notified.add(styleSheet);
+            }
+        };
+
+        // a layer mounted before its stylesheet is registered
+        RCTMGLStyleSheet.addListener(id, listener);
+        RCTMGLStyleSheet.notifyRegistered(id);
+        assertTrue(notified.isEmpty());
+
+        RCTMGLStyleSheet styleSheet = RCTMGLStyleSheet.register(id, makeStyle(1.0, "red"));
+        RCTMGLStyleSheet.notifyRegistered(id);
+        assertEquals(1, notified.size());
+        assertSame(styleSheet, notified.get(0));
+
+        RCTMGLStyleSheet.removeListener(id, listener);
+        RCTMGLStyleSheet.register(id, makeStyle(2.0, "red"));
+        RCTMGLStyleSheet.notifyRegistered(id);
+        assertEquals(1, notified.size());
+    }
+
+    private static JavaOnlyMap makeStyle(double lineWidth, String lineColor) {
+        JavaOnlyMap style = new JavaOnlyMap();
+        style.putMap("lineWidth", constant(lineWidth));
+        style.putMap("lineColor", constant(lineColor));
+        return style;
+    }
+
+    private static JavaOnlyMap constant(Object value) {
+        return JavaOnlyMap.of("styletype", "constant", "payload", JavaOnlyMap.of(RCTMGLStyleFactory.VALUE_KEY, value));
+    }
+}
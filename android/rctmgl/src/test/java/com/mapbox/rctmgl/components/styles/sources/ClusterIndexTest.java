@@ -0,0 +1,131 @@
+package com.mapbox.rctmgl.components.styles.sources;
+
+import com.google.gson.JsonObject;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.LineString;
+import com.mapbox.services.commons.geojson.Point;
+import com.mapbox.services.commons.models.Position;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A fixed set of points on the equator, clustered with the default radius up to zoom 2, where the radius is
+ * about 35, 17.6 and 8.8 degrees of longitude on zoom 0, 1 and 2:
+ *
+ * - a and b (0 and 0.5) merge on zoom 2 into cluster 3, c and d (12 and 12.5) into cluster 67
+ * - both clusters merge on zoom 1 into cluster 2
+ * - e and f (60 and 61) merge on zoom 2 into cluster 131
+ * - g (-120) stays alone
+ */
+
+public class ClusterIndexTest {
+    private static final int MAX_ZOOM = 2;
+
+    private static final int CLUSTER_AB = (0 << 5) + 3;
+    private static final int CLUSTER_CD = (2 << 5) + 3;
+    private static final int CLUSTER_ABCD = (0 << 5) + 2;
+    private static final int CLUSTER_EF = (4 << 5) + 3;
+
+    private final List<Feature> mPoints = Arrays.asList(
+            makePoint("a", 0), makePoint("b", 0.5),
+            makePoint("c", 12), makePoint("d", 12.5),
+            makePoint("e", 60), makePoint("f", 61),
+            makePoint("g", -120));
+
+    @Test
+    public void clusterIDs() {
+        ClusterIndex index = makeIndex();
+
+        List<Feature> children = index.getChildren(CLUSTER_ABCD);
+        assertEquals(2, children.size());
+        assertCluster(children.get(0), CLUSTER_AB, 2);
+        assertCluster(children.get(1), CLUSTER_CD, 2);
+
+        assertTrue(index.hasCluster(CLUSTER_ABCD, 4));
+        assertTrue(index.hasCluster(CLUSTER_EF, -1));
+        assertFalse(index.hasCluster(CLUSTER_EF, 3));
+        assertFalse(index.hasCluster((6 << 5) + 3, -1)); // g is a point on zoom 2
+        assertFalse(index.hasCluster((0 << 5) + 7, -1)); // past the max zoom
+
+        assertEquals(CLUSTER_ABCD, index.findCluster(6.25, 0, 4));
+        assertEquals(CLUSTER_EF, index.findCluster(60.5, 0, 2));
+        assertEquals(-1, index.findCluster(60.5, 0, 3));
+    }
+
+    @Test
+    public void children() {
+        ClusterIndex index = makeIndex();
+
+        List<Feature> children = index.getChildren(CLUSTER_AB);
+        assertEquals(2, children.size());
+        assertSame(mPoints.get(0), children.get(0));
+        assertSame(mPoints.get(1), children.get(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownClusterIsRejected() {
+        makeIndex().getChildren((100 << 5) + 2);
+    }
+
+    @Test
+    public void leaves() {
+        ClusterIndex index = makeIndex();
+
+        assertEquals(mPoints.subList(0, 4), index.getLeaves(CLUSTER_ABCD, 10, 0));
+        assertEquals(mPoints.subList(1, 3), index.getLeaves(CLUSTER_ABCD, 2, 1));
+
+        // the offset skips all of cluster ab without visiting it
+        assertEquals(mPoints.subList(2, 4), index.getLeaves(CLUSTER_ABCD, 10, 2));
+        assertEquals(mPoints.subList(3, 4), index.getLeaves(CLUSTER_ABCD, 10, 3));
+
+        assertEquals(Collections.<Feature>emptyList(), index.getLeaves(CLUSTER_ABCD, 10, 4));
+        assertEquals(Collections.<Feature>emptyList(), index.getLeaves(CLUSTER_ABCD, 0, 0));
+    }
+
+    @Test
+    public void expansionZoom() {
+        ClusterIndex index = makeIndex();
+
+        assertEquals(2, index.getExpansionZoom(CLUSTER_ABCD));
+        assertEquals(3, index.getExpansionZoom(CLUSTER_AB));
+        assertEquals(3, index.getExpansionZoom(CLUSTER_EF));
+    }
+
+    @Test
+    public void onlyPointsAreClustered() {
+        List<Feature> features = new ArrayList<>();
+        features.add(Feature.fromGeometry(LineString.fromCoordinates(Arrays.asList(
+                Position.fromCoordinates(0, 0), Position.fromCoordinates(1, 1)))));
+        features.addAll(mPoints);
+
+        // the line takes no place in the point order the cluster ids are built from
+        ClusterIndex index = new ClusterIndex(features, ClusterIndex.DEFAULT_RADIUS, MAX_ZOOM);
+        assertEquals(mPoints.subList(0, 4), index.getLeaves(CLUSTER_ABCD, 10, 0));
+    }
+
+    private ClusterIndex makeIndex() {
+        return new ClusterIndex(mPoints, ClusterIndex.DEFAULT_RADIUS, MAX_ZOOM);
+    }
+
+    private static void assertCluster(Feature feature, int clusterID, int pointCount) {
+        JsonObject properties = feature.getProperties();
+        assertTrue(properties.get("cluster").getAsBoolean());
+        assertEquals(clusterID, properties.get("cluster_id").getAsInt());
+        assertEquals(pointCount, properties.get("point_count").getAsInt());
+        assertEquals(String.valueOf(clusterID), feature.getId());
+    }
+
+    private static Feature makePoint(String id, double lng) {
+        return Feature.fromGeometry(Point.fromCoordinates(Position.fromCoordinates(lng, 0)), new JsonObject(), id);
+    }
+}
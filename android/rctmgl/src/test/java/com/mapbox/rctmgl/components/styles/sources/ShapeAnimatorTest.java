@@ -0,0 +1,151 @@
+package com.mapbox.rctmgl.components.styles.sources;
+
+import com.google.gson.JsonObject;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.FeatureCollection;
+import com.mapbox.services.commons.geojson.LineString;
+import com.mapbox.services.commons.geojson.Point;
+import com.mapbox.services.commons.models.Position;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Points moving along their keyframes on the equator, where heading east is a bearing of 90.
+ */
+
+public class ShapeAnimatorTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void interpolatesBetweenKeyframes() {
+        Feature feature = makePoint("a", 0, 0, Double.NaN);
+        ShapeFeatureStore store = makeStore(feature);
+        ShapeAnimator animator = new ShapeAnimator();
+
+        animator.addTarget(store, "a", 10, 0, Double.NaN, 1000, 0);
+        assertTrue(animator.isRunning());
+
+        List<Feature> moved = animator.step(store, 500);
+        assertEquals(1, moved.size());
+        assertSame(moved.get(0), store.getFeature("a"));
+        assertPosition(store.getFeature("a"), 5, 0);
+        assertEquals(90, getBearing(store.getFeature("a")), DELTA);
+
+        // features may be shared, the original is left as it was
+        assertPosition(feature, 0, 0);
+        assertFalse(feature.getProperties().has(ShapeAnimator.BEARING_PROPERTY));
+
+        // nothing moved since the last step
+        assertEquals(0, animator.step(store, 500).size());
+
+        animator.step(store, 1500);
+        assertPosition(store.getFeature("a"), 10, 0);
+        assertFalse(animator.isRunning());
+    }
+
+    @Test
+    public void laterTargetsAreReplaced() {
+        ShapeFeatureStore store = makeStore(makePoint("a", 0, 0, Double.NaN));
+        ShapeAnimator animator = new ShapeAnimator();
+
+        animator.addTarget(store, "a", 10, 0, Double.NaN, 1000, 0);
+        animator.addTarget(store, "a", 20, 0, Double.NaN, 2000, 0);
+        animator.addTarget(store, "a", 10, 10, Double.NaN, 1500, 0);
+
+        animator.step(store, 1000);
+        assertPosition(store.getFeature("a"), 10, 0);
+        assertTrue(animator.isRunning());
+
+        animator.step(store, 1250);
+        assertPosition(store.getFeature("a"), 10, 5);
+        assertEquals(0, getBearing(store.getFeature("a")), DELTA);
+
+        animator.step(store, 3000);
+        assertPosition(store.getFeature("a"), 10, 10);
+        assertFalse(animator.isRunning());
+    }
+
+    @Test
+    public void bearingTakesTheShortWayAround() {
+        ShapeFeatureStore store = makeStore(makePoint("a", 0, 0, 350));
+        ShapeAnimator animator = new ShapeAnimator();
+
+        animator.addTarget(store, "a", 0, 0, 10, 1000, 0);
+
+        animator.step(store, 250);
+        assertEquals(355, getBearing(store.getFeature("a")), DELTA);
+        animator.step(store, 500);
+        assertEquals(0, getBearing(store.getFeature("a")), DELTA);
+        animator.step(store, 750);
+        assertEquals(5, getBearing(store.getFeature("a")), DELTA);
+    }
+
+    @Test
+    public void delay() {
+        ShapeFeatureStore store = makeStore(makePoint("a", 0, 0, Double.NaN));
+        ShapeAnimator animator = new ShapeAnimator();
+        animator.setDelay(1000);
+
+        // observed at 1000, shown a second later
+        animator.addTarget(store, "a", 10, 0, Double.NaN, 1000, 1000);
+
+        animator.step(store, 1500);
+        assertPosition(store.getFeature("a"), 5, 0);
+        animator.step(store, 2000);
+        assertPosition(store.getFeature("a"), 10, 0);
+    }
+
+    @Test
+    public void onlyPointsInTheStoreAreAnimated() {
+        Feature line = Feature.fromGeometry(LineString.fromCoordinates(Arrays.asList(
+                Position.fromCoordinates(0, 0), Position.fromCoordinates(1, 1))), new JsonObject(), "line");
+        ShapeFeatureStore store = makeStore(makePoint("a", 0, 0, Double.NaN), makePoint("b", 0, 0, Double.NaN), line);
+        ShapeAnimator animator = new ShapeAnimator();
+
+        animator.addTarget(store, "line", 10, 0, Double.NaN, 1000, 0);
+        animator.addTarget(store, "missing", 10, 0, Double.NaN, 1000, 0);
+        assertFalse(animator.isRunning());
+
+        animator.addTarget(store, "a", 10, 0, Double.NaN, 1000, 0);
+        animator.addTarget(store, "b", 10, 0, Double.NaN, 1000, 0);
+        animator.stop("b");
+
+        // a track ends with its feature
+        store.removeFeatures(Arrays.asList("a"));
+        assertEquals(0, animator.step(store, 500).size());
+        assertFalse(animator.isRunning());
+        assertPosition(store.getFeature("b"), 0, 0);
+    }
+
+    private static ShapeFeatureStore makeStore(Feature... features) {
+        ShapeFeatureStore store = new ShapeFeatureStore();
+        store.reset(FeatureCollection.fromFeatures(Arrays.asList(features)));
+        return store;
+    }
+
+    private static Feature makePoint(String id, double lng, double lat, double bearing) {
+        JsonObject properties = new JsonObject();
+        if (!Double.isNaN(bearing)) {
+            properties.addProperty(ShapeAnimator.BEARING_PROPERTY, bearing);
+        }
+        return Feature.fromGeometry(Point.fromCoordinates(Position.fromCoordinates(lng, lat)), properties, id);
+    }
+
+    private static void assertPosition(Feature feature, double lng, double lat) {
+        Position position = ((Point) feature.getGeometry()).getCoordinates();
+        assertEquals(lng, position.getLongitude(), DELTA);
+        assertEquals(lat, position.getLatitude(), DELTA);
+    }
+
+    private static double getBearing(Feature feature) {
+        return feature.getProperties().get(ShapeAnimator.BEARING_PROPERTY).getAsDouble();
+    }
+}
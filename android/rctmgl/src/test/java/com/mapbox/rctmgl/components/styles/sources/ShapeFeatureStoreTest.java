@@ -0,0 +1,78 @@
+package com.mapbox.rctmgl.components.styles.sources;
+
+import com.google.gson.JsonObject;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.FeatureCollection;
+import com.mapbox.services.commons.geojson.Point;
+import com.mapbox.services.commons.models.Position;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Keeping the features of a shape by id, with features that have no id or repeat one.
+ */
+
+public class ShapeFeatureStoreTest {
+    @Test
+    public void repeatedIdsAreKept() {
+        Feature first = makeFeature("a", 0);
+        Feature repeat = makeFeature("a", 1);
+        Feature other = makeFeature("b", 2);
+
+        ShapeFeatureStore store = new ShapeFeatureStore();
+        store.reset(FeatureCollection.fromFeatures(Arrays.asList(first, repeat, other)));
+
+        assertEquals(3, store.size());
+        assertEquals(Arrays.asList(first, repeat, other), store.getFeatures());
+        assertSame(first, store.getFeature("a"));
+
+        // by id only the first copy is reached
+        assertEquals(1, store.removeFeatures(Collections.singletonList("a")));
+        assertEquals(Arrays.asList(repeat, other), store.getFeatures());
+    }
+
+    @Test
+    public void featuresWithoutIdKeepTheirOrder() {
+        Feature first = makeFeature(null, 0);
+        Feature second = makeFeature(null, 1);
+
+        ShapeFeatureStore store = new ShapeFeatureStore();
+        store.reset(FeatureCollection.fromFeatures(Arrays.asList(first, second)));
+        store.addFeatures(Collections.singletonList(makeFeature(null, 2)));
+
+        List<Feature> features = store.getFeatures();
+        assertEquals(3, features.size());
+        assertSame(first, features.get(0));
+        assertSame(second, features.get(1));
+    }
+
+    @Test
+    public void updatesOnlyKnownIds() {
+        ShapeFeatureStore store = new ShapeFeatureStore();
+        store.reset(FeatureCollection.fromFeatures(Collections.singletonList(makeFeature("a", 0))));
+        store.markClean();
+
+        Feature updated = makeFeature("a", 5);
+        assertEquals(1, store.updateFeatures(Arrays.asList(updated, makeFeature("unknown", 0))));
+        assertSame(updated, store.getFeature("a"));
+        assertEquals(1, store.size());
+        assertTrue(store.isDirty());
+
+        store.markClean();
+        assertEquals(0, store.removeFeatures(Collections.singletonList("unknown")));
+        assertFalse(store.isDirty());
+    }
+
+    private static Feature makeFeature(String id, double lng) {
+        return Feature.fromGeometry(Point.fromCoordinates(Position.fromCoordinates(lng, 0)), new JsonObject(), id);
+    }
+}
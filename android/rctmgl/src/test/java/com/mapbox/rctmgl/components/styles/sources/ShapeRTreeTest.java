@@ -0,0 +1,217 @@
+package com.mapbox.rctmgl.components.styles.sources;
+
+import com.google.gson.JsonObject;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.Geometry;
+import com.mapbox.services.commons.geojson.LineString;
+import com.mapbox.services.commons.geojson.Point;
+import com.mapbox.services.commons.geojson.Polygon;
+import com.mapbox.services.commons.models.Position;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Queries against the packed tree compared with checking every feature, and the nearest and lasso queries
+ * on small hand made shapes. Near the equator a thousandth of a degree is about 111 meters.
+ */
+
+public class ShapeRTreeTest {
+    private static final double METERS_PER_THOUSANDTH = 111.32;
+
+    @Test
+    public void packedTreeFindsWhatAScanFinds() {
+        Random random = new Random(7);
+        List<Feature> features = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            double lng = random.nextDouble() * 20;
+            double lat = random.nextDouble() * 20;
+
+            if (i % 3 == 0) {
+                features.add(makeFeature(String.valueOf(i), LineString.fromCoordinates(Arrays.asList(
+                        Position.fromCoordinates(lng, lat),
+                        Position.fromCoordinates(lng + random.nextDouble(), lat + random.nextDouble())))));
+            } else {
+                features.add(makePoint(String.valueOf(i), lng, lat));
+            }
+        }
+
+        // node sizes that leave partly filled nodes on every level
+        for (int nodeSize : new int[] { 2, 3, 7, ShapeRTree.DEFAULT_NODE_SIZE, 1000 }) {
+            ShapeRTree tree = new ShapeRTree(features, nodeSize);
+            assertEquals(features.size(), tree.getFeatureCount());
+
+            for (int i = 0; i < 50; i++) {
+                double west = random.nextDouble() * 20;
+                double south = random.nextDouble() * 20;
+                double east = west + random.nextDouble() * 5;
+                double north = south + random.nextDouble() * 5;
+
+                assertEquals("node size " + nodeSize, scanBounds(features, west, south, east, north),
+                        sortIDs(getIDs(tree.queryBounds(west, south, east, north, null, 0))));
+            }
+
+            assertEquals(features.size(), tree.queryBounds(-180, -90, 180, 90, null, 0).size());
+            assertEquals(10, tree.queryBounds(-180, -90, 180, 90, null, 10).size());
+        }
+    }
+
+    @Test
+    public void smallTrees() {
+        ShapeRTree empty = new ShapeRTree(Collections.<Feature>emptyList());
+        assertEquals(0, empty.queryBounds(-180, -90, 180, 90, null, 0).size());
+        assertEquals(0, empty.queryNearest(0, 0, 0, null, 0).size());
+
+        Feature point = makePoint("a", 1, 1);
+        ShapeRTree single = new ShapeRTree(Collections.singletonList(point));
+        assertEquals(Collections.singletonList(point), single.queryBounds(0, 0, 2, 2, null, 0));
+        assertEquals(0, single.queryBounds(2, 2, 3, 3, null, 0).size());
+    }
+
+    @Test
+    public void nearest() {
+        List<Feature> features = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            features.add(makePoint("p" + i, 0, i * 0.001));
+        }
+        // a long line whose vertices are far away but that passes close to the center
+        features.add(makeFeature("line", LineString.fromCoordinates(Arrays.asList(
+                Position.fromCoordinates(-1, 0.0105), Position.fromCoordinates(1, 0.0105)))));
+        ShapeRTree tree = new ShapeRTree(features, 4);
+
+        List<Feature> nearest = tree.queryNearest(0, 0.0099, 0, null, 4);
+        assertEquals(Arrays.asList("p10", "line", "p9", "p11"), getIDs(nearest));
+
+        // p10 and the line are within 90 meters, p9 and p11 over 100 meters away
+        assertEquals(Arrays.asList("p10", "line"), getIDs(tree.queryNearest(0, 0.0099, 90, null, 0)));
+        assertEquals(21, tree.queryNearest(0, 0.0099, 0, null, 0).size());
+
+        List<Feature> within = tree.queryNearest(0, 0, 3.5 * METERS_PER_THOUSANDTH, null, 0);
+        assertEquals(Arrays.asList("p0", "p1", "p2", "p3"), getIDs(within));
+    }
+
+    @Test
+    public void nearestInsidePolygon() {
+        Feature square = makeFeature("square", makeSquare(0, 0, 1));
+        Feature point = makePoint("point", 0.5, 0.5001);
+        ShapeRTree tree = new ShapeRTree(Arrays.asList(point, square));
+
+        // the center is inside the square, so it is closer than a point a few meters away
+        assertEquals(Arrays.asList("square", "point"), getIDs(tree.queryNearest(0.5, 0.5, 0, null, 0)));
+
+        Feature holed = makeFeature("holed", Polygon.fromCoordinates(Arrays.asList(
+                makeRing(0, 0, 1), makeRing(0.25, 0.25, 0.5))));
+        tree = new ShapeRTree(Collections.singletonList(holed));
+        assertEquals(0, tree.queryNearest(0.5, 0.5, 1000, null, 0).size());
+        assertEquals(1, tree.queryNearest(0.1, 0.1, 1, null, 0).size());
+    }
+
+    @Test
+    public void lasso() {
+        List<Position> lasso = makeRing(0, 0, 1);
+
+        Feature inside = makePoint("inside", 0.5, 0.5);
+        Feature outside = makePoint("outside", 1.5, 0.5);
+        Feature crossingLine = makeFeature("crossingLine", LineString.fromCoordinates(Arrays.asList(
+                Position.fromCoordinates(-1, 0.5), Position.fromCoordinates(2, 0.5))));
+        Feature passingLine = makeFeature("passingLine", LineString.fromCoordinates(Arrays.asList(
+                Position.fromCoordinates(-1, 0.5), Position.fromCoordinates(0.4, 2))));
+        Feature surroundingPolygon = makeFeature("surroundingPolygon", makeSquare(-1, -1, 3));
+        Feature crossingPolygon = makeFeature("crossingPolygon", Polygon.fromCoordinates(Collections.singletonList(
+                Arrays.asList(Position.fromCoordinates(0.5, -1), Position.fromCoordinates(0.6, 2),
+                        Position.fromCoordinates(0.4, 2), Position.fromCoordinates(0.5, -1)))));
+        Feature holePolygon = makeFeature("holePolygon", Polygon.fromCoordinates(Arrays.asList(
+                makeRing(-1, -1, 3), makeRing(-0.5, -0.5, 2))));
+
+        ShapeRTree tree = new ShapeRTree(Arrays.asList(inside, outside, crossingLine, passingLine,
+                surroundingPolygon, crossingPolygon, holePolygon));
+
+        List<String> ids = getIDs(tree.queryPolygon(lasso, null, 0));
+        Collections.sort(ids);
+        assertEquals(Arrays.asList("crossingLine", "crossingPolygon", "inside", "surroundingPolygon"), ids);
+
+        // open rings are closed by the query
+        assertEquals(4, tree.queryPolygon(lasso.subList(0, 4), null, 0).size());
+        assertEquals(2, tree.queryPolygon(lasso, null, 2).size());
+        assertEquals(0, tree.queryPolygon(lasso.subList(0, 2), null, 0).size());
+    }
+
+    private static List<String> scanBounds(List<Feature> features, double west, double south, double east, double north) {
+        List<String> ids = new ArrayList<>();
+
+        for (Feature feature : features) {
+            double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+
+            for (Position position : getPositions(feature.getGeometry())) {
+                minX = Math.min(minX, position.getLongitude());
+                minY = Math.min(minY, position.getLatitude());
+                maxX = Math.max(maxX, position.getLongitude());
+                maxY = Math.max(maxY, position.getLatitude());
+            }
+
+            if (minX <= east && maxX >= west && minY <= north && maxY >= south) {
+                ids.add(feature.getId());
+            }
+        }
+
+        return sortIDs(ids);
+    }
+
+    private static List<Position> getPositions(Geometry geometry) {
+        if (geometry instanceof Point) {
+            return Collections.singletonList(((Point) geometry).getCoordinates());
+        }
+        return ((LineString) geometry).getCoordinates();
+    }
+
+    private static List<String> getIDs(List<Feature> features) {
+        List<String> ids = new ArrayList<>();
+        for (Feature feature : features) {
+            ids.add(feature.getId());
+        }
+        return ids;
+    }
+
+    private static List<String> sortIDs(List<String> ids) {
+        Collections.sort(ids, new Comparator<String>() {
+            @Override
+            public int compare(String a, String b) {
+                return Integer.valueOf(a).compareTo(Integer.valueOf(b));
+            }
+        });
+        assertEquals(ids.size(), new HashSet<>(ids).size()); // no feature twice
+        return ids;
+    }
+
+    private static Feature makePoint(String id, double lng, double lat) {
+        return makeFeature(id, Point.fromCoordinates(Position.fromCoordinates(lng, lat)));
+    }
+
+    private static Feature makeFeature(String id, Geometry geometry) {
+        return Feature.fromGeometry(geometry, new JsonObject(), id);
+    }
+
+    private static Polygon makeSquare(double lng, double lat, double size) {
+        return Polygon.fromCoordinates(Collections.singletonList(makeRing(lng, lat, size)));
+    }
+
+    private static List<Position> makeRing(double lng, double lat, double size) {
+        return Arrays.asList(
+                Position.fromCoordinates(lng, lat),
+                Position.fromCoordinates(lng + size, lat),
+                Position.fromCoordinates(lng + size, lat + size),
+                Position.fromCoordinates(lng, lat + size),
+                Position.fromCoordinates(lng, lat));
+    }
+}
@@ -0,0 +1,96 @@
+package com.mapbox.rctmgl.components.styles.sources;
+
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.FeatureCollection;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Sharing parsed shapes between sources by shape id and content version.
+ */
+
+public class ShapeRegistryTest {
+    private static final String SHAPE = "{\"type\":\"FeatureCollection\",\"features\":[]}";
+    private static final String NEW_SHAPE = "{\"type\":\"FeatureCollection\",\"features\":[{}]}";
+
+    @Test
+    public void sameContentIsParsedOnce() {
+        String shapeID = "sameContent";
+        long version = ShapeRegistry.getVersion(SHAPE, ShapeUpdateQueue.FORMAT_GEOJSON);
+        Holder first = new Holder();
+        Holder second = new Holder();
+
+        ShapeRegistry.acquire(shapeID, first);
+        ShapeRegistry.acquire(shapeID, second);
+
+        assertTrue(ShapeRegistry.startLoading(shapeID, version, first));
+        assertFalse(ShapeRegistry.startLoading(shapeID, version, second));
+
+        FeatureCollection featureCollection = makeFeatureCollection();
+        ShapeRegistry.publish(shapeID, version, featureCollection, first);
+
+        assertSame(featureCollection, second.featureCollection);
+        assertEquals(version, second.version);
+    }
+
+    @Test
+    public void newContentUnderSameIdIsParsedAgain() {
+        String shapeID = "newContent";
+        long version = ShapeRegistry.getVersion(SHAPE, ShapeUpdateQueue.FORMAT_GEOJSON);
+        long newVersion = ShapeRegistry.getVersion(NEW_SHAPE, ShapeUpdateQueue.FORMAT_GEOJSON);
+        Holder first = new Holder();
+        Holder second = new Holder();
+
+        ShapeRegistry.acquire(shapeID, first);
+        ShapeRegistry.acquire(shapeID, second);
+
+        assertTrue(ShapeRegistry.startLoading(shapeID, version, first));
+        ShapeRegistry.publish(shapeID, version, makeFeatureCollection(), first);
+
+        // the same id with new data isn't served the old copy
+        assertNotEquals(version, newVersion);
+        assertTrue(ShapeRegistry.startLoading(shapeID, newVersion, first));
+
+        FeatureCollection newFeatureCollection = makeFeatureCollection();
+        ShapeRegistry.publish(shapeID, newVersion, newFeatureCollection, first);
+
+        assertSame(newFeatureCollection, second.featureCollection);
+        assertEquals(newVersion, second.version);
+
+        // a late source with the new data gets the parsed copy right away
+        Holder third = new Holder();
+        ShapeRegistry.acquire(shapeID, third);
+        assertFalse(ShapeRegistry.startLoading(shapeID, newVersion, third));
+        assertSame(newFeatureCollection, third.featureCollection);
+    }
+
+    @Test
+    public void versionDependsOnFormat() {
+        assertNotEquals(ShapeRegistry.getVersion(SHAPE, ShapeUpdateQueue.FORMAT_GEOJSON),
+                ShapeRegistry.getVersion(SHAPE, ShapeUpdateQueue.FORMAT_SHAPE_BUFFER));
+        assertNotEquals(ShapeRegistry.NO_VERSION, ShapeRegistry.getVersion("", ShapeUpdateQueue.FORMAT_GEOJSON));
+    }
+
+    private static FeatureCollection makeFeatureCollection() {
+        return FeatureCollection.fromFeatures(new ArrayList<Feature>());
+    }
+
+    private static class Holder implements ShapeRegistry.OnSharedShapeListener {
+        FeatureCollection featureCollection;
+        long version = ShapeRegistry.NO_VERSION;
+
+        @Override
+        public void onSharedShapeReady(String shapeID, long version, FeatureCollection featureCollection) {
+            this.featureCollection = featureCollection;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.mapbox.rctmgl.components.styles.sources;
+
+import com.google.gson.JsonObject;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.Geometry;
+import com.mapbox.services.commons.geojson.LineString;
+import com.mapbox.services.commons.geojson.Point;
+import com.mapbox.services.commons.geojson.Polygon;
+import com.mapbox.services.commons.models.Position;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Bands split at zoom 0 and 10 with a tolerance of one pixel. A bump of 0.01 degrees is far below a pixel on
+ * zoom 0 and a few pixels on zoom 10.
+ */
+
+public class ShapeSimplifierTest {
+    private static final double[] ZOOM_LEVELS = new double[] { 10, 0 };
+    private static final int LOW_BAND = 0;
+    private static final int HIGH_BAND = 1;
+
+    @Test
+    public void bands() {
+        ShapeSimplifier simplifier = makeSimplifier(ShapeSimplifier.ALGORITHM_DOUGLAS_PEUCKER);
+
+        assertEquals(2, simplifier.getBandCount());
+        assertEquals(LOW_BAND, simplifier.getBand(-1));
+        assertEquals(HIGH_BAND, simplifier.getBand(0));
+        assertEquals(HIGH_BAND, simplifier.getBand(9.5));
+        assertEquals(2, simplifier.getBand(10));
+        assertTrue(simplifier.isFullResolution(2));
+        assertFalse(simplifier.isFullResolution(HIGH_BAND));
+
+        List<Feature> features = Collections.singletonList(makeBumpyLine());
+        assertSame(features.get(0), simplifier.simplify(features, 2).getFeatures().get(0));
+    }
+
+    @Test
+    public void douglasPeucker() {
+        assertBumpSimplified(ShapeSimplifier.ALGORITHM_DOUGLAS_PEUCKER);
+    }
+
+    @Test
+    public void visvalingam() {
+        assertBumpSimplified(ShapeSimplifier.ALGORITHM_VISVALINGAM);
+    }
+
+    @Test
+    public void polygons() {
+        ShapeSimplifier simplifier = makeSimplifier(ShapeSimplifier.ALGORITHM_DOUGLAS_PEUCKER);
+
+        Feature point = Feature.fromGeometry(Point.fromCoordinates(Position.fromCoordinates(1, 1)));
+        Feature tiny = makePolygon(makeSquare(20, 20, 0.01));
+        Feature holed = makePolygon(makeSquare(0, 0, 10), makeSquare(5, 5, 0.01));
+
+        List<Feature> simplified = simplifier.simplify(Arrays.asList(point, tiny, holed), LOW_BAND).getFeatures();
+
+        // the tiny polygon collapses and is dropped, the hole too small to see goes away
+        assertEquals(2, simplified.size());
+        assertSame(point, simplified.get(0));
+
+        List<List<Position>> rings = ((Polygon) simplified.get(1).getGeometry()).getCoordinates();
+        assertEquals(1, rings.size());
+        assertEquals(5, rings.get(0).size());
+        assertEquals(holed.getId(), simplified.get(1).getId());
+
+        List<Feature> exact = simplifier.simplify(Arrays.asList(tiny, holed), HIGH_BAND).getFeatures();
+        assertEquals(2, exact.size());
+        assertEquals(2, ((Polygon) exact.get(1).getGeometry()).getCoordinates().size());
+    }
+
+    @Test
+    public void cache() {
+        ShapeSimplifier simplifier = makeSimplifier(ShapeSimplifier.ALGORITHM_DOUGLAS_PEUCKER);
+        List<Feature> features = Collections.singletonList(makeBumpyLine());
+
+        Feature simplified = simplifier.simplify(features, LOW_BAND).getFeatures().get(0);
+        assertSame(simplified, simplifier.simplify(features, LOW_BAND).getFeatures().get(0));
+        assertNotSame(simplified, simplifier.simplify(features, HIGH_BAND).getFeatures().get(0));
+
+        simplifier.clear();
+        assertNotSame(simplified, simplifier.simplify(features, LOW_BAND).getFeatures().get(0));
+
+        // a line of 2 coordinates doesn't fit a cache of 1
+        ShapeSimplifier bounded = new ShapeSimplifier(ZOOM_LEVELS, ShapeSimplifier.ALGORITHM_DOUGLAS_PEUCKER,
+                ShapeSimplifier.DEFAULT_TOLERANCE, 1);
+        simplified = bounded.simplify(features, LOW_BAND).getFeatures().get(0);
+        assertNotSame(simplified, bounded.simplify(features, LOW_BAND).getFeatures().get(0));
+    }
+
+    private static void assertBumpSimplified(String algorithm) {
+        ShapeSimplifier simplifier = makeSimplifier(algorithm);
+        Feature line = makeBumpyLine();
+        List<Feature> features = Collections.singletonList(line);
+
+        Feature low = simplifier.simplify(features, LOW_BAND).getFeatures().get(0);
+        assertEquals(2, getCoordinates(low).size());
+        assertEquals(line.getId(), low.getId());
+        assertSame(line.getProperties(), low.getProperties());
+
+        Feature high = simplifier.simplify(features, HIGH_BAND).getFeatures().get(0);
+        assertEquals(getCoordinates(line), getCoordinates(high));
+    }
+
+    private static ShapeSimplifier makeSimplifier(String algorithm) {
+        return new ShapeSimplifier(ZOOM_LEVELS, algorithm, ShapeSimplifier.DEFAULT_TOLERANCE,
+                ShapeSimplifier.DEFAULT_MAX_CACHED_COORDINATES);
+    }
+
+    private static Feature makeBumpyLine() {
+        LineString line = LineString.fromCoordinates(Arrays.asList(
+                Position.fromCoordinates(0, 0),
+                Position.fromCoordinates(5, 0.01),
+                Position.fromCoordinates(10, 0)));
+        return Feature.fromGeometry(line, new JsonObject(), "line");
+    }
+
+    @SafeVarargs
+    private static Feature makePolygon(List<Position>... rings) {
+        Geometry polygon = Polygon.fromCoordinates(new ArrayList<>(Arrays.asList(rings)));
+        return Feature.fromGeometry(polygon, new JsonObject(), "polygon");
+    }
+
+    private static List<Position> makeSquare(double lng, double lat, double size) {
+        return Arrays.asList(
+                Position.fromCoordinates(lng, lat),
+                Position.fromCoordinates(lng + size, lat),
+                Position.fromCoordinates(lng + size, lat + size),
+                Position.fromCoordinates(lng, lat + size),
+                Position.fromCoordinates(lng, lat));
+    }
+
+    private static List<Position> getCoordinates(Feature feature) {
+        return ((LineString) feature.getGeometry()).getCoordinates();
+    }
+}
@@ -0,0 +1,147 @@
+package com.mapbox.rctmgl.components.styles.sources;
+
+import com.google.gson.JsonObject;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.FeatureCollection;
+import com.mapbox.services.commons.geojson.Point;
+import com.mapbox.services.commons.geojson.Polygon;
+import com.mapbox.services.commons.models.Position;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Splitting of the tile pyramid, in particular that features which don't separate don't make it split forever,
+ * and picking of features animated since the index was built.
+ */
+
+public class ShapeTileIndexTest {
+    private static final int MAX_ZOOM = 14;
+    private static final int MAX_FEATURES_PER_TILE = 10;
+
+    @Test
+    public void overlappingPolygonsStaySingleTile() {
+        List<Feature> features = new ArrayList<>();
+        for (int i = 0; i < MAX_FEATURES_PER_TILE * 5; i++) {
+            features.add(makePolygon(-170 + i, -80, 170 - i, 80));
+        }
+
+        ShapeTileIndex tileIndex = new ShapeTileIndex(features, MAX_ZOOM, MAX_FEATURES_PER_TILE);
+
+        assertEquals(1, tileIndex.getLeafTileCount());
+        assertEquals(features.size(), tileIndex.getFeatures(tileIndex.getTiles(0.4, 0.4, 0.6, 0.6)).size());
+    }
+
+    @Test
+    public void denseClusterUnderLargePolygon() {
+        List<Feature> features = new ArrayList<>();
+        features.add(makePolygon(-170, -80, 170, 80));
+        for (int i = 0; i < MAX_FEATURES_PER_TILE * 10; i++) {
+            features.add(makePoint(10, 10));
+        }
+
+        ShapeTileIndex tileIndex = new ShapeTileIndex(features, MAX_ZOOM, MAX_FEATURES_PER_TILE);
+
+        // the cluster never separates, only the tiles next to it become leaves on the way down
+        assertTrue(tileIndex.getLeafTileCount() <= 3 * MAX_ZOOM + 1);
+
+        double x = ShapeTileIndex.projectX(10);
+        double y = ShapeTileIndex.projectY(10);
+        assertEquals(features.size(), tileIndex.getFeatures(tileIndex.getTiles(x, y, x, y)).size());
+    }
+
+    @Test
+    public void spreadPointsSplit() {
+        List<Feature> features = new ArrayList<>();
+        for (int lng = -170; lng < 170; lng += 10) {
+            for (int lat = -80; lat < 80; lat += 10) {
+                features.add(makePoint(lng + 5, lat + 5));
+            }
+        }
+
+        ShapeTileIndex tileIndex = new ShapeTileIndex(features, MAX_ZOOM, MAX_FEATURES_PER_TILE);
+
+        assertTrue(tileIndex.getLeafTileCount() > 1);
+        assertEquals(features.size(), tileIndex.getFeatures(tileIndex.getTiles(0, 0, 1, 1)).size());
+
+        int visibleCount = tileIndex.getFeatures(tileIndex.getTiles(0.5, 0.5, 0.6, 0.6)).size();
+        assertTrue(visibleCount > 0 && visibleCount < features.size());
+    }
+
+    @Test
+    public void animatedFeatureIsPickedAtItsNewPosition() {
+        List<Feature> features = new ArrayList<>();
+        for (int i = 0; i < MAX_FEATURES_PER_TILE * 2; i++) {
+            features.add(makePoint(-100 + i * 0.01, -40, "west" + i));
+            features.add(makePoint(100 + i * 0.01, 40, "east" + i));
+        }
+
+        ShapeFeatureStore store = new ShapeFeatureStore();
+        store.reset(FeatureCollection.fromFeatures(features));
+        ShapeTileIndex tileIndex = new ShapeTileIndex(store.getFeatures(), MAX_ZOOM, MAX_FEATURES_PER_TILE);
+
+        // half way from the west to the east group
+        ShapeAnimator animator = new ShapeAnimator();
+        animator.addTarget(store, "west0", 100, 40, 0, 1000, 0);
+
+        Set<String> movedFeatureIDs = new HashSet<>();
+        for (Feature feature : animator.step(store, 500)) {
+            movedFeatureIDs.add(feature.getId());
+        }
+        assertEquals(1, movedFeatureIDs.size());
+
+        double x = ShapeTileIndex.projectX(0);
+        double y = ShapeTileIndex.projectY(0);
+        double[] bounds = new double[]{ x - 0.01, y - 0.01, x + 0.01, y + 0.01 };
+        List<Feature> visible = tileIndex.getFeatures(tileIndex.getTiles(bounds[0], bounds[1], bounds[2], bounds[3]),
+                store, movedFeatureIDs, bounds);
+
+        assertEquals(1, visible.size());
+        Position position = ((Point) visible.get(0).getGeometry()).getCoordinates();
+        assertEquals(0, position.getLongitude(), 1e-9);
+        assertEquals(0, position.getLatitude(), 1e-9);
+
+        // the tiles it was indexed in no longer hold it
+        double westX = ShapeTileIndex.projectX(-100);
+        double westY = ShapeTileIndex.projectY(-40);
+        double[] westBounds = new double[]{ westX - 0.01, westY - 0.01, westX + 0.01, westY + 0.01 };
+        List<Feature> west = tileIndex.getFeatures(
+                tileIndex.getTiles(westBounds[0], westBounds[1], westBounds[2], westBounds[3]),
+                store, movedFeatureIDs, westBounds);
+
+        assertEquals(MAX_FEATURES_PER_TILE * 2 - 1, west.size());
+        for (Feature feature : west) {
+            assertFalse("west0".equals(feature.getId()));
+        }
+    }
+
+    private static Feature makePoint(double lng, double lat) {
+        return Feature.fromGeometry(Point.fromCoordinates(Position.fromCoordinates(lng, lat)));
+    }
+
+    private static Feature makePoint(double lng, double lat, String id) {
+        return Feature.fromGeometry(Point.fromCoordinates(Position.fromCoordinates(lng, lat)), new JsonObject(), id);
+    }
+
+    private static Feature makePolygon(double west, double south, double east, double north) {
+        List<Position> ring = Arrays.asList(
+                Position.fromCoordinates(west, south),
+                Position.fromCoordinates(east, south),
+                Position.fromCoordinates(east, north),
+                Position.fromCoordinates(west, north),
+                Position.fromCoordinates(west, south));
+
+        List<List<Position>> rings = new ArrayList<>();
+        rings.add(ring);
+        return Feature.fromGeometry(Polygon.fromCoordinates(rings));
+    }
+}
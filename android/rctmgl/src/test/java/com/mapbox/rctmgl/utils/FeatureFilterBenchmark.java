@@ -0,0 +1,105 @@
+package com.mapbox.rctmgl.utils;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.google.gson.JsonObject;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.Point;
+import com.mapbox.services.commons.models.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Times a typical all/in/>= filter with a nested any against 100k features. Not a test so it stays out of
+ * the unit suite, run its main by hand when working on FeatureFilter.
+ */
+
+public class FeatureFilterBenchmark {
+    private static final int FEATURE_COUNT = 100000;
+    private static final int KIND_COUNT = 50;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int ITERATIONS = 20;
+
+    public static void main(String[] args) {
+        List<Feature> features = makeFeatures();
+
+        // ["all", [">=", "rank", 50], ["in", "kind", "kind0" ... "kind19"], ["any", ["==", "enabled", true], ["<", "rank", 60]]]
+        JavaOnlyArray filter = new JavaOnlyArray();
+        filter.pushMap(item("all"));
+        filter.pushMap(item(">="));
+        filter.pushMap(item("rank"));
+        filter.pushMap(item(50.0));
+        filter.pushMap(item("in"));
+        filter.pushMap(item("kind"));
+        for (int i = 0; i < 20; i++) {
+            filter.pushMap(item("kind" + i));
+        }
+
+        JavaOnlyArray any = new JavaOnlyArray();
+        any.pushMap(item("any"));
+        any.pushMap(item("=="));
+        any.pushMap(item("enabled"));
+        any.pushMap(item(true));
+        any.pushMap(item("<"));
+        any.pushMap(item("rank"));
+        any.pushMap(item(60.0));
+
+        JavaOnlyMap anyItem = new JavaOnlyMap();
+        anyItem.putString("type", "array");
+        anyItem.putArray("value", any);
+        filter.pushMap(anyItem);
+
+        FeatureFilter featureFilter = FeatureFilter.fromFilterList(FilterParser.getFilterList(filter));
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            featureFilter.count(features);
+        }
+
+        int count = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            count = featureFilter.count(features);
+        }
+        double millisPerPass = (System.nanoTime() - start) / 1000000.0 / ITERATIONS;
+
+        System.out.println(String.format("%d of %d features matched: %.2f ms per pass", count, FEATURE_COUNT, millisPerPass));
+    }
+
+    private static List<Feature> makeFeatures() {
+        List<Feature> features = new ArrayList<>(FEATURE_COUNT);
+
+        for (int i = 0; i < FEATURE_COUNT; i++) {
+            JsonObject properties = new JsonObject();
+            properties.addProperty("rank", i % 100);
+            properties.addProperty("kind", "kind" + (i % KIND_COUNT));
+            properties.addProperty("enabled", i % 3 == 0);
+
+            Point point = Point.fromCoordinates(Position.fromCoordinates(i % 360 - 180, i % 170 - 85));
+            features.add(Feature.fromGeometry(point, properties, String.valueOf(i)));
+        }
+
+        return features;
+    }
+
+    private static JavaOnlyMap item(String value) {
+        JavaOnlyMap item = new JavaOnlyMap();
+        item.putString("type", "string");
+        item.putString("value", value);
+        return item;
+    }
+
+    private static JavaOnlyMap item(double value) {
+        JavaOnlyMap item = new JavaOnlyMap();
+        item.putString("type", "number");
+        item.putDouble("value", value);
+        return item;
+    }
+
+    private static JavaOnlyMap item(boolean value) {
+        JavaOnlyMap item = new JavaOnlyMap();
+        item.putString("type", "boolean");
+        item.putBoolean("value", value);
+        return item;
+    }
+}
@@ -0,0 +1,215 @@
+package com.mapbox.rctmgl.utils;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.LineString;
+import com.mapbox.services.commons.geojson.Point;
+import com.mapbox.services.commons.models.Position;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The compiled condition tree matches features like the evaluator it replaced, which compared boxed values
+ * per feature: numbers as doubles, ids against numbers by parsing them, and properties only matching values
+ * of their own type.
+ */
+
+public class FeatureFilterTest {
+    @Test
+    public void nestedCompounds() {
+        // ["all", [">=", "rank", 50], ["any", ["==", "enabled", true], ["none", ["<", "rank", 60], ["==", "kind", "b"]]]]
+        FeatureFilter filter = compile("all",
+                new Object[] { ">=", "rank", 50 },
+                new Object[] { "any",
+                        new Object[] { "==", "enabled", true },
+                        new Object[] { "none",
+                                new Object[] { "<", "rank", 60 },
+                                new Object[] { "==", "kind", "b" } } });
+
+        assertTrue(filter.matches(makeFeature(55, "a", true)));
+        assertFalse(filter.matches(makeFeature(55, "a", false)));
+        assertTrue(filter.matches(makeFeature(70, "a", false)));
+        assertFalse(filter.matches(makeFeature(70, "b", false)));
+        assertFalse(filter.matches(makeFeature(40, "a", true)));
+
+        assertEquals(2, filter.count(Arrays.asList(
+                makeFeature(55, "a", true),
+                makeFeature(55, "a", false),
+                makeFeature(70, "a", false),
+                makeFeature(70, "b", false))));
+    }
+
+    @Test
+    public void flatCompound() {
+        FeatureFilter filter = compile("any", "==", "kind", "a", "<", "rank", 10);
+
+        assertTrue(filter.matches(makeFeature(50, "a", false)));
+        assertTrue(filter.matches(makeFeature(5, "b", false)));
+        assertFalse(filter.matches(makeFeature(50, "b", false)));
+    }
+
+    @Test
+    public void in() {
+        FeatureFilter kinds = compile("in", "kind", "a", "b");
+        assertTrue(kinds.matches(makeFeature(0, "a", false)));
+        assertTrue(kinds.matches(makeFeature(0, "b", false)));
+        assertFalse(kinds.matches(makeFeature(0, "c", false)));
+
+        FeatureFilter ranks = compile("in", "rank", 3, 1, 2);
+        assertTrue(ranks.matches(makeFeature(2, "a", false)));
+        assertFalse(ranks.matches(makeFeature(4, "a", false)));
+
+        FeatureFilter enabled = compile("in", "enabled", true);
+        assertTrue(enabled.matches(makeFeature(0, "a", true)));
+        assertFalse(enabled.matches(makeFeature(0, "a", false)));
+
+        FeatureFilter notIn = compile("!in", "kind", "a", "b");
+        assertFalse(notIn.matches(makeFeature(0, "a", false)));
+        assertTrue(notIn.matches(makeFeature(0, "c", false)));
+        assertTrue(notIn.matches(makeFeature(new JsonObject(), "1")));
+        assertFalse(kinds.matches(makeFeature(new JsonObject(), "1")));
+    }
+
+    @Test
+    public void inMatchesIdsHeldAsNumbers() {
+        FeatureFilter filter = compile("in", "$id", 7, "x");
+
+        assertTrue(filter.matches(makeFeature(new JsonObject(), "7")));
+        assertTrue(filter.matches(makeFeature(new JsonObject(), "7.0")));
+        assertTrue(filter.matches(makeFeature(new JsonObject(), "x")));
+        assertFalse(filter.matches(makeFeature(new JsonObject(), "8")));
+        assertFalse(filter.matches(makeFeature(new JsonObject(), null)));
+
+        // properties aren't parsed, a number doesn't match a string holding it
+        FeatureFilter ranks = compile("in", "rank", "7");
+        assertFalse(ranks.matches(makeFeature(7, "a", false)));
+    }
+
+    @Test
+    public void has() {
+        JsonObject properties = new JsonObject();
+        properties.addProperty("kind", "a");
+        properties.add("empty", JsonNull.INSTANCE);
+        properties.add("nested", new JsonObject());
+        Feature feature = makeFeature(properties, null);
+
+        assertTrue(compile("has", "kind").matches(feature));
+        assertFalse(compile("!has", "kind").matches(feature));
+
+        // only primitives count, like the values the engine can compare
+        assertFalse(compile("has", "empty").matches(feature));
+        assertFalse(compile("has", "nested").matches(feature));
+        assertTrue(compile("!has", "missing").matches(feature));
+
+        assertFalse(compile("has", "$id").matches(feature));
+        assertTrue(compile("has", "$type").matches(feature));
+        assertTrue(compile("==", "$type", "Point").matches(feature));
+
+        Feature line = Feature.fromGeometry(LineString.fromCoordinates(
+                Arrays.asList(Position.fromCoordinates(0, 0), Position.fromCoordinates(1, 1))));
+        assertFalse(compile("==", "$type", "Point").matches(line));
+    }
+
+    @Test
+    public void typeMismatch() {
+        Feature feature = makeFeature(5, "1", true);
+
+        // ordering only compares numbers with numbers and strings with strings
+        assertFalse(compile("<", "rank", "9").matches(feature));
+        assertFalse(compile(">=", "rank", "1").matches(feature));
+        assertFalse(compile(">", "kind", 0).matches(feature));
+        assertFalse(compile("<=", "enabled", 1).matches(feature));
+        assertTrue(compile("<", "kind", "2").matches(feature));
+
+        // only ids are parsed against numbers, other values of another type are not equal
+        assertTrue(compile("==", "$id", 1).matches(feature));
+        assertFalse(compile("==", "kind", 1).matches(feature));
+        assertFalse(compile("==", "rank", "5").matches(feature));
+        assertTrue(compile("!=", "kind", 1).matches(feature));
+        assertFalse(compile("==", "enabled", "true").matches(feature));
+        assertFalse(compile("==", "rank", true).matches(feature));
+        assertTrue(compile("!=", "rank", "x").matches(feature));
+        assertFalse(compile("==", "kind", "x").matches(makeFeature(5, "x1", true)));
+    }
+
+    @Test
+    public void missingValue() {
+        Feature feature = makeFeature(new JsonObject(), "1");
+
+        assertFalse(compile("<", "rank", 5).matches(feature));
+        assertFalse(compile(">=", "rank", 5).matches(feature));
+        assertFalse(compile("==", "rank", 5).matches(feature));
+        assertTrue(compile("!=", "rank", 5).matches(feature));
+
+        assertFalse(compile("==", "rank", 5).matches(Feature.fromGeometry(makePoint(), null, "1")));
+    }
+
+    @Test
+    public void emptyFilterMatchesEverything() {
+        assertNull(FeatureFilter.fromFilterList(FilterParser.getFilterList(new JavaOnlyArray())));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingValueIsRejected() {
+        compile("all", new Object[] { "==", "rank" });
+    }
+
+    private static FeatureFilter compile(Object... items) {
+        return FeatureFilter.fromFilterList(FilterParser.getFilterList(makeFilter(items)));
+    }
+
+    /**
+     * Bridges the filter like FilterParser receives it from JS, nested arrays as array items.
+     */
+    static JavaOnlyArray makeFilter(Object[] items) {
+        JavaOnlyArray filter = new JavaOnlyArray();
+
+        for (Object item : items) {
+            JavaOnlyMap map = new JavaOnlyMap();
+
+            if (item instanceof Object[]) {
+                map.putString("type", "array");
+                map.putArray("value", makeFilter((Object[]) item));
+            } else if (item instanceof Boolean) {
+                map.putString("type", "boolean");
+                map.putBoolean("value", (Boolean) item);
+            } else if (item instanceof Number) {
+                map.putString("type", "number");
+                map.putDouble("value", ((Number) item).doubleValue());
+            } else {
+                map.putString("type", "string");
+                map.putString("value", (String) item);
+            }
+
+            filter.pushMap(map);
+        }
+
+        return filter;
+    }
+
+    private static Feature makeFeature(int rank, String kind, boolean enabled) {
+        JsonObject properties = new JsonObject();
+        properties.addProperty("rank", rank);
+        properties.addProperty("kind", kind);
+        properties.addProperty("enabled", enabled);
+        return makeFeature(properties, "1");
+    }
+
+    private static Feature makeFeature(JsonObject properties, String id) {
+        return Feature.fromGeometry(makePoint(), properties, id);
+    }
+
+    private static Point makePoint() {
+        return Point.fromCoordinates(Position.fromCoordinates(0, 0));
+    }
+}
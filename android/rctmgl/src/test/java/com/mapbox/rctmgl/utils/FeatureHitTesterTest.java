@@ -0,0 +1,160 @@
+package com.mapbox.rctmgl.utils;
+
+import com.google.gson.JsonObject;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.Point;
+import com.mapbox.services.commons.models.Position;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Screen space distances used to rank pressed features, and the ranking itself.
+ */
+
+public class FeatureHitTesterTest {
+    private static final double DELTA = 1e-9;
+    private static final double TOLERANCE = 8;
+
+    @Test
+    public void segmentDistance() {
+        // perpendicular to the middle of the segment
+        assertEquals(5.0, FeatureHitTester.getSegmentDistance(5, 5, 0, 0, 10, 0), DELTA);
+
+        // past its ends, measured to the closest end
+        assertEquals(5.0, FeatureHitTester.getSegmentDistance(-3, 4, 0, 0, 10, 0), DELTA);
+        assertEquals(5.0, FeatureHitTester.getSegmentDistance(13, -4, 0, 0, 10, 0), DELTA);
+
+        // a segment collapsed to a point
+        assertEquals(5.0, FeatureHitTester.getSegmentDistance(3, 4, 0, 0, 0, 0), DELTA);
+    }
+
+    @Test
+    public void polylineDistance() {
+        double[] xs = { 0, 10, 10 };
+        double[] ys = { 0, 0, 10 };
+
+        assertEquals(2.0, FeatureHitTester.getPolylineDistance(8, 5, xs, ys), DELTA);
+        assertEquals(1.0, FeatureHitTester.getPolylineDistance(5, 1, xs, ys), DELTA);
+        assertEquals(Double.POSITIVE_INFINITY, FeatureHitTester.getPolylineDistance(5, 1, new double[0], new double[0]), DELTA);
+    }
+
+    @Test
+    public void pointInRing() {
+        double[] xs = { 0, 10, 10, 0, 0 };
+        double[] ys = { 0, 0, 10, 10, 0 };
+
+        assertTrue(FeatureHitTester.isInRing(5, 5, xs, ys));
+        assertFalse(FeatureHitTester.isInRing(15, 5, xs, ys));
+        assertFalse(FeatureHitTester.isInRing(5, -1, xs, ys));
+
+        // concave ring, the press is in its notch
+        double[] notchXs = { 0, 10, 10, 6, 6, 4, 4, 0 };
+        double[] notchYs = { 0, 0, 10, 10, 4, 4, 10, 10 };
+        assertFalse(FeatureHitTester.isInRing(5, 8, notchXs, notchYs));
+        assertTrue(FeatureHitTester.isInRing(2, 8, notchXs, notchYs));
+    }
+
+    @Test
+    public void topMostLayerWinsUnderTheFinger() {
+        FeatureHitTester hitTester = new FeatureHitTester(null, 0, 0, TOLERANCE);
+        Feature fill = makeFeature("fill");
+        Feature line = makeFeature("line");
+        Feature symbol = makeFeature("symbol");
+
+        // the press is inside the fill, the line and symbol drawn over it are within the tolerance
+        hitTester.addHit(fill, 0.0, 1);
+        hitTester.addHit(line, 3.0, 2);
+        hitTester.addHit(symbol, 6.0, 3);
+
+        List<FeatureHitTester.Hit> hits = hitTester.rank(3);
+        assertEquals(3, hits.size());
+        assertEquals("symbol", hits.get(0).getFeature().getId());
+        assertEquals("line", hits.get(1).getFeature().getId());
+        assertEquals("fill", hits.get(2).getFeature().getId());
+        assertEquals(6.0, hits.get(0).getDistance(), DELTA);
+    }
+
+    @Test
+    public void closerFeatureWinsOutsideTolerance() {
+        FeatureHitTester hitTester = new FeatureHitTester(null, 0, 0, TOLERANCE);
+        hitTester.addHit(makeFeature("far"), 20.0, 5);
+        hitTester.addHit(makeFeature("near"), 12.0, 1);
+        hitTester.addHit(makeFeature("under"), 2.0, 0);
+        hitTester.addHit(makeFeature("noGeometry"), Double.POSITIVE_INFINITY, 9);
+
+        List<FeatureHitTester.Hit> hits = hitTester.rank(4);
+        assertEquals("under", hits.get(0).getFeature().getId());
+        assertEquals("near", hits.get(1).getFeature().getId());
+        assertEquals("far", hits.get(2).getFeature().getId());
+        assertEquals("noGeometry", hits.get(3).getFeature().getId());
+
+        // same distance and layer keep the engine's order
+        FeatureHitTester sameLayer = new FeatureHitTester(null, 0, 0, TOLERANCE);
+        sameLayer.addHit(makeFeature("first"), 1.0, 0);
+        sameLayer.addHit(makeFeature("second"), 1.0, 0);
+        assertEquals("first", sameLayer.rank(1).get(0).getFeature().getId());
+    }
+
+    @Test
+    public void engineOrderStandsInForTheLayers() {
+        FeatureHitTester hitTester = new FeatureHitTester(null, 0, 0, TOLERANCE);
+
+        // the engine returns the top most layer first, these tie on distance without a geometry
+        hitTester.addFeatures(Arrays.asList(makeFeatureWithoutGeometry("symbol"),
+                makeFeatureWithoutGeometry("line"), makeFeatureWithoutGeometry("fill")));
+        hitTester.addHit(makeFeature("under"), 2.0, 0);
+
+        List<FeatureHitTester.Hit> hits = hitTester.rank(4);
+        assertEquals("under", hits.get(0).getFeature().getId());
+        assertEquals("symbol", hits.get(1).getFeature().getId());
+        assertEquals("line", hits.get(2).getFeature().getId());
+        assertEquals("fill", hits.get(3).getFeature().getId());
+    }
+
+    @Test
+    public void tileDuplicatesAreDroppedBeforeTheCut() {
+        FeatureHitTester hitTester = new FeatureHitTester(null, 0, 0, TOLERANCE);
+
+        // a road split across two tiles, and drawn by both a casing and a line layer
+        hitTester.addHit(makeFeature("road"), 1.0, 2);
+        hitTester.addHit(makeFeature("road"), 2.0, 2);
+        hitTester.addHit(makeFeature("road"), 1.0, 1);
+        hitTester.addHit(makeFeature("path"), 10.0, 2);
+
+        // without ids copies share their geometry type and properties
+        hitTester.addHit(makeFeature(null, "park"), 12.0, 2);
+        hitTester.addHit(makeFeature(null, "park"), 12.0, 2);
+        hitTester.addHit(makeFeature(null, "lake"), 14.0, 2);
+
+        List<FeatureHitTester.Hit> hits = hitTester.rank(4);
+        assertEquals(4, hits.size());
+        assertEquals("road", hits.get(0).getFeature().getId());
+        assertEquals(1.0, hits.get(0).getDistance(), DELTA);
+        assertEquals("path", hits.get(1).getFeature().getId());
+        assertEquals("park", hits.get(2).getFeature().getProperties().get("name").getAsString());
+        assertEquals("lake", hits.get(3).getFeature().getProperties().get("name").getAsString());
+
+        assertEquals(1, hitTester.rank(0).size());
+    }
+
+    private static Feature makeFeature(String id) {
+        return makeFeature(id, id);
+    }
+
+    private static Feature makeFeatureWithoutGeometry(String id) {
+        return Feature.fromGeometry(null, new JsonObject(), id);
+    }
+
+    private static Feature makeFeature(String id, String name) {
+        JsonObject properties = new JsonObject();
+        properties.addProperty("name", name);
+        return Feature.fromGeometry(Point.fromCoordinates(Position.fromCoordinates(0, 0)), properties, id);
+    }
+}
@@ -0,0 +1,119 @@
+package com.mapbox.rctmgl.utils;
+
+import com.mapbox.mapboxsdk.style.layers.Filter;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Statements built from bridged filters, compared by the arrays the engine receives, and the filter cache.
+ */
+
+public class FilterParserTest {
+    @Test
+    public void nestedCompounds() {
+        // ["all", ["==", "kind", "a"], ["any", [">=", "rank", 5], ["none", ["has", "hidden"], ["in", "kind", "b", "c"]]]]
+        Filter.Statement statement = parse("all",
+                new Object[] { "==", "kind", "a" },
+                new Object[] { "any",
+                        new Object[] { ">=", "rank", 5 },
+                        new Object[] { "none",
+                                new Object[] { "has", "hidden" },
+                                new Object[] { "in", "kind", "b", "c" } } });
+
+        assertStatement(new Object[] { "all",
+                new Object[] { "==", "kind", "a" },
+                new Object[] { "any",
+                        new Object[] { ">=", "rank", 5.0 },
+                        new Object[] { "none",
+                                new Object[] { "has", "hidden" },
+                                new Object[] { "in", "kind", "b", "c" } } } }, statement);
+    }
+
+    @Test
+    public void flattenedCompounds() {
+        // a nested compound written inline takes the rest of the operands
+        Filter.Statement statement = parse("all", "==", "kind", "a", "!has", "hidden", "any", "<", "rank", 3, ">", "rank", 9);
+
+        assertStatement(new Object[] { "all",
+                new Object[] { "==", "kind", "a" },
+                new Object[] { "!has", "hidden" },
+                new Object[] { "any",
+                        new Object[] { "<", "rank", 3.0 },
+                        new Object[] { ">", "rank", 9.0 } } }, statement);
+    }
+
+    @Test
+    public void plainComparisons() {
+        assertStatement(new Object[] { "!in", "kind", "a", "b" }, parse("!in", "kind", "a", "b"));
+        assertStatement(new Object[] { "!=", "enabled", true }, parse("!=", "enabled", true));
+
+        // a nested list that only wraps another filter, and a list of several comparisons keeping the last one
+        assertStatement(new Object[] { "all", new Object[] { "==", "rank", 1.0 } },
+                parse("all", new Object[] { new Object[] { "==", "rank", 1 } }));
+        assertStatement(new Object[] { "==", "b", 2.0 }, parse("==", "a", 1, "==", "b", 2));
+
+        assertNull(parse("has"));
+        assertNull(parse());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingKeyIsRejected() {
+        parse("all", new Object[] { "has" });
+    }
+
+    @Test
+    public void equalFiltersShareTheirStatement() {
+        FilterParser.clearFilterCache();
+
+        Object[] filter = new Object[] { "any", new Object[] { "==", "kind", "a" }, new Object[] { "<", "rank", 3 } };
+        FilterParser.FilterList filterList = getFilterList(filter);
+        FilterParser.FilterList equalFilterList = getFilterList(filter);
+
+        Filter.Statement statement = FilterParser.parse(filterList);
+        assertEquals(1, FilterParser.getCachedFilterCount());
+
+        // built separately from the same bridged filter
+        assertTrue(filterList != equalFilterList);
+        assertEquals(filterList, equalFilterList);
+        assertSame(statement, FilterParser.parse(equalFilterList));
+        assertEquals(1, FilterParser.getCachedFilterCount());
+
+        FilterParser.parse(getFilterList(new Object[] { "any", new Object[] { "==", "kind", "b" } }));
+        assertEquals(2, FilterParser.getCachedFilterCount());
+
+        FilterParser.clearFilterCache();
+        assertEquals(0, FilterParser.getCachedFilterCount());
+    }
+
+    @Test
+    public void cacheIsBounded() {
+        FilterParser.clearFilterCache();
+
+        for (int i = 0; i < FilterParser.MAX_CACHED_FILTERS + 10; i++) {
+            FilterParser.parse(getFilterList(new Object[] { "==", "rank", i }));
+        }
+        assertEquals(FilterParser.MAX_CACHED_FILTERS, FilterParser.getCachedFilterCount());
+
+        FilterParser.clearFilterCache();
+    }
+
+    private static Filter.Statement parse(Object... items) {
+        return FilterParser.parse(getFilterList(items));
+    }
+
+    private static FilterParser.FilterList getFilterList(Object[] items) {
+        return FilterParser.getFilterList(FeatureFilterTest.makeFilter(items));
+    }
+
+    private static void assertStatement(Object[] expected, Filter.Statement statement) {
+        Object[] actual = statement.toArray();
+        assertTrue(Arrays.deepToString(expected) + " != " + Arrays.deepToString(actual), Arrays.deepEquals(expected, actual));
+    }
+}
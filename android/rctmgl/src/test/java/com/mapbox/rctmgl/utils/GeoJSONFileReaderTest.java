@@ -0,0 +1,112 @@
+package com.mapbox.rctmgl.utils;
+
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.FeatureCollection;
+import com.mapbox.services.commons.geojson.LineString;
+import com.mapbox.services.commons.geojson.Point;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Streaming GeoJSON from memory-mapped files and from streams, and refusing files over the size limit.
+ */
+
+public class GeoJSONFileReaderTest {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final String POINT = "{\"type\":\"Feature\",\"id\":\"a\",\"properties\":{\"name\":\"zo\\u00eb\"},"
+            + "\"geometry\":{\"type\":\"Point\",\"coordinates\":[1,2]}}";
+    private static final String LINE = "{\"type\":\"Feature\",\"id\":\"b\",\"properties\":{},"
+            + "\"geometry\":{\"type\":\"LineString\",\"coordinates\":[[0,0],[1,1]]}}";
+
+    @Test
+    public void featureCollection() throws IOException {
+        // members around the features, and the type after them
+        FeatureCollection featureCollection = read("{\"bbox\":[0,0,1,2],\"features\":[" + POINT + "," + LINE
+                + "],\"crs\":{\"type\":\"name\"},\"type\":\"FeatureCollection\"}");
+
+        List<Feature> features = featureCollection.getFeatures();
+        assertEquals(2, features.size());
+        assertEquals("a", features.get(0).getId());
+        assertEquals("zo\u00eb", features.get(0).getProperties().get("name").getAsString());
+        assertEquals(2, ((Point) features.get(0).getGeometry()).getCoordinates().getLatitude(), 0);
+        assertEquals("b", features.get(1).getId());
+        assertEquals(2, ((LineString) features.get(1).getGeometry()).getCoordinates().size());
+    }
+
+    @Test
+    public void singleFeatureOrGeometry() throws IOException {
+        List<Feature> features = read(POINT).getFeatures();
+        assertEquals(1, features.size());
+        assertEquals("a", features.get(0).getId());
+
+        features = read("{\"type\":\"LineString\",\"coordinates\":[[0,0],[1,1],[2,2]]}").getFeatures();
+        assertEquals(1, features.size());
+        assertEquals(3, ((LineString) features.get(0).getGeometry()).getCoordinates().size());
+    }
+
+    @Test
+    public void mappedFile() throws IOException {
+        File file = File.createTempFile("shape", ".geojson");
+
+        try {
+            FileOutputStream outputStream = new FileOutputStream(file);
+            outputStream.write(("{\"type\":\"FeatureCollection\",\"features\":[" + POINT + "]}").getBytes(UTF8));
+            outputStream.close();
+
+            List<Feature> features = GeoJSONFileReader.read(GeoJSONFileReader.openFile(file.getPath())).getFeatures();
+            assertEquals(1, features.size());
+            assertEquals("zo\u00eb", features.get(0).getProperties().get("name").getAsString());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void largeFileIsRefused() throws IOException {
+        File file = File.createTempFile("shape", ".geojson");
+
+        try {
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+            randomAccessFile.setLength(GeoJSONFileReader.MAX_FILE_SIZE + 1);
+            randomAccessFile.close();
+
+            GeoJSONFileReader.openFile(file.getPath());
+            fail("file over the size limit was mapped");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("too large"));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void largeStreamIsRefused() throws IOException {
+        // a stream of whitespace that never ends, like a compressed asset of unknown size
+        InputStream whitespace = new InputStream() {
+            @Override
+            public int read() {
+                return ' ';
+            }
+        };
+
+        GeoJSONFileReader.read(new GeoJSONFileReader.SizeLimitedInputStream(whitespace));
+    }
+
+    private static FeatureCollection read(String geoJSON) throws IOException {
+        return GeoJSONFileReader.read(new ByteArrayInputStream(geoJSON.getBytes(UTF8)));
+    }
+}
@@ -0,0 +1,83 @@
+package com.mapbox.rctmgl.utils;
+
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Times looking up random keys of a map filled with sequential ids, at 2k and 200k entries, against a boxed
+ * HashMap. The keys are random since walking them in order favors the HashMap, whose table holds sequential
+ * ids in order. Not a test so it stays out of the unit suite, run its main by hand when working on
+ * LongObjectMap.
+ */
+
+public class LongObjectMapBenchmark {
+    private static final int[] SIZES = { 2000, 200000 };
+    private static final int LOOKUPS = 2000000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int ITERATIONS = 20;
+
+    public static void main(String[] args) {
+        for (int size : SIZES) {
+            LongObjectMap<Object> map = new LongObjectMap<>();
+            HashMap<Long, Object> hashMap = new HashMap<>();
+            Object value = new Object();
+
+            for (long id = 0; id < size; id++) {
+                map.put(id, value);
+                hashMap.put(id, value);
+            }
+
+            long[] keys = makeKeys(size);
+
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                lookup(map, keys);
+                lookup(hashMap, keys);
+            }
+
+            int found = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                found = lookup(map, keys);
+            }
+            double nanosPerLookup = (System.nanoTime() - start) / (double) ITERATIONS / LOOKUPS;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                lookup(hashMap, keys);
+            }
+            double nanosPerHashMapLookup = (System.nanoTime() - start) / (double) ITERATIONS / LOOKUPS;
+
+            System.out.println(String.format("%d ids, %d found: %.2f ns per lookup, %.2f ns with a HashMap",
+                    size, found, nanosPerLookup, nanosPerHashMapLookup));
+        }
+    }
+
+    private static long[] makeKeys(int size) {
+        Random random = new Random(7);
+        long[] keys = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            keys[i] = random.nextInt(size);
+        }
+        return keys;
+    }
+
+    private static int lookup(LongObjectMap<Object> map, long[] keys) {
+        int found = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (map.get(keys[i]) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private static int lookup(HashMap<Long, Object> map, long[] keys) {
+        int found = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (map.get(keys[i]) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,178 @@
+package com.mapbox.rctmgl.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Open addressing edge cases: keys probing past each other, growing the table, closing the gap a removed key
+ * leaves, and keys that are easy to confuse with an empty slot.
+ */
+
+public class LongObjectMapTest {
+    private static final int MIN_CAPACITY = 16;
+
+    @Test
+    public void collidingKeys() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        long[] keys = findCollidingKeys(3, 3);
+
+        for (long key : keys) {
+            map.put(key, "value" + key);
+        }
+
+        assertEquals(3, map.size());
+        for (long key : keys) {
+            assertEquals("value" + key, map.get(key));
+        }
+
+        assertEquals("value" + keys[1], map.put(keys[1], "replaced"));
+        assertEquals(3, map.size());
+        assertEquals("replaced", map.get(keys[1]));
+    }
+
+    @Test
+    public void removeThenReinsert() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+
+        // the last slot, so probing wraps around to the start of the table
+        long[] keys = findCollidingKeys(MIN_CAPACITY - 1, 4);
+        for (long key : keys) {
+            map.put(key, "value" + key);
+        }
+
+        // the keys probing past a removed one stay reachable
+        assertEquals("value" + keys[1], map.remove(keys[1]));
+        assertNull(map.get(keys[1]));
+        assertEquals("value" + keys[0], map.get(keys[0]));
+        assertEquals("value" + keys[2], map.get(keys[2]));
+        assertEquals("value" + keys[3], map.get(keys[3]));
+        assertNull(map.remove(keys[1]));
+
+        assertNull(map.put(keys[1], "again"));
+        assertEquals(4, map.size());
+        assertEquals("again", map.get(keys[1]));
+
+        assertEquals("value" + keys[0], map.remove(keys[0]));
+        assertEquals("value" + keys[3], map.remove(keys[3]));
+        assertEquals("again", map.get(keys[1]));
+        assertEquals("value" + keys[2], map.get(keys[2]));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void resize() {
+        LongObjectMap<Long> map = new LongObjectMap<>();
+
+        // colliding keys are probed again when the table grows
+        long[] colliding = findCollidingKeys(0, 4);
+        for (long key : colliding) {
+            map.put(key, key);
+        }
+
+        for (long key = 1; key <= 10000; key++) {
+            map.put(key * 31, key);
+        }
+
+        for (long key : colliding) {
+            assertEquals(Long.valueOf(key), map.get(key));
+        }
+        for (long key = 1; key <= 10000; key++) {
+            assertEquals(Long.valueOf(key), map.get(key * 31));
+        }
+        assertNull(map.get(17));
+    }
+
+    @Test
+    public void negativeKeys() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        map.put(-1, "minusOne");
+        map.put(Long.MIN_VALUE, "min");
+        map.put(Long.MAX_VALUE, "max");
+        map.put(1, "one");
+
+        assertEquals(4, map.size());
+        assertEquals("minusOne", map.get(-1));
+        assertEquals("min", map.get(Long.MIN_VALUE));
+        assertEquals("max", map.get(Long.MAX_VALUE));
+        assertEquals("one", map.get(1));
+        assertNull(map.get(-2));
+
+        assertEquals("min", map.remove(Long.MIN_VALUE));
+        assertEquals("minusOne", map.get(-1));
+    }
+
+    @Test
+    public void zeroKey() {
+        // empty slots hold 0 as their key
+        LongObjectMap<String> map = new LongObjectMap<>();
+        assertNull(map.get(0));
+        assertNull(map.remove(0));
+
+        map.put(0, "zero");
+        assertEquals(1, map.size());
+        assertEquals("zero", map.get(0));
+
+        assertEquals("zero", map.remove(0));
+        assertEquals(0, map.size());
+        assertNull(map.get(0));
+
+        map.put(0, "zero");
+        map.clear();
+        assertNull(map.get(0));
+        assertEquals(0, map.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullValueIsRejected() {
+        new LongObjectMap<String>().put(1, null);
+    }
+
+    @Test
+    public void matchesHashMapThroughPutsAndRemoves() {
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200000; i++) {
+            long key = random.nextInt(5000) - 2500;
+
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = -2500; key < 2500; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    /**
+     * @return keys hashing to the same slot of a table with the minimum capacity
+     */
+    private static long[] findCollidingKeys(int slot, int count) {
+        List<Long> keys = new ArrayList<>();
+
+        for (long key = 1; keys.size() < count; key++) {
+            if ((LongObjectMap.hash(key) & (MIN_CAPACITY - 1)) == slot) {
+                keys.add(key);
+            }
+        }
+
+        long[] result = new long[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = keys.get(i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,219 @@
+package com.mapbox.rctmgl.utils;
+
+import com.google.gson.JsonObject;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.FeatureCollection;
+import com.mapbox.services.commons.geojson.LineString;
+import com.mapbox.services.commons.geojson.MultiPolygon;
+import com.mapbox.services.commons.geojson.Point;
+import com.mapbox.services.commons.geojson.Polygon;
+import com.mapbox.services.commons.models.Position;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Buffers laid out like javascript/utils/shapeBuffer.js writes them, decoded into features.
+ */
+
+public class ShapeBufferDecoderTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void geometriesAndIds() throws IOException {
+        ShapeBuffer buffer = new ShapeBuffer(ShapeBufferDecoder.FLAG_HAS_IDS, 0, 3, 4, 5, 11);
+        buffer.putGeometryTypes(ShapeBufferDecoder.GEOMETRY_POINT, ShapeBufferDecoder.GEOMETRY_LINE_STRING,
+                ShapeBufferDecoder.GEOMETRY_MULTI_POLYGON);
+        buffer.putOffsets(0, 1, 2, 4);         // features -> parts
+        buffer.putOffsets(0, 1, 2, 4, 5);      // parts -> rings, the first polygon has a hole
+        buffer.putOffsets(0, 1, 3, 6, 8, 11); // rings -> coordinates
+        buffer.putCoordinates(false,
+                1, 2,
+                3, 4, 5, 6,
+                0, 0, 10, 0, 10, 10,
+                2, 2, 3, 3,
+                20, 20, 21, 20, 21, 21);
+        buffer.putString("point");
+        buffer.putString(null);
+        buffer.putString("polygons");
+
+        List<Feature> features = decode(buffer).getFeatures();
+        assertEquals(3, features.size());
+
+        assertEquals("point", features.get(0).getId());
+        Position point = ((Point) features.get(0).getGeometry()).getCoordinates();
+        assertEquals(1, point.getLongitude(), DELTA);
+        assertEquals(2, point.getLatitude(), DELTA);
+
+        assertNull(features.get(1).getId());
+        List<Position> line = ((LineString) features.get(1).getGeometry()).getCoordinates();
+        assertEquals(2, line.size());
+        assertEquals(5, line.get(1).getLongitude(), DELTA);
+        assertEquals(6, line.get(1).getLatitude(), DELTA);
+
+        assertEquals("polygons", features.get(2).getId());
+        List<List<List<Position>>> polygons = ((MultiPolygon) features.get(2).getGeometry()).getCoordinates();
+        assertEquals(2, polygons.size());
+        assertEquals(2, polygons.get(0).size());
+        assertEquals(3, polygons.get(0).get(0).size());
+        assertEquals(2, polygons.get(0).get(1).size());
+        assertEquals(1, polygons.get(1).size());
+        assertEquals(21, polygons.get(1).get(0).get(2).getLatitude(), DELTA);
+    }
+
+    @Test
+    public void float32Coordinates() throws IOException {
+        ShapeBuffer buffer = new ShapeBuffer(ShapeBufferDecoder.FLAG_FLOAT32, 0, 1, 1, 1, 3);
+        buffer.putGeometryTypes(ShapeBufferDecoder.GEOMETRY_POLYGON);
+        buffer.putOffsets(0, 1);
+        buffer.putOffsets(0, 1);
+        buffer.putOffsets(0, 3);
+        buffer.putCoordinates(true, 0.5, -0.25, 1, 0, 1, 1);
+
+        Feature feature = decode(buffer).getFeatures().get(0);
+        assertNull(feature.getId());
+
+        List<Position> ring = ((Polygon) feature.getGeometry()).getCoordinates().get(0);
+        assertEquals(3, ring.size());
+        assertEquals(0.5, ring.get(0).getLongitude(), DELTA);
+        assertEquals(-0.25, ring.get(0).getLatitude(), DELTA);
+    }
+
+    @Test
+    public void propertyColumns() throws IOException {
+        ShapeBuffer buffer = new ShapeBuffer(0, 4, 2, 2, 2, 2);
+        buffer.putGeometryTypes(ShapeBufferDecoder.GEOMETRY_POINT, ShapeBufferDecoder.GEOMETRY_POINT);
+        buffer.putOffsets(0, 1, 2);
+        buffer.putOffsets(0, 1, 2);
+        buffer.putOffsets(0, 1, 2);
+        buffer.putCoordinates(false, 0, 0, 1, 1);
+
+        // null values leave the property out
+        buffer.putColumn("rank", ShapeBufferDecoder.COLUMN_NUMBER);
+        buffer.putDouble(5);
+        buffer.putDouble(Double.NaN);
+        buffer.putColumn("name", ShapeBufferDecoder.COLUMN_STRING);
+        buffer.putString(null);
+        buffer.putString("zo\u00eb");
+        buffer.putColumn("visible", ShapeBufferDecoder.COLUMN_BOOLEAN);
+        buffer.putByte(1);
+        buffer.putByte(2);
+        buffer.putColumn("extra", ShapeBufferDecoder.COLUMN_JSON);
+        buffer.putString("{\"nested\":[1,2]}");
+        buffer.putString(null);
+
+        List<Feature> features = decode(buffer).getFeatures();
+
+        JsonObject first = features.get(0).getProperties();
+        assertEquals(5, first.get("rank").getAsDouble(), DELTA);
+        assertFalse(first.has("name"));
+        assertTrue(first.get("visible").getAsBoolean());
+        assertEquals(2, first.getAsJsonObject("extra").getAsJsonArray("nested").size());
+
+        JsonObject second = features.get(1).getProperties();
+        assertFalse(second.has("rank"));
+        assertEquals("zo\u00eb", second.get("name").getAsString());
+        assertFalse(second.has("visible"));
+        assertFalse(second.has("extra"));
+    }
+
+    @Test(expected = IOException.class)
+    public void wrongMagicIsRejected() throws IOException {
+        ShapeBufferDecoder.decode(ByteBuffer.wrap(new byte[] { '{', '"', 't', 'y', 'p', 'e' }));
+    }
+
+    @Test(expected = IOException.class)
+    public void unknownGeometryTypeIsRejected() throws IOException {
+        ShapeBuffer buffer = new ShapeBuffer(0, 0, 1, 1, 1, 1);
+        buffer.putGeometryTypes(9);
+        buffer.putOffsets(0, 1);
+        buffer.putOffsets(0, 1);
+        buffer.putOffsets(0, 1);
+        buffer.putCoordinates(false, 0, 0);
+        decode(buffer);
+    }
+
+    private static FeatureCollection decode(ShapeBuffer buffer) throws IOException {
+        return ShapeBufferDecoder.decode(buffer.toByteBuffer());
+    }
+
+    /**
+     * Writes the sections in the order the decoder reads them.
+     */
+    private static class ShapeBuffer {
+        private final ByteBuffer mBuffer = ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+
+        ShapeBuffer(int flags, int columnCount, int featureCount, int partCount, int ringCount, int coordinateCount) {
+            mBuffer.put(ShapeBufferDecoder.MAGIC);
+            mBuffer.put((byte) ShapeBufferDecoder.VERSION);
+            mBuffer.put((byte) flags);
+            mBuffer.putShort((short) columnCount);
+            mBuffer.putInt(featureCount);
+            mBuffer.putInt(partCount);
+            mBuffer.putInt(ringCount);
+            mBuffer.putInt(coordinateCount);
+        }
+
+        void putGeometryTypes(int... geometryTypes) {
+            for (int geometryType : geometryTypes) {
+                mBuffer.put((byte) geometryType);
+            }
+        }
+
+        void putOffsets(int... offsets) {
+            for (int offset : offsets) {
+                mBuffer.putInt(offset);
+            }
+        }
+
+        void putCoordinates(boolean isFloat32, double... coordinates) {
+            for (double coordinate : coordinates) {
+                if (isFloat32) {
+                    mBuffer.putFloat((float) coordinate);
+                } else {
+                    mBuffer.putDouble(coordinate);
+                }
+            }
+        }
+
+        void putColumn(String name, int columnType) {
+            putString(name);
+            mBuffer.put((byte) columnType);
+        }
+
+        void putString(String value) {
+            if (value == null) {
+                mBuffer.putInt(0xFFFFFFFF);
+                return;
+            }
+
+            byte[] bytes = value.getBytes(Charset.forName("UTF-8"));
+            mBuffer.putInt(bytes.length);
+            mBuffer.put(bytes);
+        }
+
+        void putDouble(double value) {
+            mBuffer.putDouble(value);
+        }
+
+        void putByte(int value) {
+            mBuffer.put((byte) value);
+        }
+
+        ByteBuffer toByteBuffer() {
+            ByteBuffer buffer = mBuffer.duplicate();
+            buffer.flip();
+            return buffer;
+        }
+    }
+}
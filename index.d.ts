@@ -42,8 +42,8 @@ declare namespace MapboxGL {
         getPointInView(coordinate: Array<number>): Promise<void>;
         getCoordinateFromView(point: Array<number>): Promise<void>;
         getVisibleBounds(): Promise<void>;
-        queryRenderedFeaturesAtPoint(coordinate: Array<number>, filter?: Array<string>, layerIds?: Array<string>): Promise<void>;
-        queryRenderedFeaturesInRect(coordinate: Array<number>, filter?: Array<string>, layerIds?: Array<string>): Promise<void>;
+        queryRenderedFeaturesAtPoint(coordinate: Array<number>, filter?: Array<string>, layerIds?: Array<string>, options?: QueryRenderedFeaturesOptions): Promise<any>;
+        queryRenderedFeaturesInRect(coordinate: Array<number>, filter?: Array<string>, layerIds?: Array<string>, options?: QueryRenderedFeaturesOptions): Promise<any>;
         fitBounds(northEastCoordinates: Array<number>, southWestCoordinates: Array<number>, padding?: number, duration?: number): void;
         flyTo(coordinates: Array<number>, duration?: number): void;
         moveTo(coordinates: Array<number>, duration?: number): void;
@@ -52,6 +52,9 @@ declare namespace MapboxGL {
         takeSnap(writeToDisk: boolean): Promise<string>;
         getZoom(): Promise<number>;
         getCenter(): Promise<Array<number>>;
+        reorderLayers(layerIDs: Array<string>): Promise<number>;
+        beginStyleTransaction(): void;
+        commitStyleTransaction(): Promise<{featureCount: number, applyTime: number}>;
     }
 
     class Light extends Component<LightProps> { }
@@ -63,6 +66,9 @@ declare namespace MapboxGL {
         composite(stops: {[key: number]: string}, attributeName: string, interpolationMode?: InterpolationMode): void;
 
         identity(attributeName: string): number;
+
+        static register(id: string, style: any): string;
+        static unregister(id: string): void;
     }
 
     class PointAnnotation extends Component<PointAnnotationProps> { }
@@ -72,7 +78,30 @@ declare namespace MapboxGL {
      * Sources
      */
     class VectorSource extends Component<VectorSourceProps> { }
-    class ShapeSource extends Component<ShapeSourceProps> { }
+    class ShapeSource extends Component<ShapeSourceProps> {
+        addFeatures(features: Array<any>): void;
+        updateFeatures(features: Array<any>): void;
+        removeFeatures(featureIDs: Array<string>): void;
+        applyFeatureChanges(changes: { add?: Array<any>, update?: Array<any>, remove?: Array<string> }): void;
+        animateFeatures(targets: Array<{
+            id: string,
+            coordinates: Array<number>,
+            timestamp?: number,
+            duration?: number,
+            bearing?: number,
+        }>): void;
+        getShapeUpdateStats(): Promise<{ submitted: number, applied: number, coalesced: number }>;
+        getClusterLeaves(cluster: any, limit?: number, offset?: number): Promise<any>;
+        getClusterChildren(cluster: any): Promise<any>;
+        getClusterExpansionZoom(cluster: any): Promise<number>;
+        querySourceFeatures(query: {
+            bbox?: Array<number>,
+            center?: Array<number>,
+            radius?: number,
+            polygon?: Array<Array<number>>,
+            limit?: number,
+        }, filter?: Array<any>): Promise<any>;
+    }
     class RasterSource extends Component<RasterSourceProps> { }
 
     /**
@@ -138,6 +167,13 @@ declare namespace MapboxGL {
     }
 }
 
+interface QueryRenderedFeaturesOptions {
+    properties?: Array<string>;
+    omitGeometry?: boolean;
+    idsOnly?: boolean;
+    countOnly?: boolean;
+}
+
 interface MapViewProps extends ViewProperties {
     animated?: boolean;
     centerCoordinate?: Array<number>;
@@ -338,13 +374,6 @@ interface PointAnnotationProps {
 }
 
 interface CalloutProps {
-    id?: string;
-    url?: string;
-    onPress?: () => void;
-    hitbox?: any;
-}
-
-interface VectorSourceProps {
     title?: string;
     style?: ViewStyle;
     containerStyle?: ViewStyle;
@@ -353,19 +382,42 @@ interface VectorSourceProps {
     textStyle?: ViewStyle;
 }
 
+interface VectorSourceProps {
+    id?: string;
+    url?: string;
+    onPress?: () => void;
+    hitbox?: any;
+    maxPressResults?: number;
+}
+
 interface ShapeSourceProps {
     id?: string;
     url?: string;
     shape?: any;
+    shapeBuffer?: string;
+    shapeId?: string;
     cluter?: boolean;
     clusterRadius?: number;
     clusterMaxZoomLevel?: number;
     maxZoomLevel?: number;
     buffer?: number;
     tolerance?: number;
+    tiling?: {
+        maxZoom?: number;
+        maxFeaturesPerTile?: number;
+    };
+    spatialIndex?: boolean;
+    animationDelay?: number;
+    simplify?: {
+        zoomLevels: Array<number>;
+        algorithm?: 'douglas-peucker' | 'visvalingam';
+        tolerance?: number;
+        maxCachedCoordinates?: number;
+    };
     images?: any;
     onPress?: () => void;
     hitbox: any;
+    maxPressResults?: number;
 }
 
 interface RasterSourceProps {
@@ -385,9 +437,12 @@ interface LayerBaseProps {
     aboveLayerID?: string;
     belowLayerID?: string;
     layerIndex?: number;
+    styleSheetID?: string;
     filter?: Array<string>;
     minZoomLevel?: number;
     maxZoomLevel?: number;
+    lazyZoomMargin?: number;
+    lazyDropZoomMargin?: number;
 }
 
 interface BackgroundLayerProps extends LayerBaseProps {
@@ -11,6 +11,9 @@ class AbstractLayer extends React.Component {
       id: this.props.id,
       sourceID: this.props.sourceID,
       reactStyle: this.getStyle(),
+      styleSheetID: MapboxStyleSheet.hasNativeRegistry()
+        ? this.props.styleSheetID
+        : undefined,
       minZoomLevel: this.props.minZoomLevel,
       maxZoomLevel: this.props.maxZoomLevel,
       aboveLayerID: this.props.aboveLayerID,
@@ -22,6 +25,18 @@ class AbstractLayer extends React.Component {
   }
 
   getStyle() {
+    const style = this._getLayerStyle();
+    const {styleSheetID} = this.props;
+
+    if (!styleSheetID || MapboxStyleSheet.hasNativeRegistry()) {
+      return style;
+    }
+
+    // no native registry on this platform, send the stylesheet along with the layer
+    return {...MapboxStyleSheet.getRegistered(styleSheetID), ...style};
+  }
+
+  _getLayerStyle() {
     if (!this.props.style) {
       return;
     }
@@ -50,6 +50,11 @@ class CircleLayer extends AbstractLayer {
      */
     layerIndex: PropTypes.number,
 
+    /**
+     * Id of a stylesheet registered with MapboxGL.StyleSheet.register, values in style override the stylesheet's
+     */
+    styleSheetID: PropTypes.string,
+
     /**
      *  Filter only the features in the source layer that satisfy a condition that you define
      */
@@ -65,6 +70,18 @@ class CircleLayer extends AbstractLayer {
      */
     maxZoomLevel: PropTypes.number,
 
+    /**
+     * Only create the layer in the map's style once the zoom level is within this many levels of
+     * its min/max zoom range, instead of when it's added. Android only.
+     */
+    lazyZoomMargin: PropTypes.number,
+
+    /**
+     * Remove a lazy layer from the style again once the zoom level is more than this many levels
+     * outside of its zoom range. Android only.
+     */
+    lazyDropZoomMargin: PropTypes.number,
+
     /**
      * Customizable style attributes
      */
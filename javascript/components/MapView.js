@@ -18,6 +18,11 @@ import {
   viewPropTypes,
 } from '../utils';
 import {getFilter} from '../utils/filterUtils';
+import {
+  applyQueryOptions,
+  getQueryOptions,
+  getQueryResult,
+} from '../utils/queryUtils';
 
 const MapboxGL = NativeModules.MGLModule;
 
@@ -403,24 +408,28 @@ class MapView extends React.Component {
    * @param  {Array<Number>} coordinate - A point expressed in the map view’s coordinate system.
    * @param  {Array=} filter - A set of strings that correspond to the names of layers defined in the current style. Only the features contained in these layers are included in the returned array.
    * @param  {Array=} layerIDs - A array of layer id's to filter the features by
-   * @return {FeatureCollection}
+   * @param  {Object=} options - Limits what is returned for each feature
+   * @param  {Array<String>=} options.properties - Only these property keys
+   * @param  {Boolean=} options.omitGeometry - Features without their geometry
+   * @param  {Boolean=} options.idsOnly - Only an array of the feature ids
+   * @param  {Boolean=} options.countOnly - Only the number of features
+   * @return {FeatureCollection|Array|Number}
    */
-  async queryRenderedFeaturesAtPoint(coordinate, filter = [], layerIDs = []) {
+  async queryRenderedFeaturesAtPoint(
+    coordinate,
+    filter = [],
+    layerIDs = [],
+    options = {},
+  ) {
     if (!coordinate || coordinate.length < 2) {
       throw new Error('Must pass in valid coordinate[lng, lat]');
     }
 
-    const res = await this._runNativeCommand('queryRenderedFeaturesAtPoint', [
-      coordinate,
-      getFilter(filter),
-      layerIDs,
-    ]);
-
-    if (isAndroid()) {
-      return JSON.parse(res.data);
-    }
-
-    return res.data;
+    return this._queryRenderedFeatures(
+      'queryRenderedFeaturesAtPoint',
+      [coordinate, getFilter(filter), layerIDs],
+      options,
+    );
   }
 
   /**
@@ -433,25 +442,44 @@ class MapView extends React.Component {
    * @param  {Array<Number>} bbox - A rectangle expressed in the map view’s coordinate system.
    * @param  {Array=} filter - A set of strings that correspond to the names of layers defined in the current style. Only the features contained in these layers are included in the returned array.
    * @param  {Array=} layerIDs -  A array of layer id's to filter the features by
-   * @return {FeatureCollection}
+   * @param  {Object=} options - Limits what is returned for each feature
+   * @param  {Array<String>=} options.properties - Only these property keys
+   * @param  {Boolean=} options.omitGeometry - Features without their geometry
+   * @param  {Boolean=} options.idsOnly - Only an array of the feature ids
+   * @param  {Boolean=} options.countOnly - Only the number of features
+   * @return {FeatureCollection|Array|Number}
    */
-  async queryRenderedFeaturesInRect(bbox, filter = [], layerIDs = []) {
+  async queryRenderedFeaturesInRect(
+    bbox,
+    filter = [],
+    layerIDs = [],
+    options = {},
+  ) {
     if (!bbox || bbox.length !== 4) {
       throw new Error(
         'Must pass in a valid bounding box[top, right, bottom, left]',
       );
     }
-    const res = await this._runNativeCommand('queryRenderedFeaturesInRect', [
-      bbox,
-      getFilter(filter),
-      layerIDs,
-    ]);
 
+    return this._queryRenderedFeatures(
+      'queryRenderedFeaturesInRect',
+      [bbox, getFilter(filter), layerIDs],
+      options,
+    );
+  }
+
+  async _queryRenderedFeatures(methodName, args, options) {
     if (isAndroid()) {
-      return JSON.parse(res.data);
+      // android applies the options natively and sends back only what was asked for
+      const res = await this._runNativeCommand(methodName, [
+        ...args,
+        getQueryOptions(options),
+      ]);
+      return getQueryResult(res, options);
     }
 
-    return res.data;
+    const res = await this._runNativeCommand(methodName, args);
+    return applyQueryOptions(res.data, options);
   }
 
   /**
@@ -640,6 +668,63 @@ class MapView extends React.Component {
     return res.center;
   }
 
+  /**
+   * Puts layers in a new z-order in one pass, moving only the layers that are out of place.
+   * Layers that aren't listed keep their place. Android only, resolves to 0 on iOS.
+   *
+   * @example
+   * await this._map.reorderLayers(['water', 'roads', 'labels']);
+   *
+   * @param {Array<String>} layerIDs - Layer ids from bottom to top
+   * @return {Number} Number of layers that were moved
+   */
+  async reorderLayers(layerIDs) {
+    if (!isAndroid()) {
+      return 0;
+    }
+
+    const res = await this._runNativeCommand('reorderLayers', [layerIDs]);
+    return res.movedCount;
+  }
+
+  /**
+   * Starts collecting the sources and layers mounted from now on, so they're added to the style
+   * in one ordered batch by commitStyleTransaction. Android only, a no-op on iOS.
+   * Call it once the map is mounted.
+   *
+   * @example
+   * this._map.beginStyleTransaction();
+   * this.setState({showLayers: true}, async () => {
+   *   const {applyTime} = await this._map.commitStyleTransaction();
+   * });
+   */
+  beginStyleTransaction() {
+    if (!isAndroid() || !this._nativeRef) {
+      return;
+    }
+
+    // native doesn't answer, so no callback is registered for it
+    runNativeCommand(
+      NATIVE_MODULE_NAME,
+      'beginStyleTransaction',
+      this._nativeRef,
+      [],
+    );
+  }
+
+  /**
+   * Adds the sources and layers mounted since beginStyleTransaction to the style.
+   * Android only, resolves to zeros on iOS.
+   *
+   * @return {Object} featureCount and applyTime in milliseconds
+   */
+  commitStyleTransaction() {
+    if (!isAndroid()) {
+      return Promise.resolve({featureCount: 0, applyTime: 0});
+    }
+    return this._runNativeCommand('commitStyleTransaction');
+  }
+
   /**
    * Show the attribution and telemetry action sheet.
    * If you implement a custom attribution button, you should add this action to the button.
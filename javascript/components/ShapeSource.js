@@ -8,12 +8,29 @@ import {
   cloneReactChildrenWithProps,
   viewPropTypes,
   isFunction,
+  isAndroid,
+  runNativeCommand,
 } from '../utils';
+import {makeFeatureCollection} from '../utils/geoUtils';
+import {getFilter} from '../utils/filterUtils';
 
 const MapboxGL = NativeModules.MGLModule;
 
 export const NATIVE_MODULE_NAME = 'RCTMGLShapeSource';
 
+function makeClusterQuery(cluster) {
+  if (typeof cluster === 'number') {
+    return {id: cluster};
+  }
+
+  const properties = cluster.properties || {};
+  return {
+    id: properties.cluster_id,
+    pointCount: properties.point_count,
+    coordinates: cluster.geometry ? cluster.geometry.coordinates : null,
+  };
+}
+
 /**
  * ShapeSource is a map content source that supplies vector shapes to be shown on the map.
  * The shape may be a url or a GeoJSON object
@@ -31,6 +48,9 @@ class ShapeSource extends React.Component {
 
     /**
      * An HTTP(S) URL, absolute file URL, or local file URL relative to the current application’s resource bundle.
+     * On Android `file://` and `asset://` urls are loaded by the engine, unless the source uses tiling, simplify,
+     * spatialIndex, the feature methods or the cluster and query methods. Then files up to 16MB are streamed natively
+     * from a memory-mapped file and support the same methods as `shape`, larger ones are left to the engine.
      */
     url: PropTypes.string,
 
@@ -39,6 +59,19 @@ class ShapeSource extends React.Component {
      */
     shape: PropTypes.object,
 
+    /**
+     * Android only. An id for the shape. Sources with the same `shapeId` and the same shape content share one parsed
+     * copy of the shape across all maps, it is parsed once and released when the last source using it is removed.
+     * New content under the same id is parsed again. Sources that only set `shapeId` show the shape other sources provide.
+     */
+    shapeId: PropTypes.string,
+
+    /**
+     * Android only. The contents of the source as a compact binary shape buffer, either the base64 string returned by
+     * `encodeShapeBufferBase64` or a file url pointing at a raw buffer. It is decoded off the UI thread without going through JSON.
+     */
+    shapeBuffer: PropTypes.string,
+
     /**
      * Enables clustering on the source for point shapes.
      */
@@ -80,6 +113,42 @@ class ShapeSource extends React.Component {
      */
     tolerance: PropTypes.number,
 
+    /**
+     * Android only. Slices the shape into a tile pyramid on a background thread and only hands the features in
+     * tiles around the viewport to the map, more tiles are streamed in as the camera moves. Meant for sources with
+     * hundreds of thousands of features, a tile is split until it holds at most `maxFeaturesPerTile` features
+     * or reaches `maxZoom`.
+     */
+    tiling: PropTypes.shape({
+      maxZoom: PropTypes.number,
+      maxFeaturesPerTile: PropTypes.number,
+    }),
+
+    /**
+     * Android only. Plays `animateFeatures` targets this many milliseconds late, for targets timestamped when
+     * the position was observed. The delay should cover the interval between updates so there is always a next
+     * position to move towards.
+     */
+    animationDelay: PropTypes.number,
+
+    /**
+     * Android only. Keeps an R-tree of the features up to date on a background thread, so `querySourceFeatures`
+     * is answered right away. Without it the tree is built by the first query after the shape changes.
+     */
+    spatialIndex: PropTypes.bool,
+
+    /**
+     * Android only. Precomputes simplified lines and polygons for zoom bands and swaps them in as the camera zoom
+     * crosses a band. Each band is simplified with the tolerance of its upper zoom level, zooms above the last
+     * level show the full resolution shape. Simplified geometries are cached up to `maxCachedCoordinates`.
+     */
+    simplify: PropTypes.shape({
+      zoomLevels: PropTypes.arrayOf(PropTypes.number).isRequired,
+      algorithm: PropTypes.oneOf(['douglas-peucker', 'visvalingam']),
+      tolerance: PropTypes.number,
+      maxCachedCoordinates: PropTypes.number,
+    }),
+
     /**
      * Specifies the external images in key-value pairs required for the shape source.
      * If you have an asset under Image.xcassets on iOS and the drawables directory on android
@@ -100,12 +169,238 @@ class ShapeSource extends React.Component {
       width: PropTypes.number.isRequired,
       height: PropTypes.number.isRequired,
     }),
+
+    /**
+     * The pressed feature closest to the press is passed to onPress, the one drawn on top when several
+     * are under the finger. With a value above 1 the event also has a hits array of up to this many of
+     * the pressed features in that order, each with its distance from the press in pixels. Android only.
+     */
+    maxPressResults: PropTypes.number,
   };
 
   static defaultProps = {
     id: MapboxGL.StyleSource.DefaultSourceID,
   };
 
+  constructor(props) {
+    super(props);
+    this._setNativeRef = this._setNativeRef.bind(this);
+    this._onAndroidCallback = this._onAndroidCallback.bind(this);
+    this._callbackMap = new Map();
+    this._callbackCount = 0;
+  }
+
+  /**
+   * Adds features to the source without resending the whole shape, only the given features cross the bridge.
+   * Features should have a unique `id`, adding a feature with an existing id replaces it. Android only.
+   *
+   * @example
+   * this._shapeSource.addFeatures([vehicleFeature])
+   *
+   * @param  {Array<Object>} features - GeoJSON features to add
+   * @return {void}
+   */
+  addFeatures(features = []) {
+    return this._runNativeCommand('addFeatures', [
+      toJSONString(makeFeatureCollection(features)),
+    ]);
+  }
+
+  /**
+   * Replaces existing features by their `id`, features with an unknown id are ignored. Android only.
+   *
+   * @example
+   * this._shapeSource.updateFeatures([movedVehicleFeature])
+   *
+   * @param  {Array<Object>} features - GeoJSON features to update
+   * @return {void}
+   */
+  updateFeatures(features = []) {
+    return this._runNativeCommand('updateFeatures', [
+      toJSONString(makeFeatureCollection(features)),
+    ]);
+  }
+
+  /**
+   * Removes features by their `id`. Android only.
+   *
+   * @example
+   * this._shapeSource.removeFeatures(['vehicle-12'])
+   *
+   * @param  {Array<String>} featureIDs - ids of the features to remove
+   * @return {void}
+   */
+  removeFeatures(featureIDs = []) {
+    return this._runNativeCommand('removeFeatures', [featureIDs]);
+  }
+
+  /**
+   * Applies a batch of feature changes in a single bridge call, the source is updated once. Android only.
+   *
+   * @example
+   * this._shapeSource.applyFeatureChanges({add: [a], update: [b], remove: ['c']})
+   *
+   * @param  {Object} changes - `add` and `update` GeoJSON features, `remove` feature ids
+   * @return {void}
+   */
+  applyFeatureChanges({add = [], update = [], remove = []} = {}) {
+    return this._runNativeCommand('applyFeatureChanges', [
+      toJSONString(makeFeatureCollection(add)),
+      toJSONString(makeFeatureCollection(update)),
+      remove,
+    ]);
+  }
+
+  /**
+   * Moves point features smoothly to new positions without sending the shape again. Positions and bearings are
+   * interpolated natively once per frame, the bearing is written to the `bearing` property and follows the
+   * direction of travel unless a target has one. Each target needs the `id` of a feature already in the source,
+   * `coordinates` and either a `timestamp` (ms since epoch) or a `duration` (ms from now). Android only.
+   *
+   * @example
+   * this._shapeSource.animateFeatures([{id: 'bus-12', coordinates: [lng, lat], duration: 1000}])
+   *
+   * @param  {Array<Object>} targets - Target positions per feature id
+   * @return {void}
+   */
+  animateFeatures(targets = []) {
+    return this._runNativeCommand('animateFeatures', [targets]);
+  }
+
+  /**
+   * Returns how many shape updates were submitted, applied and coalesced.
+   * Shapes are parsed off the UI thread and only the newest pending shape is applied,
+   * so `coalesced` counts the intermediate shapes that were skipped. Android only.
+   *
+   * @example
+   * const {submitted, applied, coalesced} = await this._shapeSource.getShapeUpdateStats();
+   *
+   * @return {Object}
+   */
+  getShapeUpdateStats() {
+    return this._runNativeQuery('getShapeUpdateStats');
+  }
+
+  /**
+   * Returns the points that make up a cluster, paged with limit and offset. Android only.
+   *
+   * @example
+   * const collection = await this._shapeSource.getClusterLeaves(clusterFeature, 10, 0);
+   *
+   * @param  {Object|Number} cluster - The cluster feature from onPress, or its `cluster_id`
+   * @param  {Number} limit - The number of points to return
+   * @param  {Number} offset - The number of points to skip, for pagination
+   * @return {FeatureCollection}
+   */
+  async getClusterLeaves(cluster, limit = 10, offset = 0) {
+    const res = await this._runClusterQuery('getClusterLeaves', cluster, [
+      limit,
+      offset,
+    ]);
+    return JSON.parse(res.data);
+  }
+
+  /**
+   * Returns the clusters and points one zoom level below a cluster. Android only.
+   *
+   * @example
+   * const collection = await this._shapeSource.getClusterChildren(clusterFeature);
+   *
+   * @param  {Object|Number} cluster - The cluster feature from onPress, or its `cluster_id`
+   * @return {FeatureCollection}
+   */
+  async getClusterChildren(cluster) {
+    const res = await this._runClusterQuery('getClusterChildren', cluster);
+    return JSON.parse(res.data);
+  }
+
+  /**
+   * Returns the zoom level at which a cluster splits into its children. Android only.
+   *
+   * @example
+   * const zoom = await this._shapeSource.getClusterExpansionZoom(clusterFeature);
+   *
+   * @param  {Object|Number} cluster - The cluster feature from onPress, or its `cluster_id`
+   * @return {Number}
+   */
+  async getClusterExpansionZoom(cluster) {
+    const res = await this._runClusterQuery('getClusterExpansionZoom', cluster);
+    return res.zoom;
+  }
+
+  /**
+   * Returns features of the shape by location, including those outside of the viewport. Android only.
+   * Pass a `bbox` of [west, south, east, north], a `center` with an optional `radius` in meters for
+   * features sorted by distance, or a `polygon` ring for lasso selection. Lines and polygons match a lasso
+   * when one of their vertices is inside of it.
+   *
+   * @example
+   * const nearest = await this._shapeSource.querySourceFeatures({center: [lng, lat], limit: 5}, ['==', 'type', 'depot']);
+   *
+   * @param  {Object} query - One of `bbox`, `center` or `polygon`, `radius` and `limit` are optional
+   * @param  {Array=} filter - A filter to limit the features, in the same form as layer filters
+   * @return {FeatureCollection}
+   */
+  async querySourceFeatures(query, filter = []) {
+    const res = await this._runNativeQuery('querySourceFeatures', [
+      query,
+      getFilter(filter),
+    ]);
+
+    if (res.error) {
+      throw new Error(res.error);
+    }
+    return JSON.parse(res.data);
+  }
+
+  async _runClusterQuery(methodName, cluster, args = []) {
+    const res = await this._runNativeQuery(methodName, [
+      makeClusterQuery(cluster),
+      ...args,
+    ]);
+
+    if (res.error) {
+      throw new Error(res.error);
+    }
+    return res;
+  }
+
+  _runNativeQuery(methodName, args = []) {
+    if (isAndroid()) {
+      return new Promise(resolve => {
+        const callbackID = `${Date.now()}-${this._callbackCount++}`;
+        this._callbackMap.set(callbackID, resolve);
+        this._runNativeCommand(methodName, [callbackID, ...args]);
+      });
+    }
+    return this._runNativeCommand(methodName, args);
+  }
+
+  _onAndroidCallback(e) {
+    const callbackID = e.nativeEvent.type;
+    const callback = this._callbackMap.get(callbackID);
+
+    if (!callback) {
+      return;
+    }
+
+    this._callbackMap.delete(callbackID);
+    callback.call(null, e.nativeEvent.payload);
+  }
+
+  _runNativeCommand(methodName, args = []) {
+    return runNativeCommand(
+      NATIVE_MODULE_NAME,
+      methodName,
+      this._nativeRef,
+      args,
+    );
+  }
+
+  _setNativeRef(nativeRef) {
+    this._nativeRef = nativeRef;
+  }
+
   _getShape() {
     if (!this.props.shape) {
       return;
@@ -148,7 +443,10 @@ class ShapeSource extends React.Component {
       id: this.props.id,
       url: this.props.url,
       shape: this._getShape(),
+      shapeBuffer: this.props.shapeBuffer,
+      shapeId: this.props.shapeId,
       hitbox: this.props.hitbox,
+      maxPressResults: this.props.maxPressResults,
       hasPressListener: isFunction(this.props.onPress),
       onMapboxShapeSourcePress: this.props.onPress,
       cluster: this.props.cluster ? 1 : 0,
@@ -157,8 +455,14 @@ class ShapeSource extends React.Component {
       maxZoomLevel: this.props.maxZoomLevel,
       buffer: this.props.buffer,
       tolerance: this.props.tolerance,
+      simplify: this.props.simplify,
+      tiling: this.props.tiling,
+      spatialIndex: this.props.spatialIndex,
+      animationDelay: this.props.animationDelay,
       ...this._getImages(),
       onPress: undefined,
+      onAndroidCallback: isAndroid() ? this._onAndroidCallback : undefined,
+      ref: this._setNativeRef,
     };
     return (
       <RCTMGLShapeSource {...props}>
@@ -178,6 +482,7 @@ const RCTMGLShapeSource = requireNativeComponent(
       nativeImages: true,
       hasPressListener: true,
       onMapboxShapeSourcePress: true,
+      onAndroidCallback: true,
     },
   },
 );
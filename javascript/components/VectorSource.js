@@ -39,6 +39,13 @@ class VectorSource extends React.Component {
       width: PropTypes.number.isRequired,
       height: PropTypes.number.isRequired,
     }),
+
+    /**
+     * The pressed feature closest to the press is passed to onPress, the one drawn on top when several
+     * are under the finger. With a value above 1 the event also has a hits array of up to this many of
+     * the pressed features in that order, each with its distance from the press in pixels. Android only.
+     */
+    maxPressResults: PropTypes.number,
   };
 
   static defaultProps = {
@@ -50,6 +57,7 @@ class VectorSource extends React.Component {
       id: this.props.id,
       url: this.props.url,
       hitbox: this.props.hitbox,
+      maxPressResults: this.props.maxPressResults,
       hasPressListener: isFunction(this.props.onPress),
       onMapboxVectorSourcePress: this.props.onPress,
       onPress: undefined,
@@ -112,7 +112,13 @@ class MapStyleFunctionItem extends MapStyleItem {
 const STYLE_MAP = {};
 Object.keys(MapboxGL).forEach(key => {
   if (
-    !['setAccessToken', 'getAccessToken', 'setTelemetryEnabled'].includes(key)
+    ![
+      'setAccessToken',
+      'getAccessToken',
+      'setTelemetryEnabled',
+      'registerStyleSheet',
+      'unregisterStyleSheet',
+    ].includes(key)
   ) {
     STYLE_MAP[key.toLowerCase()] = MapboxGL[key];
   }
@@ -190,7 +196,39 @@ function makeStyleValue(prop, value, extras = {}, shouldMarkAsStyle = true) {
   return item.toJSON(shouldMarkAsStyle);
 }
 
+const registeredStyleSheets = {};
+
 class MapboxStyleSheet {
+  /**
+   * Registers a layer style once, layers reference it through their styleSheetID prop.
+   * The style is sent to native code here instead of with every layer that uses it.
+   */
+  static register(id, userStyle) {
+    const style = MapboxStyleSheet.create(userStyle);
+    registeredStyleSheets[id] = style;
+
+    if (MapboxStyleSheet.hasNativeRegistry()) {
+      MapboxGL.registerStyleSheet(id, style);
+    }
+    return id;
+  }
+
+  static unregister(id) {
+    delete registeredStyleSheets[id];
+
+    if (MapboxStyleSheet.hasNativeRegistry()) {
+      MapboxGL.unregisterStyleSheet(id);
+    }
+  }
+
+  static getRegistered(id) {
+    return registeredStyleSheets[id];
+  }
+
+  static hasNativeRegistry() {
+    return typeof MapboxGL.registerStyleSheet === 'function';
+  }
+
   static create(userStyles, depth = 0) {
     const styleProps = Object.keys(userStyles);
     const style = {};
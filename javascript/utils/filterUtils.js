@@ -1,26 +1,31 @@
 import BridgeValue from './BridgeValue';
 
+const COMPOUND_OPS = ['all', 'any', 'none'];
+
+function isCompoundFilter(item) {
+  return Array.isArray(item) && COMPOUND_OPS.includes(item[0]);
+}
+
 export function getFilter(filter) {
   if (!Array.isArray(filter) || filter.length === 0) {
     return [];
   }
 
-  let flattenedFilter = [];
+  const filterItems = [];
   for (let i = 0; i < filter.length; i++) {
     const item = filter[i];
 
-    if (Array.isArray(item)) {
-      flattenedFilter = flattenedFilter.concat(item);
+    if (isCompoundFilter(item)) {
+      // nested all/any/none stays a nested list, so native knows which comparisons it holds
+      filterItems.push({type: 'array', value: getFilter(item)});
+    } else if (Array.isArray(item)) {
+      for (const innerItem of item) {
+        filterItems.push(new BridgeValue(innerItem).toJSON());
+      }
     } else {
-      flattenedFilter.push(item);
+      filterItems.push(new BridgeValue(item).toJSON());
     }
   }
 
-  const filterItems = [];
-  for (const item of flattenedFilter) {
-    const filterItem = new BridgeValue(item);
-    filterItems.push(filterItem.toJSON());
-  }
-
   return filterItems;
 }
@@ -1,5 +1,7 @@
 import turfHelpers from '@turf/helpers';
 
+export {encodeShapeBuffer, encodeShapeBufferBase64} from './shapeBuffer';
+
 export function makePoint(coordinates, properties) {
   return turfHelpers.point(coordinates, properties);
 }
@@ -0,0 +1,70 @@
+/**
+ * Options for queryRenderedFeaturesAtPoint/InRect as they're sent to native.
+ */
+export function getQueryOptions(options = {}) {
+  return {
+    properties: Array.isArray(options.properties) ? options.properties : null,
+    idsOnly: !!options.idsOnly,
+    countOnly: !!options.countOnly,
+    omitGeometry: !!options.omitGeometry,
+  };
+}
+
+/**
+ * Picks the result out of a native query response that already applied the options.
+ */
+export function getQueryResult(res, options = {}) {
+  if (options.countOnly) {
+    return res.count;
+  }
+
+  if (options.idsOnly) {
+    return res.ids;
+  }
+
+  return res.data;
+}
+
+/**
+ * Applies the options to a whole feature collection, for native queries that don't support them.
+ */
+export function applyQueryOptions(featureCollection, options = {}) {
+  const features = (featureCollection && featureCollection.features) || [];
+
+  if (options.countOnly) {
+    return features.length;
+  }
+
+  if (options.idsOnly) {
+    return features.map(feature =>
+      feature.id === undefined ? null : feature.id,
+    );
+  }
+
+  if (!Array.isArray(options.properties) && !options.omitGeometry) {
+    return featureCollection;
+  }
+
+  return {
+    ...featureCollection,
+    features: features.map(feature => {
+      const properties = feature.properties || {};
+      let projectedProperties = properties;
+
+      if (Array.isArray(options.properties)) {
+        projectedProperties = {};
+        for (const key of options.properties) {
+          if (properties[key] !== undefined && properties[key] !== null) {
+            projectedProperties[key] = properties[key];
+          }
+        }
+      }
+
+      return {
+        ...feature,
+        geometry: options.omitGeometry ? null : feature.geometry,
+        properties: projectedProperties,
+      };
+    }),
+  };
+}
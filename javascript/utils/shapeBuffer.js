@@ -0,0 +1,327 @@
+// Packs GeoJSON into the binary layout read by ShapeBufferDecoder.java,
+// see that file for a description of the format.
+
+const MAGIC = [82, 77, 71, 66]; // RMGB
+const VERSION = 1;
+
+const FLAG_FLOAT32 = 1;
+const FLAG_HAS_IDS = 2;
+
+export const GeometryType = {
+  Point: 1,
+  LineString: 2,
+  Polygon: 3,
+  MultiPoint: 4,
+  MultiLineString: 5,
+  MultiPolygon: 6,
+};
+
+export const ColumnType = {
+  Number: 0,
+  String: 1,
+  Boolean: 2,
+  JSON: 3,
+};
+
+const NULL_STRING_LENGTH = 0xffffffff;
+const NULL_BOOLEAN = 2;
+
+const BASE64_CHARS =
+  'ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/';
+
+function toFeatures(shape) {
+  if (!shape) {
+    return [];
+  }
+
+  if (shape.type === 'FeatureCollection') {
+    return shape.features;
+  }
+
+  if (shape.type === 'Feature') {
+    return [shape];
+  }
+
+  return [{type: 'Feature', geometry: shape, properties: {}}];
+}
+
+// every geometry is normalized to parts -> rings -> coordinates
+function toParts(geometry) {
+  switch (geometry.type) {
+    case 'Point':
+      return [[[geometry.coordinates]]];
+    case 'LineString':
+    case 'MultiPoint':
+      return [[geometry.coordinates]];
+    case 'Polygon':
+    case 'MultiLineString':
+      return [geometry.coordinates];
+    case 'MultiPolygon':
+      return geometry.coordinates;
+    default:
+      throw new Error(`Unsupported geometry type ${geometry.type}`);
+  }
+}
+
+function getColumnType(features, key) {
+  let columnType = null;
+
+  for (const feature of features) {
+    const value = feature.properties ? feature.properties[key] : undefined;
+    if (value === undefined || value === null) {
+      continue;
+    }
+
+    let valueType = ColumnType.JSON;
+    if (typeof value === 'number') {
+      valueType = ColumnType.Number;
+    } else if (typeof value === 'string') {
+      valueType = ColumnType.String;
+    } else if (typeof value === 'boolean') {
+      valueType = ColumnType.Boolean;
+    }
+
+    if (columnType === null) {
+      columnType = valueType;
+    } else if (columnType !== valueType) {
+      return ColumnType.JSON;
+    }
+  }
+
+  return columnType === null ? ColumnType.JSON : columnType;
+}
+
+function utf8Encode(str) {
+  const bytes = [];
+
+  for (let i = 0; i < str.length; i++) {
+    let codePoint = str.charCodeAt(i);
+
+    if (codePoint >= 0xd800 && codePoint <= 0xdbff && i + 1 < str.length) {
+      const low = str.charCodeAt(i + 1);
+      if (low >= 0xdc00 && low <= 0xdfff) {
+        codePoint = (codePoint - 0xd800) * 0x400 + (low - 0xdc00) + 0x10000;
+        i++;
+      }
+    }
+
+    if (codePoint < 0x80) {
+      bytes.push(codePoint);
+    } else if (codePoint < 0x800) {
+      bytes.push(0xc0 | (codePoint >> 6), 0x80 | (codePoint & 0x3f));
+    } else if (codePoint < 0x10000) {
+      bytes.push(
+        0xe0 | (codePoint >> 12),
+        0x80 | ((codePoint >> 6) & 0x3f),
+        0x80 | (codePoint & 0x3f),
+      );
+    } else {
+      bytes.push(
+        0xf0 | (codePoint >> 18),
+        0x80 | ((codePoint >> 12) & 0x3f),
+        0x80 | ((codePoint >> 6) & 0x3f),
+        0x80 | (codePoint & 0x3f),
+      );
+    }
+  }
+
+  return bytes;
+}
+
+export function toBase64(bytes) {
+  let out = '';
+
+  for (let i = 0; i < bytes.length; i += 3) {
+    const b0 = bytes[i];
+    const b1 = i + 1 < bytes.length ? bytes[i + 1] : 0;
+    const b2 = i + 2 < bytes.length ? bytes[i + 2] : 0;
+
+    out += BASE64_CHARS[b0 >> 2];
+    out += BASE64_CHARS[((b0 & 0x03) << 4) | (b1 >> 4)];
+    out +=
+      i + 1 < bytes.length ? BASE64_CHARS[((b1 & 0x0f) << 2) | (b2 >> 6)] : '=';
+    out += i + 2 < bytes.length ? BASE64_CHARS[b2 & 0x3f] : '=';
+  }
+
+  return out;
+}
+
+/**
+ * Encodes a GeoJSON geometry, feature or feature collection into a shape buffer
+ * that can be passed to the `shapeBuffer` prop of ShapeSource.
+ *
+ * @param  {Object} shape - GeoJSON object
+ * @param  {Object=} options - `float32: true` halves the coordinate size at the cost of precision
+ * @return {Uint8Array}
+ */
+export function encodeShapeBuffer(shape, options = {}) {
+  const features = toFeatures(shape);
+  const isFloat32 = !!options.float32;
+  const hasIDs = features.some(f => f.id !== undefined && f.id !== null);
+
+  const geometryTypes = [];
+  const featurePartOffsets = [0];
+  const partRingOffsets = [0];
+  const ringCoordinateOffsets = [0];
+  const coordinates = [];
+
+  for (const feature of features) {
+    const type = GeometryType[feature.geometry.type];
+    if (!type) {
+      throw new Error(`Unsupported geometry type ${feature.geometry.type}`);
+    }
+    geometryTypes.push(type);
+
+    const parts = toParts(feature.geometry);
+    for (const rings of parts) {
+      for (const ring of rings) {
+        for (const coordinate of ring) {
+          coordinates.push(coordinate[0], coordinate[1]);
+        }
+        ringCoordinateOffsets.push(coordinates.length / 2);
+      }
+      partRingOffsets.push(ringCoordinateOffsets.length - 1);
+    }
+    featurePartOffsets.push(partRingOffsets.length - 1);
+  }
+
+  const keys = [];
+  for (const feature of features) {
+    for (const key of Object.keys(feature.properties || {})) {
+      if (keys.indexOf(key) === -1) {
+        keys.push(key);
+      }
+    }
+  }
+
+  const encodeString = str =>
+    str === null || str === undefined ? null : utf8Encode(String(str));
+  const stringSize = bytes => 4 + (bytes ? bytes.length : 0);
+
+  const ids = hasIDs ? features.map(f => encodeString(f.id)) : [];
+  const columns = keys.map(key => {
+    const type = getColumnType(features, key);
+    const values = features.map(f =>
+      f.properties ? f.properties[key] : undefined,
+    );
+    const column = {name: encodeString(key), type, values};
+
+    if (type === ColumnType.String || type === ColumnType.JSON) {
+      column.encoded = values.map(value => {
+        if (value === undefined || value === null) {
+          return null;
+        }
+        return encodeString(
+          type === ColumnType.JSON ? JSON.stringify(value) : value,
+        );
+      });
+    }
+    return column;
+  });
+
+  const coordinateSize = isFloat32 ? 4 : 8;
+  let byteLength =
+    24 +
+    geometryTypes.length +
+    4 * featurePartOffsets.length +
+    4 * partRingOffsets.length +
+    4 * ringCoordinateOffsets.length +
+    coordinateSize * coordinates.length;
+
+  for (const id of ids) {
+    byteLength += stringSize(id);
+  }
+
+  for (const column of columns) {
+    byteLength += stringSize(column.name) + 1;
+
+    if (column.type === ColumnType.Number) {
+      byteLength += 8 * features.length;
+    } else if (column.type === ColumnType.Boolean) {
+      byteLength += features.length;
+    } else {
+      for (const value of column.encoded) {
+        byteLength += stringSize(value);
+      }
+    }
+  }
+
+  const bytes = new Uint8Array(byteLength);
+  const view = new DataView(bytes.buffer);
+  let offset = 0;
+
+  const writeUint8 = value => {
+    view.setUint8(offset, value);
+    offset += 1;
+  };
+  const writeUint32 = value => {
+    view.setUint32(offset, value, true);
+    offset += 4;
+  };
+  const writeString = value => {
+    if (!value) {
+      writeUint32(NULL_STRING_LENGTH);
+      return;
+    }
+    writeUint32(value.length);
+    bytes.set(value, offset);
+    offset += value.length;
+  };
+
+  MAGIC.forEach(writeUint8);
+  writeUint8(VERSION);
+  writeUint8((isFloat32 ? FLAG_FLOAT32 : 0) | (hasIDs ? FLAG_HAS_IDS : 0));
+  view.setUint16(offset, columns.length, true);
+  offset += 2;
+  writeUint32(features.length);
+  writeUint32(partRingOffsets.length - 1);
+  writeUint32(ringCoordinateOffsets.length - 1);
+  writeUint32(coordinates.length / 2);
+
+  geometryTypes.forEach(writeUint8);
+  featurePartOffsets.forEach(writeUint32);
+  partRingOffsets.forEach(writeUint32);
+  ringCoordinateOffsets.forEach(writeUint32);
+
+  for (const value of coordinates) {
+    if (isFloat32) {
+      view.setFloat32(offset, value, true);
+    } else {
+      view.setFloat64(offset, value, true);
+    }
+    offset += coordinateSize;
+  }
+
+  ids.forEach(writeString);
+
+  for (const column of columns) {
+    writeString(column.name);
+    writeUint8(column.type);
+
+    column.values.forEach((value, i) => {
+      const isNull = value === undefined || value === null;
+
+      if (column.type === ColumnType.Number) {
+        view.setFloat64(offset, isNull ? NaN : value, true);
+        offset += 8;
+      } else if (column.type === ColumnType.Boolean) {
+        writeUint8(isNull ? NULL_BOOLEAN : Number(value));
+      } else {
+        writeString(column.encoded[i]);
+      }
+    });
+  }
+
+  return bytes;
+}
+
+/**
+ * Same as encodeShapeBuffer but returns a base64 string ready for the `shapeBuffer` prop.
+ *
+ * @param  {Object} shape - GeoJSON object
+ * @param  {Object=} options - see encodeShapeBuffer
+ * @return {String}
+ */
+export function encodeShapeBufferBase64(shape, options) {
+  return toBase64(encodeShapeBuffer(shape, options));
+}
@@ -77,6 +77,10 @@ global.setLayerMethodName = function(layer, platform) {
   return `set${pascelCase(layer.name)}LayerStyle`;
 };
 
+global.styleSetterTableName = function(layer) {
+  return `${layer.name.replace(/-/g, '_').toUpperCase()}_STYLE_SETTERS`;
+};
+
 global.getLayerType = function(layer, platform) {
   const isIOS = platform === 'ios';
 